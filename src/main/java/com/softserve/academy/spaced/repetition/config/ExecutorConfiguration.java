@@ -0,0 +1,54 @@
+package com.softserve.academy.spaced.repetition.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfiguration {
+    private static final int LEARNING_SESSION_POOL_SIZE = 4;
+    private static final int LEARNING_SESSION_QUEUE_CAPACITY = 100;
+    private static final int IMAGE_VARIANT_POOL_SIZE = 2;
+    private static final int IMAGE_VARIANT_QUEUE_CAPACITY = 200;
+    private static final int CARD_JOB_POOL_SIZE = 2;
+    private static final int CARD_JOB_QUEUE_CAPACITY = 50;
+
+    @Bean
+    @Qualifier("learningSessionExecutor")
+    public ThreadPoolTaskExecutor learningSessionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(LEARNING_SESSION_POOL_SIZE);
+        executor.setMaxPoolSize(LEARNING_SESSION_POOL_SIZE);
+        executor.setQueueCapacity(LEARNING_SESSION_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("learning-session-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    @Bean
+    @Qualifier("imageVariantExecutor")
+    public ThreadPoolTaskExecutor imageVariantExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(IMAGE_VARIANT_POOL_SIZE);
+        executor.setMaxPoolSize(IMAGE_VARIANT_POOL_SIZE);
+        executor.setQueueCapacity(IMAGE_VARIANT_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("image-variant-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    @Bean
+    @Qualifier("cardJobExecutor")
+    public ThreadPoolTaskExecutor cardJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(CARD_JOB_POOL_SIZE);
+        executor.setMaxPoolSize(CARD_JOB_POOL_SIZE);
+        executor.setQueueCapacity(CARD_JOB_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("card-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -1,23 +1,36 @@
 package com.softserve.academy.spaced.repetition.controller;
 
+import com.softserve.academy.spaced.repetition.domain.CardImage;
 import com.softserve.academy.spaced.repetition.service.CardImageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.web.bind.annotation.DeleteMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.ResponseStatus;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.TimeUnit;
 
 @RestController
 public class CardImageController {
     private static final Logger LOGGER = LoggerFactory.getLogger(CardController.class);
+    private static final long CARD_IMAGE_CACHE_MAX_AGE_DAYS = 365;
 
     @Autowired
     private CardImageService cardImageService;
 
+    @GetMapping(value = "api/cardImage/{id}")
+    @PreAuthorize("hasPermission('CARD','READ')")
+    public ResponseEntity<StreamingResponseBody> getCardImage(@PathVariable long id) {
+        CardImage cardImage = cardImageService.getCardImage(id);
+        return ImageResponses.imageResponse(cardImage.getContentKey(), cardImage.getType(), cardImage.getSize(),
+                CacheControl.maxAge(CARD_IMAGE_CACHE_MAX_AGE_DAYS, TimeUnit.DAYS).cachePublic(),
+                out -> cardImageService.copyCardImageContent(cardImage, out));
+    }
+
     @ResponseStatus(HttpStatus.OK)
     @DeleteMapping(value = "api/cardImage/{id}")
     @PreAuthorize("hasPermission('CARD_IMAGE','DELETE')")
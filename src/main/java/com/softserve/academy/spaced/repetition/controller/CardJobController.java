@@ -0,0 +1,92 @@
+package com.softserve.academy.spaced.repetition.controller;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardJobDTO;
+import com.softserve.academy.spaced.repetition.domain.CardJob;
+import com.softserve.academy.spaced.repetition.domain.enums.CardExportFormat;
+import com.softserve.academy.spaced.repetition.domain.enums.CardJobType;
+import com.softserve.academy.spaced.repetition.service.CardJobService;
+import com.softserve.academy.spaced.repetition.utils.exceptions.EmptyFileException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("api")
+public class CardJobController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CardJobController.class);
+
+    @Autowired
+    private CardJobService cardJobService;
+
+    @PostMapping("/decks/{deckId}/card-jobs/import")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PreAuthorize("hasPermission('DECK_IMPORT','CREATE')")
+    public CardJobDTO importCards(@RequestParam("file") MultipartFile cardsFile, @PathVariable Long deckId,
+                                  @RequestParam(defaultValue = "YAML_IMPORT") CardJobType type)
+            throws EmptyFileException, NotOwnerOperationException, NotAuthorisedUserException, IOException {
+        LOGGER.debug("Queueing {} of cards into deck with id: {}", type, deckId);
+        return buildCardJobDTO(cardJobService.importCards(cardsFile, deckId, type));
+    }
+
+    @PostMapping("/decks/{deckId}/card-jobs/export")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PreAuthorize("hasPermission('DECK_IMPORT','READ')")
+    public CardJobDTO exportCards(@PathVariable Long deckId,
+                                  @RequestParam(defaultValue = "YAML") CardExportFormat format,
+                                  @RequestParam(defaultValue = "false") boolean gzip)
+            throws NotAuthorisedUserException, IOException {
+        LOGGER.debug("Queueing export of cards of deck with id: {}", deckId);
+        return buildCardJobDTO(cardJobService.exportCards(deckId, format, gzip));
+    }
+
+    @GetMapping("/card-jobs/{jobId}")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasPermission('DECK_IMPORT','READ')")
+    public CardJobDTO getCardJob(@PathVariable Long jobId) throws NotAuthorisedUserException {
+        return buildCardJobDTO(cardJobService.getCardJob(jobId));
+    }
+
+    @DeleteMapping("/card-jobs/{jobId}")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasPermission('DECK_IMPORT','READ')")
+    public CardJobDTO cancelCardJob(@PathVariable Long jobId) throws NotAuthorisedUserException {
+        LOGGER.debug("Cancelling card job with id: {}", jobId);
+        return buildCardJobDTO(cardJobService.cancelCardJob(jobId));
+    }
+
+    @GetMapping("/card-jobs/{jobId}/file")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasPermission('DECK_IMPORT','READ')")
+    public void downloadExportedFile(HttpServletResponse response, @PathVariable Long jobId)
+            throws NotAuthorisedUserException, IOException {
+        CardJob cardJob = cardJobService.getCardJob(jobId);
+        Path file = cardJobService.getExportedFile(jobId);
+        String fileName = "Cards." + cardJob.getExportFormat().getFileExtension();
+        if (cardJob.isGzip()) {
+            response.setContentType("application/gzip");
+            response.setHeader("Content-Disposition", "attachment; filename=" + fileName + ".gz");
+        } else {
+            response.setContentType(cardJob.getExportFormat().getContentType());
+            response.setHeader("Content-Disposition", "attachment; filename=" + fileName);
+        }
+        response.setContentLengthLong(Files.size(file));
+        Files.copy(file, response.getOutputStream());
+    }
+
+    private CardJobDTO buildCardJobDTO(CardJob cardJob) {
+        return new CardJobDTO(cardJob.getId(), cardJob.getDeckId(), cardJob.getType(), cardJob.getStatus(),
+                cardJob.getProcessedCards(), cardJob.getImportedCards(), cardJob.getFailedCards(),
+                cardJob.getErrorMessage());
+    }
+}
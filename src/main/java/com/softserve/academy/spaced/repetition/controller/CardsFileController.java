@@ -1,6 +1,9 @@
 package com.softserve.academy.spaced.repetition.controller;
 
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardImportResultDTO;
+import com.softserve.academy.spaced.repetition.domain.enums.CardExportFormat;
 import com.softserve.academy.spaced.repetition.service.CardService;
+import com.softserve.academy.spaced.repetition.service.cardLoaders.impl.CardLoadService;
 import com.softserve.academy.spaced.repetition.utils.exceptions.EmptyFileException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
@@ -20,23 +23,43 @@ public class CardsFileController {
 
     @Autowired
     private CardService cardService;
+    @Autowired
+    private CardLoadService cardLoadService;
 
     @PostMapping("api/upload/deck/{deckId}/cards")
     @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
     @PreAuthorize("hasPermission('DECK_IMPORT','CREATE')")
-    public void uploadFile(@RequestParam("file") MultipartFile cardsFile, @PathVariable Long deckId)
+    public CardImportResultDTO uploadFile(@RequestParam("file") MultipartFile cardsFile, @PathVariable Long deckId)
             throws WrongFormatException, NotOwnerOperationException,
             NotAuthorisedUserException, EmptyFileException, IOException {
-        cardService.uploadCards(cardsFile, deckId);
+        return cardService.uploadCards(cardsFile, deckId);
+    }
+
+    @PostMapping("api/upload/deck/{deckId}/anki")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    @PreAuthorize("hasPermission('DECK_IMPORT','CREATE')")
+    public CardImportResultDTO uploadAnkiFile(@RequestParam("file") MultipartFile ankiFile, @PathVariable Long deckId)
+            throws WrongFormatException, NotOwnerOperationException, NotAuthorisedUserException {
+        return cardLoadService.loadCard(ankiFile, deckId);
     }
 
     @GetMapping("api/download/deck/{deckId}/cards")
     @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasPermission('DECK_IMPORT','READ')")
-    public void downloadFile(HttpServletResponse response, @PathVariable Long deckId) throws IOException {
-        response.setContentType("application/octet-stream");
-        response.setHeader("Content-Disposition", "attachment; filename=Cards.yml");
-        cardService.downloadCards(deckId, response.getOutputStream());
+    public void downloadFile(HttpServletResponse response, @PathVariable Long deckId,
+                             @RequestParam(defaultValue = "YAML") CardExportFormat format,
+                             @RequestParam(defaultValue = "false") boolean gzip) throws IOException {
+        String fileName = "Cards." + format.getFileExtension();
+        if (gzip) {
+            response.setContentType("application/gzip");
+            response.setHeader("Content-Disposition", "attachment; filename=" + fileName + ".gz");
+        } else {
+            response.setContentType(format.getContentType());
+            response.setHeader("Content-Disposition", "attachment; filename=" + fileName);
+        }
+        cardService.downloadCards(deckId, format, gzip, response.getOutputStream());
     }
 
     @GetMapping("api/download/template/cards")
@@ -9,7 +9,11 @@ import com.softserve.academy.spaced.repetition.domain.Course;
 import com.softserve.academy.spaced.repetition.service.CourseService;
 import com.softserve.academy.spaced.repetition.utils.audit.Auditable;
 import com.softserve.academy.spaced.repetition.utils.audit.AuditingAction;
+import com.softserve.academy.spaced.repetition.utils.exceptions.EmptyFileException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.ImageRepositorySizeQuotaExceededException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.WrongFormatException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,7 +24,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -193,4 +200,29 @@ public class CourseController {
         CoursePublicDTO coursePublicDTO = DTOBuilder.buildDtoForEntity(privateCourse, CoursePublicDTO.class, selfLink);
         return new ResponseEntity<>(coursePublicDTO, HttpStatus.OK);
     }
+
+    @Auditable(action = AuditingAction.EXPORT_COURSE)
+    @GetMapping("/api/courses/{courseId}/archive")
+    @PreAuthorize("hasPermission('COURSE','READ')")
+    public void exportCourse(@PathVariable Long courseId, HttpServletResponse response)
+            throws NotAuthorisedUserException, NotOwnerOperationException, IOException {
+        LOGGER.debug("Exporting course with id: {}", courseId);
+        response.setContentType("application/zip");
+        response.setHeader("Content-Disposition", "attachment; filename=Course.zip");
+        courseService.exportCourse(courseId, response.getOutputStream());
+    }
+
+    @Auditable(action = AuditingAction.IMPORT_COURSE)
+    @PostMapping("/api/categories/{categoryId}/courses/archive")
+    @PreAuthorize("hasPermission('COURSE','CREATE')")
+    public ResponseEntity<CoursePublicDTO> importCourse(@RequestParam("file") MultipartFile archive,
+                                                        @PathVariable Long categoryId)
+            throws NotAuthorisedUserException, EmptyFileException, WrongFormatException,
+            ImageRepositorySizeQuotaExceededException, IOException {
+        LOGGER.debug("Importing course into category with id: {}", categoryId);
+        Course course = courseService.importCourse(archive, categoryId);
+        Link selfLink = linkTo(methodOn(CourseController.class).getCourseById(course.getId())).withSelfRel();
+        CoursePublicDTO coursePublicDTO = DTOBuilder.buildDtoForEntity(course, CoursePublicDTO.class, selfLink);
+        return new ResponseEntity<>(coursePublicDTO, HttpStatus.CREATED);
+    }
 }
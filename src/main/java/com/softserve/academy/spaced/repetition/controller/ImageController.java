@@ -4,6 +4,7 @@ import com.softserve.academy.spaced.repetition.controller.dto.builder.DTOBuilder
 import com.softserve.academy.spaced.repetition.controller.dto.impl.ImageDTO;
 import com.softserve.academy.spaced.repetition.controller.dto.impl.UploadingImageDTO;
 import com.softserve.academy.spaced.repetition.domain.Image;
+import com.softserve.academy.spaced.repetition.domain.enums.ImageVariantSize;
 import com.softserve.academy.spaced.repetition.repository.ImageRepository;
 import com.softserve.academy.spaced.repetition.service.ImageService;
 import com.softserve.academy.spaced.repetition.utils.audit.Auditable;
@@ -16,14 +17,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.Link;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static com.softserve.academy.spaced.repetition.controller.dto.builder.DTOBuilder.buildDtoListForCollection;
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
@@ -32,6 +36,8 @@ import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
 @RestController
 public class ImageController {
     private static final Logger LOGGER = LoggerFactory.getLogger(CourseCommentController.class);
+    private static final long IMAGE_CACHE_MAX_AGE_DAYS = 365;
+    private static final long PENDING_VARIANT_MAX_AGE_SECONDS = 60;
 
     @Autowired
     private ImageService imageService;
@@ -57,7 +63,7 @@ public class ImageController {
         LOGGER.debug("Adding image to DB");
         Image image = imageService.addImageToDB(file);
         Long imageId = image.getId();
-        Link link = linkTo(methodOn(ImageController.class).getImageById(imageId)).withSelfRel();
+        Link link = linkTo(methodOn(ImageController.class).getImageById(imageId, null)).withSelfRel();
         UploadingImageDTO uploadingimageDTO = DTOBuilder.buildDtoForEntity(image, UploadingImageDTO.class, link);
         Long bytesLeft = imageService.getUsersLimitInBytesForImagesLeft(image.getCreatedBy().getId());
         uploadingimageDTO.setBytesLeft(bytesLeft);
@@ -79,19 +85,28 @@ public class ImageController {
     }
 
     /**
-     * Download image as array of bytes with getting it by id
+     * Download image with getting it by id, the content is streamed from the image store.
+     * Images never change after upload, so the key of the content is used as a strong ETag
+     * and the response may be cached for a long time. The original served in place of a variant that is not
+     * generated yet is cached only briefly
      *
-     * @param id - id of image from database
-     * @return array of bytes that contain image content
+     * @param id   - id of image from database
+     * @param size - size of the resized variant of the image, the original is served if the size is not given
+     *             or the variant is not generated yet
+     * @return body that writes image content to the response, or 304 if the client has the same content
      */
     @GetMapping(value = "/api/service/image/{id}", produces = {MediaType.IMAGE_JPEG_VALUE})
     @PreAuthorize("hasPermission('IMAGE','READ') || !isAuthenticated()")
-    public ResponseEntity<byte[]> getImageById(@PathVariable("id") Long id) {
-        byte[] imageContentBytes = imageService.getDecodedImageContentByImageId(id);
-        if (imageContentBytes == null) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
-        return ResponseEntity.ok().contentType(MediaType.IMAGE_JPEG).body(imageContentBytes);
+    public ResponseEntity<StreamingResponseBody> getImageById(@PathVariable("id") Long id,
+                                                              @RequestParam(value = "size", required = false)
+                                                                      ImageVariantSize size) {
+        Image variantImage = size != null ? imageService.getImageVariant(id, size) : null;
+        Image image = variantImage != null ? variantImage : imageService.getImage(id);
+        CacheControl cacheControl = size != null && variantImage == null
+                ? CacheControl.maxAge(PENDING_VARIANT_MAX_AGE_SECONDS, TimeUnit.SECONDS).cachePublic()
+                : CacheControl.maxAge(IMAGE_CACHE_MAX_AGE_DAYS, TimeUnit.DAYS).cachePublic();
+        return ImageResponses.imageResponse(image.getContentKey(), image.getType(), image.getSize(), cacheControl,
+                out -> imageService.copyImageContent(image, out));
     }
 
     /**
@@ -0,0 +1,53 @@
+package com.softserve.academy.spaced.repetition.controller;
+
+import org.springframework.http.*;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Builds responses that stream stored image content. Content never changes for its key, so the key is used
+ * as a strong ETag and a request with a matching If-None-Match header gets 304 without the content.
+ */
+final class ImageResponses {
+
+    private ImageResponses() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> imageResponse(String contentKey, String type, Long size,
+                                                               CacheControl cacheControl,
+                                                               StreamingResponseBody body) {
+        String eTag = "\"" + contentKey + "\"";
+        if (isNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().contentType(getMediaType(type)).contentLength(size).eTag(eTag)
+                .cacheControl(cacheControl).body(body);
+    }
+
+    private static boolean isNotModified(String eTag) {
+        String ifNoneMatch = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+                .getRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String clientETag : ifNoneMatch.split(",")) {
+            clientETag = clientETag.trim();
+            if (clientETag.startsWith("W/")) {
+                clientETag = clientETag.substring(2);
+            }
+            if (clientETag.equals("*") || clientETag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MediaType getMediaType(String type) {
+        try {
+            return type != null ? MediaType.parseMediaType(type) : MediaType.IMAGE_JPEG;
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.IMAGE_JPEG;
+        }
+    }
+}
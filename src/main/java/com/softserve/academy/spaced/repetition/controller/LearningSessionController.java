@@ -0,0 +1,73 @@
+package com.softserve.academy.spaced.repetition.controller;
+
+import com.softserve.academy.spaced.repetition.controller.dto.impl.CardPublicDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.LearningSessionDTO;
+import com.softserve.academy.spaced.repetition.service.LearningSessionService;
+import com.softserve.academy.spaced.repetition.service.learningSession.LearningSession;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static com.softserve.academy.spaced.repetition.controller.dto.builder.DTOBuilder.buildDtoListForCollection;
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
+
+@RestController
+@RequestMapping("api")
+public class LearningSessionController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LearningSessionController.class);
+
+    @Autowired
+    private LearningSessionService learningSessionService;
+
+    @PostMapping("/decks/{deckId}/learning-sessions")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasPermission('CARD','READ') && isAuthenticated()")
+    public LearningSessionDTO openLearningSession(@PathVariable Long deckId) throws NotAuthorisedUserException {
+        LOGGER.debug("Opening learning session for deck with id: {}", deckId);
+        return buildLearningSessionDTO(learningSessionService.openLearningSession(deckId));
+    }
+
+    @PostMapping("/users/folders/learning-sessions")
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasPermission('CARD','READ') && isAuthenticated()")
+    public LearningSessionDTO openFolderLearningSession() throws NotAuthorisedUserException {
+        LOGGER.debug("Opening learning session for all decks of the folder");
+        return buildLearningSessionDTO(learningSessionService.openFolderLearningSession());
+    }
+
+    @GetMapping("/learning-sessions/{sessionId}")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasPermission('CARD','READ') && isAuthenticated()")
+    public LearningSessionDTO getLearningSession(@PathVariable String sessionId) throws NotAuthorisedUserException {
+        return buildLearningSessionDTO(learningSessionService.getLearningSession(sessionId));
+    }
+
+    @GetMapping("/learning-sessions/{sessionId}/cards")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasPermission('CARD','READ') && isAuthenticated()")
+    public List<CardPublicDTO> getNextCards(@PathVariable String sessionId) throws NotAuthorisedUserException {
+        return buildDtoListForCollection(learningSessionService.getNextCards(sessionId), CardPublicDTO.class,
+                linkTo(methodOn(LearningSessionController.class).getNextCards(sessionId)).withSelfRel());
+    }
+
+    @DeleteMapping("/learning-sessions/{sessionId}")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasPermission('CARD','READ') && isAuthenticated()")
+    public void closeLearningSession(@PathVariable String sessionId) throws NotAuthorisedUserException {
+        LOGGER.debug("Closing learning session with id: {}", sessionId);
+        learningSessionService.closeLearningSession(sessionId);
+    }
+
+    private LearningSessionDTO buildLearningSessionDTO(LearningSession learningSession) {
+        return new LearningSessionDTO(learningSession.getId(), learningSession.getDeckId(),
+                learningSession.getCardsNumber(), learningSession.getRemainingCardsNumber(),
+                learningSession.getPageSize());
+    }
+}
@@ -1,13 +1,14 @@
 package com.softserve.academy.spaced.repetition.controller;
 
-import com.softserve.academy.spaced.repetition.service.CourseService;
-import com.softserve.academy.spaced.repetition.service.DeckService;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.SearchResultDTO;
+import com.softserve.academy.spaced.repetition.domain.enums.SearchDocumentType;
+import com.softserve.academy.spaced.repetition.service.SearchService;
+import com.softserve.academy.spaced.repetition.service.search.SearchHit;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.ResponseStatus;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,19 +20,39 @@ import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
 public class SearchController {
 
     @Autowired
-    private CourseService courseService;
-    @Autowired
-    private DeckService deckService;
-
+    private SearchService searchService;
 
+    /**
+     * Returns links to the best matching decks followed by links to the best matching courses.
+     */
     @GetMapping(value = "search/{searchString}")
     @ResponseStatus(HttpStatus.OK)
     public List<String> getLinksFromSearch(@PathVariable String searchString) {
         List<String> links = new ArrayList<>();
-        deckService.findDecksId(searchString).forEach(deckId -> links.add(linkTo(methodOn(DeckController.class)
-                .getDeckById(deckId.longValueExact())).withSelfRel().getHref()));
-        courseService.findCoursesId(searchString).forEach(courseId -> links.add(linkTo(methodOn(CourseController.class)
-                .getCourseById(courseId.longValueExact())).withSelfRel().getHref()));
+        searchService.search(searchString, SearchDocumentType.DECK, 1).forEach(hit -> links.add(getLink(hit)));
+        searchService.search(searchString, SearchDocumentType.COURSE, 1).forEach(hit -> links.add(getLink(hit)));
         return links;
     }
+
+    @GetMapping(value = "api/search")
+    @PreAuthorize(value = "hasPermission(#type.name(), 'READ')")
+    @ResponseStatus(HttpStatus.OK)
+    public Page<SearchResultDTO> search(@RequestParam(name = "q") String query,
+                                        @RequestParam(name = "type", defaultValue = "DECK") SearchDocumentType type,
+                                        @RequestParam(name = "p", defaultValue = "1") int pageNumber) {
+        return searchService.search(query, type, pageNumber).map(hit ->
+                new SearchResultDTO(hit.getType(), hit.getId(), hit.getScore(), getLink(hit)));
+    }
+
+    private String getLink(SearchHit hit) {
+        switch (hit.getType()) {
+            case DECK:
+                return linkTo(methodOn(DeckController.class).getDeckById(hit.getId())).withSelfRel().getHref();
+            case COURSE:
+                return linkTo(methodOn(CourseController.class).getCourseById(hit.getId())).withSelfRel().getHref();
+            default:
+                return linkTo(methodOn(CardController.class).getCardById(hit.getDeckId(), hit.getId()))
+                        .withSelfRel().getHref();
+        }
+    }
 }
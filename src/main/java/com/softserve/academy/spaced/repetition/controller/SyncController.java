@@ -0,0 +1,42 @@
+package com.softserve.academy.spaced.repetition.controller;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.OfflineReviewDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.OfflineReviewResultDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.SyncChangesDTO;
+import com.softserve.academy.spaced.repetition.service.SyncService;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("api/sync")
+public class SyncController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SyncController.class);
+
+    @Autowired
+    private SyncService syncService;
+
+    @GetMapping("/changes")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasPermission('CARD','READ') && isAuthenticated()")
+    public SyncChangesDTO getChanges(@RequestParam(value = "since", defaultValue = "0") long version)
+            throws NotAuthorisedUserException {
+        LOGGER.debug("Getting changes since version: {}", version);
+        return syncService.getChanges(version);
+    }
+
+    @PostMapping("/reviews")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasPermission('CARD','READ') && isAuthenticated()")
+    public List<OfflineReviewResultDTO> uploadReviews(@RequestBody List<OfflineReviewDTO> reviews)
+            throws NotAuthorisedUserException {
+        LOGGER.debug("Uploading {} offline reviews", reviews.size());
+        return syncService.uploadReviews(reviews);
+    }
+}
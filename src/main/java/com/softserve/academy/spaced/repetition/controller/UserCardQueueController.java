@@ -2,6 +2,9 @@ package com.softserve.academy.spaced.repetition.controller;
 
 import com.softserve.academy.spaced.repetition.controller.dto.builder.DTOBuilder;
 import com.softserve.academy.spaced.repetition.controller.dto.impl.UserCardQueuePublicDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardAnswerDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardAnswerResultDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.DeckCardsCountDTO;
 import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
 import com.softserve.academy.spaced.repetition.service.UserCardQueueService;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
@@ -13,6 +16,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
 
@@ -34,12 +39,33 @@ public class UserCardQueueController {
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping("/decks/{deckId}/cards/queue")
+    public ResponseEntity<List<CardAnswerResultDTO>> updateUserCardQueues(@PathVariable Long deckId,
+                                                                          @RequestBody List<CardAnswerDTO> answers)
+            throws NotAuthorisedUserException {
+        LOGGER.debug("Updating queue of {} user cards from deck with id: {}", answers.size(), deckId);
+        return ResponseEntity.ok(userCardQueueService.updateUserCardQueues(deckId, answers));
+    }
+
+    @PutMapping("/decks/{deckId}/cards/queue/reschedule")
+    public ResponseEntity rescheduleUserCardQueue(@PathVariable Long deckId) throws NotAuthorisedUserException {
+        LOGGER.debug("Rescheduling queue of user cards from deck with id: {}", deckId);
+        userCardQueueService.rescheduleUserCardQueue(deckId);
+        return ResponseEntity.ok().build();
+    }
+
     @GetMapping("/decks/{deckId}/cards-that-need-repeating/count")
     @PreAuthorize("hasPermission('CARD_QUEUE','READ')")
     public ResponseEntity<Long> countCardsThatNeedRepeating(@PathVariable Long deckId) throws NotAuthorisedUserException {
         return ResponseEntity.ok(userCardQueueService.countCardsThatNeedRepeating(deckId));
     }
 
+    @GetMapping("/users/folders/decks/cards/count")
+    @PreAuthorize("hasPermission('CARD_QUEUE','READ')")
+    public ResponseEntity<List<DeckCardsCountDTO>> countCardsInFolderDecks() throws NotAuthorisedUserException {
+        return ResponseEntity.ok(userCardQueueService.countCardsInFolderDecks());
+    }
+
     @GetMapping("/user/card/queue/{userCardQueueId}")
     @PreAuthorize("hasPermission('CARD_QUEUE','READ')")
     public ResponseEntity<UserCardQueuePublicDTO> getUserCardQueueById(@PathVariable Long userCardQueueId) {
@@ -1,10 +1,15 @@
 package com.softserve.academy.spaced.repetition.controller.dto.builder;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.softserve.academy.spaced.repetition.controller.ImageController;
 import com.softserve.academy.spaced.repetition.controller.dto.annotations.EntityInterface;
+import com.softserve.academy.spaced.repetition.domain.Person;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.ResourceSupport;
 
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
+
 public abstract class DTO<T extends EntityInterface> extends ResourceSupport {
 
     private static final String URL_DELIMETER = "/";
@@ -43,4 +48,16 @@ public abstract class DTO<T extends EntityInterface> extends ResourceSupport {
         link = new Link(String.join(URL_DELIMETER, template));
         return link;
     }
+
+    /**
+     * @param person the person whose avatar is shown
+     * @return the URL of the uploaded avatar, or the external profile image when there is no uploaded one
+     */
+    protected static String getAvatarHref(Person person) {
+        if (person.getAvatarId() != null) {
+            return linkTo(methodOn(ImageController.class).getImageById(person.getAvatarId(), null)).withSelfRel()
+                    .getHref();
+        }
+        return person.getImage();
+    }
 }
@@ -0,0 +1,20 @@
+package com.softserve.academy.spaced.repetition.controller.dto.impl;
+
+import com.softserve.academy.spaced.repetition.controller.dto.builder.DTO;
+import com.softserve.academy.spaced.repetition.domain.CardImage;
+import org.springframework.hateoas.Link;
+
+public class CardImageDTO extends DTO<CardImage> {
+
+    public CardImageDTO(CardImage cardImage, Link link) {
+        super(cardImage, link);
+    }
+
+    public Long getCardImageId() {
+        return getEntity().getId();
+    }
+
+    public String getImage() {
+        return getLink(Link.REL_SELF).getHref();
+    }
+}
@@ -4,7 +4,6 @@ import com.softserve.academy.spaced.repetition.controller.CardController;
 import com.softserve.academy.spaced.repetition.controller.CardImageController;
 import com.softserve.academy.spaced.repetition.controller.dto.builder.DTO;
 import com.softserve.academy.spaced.repetition.domain.Card;
-import com.softserve.academy.spaced.repetition.domain.CardImage;
 import org.springframework.hateoas.Link;
 
 import java.util.List;
@@ -24,6 +23,10 @@ public class CardPublicDTO extends DTO<Card> {
         return getEntity().getId();
     }
 
+    public Long getDeckId() {
+        return getEntity().getDeck() != null ? getEntity().getDeck().getId() : null;
+    }
+
     public String getAnswer() {
         return getEntity().getAnswer();
     }
@@ -40,8 +43,14 @@ public class CardPublicDTO extends DTO<Card> {
         return getEntity().getRating();
     }
 
-    public List<CardImage> getCardImages() {
-        return getEntity().getCardImages();
+    public List<CardImageDTO> getCardImages() {
+        if (getEntity().getCardImages() == null) {
+            return null;
+        }
+        return getEntity().getCardImages().stream()
+                .map(cardImage -> new CardImageDTO(cardImage,
+                        linkTo(methodOn(CardImageController.class).getCardImage(cardImage.getId())).withSelfRel()))
+                .collect(toList());
     }
 
     public Long getCreatedBy(){
@@ -34,7 +34,7 @@ public class CategoryLinkDTO extends DTO<Category> {
     }
 
     public String getImage() {
-        return linkTo(methodOn(ImageController.class).getImageById(getEntity().getImage().getId())).withSelfRel().getHref();
+        return linkTo(methodOn(ImageController.class).getImageById(getEntity().getImage().getId(), null)).withSelfRel().getHref();
     }
 
     public Long getCreatedBy(){
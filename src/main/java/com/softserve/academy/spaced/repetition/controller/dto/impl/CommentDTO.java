@@ -49,12 +49,8 @@ public class CommentDTO extends DTO<Comment> implements Comparable<CommentDTO> {
         return getEntity().getPerson().getImageType();
     }
 
-    public String getImageBase64() {
-        return getEntity().getPerson().getImageBase64();
-    }
-
     public String getImage() {
-        return getEntity().getPerson().getImage();
+        return getAvatarHref(getEntity().getPerson());
     }
 
     public Long getParentCommentId() {
@@ -23,7 +23,7 @@ public class CoursePublicDTO extends DTO<Course> {
     }
 
     public String getImage() {
-        return linkTo(methodOn(ImageController.class).getImageById(getEntity().getImage().getId())).withSelfRel().getHref();
+        return linkTo(methodOn(ImageController.class).getImageById(getEntity().getImage().getId(), null)).withSelfRel().getHref();
     }
     public Long getCreatedBy(){
         return getEntity().getCreatedBy();
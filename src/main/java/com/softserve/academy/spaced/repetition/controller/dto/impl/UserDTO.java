@@ -27,12 +27,8 @@ public class UserDTO extends DTO<User> {
 
     public ImageType getImageType() { return getEntity().getPerson().getImageType();}
 
-    public String getImageBase64() {
-        return getEntity().getPerson().getImageBase64();
-    }
-
     public String getImage() {
-        return getEntity().getPerson().getImage();
+        return getAvatarHref(getEntity().getPerson());
     }
 
     public AuthenticationType getAuthenticationType() { return getEntity().getAccount().getAuthenticationType();}
@@ -3,6 +3,7 @@ package com.softserve.academy.spaced.repetition.controller.dto.impl.userProfileD
 import com.softserve.academy.spaced.repetition.controller.dto.builder.DTO;
 import com.softserve.academy.spaced.repetition.domain.User;
 import com.softserve.academy.spaced.repetition.domain.enums.AuthenticationType;
+import com.softserve.academy.spaced.repetition.domain.enums.ImageType;
 import org.springframework.hateoas.Link;
 
 public class ProfileDataDTO extends DTO<User> {
@@ -19,8 +20,12 @@ public class ProfileDataDTO extends DTO<User> {
         return getEntity().getPerson().getLastName();
     }
 
-    public String getImageBase64() {
-        return getEntity().getPerson().getImageBase64();
+    public ImageType getImageType() {
+        return getEntity().getPerson().getImageType();
+    }
+
+    public String getImage() {
+        return getAvatarHref(getEntity().getPerson());
     }
 
     public String getEmail() {
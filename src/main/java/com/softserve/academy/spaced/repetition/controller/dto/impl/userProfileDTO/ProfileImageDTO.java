@@ -2,6 +2,7 @@ package com.softserve.academy.spaced.repetition.controller.dto.impl.userProfileD
 
 import com.softserve.academy.spaced.repetition.controller.dto.builder.DTO;
 import com.softserve.academy.spaced.repetition.domain.Person;
+import com.softserve.academy.spaced.repetition.domain.enums.ImageType;
 
 public class ProfileImageDTO extends DTO<Person> {
 
@@ -9,7 +10,11 @@ public class ProfileImageDTO extends DTO<Person> {
         super(person);
     }
 
-    public String getImageBase64() {
-        return getEntity().getImageBase64();
+    public ImageType getImageType() {
+        return getEntity().getImageType();
+    }
+
+    public String getImage() {
+        return getAvatarHref(getEntity());
     }
 }
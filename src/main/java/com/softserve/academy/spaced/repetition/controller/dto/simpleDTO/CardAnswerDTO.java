@@ -0,0 +1,42 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+import java.util.Date;
+
+public class CardAnswerDTO {
+    private Long cardId;
+    private String status;
+    private Date answeredAt;
+
+    public CardAnswerDTO() {
+    }
+
+    public CardAnswerDTO(Long cardId, String status, Date answeredAt) {
+        this.cardId = cardId;
+        this.status = status;
+        this.answeredAt = answeredAt;
+    }
+
+    public Long getCardId() {
+        return cardId;
+    }
+
+    public void setCardId(Long cardId) {
+        this.cardId = cardId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Date getAnsweredAt() {
+        return answeredAt;
+    }
+
+    public void setAnsweredAt(Date answeredAt) {
+        this.answeredAt = answeredAt;
+    }
+}
@@ -0,0 +1,52 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+import java.util.Date;
+
+public class CardAnswerResultDTO {
+    private Long cardId;
+    private boolean updated;
+    private Date dateToRepeat;
+    private String message;
+
+    public CardAnswerResultDTO() {
+    }
+
+    public CardAnswerResultDTO(Long cardId, boolean updated, Date dateToRepeat, String message) {
+        this.cardId = cardId;
+        this.updated = updated;
+        this.dateToRepeat = dateToRepeat;
+        this.message = message;
+    }
+
+    public Long getCardId() {
+        return cardId;
+    }
+
+    public void setCardId(Long cardId) {
+        this.cardId = cardId;
+    }
+
+    public boolean isUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(boolean updated) {
+        this.updated = updated;
+    }
+
+    public Date getDateToRepeat() {
+        return dateToRepeat;
+    }
+
+    public void setDateToRepeat(Date dateToRepeat) {
+        this.dateToRepeat = dateToRepeat;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -1,5 +1,7 @@
 package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
 
+import java.util.List;
+
 public class CardFileDTO {
 
     private String title;
@@ -8,6 +10,8 @@ public class CardFileDTO {
 
     private String answer;
 
+    private List<CardFileImageDTO> images;
+
     public CardFileDTO() {
     }
 
@@ -40,4 +44,12 @@ public class CardFileDTO {
     public void setAnswer(String answer) {
         this.answer = answer;
     }
+
+    public List<CardFileImageDTO> getImages() {
+        return images;
+    }
+
+    public void setImages(List<CardFileImageDTO> images) {
+        this.images = images;
+    }
 }
@@ -0,0 +1,45 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+import org.springframework.core.io.InputStreamSource;
+
+/**
+ * Image attached to an imported card. The content is read only when the card is saved.
+ */
+public class CardFileImageDTO {
+    private InputStreamSource content;
+    private String type;
+    private Long size;
+
+    public CardFileImageDTO() {
+    }
+
+    public CardFileImageDTO(InputStreamSource content, String type, Long size) {
+        this.content = content;
+        this.type = type;
+        this.size = size;
+    }
+
+    public InputStreamSource getContent() {
+        return content;
+    }
+
+    public void setContent(InputStreamSource content) {
+        this.content = content;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,40 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+public class CardImportErrorDTO {
+    private int row;
+    private int line;
+    private String message;
+
+    public CardImportErrorDTO() {
+    }
+
+    public CardImportErrorDTO(int row, int line, String message) {
+        this.row = row;
+        this.line = line;
+        this.message = message;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
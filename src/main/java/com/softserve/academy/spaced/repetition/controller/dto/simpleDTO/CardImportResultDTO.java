@@ -0,0 +1,42 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+import java.util.List;
+
+public class CardImportResultDTO {
+    private int importedCards;
+    private int failedCards;
+    private List<CardImportErrorDTO> errors;
+
+    public CardImportResultDTO() {
+    }
+
+    public CardImportResultDTO(int importedCards, int failedCards, List<CardImportErrorDTO> errors) {
+        this.importedCards = importedCards;
+        this.failedCards = failedCards;
+        this.errors = errors;
+    }
+
+    public int getImportedCards() {
+        return importedCards;
+    }
+
+    public void setImportedCards(int importedCards) {
+        this.importedCards = importedCards;
+    }
+
+    public int getFailedCards() {
+        return failedCards;
+    }
+
+    public void setFailedCards(int failedCards) {
+        this.failedCards = failedCards;
+    }
+
+    public List<CardImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<CardImportErrorDTO> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,94 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+import com.softserve.academy.spaced.repetition.domain.enums.CardJobStatus;
+import com.softserve.academy.spaced.repetition.domain.enums.CardJobType;
+
+public class CardJobDTO {
+    private Long jobId;
+    private Long deckId;
+    private CardJobType type;
+    private CardJobStatus status;
+    private int processedCards;
+    private int importedCards;
+    private int failedCards;
+    private String errorMessage;
+
+    public CardJobDTO() {
+    }
+
+    public CardJobDTO(Long jobId, Long deckId, CardJobType type, CardJobStatus status, int processedCards,
+                      int importedCards, int failedCards, String errorMessage) {
+        this.jobId = jobId;
+        this.deckId = deckId;
+        this.type = type;
+        this.status = status;
+        this.processedCards = processedCards;
+        this.importedCards = importedCards;
+        this.failedCards = failedCards;
+        this.errorMessage = errorMessage;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public Long getDeckId() {
+        return deckId;
+    }
+
+    public void setDeckId(Long deckId) {
+        this.deckId = deckId;
+    }
+
+    public CardJobType getType() {
+        return type;
+    }
+
+    public void setType(CardJobType type) {
+        this.type = type;
+    }
+
+    public CardJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(CardJobStatus status) {
+        this.status = status;
+    }
+
+    public int getProcessedCards() {
+        return processedCards;
+    }
+
+    public void setProcessedCards(int processedCards) {
+        this.processedCards = processedCards;
+    }
+
+    public int getImportedCards() {
+        return importedCards;
+    }
+
+    public void setImportedCards(int importedCards) {
+        this.importedCards = importedCards;
+    }
+
+    public int getFailedCards() {
+        return failedCards;
+    }
+
+    public void setFailedCards(int failedCards) {
+        this.failedCards = failedCards;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
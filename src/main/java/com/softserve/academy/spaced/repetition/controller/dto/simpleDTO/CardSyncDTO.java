@@ -0,0 +1,70 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+public class CardSyncDTO {
+    private Long cardId;
+    private Long deckId;
+    private String title;
+    private String question;
+    private String answer;
+    private Long version;
+
+    public CardSyncDTO() {
+    }
+
+    public CardSyncDTO(Long cardId, Long deckId, String title, String question, String answer, Long version) {
+        this.cardId = cardId;
+        this.deckId = deckId;
+        this.title = title;
+        this.question = question;
+        this.answer = answer;
+        this.version = version;
+    }
+
+    public Long getCardId() {
+        return cardId;
+    }
+
+    public void setCardId(Long cardId) {
+        this.cardId = cardId;
+    }
+
+    public Long getDeckId() {
+        return deckId;
+    }
+
+    public void setDeckId(Long deckId) {
+        this.deckId = deckId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public void setQuestion(String question) {
+        this.question = question;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public void setAnswer(String answer) {
+        this.answer = answer;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
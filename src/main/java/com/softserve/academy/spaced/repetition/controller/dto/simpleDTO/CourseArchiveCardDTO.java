@@ -0,0 +1,51 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+import java.util.List;
+
+public class CourseArchiveCardDTO {
+    private String title;
+    private String question;
+    private String answer;
+    private List<CourseArchiveImageDTO> images;
+
+    public CourseArchiveCardDTO() {
+    }
+
+    public CourseArchiveCardDTO(String title, String question, String answer) {
+        this.title = title;
+        this.question = question;
+        this.answer = answer;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public void setQuestion(String question) {
+        this.question = question;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public void setAnswer(String answer) {
+        this.answer = answer;
+    }
+
+    public List<CourseArchiveImageDTO> getImages() {
+        return images;
+    }
+
+    public void setImages(List<CourseArchiveImageDTO> images) {
+        this.images = images;
+    }
+}
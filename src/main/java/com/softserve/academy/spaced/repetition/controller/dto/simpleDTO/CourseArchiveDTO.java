@@ -0,0 +1,56 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+import java.util.List;
+
+/**
+ * Manifest of a course archive, the first entry of the archive.
+ */
+public class CourseArchiveDTO {
+    private String name;
+    private String description;
+    private CourseArchiveImageDTO image;
+    private List<CourseArchiveDeckDTO> decks;
+
+    public CourseArchiveDTO() {
+    }
+
+    public CourseArchiveDTO(String name, String description, CourseArchiveImageDTO image,
+                            List<CourseArchiveDeckDTO> decks) {
+        this.name = name;
+        this.description = description;
+        this.image = image;
+        this.decks = decks;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public CourseArchiveImageDTO getImage() {
+        return image;
+    }
+
+    public void setImage(CourseArchiveImageDTO image) {
+        this.image = image;
+    }
+
+    public List<CourseArchiveDeckDTO> getDecks() {
+        return decks;
+    }
+
+    public void setDecks(List<CourseArchiveDeckDTO> decks) {
+        this.decks = decks;
+    }
+}
@@ -0,0 +1,53 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+/**
+ * Deck of a course archive, its cards are stored in a separate entry as JSON Lines.
+ */
+public class CourseArchiveDeckDTO {
+    private String name;
+    private String description;
+    private String syntax;
+    private String cards;
+
+    public CourseArchiveDeckDTO() {
+    }
+
+    public CourseArchiveDeckDTO(String name, String description, String syntax, String cards) {
+        this.name = name;
+        this.description = description;
+        this.syntax = syntax;
+        this.cards = cards;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getSyntax() {
+        return syntax;
+    }
+
+    public void setSyntax(String syntax) {
+        this.syntax = syntax;
+    }
+
+    public String getCards() {
+        return cards;
+    }
+
+    public void setCards(String cards) {
+        this.cards = cards;
+    }
+}
@@ -0,0 +1,33 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+/**
+ * Image of a course archive, its content is stored in a separate entry.
+ */
+public class CourseArchiveImageDTO {
+    private String file;
+    private String type;
+
+    public CourseArchiveImageDTO() {
+    }
+
+    public CourseArchiveImageDTO(String file, String type) {
+        this.file = file;
+        this.type = type;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+}
@@ -0,0 +1,50 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+public class DeckCardsCountDTO {
+    private Long deckId;
+    private long newCards;
+    private long cardsThatNeedRepeating;
+    private long postponedCards;
+
+    public DeckCardsCountDTO() {
+    }
+
+    public DeckCardsCountDTO(Long deckId, long newCards, long cardsThatNeedRepeating, long postponedCards) {
+        this.deckId = deckId;
+        this.newCards = newCards;
+        this.cardsThatNeedRepeating = cardsThatNeedRepeating;
+        this.postponedCards = postponedCards;
+    }
+
+    public Long getDeckId() {
+        return deckId;
+    }
+
+    public void setDeckId(Long deckId) {
+        this.deckId = deckId;
+    }
+
+    public long getNewCards() {
+        return newCards;
+    }
+
+    public void setNewCards(long newCards) {
+        this.newCards = newCards;
+    }
+
+    public long getCardsThatNeedRepeating() {
+        return cardsThatNeedRepeating;
+    }
+
+    public void setCardsThatNeedRepeating(long cardsThatNeedRepeating) {
+        this.cardsThatNeedRepeating = cardsThatNeedRepeating;
+    }
+
+    public long getPostponedCards() {
+        return postponedCards;
+    }
+
+    public void setPostponedCards(long postponedCards) {
+        this.postponedCards = postponedCards;
+    }
+}
@@ -0,0 +1,60 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+public class DeckSyncDTO {
+    private Long deckId;
+    private String name;
+    private String description;
+    private String syntaxToHighlight;
+    private Long version;
+
+    public DeckSyncDTO() {
+    }
+
+    public DeckSyncDTO(Long deckId, String name, String description, String syntaxToHighlight, Long version) {
+        this.deckId = deckId;
+        this.name = name;
+        this.description = description;
+        this.syntaxToHighlight = syntaxToHighlight;
+        this.version = version;
+    }
+
+    public Long getDeckId() {
+        return deckId;
+    }
+
+    public void setDeckId(Long deckId) {
+        this.deckId = deckId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getSyntaxToHighlight() {
+        return syntaxToHighlight;
+    }
+
+    public void setSyntaxToHighlight(String syntaxToHighlight) {
+        this.syntaxToHighlight = syntaxToHighlight;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
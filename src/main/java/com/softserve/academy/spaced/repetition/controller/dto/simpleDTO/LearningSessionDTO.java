@@ -0,0 +1,61 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+public class LearningSessionDTO {
+    private String sessionId;
+    private Long deckId;
+    private int cardsNumber;
+    private int remainingCardsNumber;
+    private int pageSize;
+
+    public LearningSessionDTO() {
+    }
+
+    public LearningSessionDTO(String sessionId, Long deckId, int cardsNumber, int remainingCardsNumber,
+                              int pageSize) {
+        this.sessionId = sessionId;
+        this.deckId = deckId;
+        this.cardsNumber = cardsNumber;
+        this.remainingCardsNumber = remainingCardsNumber;
+        this.pageSize = pageSize;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Long getDeckId() {
+        return deckId;
+    }
+
+    public void setDeckId(Long deckId) {
+        this.deckId = deckId;
+    }
+
+    public int getCardsNumber() {
+        return cardsNumber;
+    }
+
+    public void setCardsNumber(int cardsNumber) {
+        this.cardsNumber = cardsNumber;
+    }
+
+    public int getRemainingCardsNumber() {
+        return remainingCardsNumber;
+    }
+
+    public void setRemainingCardsNumber(int remainingCardsNumber) {
+        this.remainingCardsNumber = remainingCardsNumber;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+}
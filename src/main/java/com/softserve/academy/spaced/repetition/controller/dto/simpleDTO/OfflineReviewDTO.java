@@ -0,0 +1,62 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+import java.util.Date;
+
+public class OfflineReviewDTO {
+    private String reviewId;
+    private Long deckId;
+    private Long cardId;
+    private String status;
+    private Date answeredAt;
+
+    public OfflineReviewDTO() {
+    }
+
+    public OfflineReviewDTO(String reviewId, Long deckId, Long cardId, String status, Date answeredAt) {
+        this.reviewId = reviewId;
+        this.deckId = deckId;
+        this.cardId = cardId;
+        this.status = status;
+        this.answeredAt = answeredAt;
+    }
+
+    public String getReviewId() {
+        return reviewId;
+    }
+
+    public void setReviewId(String reviewId) {
+        this.reviewId = reviewId;
+    }
+
+    public Long getDeckId() {
+        return deckId;
+    }
+
+    public void setDeckId(Long deckId) {
+        this.deckId = deckId;
+    }
+
+    public Long getCardId() {
+        return cardId;
+    }
+
+    public void setCardId(Long cardId) {
+        this.cardId = cardId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Date getAnsweredAt() {
+        return answeredAt;
+    }
+
+    public void setAnsweredAt(Date answeredAt) {
+        this.answeredAt = answeredAt;
+    }
+}
@@ -0,0 +1,52 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+import java.util.Date;
+
+public class OfflineReviewResultDTO {
+    private String reviewId;
+    private String result;
+    private Date dateToRepeat;
+    private String message;
+
+    public OfflineReviewResultDTO() {
+    }
+
+    public OfflineReviewResultDTO(String reviewId, String result, Date dateToRepeat, String message) {
+        this.reviewId = reviewId;
+        this.result = result;
+        this.dateToRepeat = dateToRepeat;
+        this.message = message;
+    }
+
+    public String getReviewId() {
+        return reviewId;
+    }
+
+    public void setReviewId(String reviewId) {
+        this.reviewId = reviewId;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    public Date getDateToRepeat() {
+        return dateToRepeat;
+    }
+
+    public void setDateToRepeat(Date dateToRepeat) {
+        this.dateToRepeat = dateToRepeat;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,52 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+import com.softserve.academy.spaced.repetition.domain.enums.SearchDocumentType;
+
+public class SearchResultDTO {
+    private SearchDocumentType type;
+    private Long id;
+    private float score;
+    private String link;
+
+    public SearchResultDTO() {
+    }
+
+    public SearchResultDTO(SearchDocumentType type, Long id, float score, String link) {
+        this.type = type;
+        this.id = id;
+        this.score = score;
+        this.link = link;
+    }
+
+    public SearchDocumentType getType() {
+        return type;
+    }
+
+    public void setType(SearchDocumentType type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+
+    public String getLink() {
+        return link;
+    }
+
+    public void setLink(String link) {
+        this.link = link;
+    }
+}
@@ -0,0 +1,94 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+import java.util.List;
+
+public class SyncChangesDTO {
+    private Long version;
+    private boolean hasMore;
+    private List<Long> folderDeckIds;
+    private List<DeckSyncDTO> decks;
+    private List<Long> deletedDeckIds;
+    private List<CardSyncDTO> cards;
+    private List<Long> deletedCardIds;
+    private List<UserCardQueueSyncDTO> userCardQueues;
+
+    public SyncChangesDTO() {
+    }
+
+    public SyncChangesDTO(Long version, boolean hasMore, List<Long> folderDeckIds, List<DeckSyncDTO> decks,
+                          List<Long> deletedDeckIds, List<CardSyncDTO> cards, List<Long> deletedCardIds,
+                          List<UserCardQueueSyncDTO> userCardQueues) {
+        this.version = version;
+        this.hasMore = hasMore;
+        this.folderDeckIds = folderDeckIds;
+        this.decks = decks;
+        this.deletedDeckIds = deletedDeckIds;
+        this.cards = cards;
+        this.deletedCardIds = deletedCardIds;
+        this.userCardQueues = userCardQueues;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public List<Long> getFolderDeckIds() {
+        return folderDeckIds;
+    }
+
+    public void setFolderDeckIds(List<Long> folderDeckIds) {
+        this.folderDeckIds = folderDeckIds;
+    }
+
+    public List<DeckSyncDTO> getDecks() {
+        return decks;
+    }
+
+    public void setDecks(List<DeckSyncDTO> decks) {
+        this.decks = decks;
+    }
+
+    public List<Long> getDeletedDeckIds() {
+        return deletedDeckIds;
+    }
+
+    public void setDeletedDeckIds(List<Long> deletedDeckIds) {
+        this.deletedDeckIds = deletedDeckIds;
+    }
+
+    public List<CardSyncDTO> getCards() {
+        return cards;
+    }
+
+    public void setCards(List<CardSyncDTO> cards) {
+        this.cards = cards;
+    }
+
+    public List<Long> getDeletedCardIds() {
+        return deletedCardIds;
+    }
+
+    public void setDeletedCardIds(List<Long> deletedCardIds) {
+        this.deletedCardIds = deletedCardIds;
+    }
+
+    public List<UserCardQueueSyncDTO> getUserCardQueues() {
+        return userCardQueues;
+    }
+
+    public void setUserCardQueues(List<UserCardQueueSyncDTO> userCardQueues) {
+        this.userCardQueues = userCardQueues;
+    }
+}
@@ -0,0 +1,73 @@
+package com.softserve.academy.spaced.repetition.controller.dto.simpleDTO;
+
+import java.util.Date;
+
+public class UserCardQueueSyncDTO {
+    private Long cardId;
+    private Long deckId;
+    private String status;
+    private Date cardDate;
+    private Date dateToRepeat;
+    private Long version;
+
+    public UserCardQueueSyncDTO() {
+    }
+
+    public UserCardQueueSyncDTO(Long cardId, Long deckId, String status, Date cardDate, Date dateToRepeat,
+                                Long version) {
+        this.cardId = cardId;
+        this.deckId = deckId;
+        this.status = status;
+        this.cardDate = cardDate;
+        this.dateToRepeat = dateToRepeat;
+        this.version = version;
+    }
+
+    public Long getCardId() {
+        return cardId;
+    }
+
+    public void setCardId(Long cardId) {
+        this.cardId = cardId;
+    }
+
+    public Long getDeckId() {
+        return deckId;
+    }
+
+    public void setDeckId(Long deckId) {
+        this.deckId = deckId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Date getCardDate() {
+        return cardDate;
+    }
+
+    public void setCardDate(Date cardDate) {
+        this.cardDate = cardDate;
+    }
+
+    public Date getDateToRepeat() {
+        return dateToRepeat;
+    }
+
+    public void setDateToRepeat(Date dateToRepeat) {
+        this.dateToRepeat = dateToRepeat;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
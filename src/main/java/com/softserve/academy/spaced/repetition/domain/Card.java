@@ -1,6 +1,7 @@
 package com.softserve.academy.spaced.repetition.domain;
 
 import com.softserve.academy.spaced.repetition.controller.dto.annotations.EntityInterface;
+import com.softserve.academy.spaced.repetition.utils.Sha256;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -27,9 +28,18 @@ public class Card extends EntityForOwnership implements EntityInterface {
     @NotNull
     private String answer;
 
+    /**
+     * SHA-256 of the question, lets imports find duplicate questions by an index lookup.
+     */
+    @Column(name = "question_hash", length = 64)
+    private String questionHash;
+
     @Column(name = "rating")
     private double rating;
 
+    @Column(name = "version", insertable = false, updatable = false)
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "deck_id")
     private Deck deck;
@@ -80,6 +90,23 @@ public class Card extends EntityForOwnership implements EntityInterface {
         this.question = question;
     }
 
+    public String getQuestionHash() {
+        return questionHash;
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void updateQuestionHash() {
+        questionHash = hashQuestion(question);
+    }
+
+    public static String hashQuestion(String question) {
+        if (question == null) {
+            return null;
+        }
+        return Sha256.hash(question);
+    }
+
     public String getAnswer() {
         return answer;
     }
@@ -120,6 +147,14 @@ public class Card extends EntityForOwnership implements EntityInterface {
         this.title = title;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<CardImage> getCardImages() {
         return cardImages;
     }
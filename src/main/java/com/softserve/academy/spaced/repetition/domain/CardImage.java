@@ -15,9 +15,17 @@ public class CardImage implements EntityInterface {
     @Column(name = "card_image_id")
     private Long id;
 
-    @Column(name = "image_base64", columnDefinition = "LONGTEXT")
+    @Column(name = "content_key")
     @NotNull
-    private String image;
+    private String contentKey;
+
+    @Column(name = "type")
+    @NotNull
+    private String type;
+
+    @Column(name = "size")
+    @NotNull
+    private Long size;
 
     @ManyToOne
     @JoinColumn(name = "card_id")
@@ -28,8 +36,10 @@ public class CardImage implements EntityInterface {
     public CardImage() {
     }
 
-    public CardImage(String image, Card card) {
-        this.image = image;
+    public CardImage(String contentKey, String type, Long size, Card card) {
+        this.contentKey = contentKey;
+        this.type = type;
+        this.size = size;
         this.card = card;
     }
 
@@ -41,12 +51,28 @@ public class CardImage implements EntityInterface {
         this.id = id;
     }
 
-    public String getImage() {
-        return image;
+    public String getContentKey() {
+        return contentKey;
+    }
+
+    public void setContentKey(String contentKey) {
+        this.contentKey = contentKey;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getSize() {
+        return size;
     }
 
-    public void setImage(String image) {
-        this.image = image;
+    public void setSize(Long size) {
+        this.size = size;
     }
 
     public Card getCard() {
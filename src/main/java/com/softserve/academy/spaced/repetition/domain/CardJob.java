@@ -0,0 +1,214 @@
+package com.softserve.academy.spaced.repetition.domain;
+
+import com.softserve.academy.spaced.repetition.domain.enums.CardExportFormat;
+import com.softserve.academy.spaced.repetition.domain.enums.CardJobStatus;
+import com.softserve.academy.spaced.repetition.domain.enums.CardJobType;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.util.Date;
+
+/**
+ * Import or export of the cards of a deck which runs in the background. The job is processed by the node
+ * which accepted it, the file of the job is kept on that node.
+ */
+@Entity
+@Table(name = "card_job")
+public class CardJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "job_id")
+    private Long id;
+
+    @Column(name = "user_id")
+    @NotNull
+    private Long userId;
+
+    @Column(name = "deck_id")
+    @NotNull
+    private Long deckId;
+
+    @Column(name = "type")
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private CardJobType type;
+
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private CardJobStatus status;
+
+    @Column(name = "export_format")
+    @Enumerated(EnumType.STRING)
+    private CardExportFormat exportFormat;
+
+    @Column(name = "gzip")
+    private boolean gzip;
+
+    /**
+     * The uploaded file of an import, or the produced file of an export.
+     */
+    @Column(name = "file_path")
+    private String filePath;
+
+    @Column(name = "processed_cards")
+    private int processedCards;
+
+    @Column(name = "imported_cards")
+    private int importedCards;
+
+    @Column(name = "failed_cards")
+    private int failedCards;
+
+    @Column(name = "cancel_requested")
+    private boolean cancelRequested;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    /**
+     * The node which accepted the job and keeps its file.
+     */
+    @Column(name = "node_id")
+    private String nodeId;
+
+    @Column(name = "created_date", insertable = false, updatable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdDate;
+
+    @Column(name = "updated_date", insertable = false, updatable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedDate;
+
+    public CardJob() {
+    }
+
+    public CardJob(Long userId, Long deckId, CardJobType type, String filePath) {
+        this.userId = userId;
+        this.deckId = deckId;
+        this.type = type;
+        this.filePath = filePath;
+        this.status = CardJobStatus.QUEUED;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getDeckId() {
+        return deckId;
+    }
+
+    public void setDeckId(Long deckId) {
+        this.deckId = deckId;
+    }
+
+    public CardJobType getType() {
+        return type;
+    }
+
+    public void setType(CardJobType type) {
+        this.type = type;
+    }
+
+    public CardJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(CardJobStatus status) {
+        this.status = status;
+    }
+
+    public CardExportFormat getExportFormat() {
+        return exportFormat;
+    }
+
+    public void setExportFormat(CardExportFormat exportFormat) {
+        this.exportFormat = exportFormat;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public int getProcessedCards() {
+        return processedCards;
+    }
+
+    public void setProcessedCards(int processedCards) {
+        this.processedCards = processedCards;
+    }
+
+    public int getImportedCards() {
+        return importedCards;
+    }
+
+    public void setImportedCards(int importedCards) {
+        this.importedCards = importedCards;
+    }
+
+    public int getFailedCards() {
+        return failedCards;
+    }
+
+    public void setFailedCards(int failedCards) {
+        this.failedCards = failedCards;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public void setCancelRequested(boolean cancelRequested) {
+        this.cancelRequested = cancelRequested;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Date getCreatedDate() {
+        return createdDate;
+    }
+
+    public Date getUpdatedDate() {
+        return updatedDate;
+    }
+}
@@ -0,0 +1,122 @@
+package com.softserve.academy.spaced.repetition.domain;
+
+import com.softserve.academy.spaced.repetition.domain.enums.ChangeEntityType;
+import com.softserve.academy.spaced.repetition.domain.enums.ChangeOperation;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.util.Date;
+
+@Entity
+@Table(name = "change_log")
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "change_id")
+    private Long id;
+
+    @Column(name = "entity_type")
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private ChangeEntityType entityType;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(name = "deck_id")
+    private Long deckId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "operation")
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private ChangeOperation operation;
+
+    @Column(name = "sync_version", insertable = false, updatable = false)
+    private Long syncVersion;
+
+    @Column(name = "changed_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    @NotNull
+    private Date changedAt;
+
+    public ChangeLogEntry() {
+    }
+
+    public ChangeLogEntry(ChangeEntityType entityType, Long entityId, Long deckId, Long userId,
+                          ChangeOperation operation) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.deckId = deckId;
+        this.userId = userId;
+        this.operation = operation;
+        this.changedAt = new Date();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSyncVersion() {
+        return syncVersion;
+    }
+
+    public void setSyncVersion(Long syncVersion) {
+        this.syncVersion = syncVersion;
+    }
+
+    public ChangeEntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(ChangeEntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Long getDeckId() {
+        return deckId;
+    }
+
+    public void setDeckId(Long deckId) {
+        this.deckId = deckId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public ChangeOperation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(ChangeOperation operation) {
+        this.operation = operation;
+    }
+
+    public Date getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Date changedAt) {
+        this.changedAt = changedAt;
+    }
+}
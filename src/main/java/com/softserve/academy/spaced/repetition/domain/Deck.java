@@ -37,6 +37,9 @@ public class Deck extends EntityForOwnership implements EntityInterface {
     @Column(name = "rating")
     private double rating;
 
+    @Column(name = "version", insertable = false, updatable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User deckOwner;
@@ -113,6 +116,14 @@ public class Deck extends EntityForOwnership implements EntityInterface {
         this.cards = cards;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public double getRating() {
         return rating;
     }
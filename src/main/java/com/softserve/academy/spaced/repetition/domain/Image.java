@@ -4,6 +4,7 @@ import com.softserve.academy.spaced.repetition.controller.dto.annotations.Entity
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
+import java.util.Date;
 
 @Entity
 @Table(name = "image")
@@ -14,8 +15,8 @@ public class Image implements EntityInterface {
     @Column(name = "image_id")
     private Long id;
 
-    @Column(name = "image_base64", columnDefinition = "LONGTEXT")
-    private String imageBase64;
+    @Column(name = "content_key")
+    private String contentKey;
 
     @Column(name = "type")
     @NotNull
@@ -32,6 +33,10 @@ public class Image implements EntityInterface {
     @Column(name = "is_used")
     private boolean isImageUsed;
 
+    @Column(name = "created_date", insertable = false, updatable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdDate;
+
     public Image() {
     }
 
@@ -44,13 +49,13 @@ public class Image implements EntityInterface {
         this.isImageUsed = isImageUsed;
     }
 
-    public Image(String imageBase64) {
-        this.imageBase64 = imageBase64;
+    public Image(String contentKey) {
+        this.contentKey = contentKey;
     }
 
 
-    public Image(String imageBase64, String type) {
-        this.imageBase64 = imageBase64;
+    public Image(String contentKey, String type) {
+        this.contentKey = contentKey;
         this.type = type;
     }
 
@@ -59,8 +64,8 @@ public class Image implements EntityInterface {
         this.createdBy = createdBy;
     }
 
-    public Image(String imageBase64, String type, User createdBy, Long size) {
-        this.imageBase64 = imageBase64;
+    public Image(String contentKey, String type, User createdBy, Long size) {
+        this.contentKey = contentKey;
         this.type = type;
         this.createdBy = createdBy;
         this.size = size;
@@ -75,12 +80,12 @@ public class Image implements EntityInterface {
         this.id = id;
     }
 
-    public String getImageBase64() {
-        return imageBase64;
+    public String getContentKey() {
+        return contentKey;
     }
 
-    public void setImageBase64(String imageBase64) {
-        this.imageBase64 = imageBase64;
+    public void setContentKey(String contentKey) {
+        this.contentKey = contentKey;
     }
 
     public String getType() {
@@ -115,4 +120,8 @@ public class Image implements EntityInterface {
         isImageUsed = imageUsed;
     }
 
+    public Date getCreatedDate() {
+        return createdDate;
+    }
+
 }
@@ -0,0 +1,56 @@
+package com.softserve.academy.spaced.repetition.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import java.util.Date;
+
+@Entity
+@Table(name = "image_quota")
+public class ImageQuota {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "bytes_used")
+    @NotNull
+    private Long bytesUsed;
+
+    @Column(name = "changed_at")
+    private Date changedAt;
+
+    public ImageQuota() {
+    }
+
+    public ImageQuota(Long userId, Long bytesUsed) {
+        this.userId = userId;
+        this.bytesUsed = bytesUsed;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getBytesUsed() {
+        return bytesUsed;
+    }
+
+    public void setBytesUsed(Long bytesUsed) {
+        this.bytesUsed = bytesUsed;
+    }
+
+    public Date getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Date changedAt) {
+        this.changedAt = changedAt;
+    }
+}
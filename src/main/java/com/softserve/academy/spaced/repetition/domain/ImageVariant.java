@@ -0,0 +1,96 @@
+package com.softserve.academy.spaced.repetition.domain;
+
+import com.softserve.academy.spaced.repetition.domain.enums.ImageVariantSize;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+
+@Entity
+@Table(name = "image_variant")
+public class ImageVariant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "image_variant_id")
+    private Long id;
+
+    @Column(name = "image_id")
+    @NotNull
+    private Long imageId;
+
+    @Column(name = "variant")
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private ImageVariantSize variant;
+
+    @Column(name = "content_key")
+    @NotNull
+    private String contentKey;
+
+    @Column(name = "type")
+    @NotNull
+    private String type;
+
+    @Column(name = "size")
+    @NotNull
+    private Long size;
+
+    public ImageVariant() {
+    }
+
+    public ImageVariant(Long imageId, ImageVariantSize variant, String contentKey, String type, Long size) {
+        this.imageId = imageId;
+        this.variant = variant;
+        this.contentKey = contentKey;
+        this.type = type;
+        this.size = size;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getImageId() {
+        return imageId;
+    }
+
+    public void setImageId(Long imageId) {
+        this.imageId = imageId;
+    }
+
+    public ImageVariantSize getVariant() {
+        return variant;
+    }
+
+    public void setVariant(ImageVariantSize variant) {
+        this.variant = variant;
+    }
+
+    public String getContentKey() {
+        return contentKey;
+    }
+
+    public void setContentKey(String contentKey) {
+        this.contentKey = contentKey;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+}
@@ -41,9 +41,8 @@ public class Person implements EntityInterface {
 
     private String image;
 
-    @Column(name = "image_base64", columnDefinition = "LONGTEXT")
-    @Basic(fetch = FetchType.LAZY)
-    private String imageBase64;
+    @Column(name = "avatar_id")
+    private Long avatarId;
 
     public Person() {
     }
@@ -100,12 +99,12 @@ public class Person implements EntityInterface {
         this.image = image;
     }
 
-    public String getImageBase64() {
-        return imageBase64;
+    public Long getAvatarId() {
+        return avatarId;
     }
 
-    public void setImageBase64(String imageBase64) {
-        this.imageBase64 = imageBase64;
+    public void setAvatarId(Long avatarId) {
+        this.avatarId = avatarId;
     }
 
     @Override
@@ -0,0 +1,70 @@
+package com.softserve.academy.spaced.repetition.domain;
+
+import com.softserve.academy.spaced.repetition.domain.enums.SyncReviewResult;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+
+@Entity
+@Table(name = "sync_review")
+public class SyncReview {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "sync_review_id")
+    private Long id;
+
+    @Column(name = "user_id")
+    @NotNull
+    private Long userId;
+
+    @Column(name = "review_id")
+    @NotNull
+    private String reviewId;
+
+    @Column(name = "result")
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private SyncReviewResult result;
+
+    public SyncReview() {
+    }
+
+    public SyncReview(Long userId, String reviewId, SyncReviewResult result) {
+        this.userId = userId;
+        this.reviewId = reviewId;
+        this.result = result;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getReviewId() {
+        return reviewId;
+    }
+
+    public void setReviewId(String reviewId) {
+        this.reviewId = reviewId;
+    }
+
+    public SyncReviewResult getResult() {
+        return result;
+    }
+
+    public void setResult(SyncReviewResult result) {
+        this.result = result;
+    }
+}
@@ -44,6 +44,18 @@ public class UserCardQueue implements EntityInterface {
     @JoinColumn(name = "remembering_level_id")
     private RememberingLevel rememberingLevel;
 
+    @Column(name = "ease_factor")
+    private Double easeFactor;
+
+    @Column(name = "interval_days")
+    private Integer intervalDays;
+
+    @Column(name = "repetitions")
+    private Integer repetitions;
+
+    @Column(name = "version", insertable = false, updatable = false)
+    private Long version;
+
     public UserCardQueue() {
 
     }
@@ -108,6 +120,38 @@ public class UserCardQueue implements EntityInterface {
         return rememberingLevel;
     }
 
+    public Double getEaseFactor() {
+        return easeFactor;
+    }
+
+    public void setEaseFactor(Double easeFactor) {
+        this.easeFactor = easeFactor;
+    }
+
+    public Integer getIntervalDays() {
+        return intervalDays;
+    }
+
+    public void setIntervalDays(Integer intervalDays) {
+        this.intervalDays = intervalDays;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Integer getRepetitions() {
+        return repetitions;
+    }
+
+    public void setRepetitions(Integer repetitions) {
+        this.repetitions = repetitions;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,31 @@
+package com.softserve.academy.spaced.repetition.domain.enums;
+
+/**
+ * Formats the cards of a deck can be exported in.
+ */
+public enum CardExportFormat {
+    /**
+     * The cards file which can be imported back, the same format as the cards template has.
+     */
+    YAML("yml", "application/octet-stream"),
+    /**
+     * One JSON object per line, for machine consumers.
+     */
+    JSON_LINES("jsonl", "application/x-ndjson");
+
+    private final String fileExtension;
+    private final String contentType;
+
+    CardExportFormat(String fileExtension, String contentType) {
+        this.fileExtension = fileExtension;
+        this.contentType = contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,5 @@
+package com.softserve.academy.spaced.repetition.domain.enums;
+
+public enum CardJobStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+}
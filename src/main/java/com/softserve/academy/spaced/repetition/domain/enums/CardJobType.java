@@ -0,0 +1,5 @@
+package com.softserve.academy.spaced.repetition.domain.enums;
+
+public enum CardJobType {
+    YAML_IMPORT, ANKI_IMPORT, EXPORT
+}
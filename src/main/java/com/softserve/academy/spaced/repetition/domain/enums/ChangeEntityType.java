@@ -0,0 +1,5 @@
+package com.softserve.academy.spaced.repetition.domain.enums;
+
+public enum ChangeEntityType {
+    CARD, DECK, USER_CARD_QUEUE, FOLDER_DECK
+}
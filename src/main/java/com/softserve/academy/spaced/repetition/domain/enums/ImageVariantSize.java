@@ -0,0 +1,17 @@
+package com.softserve.academy.spaced.repetition.domain.enums;
+
+public enum ImageVariantSize {
+    SMALL(64),
+    MEDIUM(256),
+    LARGE(1024);
+
+    private final int maxDimension;
+
+    ImageVariantSize(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+}
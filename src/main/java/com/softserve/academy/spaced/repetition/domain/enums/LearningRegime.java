@@ -2,7 +2,8 @@ package com.softserve.academy.spaced.repetition.domain.enums;
 
 public enum LearningRegime {
     BAD_NORMAL_GOOD_STATUS_DEPENDING("BAD_NORMAL_GOOD_STATUS_DEPENDING"),
-    CARDS_POSTPONING_USING_SPACED_REPETITION("CARDS_POSTPONING_USING_SPACED_REPETITION");
+    CARDS_POSTPONING_USING_SPACED_REPETITION("CARDS_POSTPONING_USING_SPACED_REPETITION"),
+    CARDS_POSTPONING_USING_EASE_FACTOR("CARDS_POSTPONING_USING_EASE_FACTOR");
 
     private String regime;
 
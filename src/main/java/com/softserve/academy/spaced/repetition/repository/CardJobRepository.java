@@ -0,0 +1,54 @@
+package com.softserve.academy.spaced.repetition.repository;
+
+import com.softserve.academy.spaced.repetition.domain.CardJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface CardJobRepository extends JpaRepository<CardJob, Long> {
+
+    CardJob findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Jobs created before node ids were recorded have no node and are treated as jobs of every node.
+     */
+    @Query(value = "SELECT * FROM card_job WHERE (node_id = :nodeId OR node_id IS NULL) "
+            + "AND status IN ('COMPLETED', 'FAILED', 'CANCELLED') AND updated_date < :before", nativeQuery = true)
+    List<CardJob> findFinishedBefore(@Param("nodeId") String nodeId, @Param("before") Date before);
+
+    @Query("SELECT j.cancelRequested FROM CardJob j WHERE j.id = :jobId")
+    boolean isCancelRequested(@Param("jobId") Long jobId);
+
+    @Modifying
+    @Query(value = "UPDATE card_job SET status = 'RUNNING' WHERE job_id = :jobId AND status = 'QUEUED'",
+            nativeQuery = true)
+    int markRunning(@Param("jobId") Long jobId);
+
+    @Modifying
+    @Query(value = "UPDATE card_job SET processed_cards = :processedCards, imported_cards = :importedCards, "
+            + "failed_cards = :failedCards WHERE job_id = :jobId", nativeQuery = true)
+    int updateProgress(@Param("jobId") Long jobId, @Param("processedCards") int processedCards,
+                       @Param("importedCards") int importedCards, @Param("failedCards") int failedCards);
+
+    @Modifying
+    @Query(value = "UPDATE card_job SET status = :status, error_message = :errorMessage WHERE job_id = :jobId",
+            nativeQuery = true)
+    int finish(@Param("jobId") Long jobId, @Param("status") String status,
+               @Param("errorMessage") String errorMessage);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE card_job SET status = CASE status WHEN 'QUEUED' THEN 'CANCELLED' ELSE status END, "
+            + "cancel_requested = 1 WHERE job_id = :jobId AND status IN ('QUEUED', 'RUNNING')", nativeQuery = true)
+    int requestCancel(@Param("jobId") Long jobId);
+
+    @Modifying
+    @Query(value = "UPDATE card_job SET status = 'FAILED', error_message = :errorMessage "
+            + "WHERE (node_id = :nodeId OR node_id IS NULL) AND status IN ('QUEUED', 'RUNNING')", nativeQuery = true)
+    int failUnfinished(@Param("nodeId") String nodeId, @Param("errorMessage") String errorMessage);
+}
@@ -2,57 +2,104 @@ package com.softserve.academy.spaced.repetition.repository;
 
 import com.softserve.academy.spaced.repetition.domain.Card;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigInteger;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 public interface CardRepository extends JpaRepository<Card, Long> {
 
-    @Query(value = "select c.card_id, c.title, c.question, c.answer, c.rating " +
-            "from card c " +
-            "where c.deck_id = :deckId and (c.card_id, c.title, c.question, c.answer, c.rating) not in(" +
-            "select c.card_id, c.title, c.question, c.answer, c.rating " +
-            "from card c left join user_card_queue u " +
-            "on c.card_id=u.card_id " +
-            "where u.user_id = :userId) limit :limitNumber", nativeQuery = true)
+    @Query(value = "select c.* from card c " +
+            "where c.deck_id = :deckId and not exists (" +
+            "select 1 from user_card_queue u where u.user_id = :userId and u.card_id = c.card_id) " +
+            "order by c.card_id limit :limitNumber", nativeQuery = true)
     List<Card> cardsForLearningWithOutStatus(@Param("userId") Long userId, @Param("deckId") Long deckId,
                                              @Param("limitNumber") int limitNumber);
 
     @Query(value =
-            "select c.card_id, c.title, c.question, c.answer, c.rating " +
-            "from card c inner join user_card_queue u on c.card_id=u.card_id " +
+            "select c.* " +
+            "from user_card_queue u inner join card c on c.card_id = u.card_id " +
             "where u.deck_id = :deckId and u.user_id = :userId " +
             "order by case u.status " +
             "when 'BAD' then 1 " +
             "when 'NORMAL' then 2 " +
             "when 'GOOD' then 3 " +
-            "end, u.card_data limit :limitNumber", nativeQuery = true)
+            "end, u.card_date, u.card_id limit :limitNumber", nativeQuery = true)
     List<Card> cardsQueueForLearningWithStatus(@Param("userId") Long userId, @Param("deckId") Long deckId,
                                                @Param("limitNumber") int limitNumber);
 
-    List <Card> findAllByQuestion(String question);
+    @Query("SELECT DISTINCT c.questionHash FROM Card c WHERE c.questionHash IN :questionHashes")
+    List<String> findQuestionHashesIn(@Param("questionHashes") Collection<String> questionHashes);
 
-    @Query(value = "SELECT * FROM card WHERE deck_id = :deckId AND card_id NOT IN " +
-            "(SELECT card_id FROM user_card_queue WHERE deck_id=:deckId AND user_id = :userId) limit :limit",
+    @Query(value = "SELECT c.* FROM card c WHERE c.deck_id = :deckId AND NOT EXISTS " +
+            "(SELECT 1 FROM user_card_queue u WHERE u.user_id = :userId AND u.card_id = c.card_id) " +
+            "ORDER BY c.card_id limit :limit",
             nativeQuery = true)
     List<Card> getNewCards(@Param("deckId") Long deckId, @Param("userId") Long userId, @Param("limit") int limit);
 
-    @Query(value = "SELECT c.* FROM card c INNER JOIN user_card_queue u on c.card_id = u.card_id WHERE c.deck_id = " +
-            ":deckId AND u.user_id = :userId AND date_to_repeat <= :now limit :limit",
+    @Query("SELECT c.id FROM Card c WHERE c.deck.id IN :deckIds AND NOT EXISTS " +
+            "(SELECT q.id FROM UserCardQueue q WHERE q.userId = :userId AND q.cardId = c.id) ORDER BY c.id")
+    List<Long> findNewCardIdsInDecks(@Param("userId") Long userId, @Param("deckIds") Collection<Long> deckIds,
+                                     Pageable pageable);
+
+    @Query(value = "SELECT c.* FROM user_card_queue u INNER JOIN card c on c.card_id = u.card_id WHERE u.deck_id = " +
+            ":deckId AND u.user_id = :userId AND u.date_to_repeat <= :now " +
+            "ORDER BY u.date_to_repeat, u.card_id limit :limit",
             nativeQuery = true)
     List<Card> getCardsThatNeedRepeating(@Param("deckId") Long deckId, @Param("now") Date now,
                                          @Param("userId") Long userId, @Param("limit") int limit);
 
     List<Card> findAllByDeckId(Long deckId);
 
-    @Query(value = "SELECT c.* FROM card c INNER JOIN user_card_queue u on c.card_id = u.card_id WHERE c.deck_id = " +
-            ":deckId AND u.user_id = :userId AND date_to_repeat > :now limit :limit",
+    @Query("SELECT c.id FROM Card c WHERE c.deck.id = :deckId ORDER BY c.id")
+    List<Long> findIdsByDeckId(@Param("deckId") Long deckId);
+
+    @Query("SELECT c.id FROM Card c WHERE c.deck.id = :deckId AND c.id IN :cardIds")
+    List<Long> findIdsByDeckIdAndIdIn(@Param("deckId") Long deckId, @Param("cardIds") Collection<Long> cardIds);
+
+    @Query("SELECT DISTINCT c FROM Card c LEFT JOIN FETCH c.cardImages WHERE c.id IN :cardIds")
+    List<Card> findAllWithCardImagesByIdIn(@Param("cardIds") Collection<Long> cardIds);
+
+    /**
+     * Loads the cards with the given identifiers and their images in one query, keeping the order
+     * of the identifiers, so the cards can be used outside of the persistence context.
+     * Identifiers of removed cards are skipped.
+     *
+     * @param cardIds identifiers of the cards in the required order
+     * @return the cards in the order of their identifiers
+     */
+    default List<Card> findAllInOrder(List<Long> cardIds) {
+        if (cardIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Card> cardsById = findAllWithCardImagesByIdIn(cardIds).stream()
+                .collect(Collectors.toMap(Card::getId, Function.identity()));
+        return cardIds.stream().map(cardsById::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Query("SELECT c.deck.id, COUNT(c) FROM Card c WHERE c.deck.id IN :deckIds GROUP BY c.deck.id")
+    List<Object[]> countCardsByDeckIds(@Param("deckIds") Collection<Long> deckIds);
+
+    @Query(value = "SELECT c.* FROM user_card_queue u INNER JOIN card c on c.card_id = u.card_id WHERE u.deck_id = " +
+            ":deckId AND u.user_id = :userId AND u.date_to_repeat > :now " +
+            "ORDER BY u.date_to_repeat, u.card_id limit :limit",
             nativeQuery = true)
     List<Card> getPostponedCards(@Param("deckId") Long deckId, @Param("now") Date now,
                                  @Param("userId") Long userId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE card SET version = :version WHERE card_id = :cardId", nativeQuery = true)
+    void updateVersion(@Param("cardId") Long cardId, @Param("version") Long version);
+
+    @Modifying
+    @Query(value = "UPDATE card c SET c.version = (SELECT MAX(l.change_id) FROM change_log l "
+            + "WHERE l.entity_type = 'CARD' AND l.entity_id = c.card_id) WHERE c.card_id IN :cardIds",
+            nativeQuery = true)
+    void updateVersionsFromChangeLog(@Param("cardIds") Collection<Long> cardIds);
 }
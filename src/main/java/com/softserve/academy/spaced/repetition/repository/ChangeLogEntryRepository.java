@@ -0,0 +1,34 @@
+package com.softserve.academy.spaced.repetition.repository;
+
+import com.softserve.academy.spaced.repetition.domain.ChangeLogEntry;
+import com.softserve.academy.spaced.repetition.domain.enums.ChangeEntityType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChangeLogEntryRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    @Query("SELECT e FROM ChangeLogEntry e WHERE e.syncVersion > :version AND (e.userId = :userId " +
+            "OR (e.entityType NOT IN :userEntityTypes AND e.deckId IN :deckIds)) ORDER BY e.syncVersion")
+    List<ChangeLogEntry> findChangesSince(@Param("userId") Long userId, @Param("deckIds") Collection<Long> deckIds,
+                                          @Param("userEntityTypes") Collection<ChangeEntityType> userEntityTypes,
+                                          @Param("version") Long version, Pageable pageable);
+
+    @Query("SELECT e FROM ChangeLogEntry e WHERE e.syncVersion > :version AND e.userId = :userId " +
+            "ORDER BY e.syncVersion")
+    List<ChangeLogEntry> findUserChangesSince(@Param("userId") Long userId, @Param("version") Long version,
+                                              Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO change_log (entity_type, entity_id, deck_id, operation, changed_at) "
+            + "SELECT 'CARD', card_id, deck_id, 'SAVE', NOW() FROM card WHERE card_id IN :cardIds ORDER BY card_id",
+            nativeQuery = true)
+    int insertCardChanges(@Param("cardIds") Collection<Long> cardIds);
+}
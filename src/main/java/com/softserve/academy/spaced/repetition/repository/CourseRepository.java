@@ -9,9 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigInteger;
 import java.util.List;
-import java.util.Set;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
@@ -37,8 +35,4 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     Page<Course> findAllByCategoryEqualsAndPublishedTrue(Category category, Pageable pageable);
 
     Page<Course> findAllByPublishedTrue(Pageable pageable);
-
-    @Query(value = "SELECT c.course_id FROM course c WHERE c.name LIKE %:searchString% OR c.description LIKE %:searchString%",
-            nativeQuery = true)
-    Set<BigInteger> findCoursesId(@Param("searchString") String searchString);
 }
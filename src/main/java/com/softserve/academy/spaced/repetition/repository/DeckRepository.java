@@ -5,13 +5,12 @@ import com.softserve.academy.spaced.repetition.domain.Deck;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigInteger;
 import java.util.List;
-import java.util.Set;
 
 @Repository
 public interface DeckRepository extends JpaRepository<Deck, Long> {
@@ -27,7 +26,7 @@ public interface DeckRepository extends JpaRepository<Deck, Long> {
 
     Page<Deck> findAllByCategoryEquals(Category category, Pageable pageable);
 
-    @Query(value = "SELECT d.deck_id FROM deck d WHERE d.name LIKE %:searchString% or d.description LIKE %:searchString%",
-            nativeQuery = true)
-    Set<BigInteger> findDecksId(@Param("searchString") String searchString);
+    @Modifying
+    @Query(value = "UPDATE deck SET version = :version WHERE deck_id = :deckId", nativeQuery = true)
+    void updateVersion(@Param("deckId") Long deckId, @Param("version") Long version);
 }
@@ -0,0 +1,50 @@
+package com.softserve.academy.spaced.repetition.repository;
+
+import com.softserve.academy.spaced.repetition.domain.ImageQuota;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImageQuotaRepository extends JpaRepository<ImageQuota, Long> {
+
+    @Query("SELECT q.bytesUsed FROM ImageQuota q WHERE q.userId = :userId")
+    Long getBytesUsed(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO image_quota (user_id, bytes_used) VALUES (:userId, 0)", nativeQuery = true)
+    int createIfMissing(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "UPDATE image_quota SET bytes_used = bytes_used + :bytes, changed_at = NOW() "
+            + "WHERE user_id = :userId AND bytes_used + :bytes <= :quota", nativeQuery = true)
+    int reserveBytes(@Param("userId") Long userId, @Param("bytes") long bytes, @Param("quota") long quota);
+
+    @Modifying
+    @Query(value = "UPDATE image_quota SET bytes_used = GREATEST(bytes_used - :bytes, 0), changed_at = NOW() "
+            + "WHERE user_id = :userId", nativeQuery = true)
+    int releaseBytes(@Param("userId") Long userId, @Param("bytes") long bytes);
+
+    @Query("SELECT q.userId FROM ImageQuota q WHERE q.userId > :afterUserId ORDER BY q.userId")
+    List<Long> findUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable pageable);
+
+    @Query(value = "SELECT user_id, SUM(size) FROM image WHERE user_id IN (:userIds) GROUP BY user_id",
+            nativeQuery = true)
+    List<Object[]> sumImageSizesByUser(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Sets the bytes used by the user unless the quota changed within the grace period, so bytes reserved for an
+     * image which is not committed yet, or reserved or released after the image sizes were summed, are kept.
+     */
+    @Modifying
+    @Query(value = "UPDATE image_quota SET bytes_used = :bytesUsed WHERE user_id = :userId "
+            + "AND (changed_at IS NULL OR changed_at < NOW() - INTERVAL :graceMinutes MINUTE)", nativeQuery = true)
+    int reconcileBytesUsed(@Param("userId") Long userId, @Param("bytesUsed") long bytesUsed,
+                           @Param("graceMinutes") int graceMinutes);
+}
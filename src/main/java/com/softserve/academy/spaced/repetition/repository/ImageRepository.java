@@ -12,9 +12,6 @@ public interface ImageRepository extends JpaRepository<Image, Long> {
 
     public Image findImageById(Long id);
 
-    @Query("SELECT id FROM Image")
-    public List<Long> getIdList();
-
     @Query("SELECT new Image(i.id) FROM Image i")
     public List<Image> getImagesWithoutContent();
 
@@ -24,9 +21,6 @@ public interface ImageRepository extends JpaRepository<Image, Long> {
     @Query("SELECT new Image(i.id, i.createdBy) FROM Image i WHERE i.id = ?1")
     public Image getImageWithoutContent(Long id);
 
-    @Query("SELECT SUM(i.size) FROM Image i WHERE user_id = ?1")
-    public Long getSumOfImagesSizesOfUserById(Long id);
-
 }
 
 
@@ -0,0 +1,16 @@
+package com.softserve.academy.spaced.repetition.repository;
+
+import com.softserve.academy.spaced.repetition.domain.ImageVariant;
+import com.softserve.academy.spaced.repetition.domain.enums.ImageVariantSize;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, Long> {
+
+    ImageVariant findByImageIdAndVariant(Long imageId, ImageVariantSize variant);
+
+    List<ImageVariant> findAllByImageId(Long imageId);
+}
@@ -5,7 +5,11 @@ import com.softserve.academy.spaced.repetition.domain.RememberingLevel;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RememberingLevelRepository extends JpaRepository<RememberingLevel, Long> {
     RememberingLevel findRememberingLevelByAccountEqualsAndOrderNumber(Account account, Integer orderNumber);
+
+    List<RememberingLevel> findAllByAccountOrderByOrderNumber(Account account);
 }
@@ -0,0 +1,32 @@
+package com.softserve.academy.spaced.repetition.repository;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Creates a forward-only, read-only statement whose rows the MySQL driver streams one by one instead of fetching
+ * the whole result. The connection can not run other statements until the result is read to the end.
+ */
+public class StreamingStatementCreator implements PreparedStatementCreator {
+    private final String query;
+    private final Object[] args;
+
+    public StreamingStatementCreator(String query, Object... args) {
+        this.query = query;
+        this.args = args;
+    }
+
+    @Override
+    public PreparedStatement createPreparedStatement(Connection connection) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(Integer.MIN_VALUE);
+        new ArgumentPreparedStatementSetter(args).setValues(statement);
+        return statement;
+    }
+}
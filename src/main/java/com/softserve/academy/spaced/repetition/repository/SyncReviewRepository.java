@@ -0,0 +1,35 @@
+package com.softserve.academy.spaced.repetition.repository;
+
+import com.softserve.academy.spaced.repetition.domain.SyncReview;
+import com.softserve.academy.spaced.repetition.domain.enums.SyncReviewResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SyncReviewRepository extends JpaRepository<SyncReview, Long> {
+
+    List<SyncReview> findAllByUserIdAndReviewIdIn(Long userId, Collection<String> reviewIds);
+
+    /**
+     * Records the review unless the user has already uploaded a review with this id. An upload of the same
+     * review which is not committed yet holds the unique key, so this waits until it commits or rolls back.
+     *
+     * @return 1 if the review was recorded, 0 if it is a duplicate
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO sync_review (user_id, review_id, result) VALUES (:userId, :reviewId, :result)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("reviewId") String reviewId,
+                       @Param("result") String result);
+
+    @Modifying
+    @Query("UPDATE SyncReview r SET r.result = :result WHERE r.userId = :userId AND r.reviewId IN :reviewIds")
+    int updateResults(@Param("userId") Long userId, @Param("reviewIds") Collection<String> reviewIds,
+                      @Param("result") SyncReviewResult result);
+}
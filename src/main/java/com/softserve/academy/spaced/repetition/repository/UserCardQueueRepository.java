@@ -1,14 +1,53 @@
 package com.softserve.academy.spaced.repetition.repository;
 
 import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 @Repository
-public interface UserCardQueueRepository extends JpaRepository<UserCardQueue, Long> {
+public interface UserCardQueueRepository extends JpaRepository<UserCardQueue, Long>,
+        UserCardQueueRepositoryCustom {
     UserCardQueue findUserCardQueueByUserIdAndCardId(Long userId, Long cardId);
 
+    List<UserCardQueue> findAllByUserIdAndDeckId(Long userId, Long deckId);
+
+    List<UserCardQueue> findAllByUserId(Long userId);
+
+    List<UserCardQueue> findAllByUserIdAndCardIdIn(Long userId, Collection<Long> cardIds);
+
+    @Query("SELECT q.deckId, q.cardId, q.dateToRepeat FROM UserCardQueue q, Card c " +
+            "WHERE c.id = q.cardId AND q.userId = :userId AND q.deckId IN :deckIds")
+    List<Object[]> findDeckIdsCardIdsAndDatesToRepeat(@Param("userId") Long userId,
+                                                      @Param("deckIds") Collection<Long> deckIds);
+
+    @Query("SELECT q.cardId FROM UserCardQueue q WHERE q.userId = :userId AND q.deckId IN :deckIds " +
+            "ORDER BY CASE q.status " +
+            "WHEN com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus.BAD THEN 1 " +
+            "WHEN com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus.NORMAL THEN 2 " +
+            "WHEN com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus.GOOD THEN 3 " +
+            "END, q.cardDate, q.cardId")
+    List<Long> findCardIdsWithStatusInDecks(@Param("userId") Long userId, @Param("deckIds") Collection<Long> deckIds,
+                                            Pageable pageable);
+
     long countAllByUserIdEqualsAndDeckIdEqualsAndDateToRepeatBefore(Long userId, Long deckId, Date now);
+
+    List<UserCardQueue> findAllByUserIdAndVersionIn(Long userId, Collection<Long> versions);
+
+    @Modifying
+    @Query(value = "UPDATE user_card_queue SET version = :version WHERE user_id = :userId AND card_id IN :cardIds",
+            nativeQuery = true)
+    void updateVersion(@Param("userId") Long userId, @Param("cardIds") Collection<Long> cardIds,
+                       @Param("version") Long version);
+
+    @Modifying
+    @Query(value = "UPDATE user_card_queue SET version = :version WHERE user_id = :userId", nativeQuery = true)
+    void updateVersion(@Param("userId") Long userId, @Param("version") Long version);
 }
@@ -0,0 +1,30 @@
+package com.softserve.academy.spaced.repetition.repository;
+
+import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public interface UserCardQueueRepositoryCustom {
+    /**
+     * Inserts new and updates existing queue entries using one JDBC batch per statement type.
+     *
+     * @param userCardQueues entries to save, new ones are recognised by {@code null} id
+     */
+    void saveAllInBatch(Collection<UserCardQueue> userCardQueues);
+
+    /**
+     * Finds the cards of the user that need repeating in every one of the decks by one statement, every deck
+     * is limited on its own.
+     *
+     * @param userId  must not be {@literal null}.
+     * @param deckIds must not be empty.
+     * @param now     cards to repeat up to this date are returned
+     * @param offset  number of the first cards of every deck to skip
+     * @param limit   maximal number of cards of every deck
+     * @return rows of deck id, card id and date to repeat ordered by deck and then by date to repeat
+     */
+    List<Object[]> findCardsThatNeedRepeatingInDecks(Long userId, Collection<Long> deckIds, Date now, int offset,
+                                                     int limit);
+}
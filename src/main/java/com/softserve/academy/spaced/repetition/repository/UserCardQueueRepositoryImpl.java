@@ -0,0 +1,86 @@
+package com.softserve.academy.spaced.repetition.repository;
+
+import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.StringJoiner;
+
+public class UserCardQueueRepositoryImpl implements UserCardQueueRepositoryCustom {
+    private static final String INSERT_QUERY = "INSERT INTO user_card_queue " +
+            "(user_id, card_id, deck_id, status, card_date, date_to_repeat, remembering_level_id, " +
+            "ease_factor, interval_days, repetitions) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_QUERY = "UPDATE user_card_queue " +
+            "SET status = ?, card_date = ?, date_to_repeat = ?, remembering_level_id = ?, " +
+            "ease_factor = ?, interval_days = ?, repetitions = ? " +
+            "WHERE user_card_queue_id = ?";
+    private static final String DECK_DUE_CARDS_QUERY = "(SELECT deck_id, card_id, date_to_repeat " +
+            "FROM user_card_queue WHERE user_id = ? AND deck_id = ? AND date_to_repeat <= ? " +
+            "ORDER BY date_to_repeat, card_id LIMIT ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void saveAllInBatch(Collection<UserCardQueue> userCardQueues) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (UserCardQueue userCardQueue : userCardQueues) {
+            String status = userCardQueue.getStatus() != null ? userCardQueue.getStatus().name() : null;
+            Long rememberingLevelId = userCardQueue.getRememberingLevel() != null
+                    ? userCardQueue.getRememberingLevel().getId() : null;
+            if (userCardQueue.getId() == null) {
+                inserts.add(new Object[]{userCardQueue.getUserId(), userCardQueue.getCardId(),
+                        userCardQueue.getDeckId(), status, toTimestamp(userCardQueue.getCardDate()),
+                        toTimestamp(userCardQueue.getDateToRepeat()), rememberingLevelId,
+                        userCardQueue.getEaseFactor(), userCardQueue.getIntervalDays(),
+                        userCardQueue.getRepetitions()});
+            } else {
+                // the JDBC batch below is the only write, keep Hibernate from flushing the same changes again
+                if (entityManager.contains(userCardQueue)) {
+                    entityManager.detach(userCardQueue);
+                }
+                updates.add(new Object[]{status, toTimestamp(userCardQueue.getCardDate()),
+                        toTimestamp(userCardQueue.getDateToRepeat()), rememberingLevelId,
+                        userCardQueue.getEaseFactor(), userCardQueue.getIntervalDays(),
+                        userCardQueue.getRepetitions(), userCardQueue.getId()});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_QUERY, inserts);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_QUERY, updates);
+        }
+    }
+
+    @Override
+    public List<Object[]> findCardsThatNeedRepeatingInDecks(Long userId, Collection<Long> deckIds, Date now,
+                                                            int offset, int limit) {
+        // MySQL 5.7 has no window functions, a limited subquery per deck keeps it one statement
+        StringJoiner query = new StringJoiner(" UNION ALL ", "", " ORDER BY deck_id, date_to_repeat, card_id");
+        List<Object> args = new ArrayList<>();
+        Timestamp timestamp = toTimestamp(now);
+        for (Long deckId : deckIds) {
+            query.add(DECK_DUE_CARDS_QUERY);
+            Collections.addAll(args, userId, deckId, timestamp, offset, limit);
+        }
+        return jdbcTemplate.query(query.toString(), args.toArray(), (rs, rowNum) -> new Object[]{
+                rs.getLong("deck_id"), rs.getLong("card_id"), rs.getTimestamp("date_to_repeat")});
+    }
+
+    private static Timestamp toTimestamp(Date date) {
+        return date != null ? new Timestamp(date.getTime()) : null;
+    }
+}
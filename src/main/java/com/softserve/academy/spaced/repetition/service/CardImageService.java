@@ -3,11 +3,40 @@ package com.softserve.academy.spaced.repetition.service;
 import com.softserve.academy.spaced.repetition.domain.Card;
 import com.softserve.academy.spaced.repetition.domain.CardImage;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 public interface CardImageService {
 
     void addCardImage(List<String> imageList, Card card);
 
+    /**
+     * Gets the card image with the given identifier without its content.
+     *
+     * @param cardImageId must not be {@literal null}.
+     * @return the card image
+     * @throws NoSuchElementException if there is no card image with such identifier
+     */
+    CardImage getCardImage(Long cardImageId);
+
+    /**
+     * Writes the content of the card image to the stream.
+     *
+     * @param cardImage card image which content will be written
+     * @param out       stream to write the content to
+     * @throws IOException            if the content can not be read or written
+     * @throws NoSuchElementException if the content of the card image is missing
+     */
+    void copyCardImageContent(CardImage cardImage, OutputStream out) throws IOException;
+
     void deleteById(Long cardImageID);
+
+    /**
+     * Releases the content of card images that are deleted together with their card.
+     *
+     * @param cardImages deleted card images
+     */
+    void releaseCardImages(List<CardImage> cardImages);
 }
@@ -0,0 +1,80 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.domain.CardJob;
+import com.softserve.academy.spaced.repetition.domain.enums.CardExportFormat;
+import com.softserve.academy.spaced.repetition.domain.enums.CardJobType;
+import com.softserve.academy.spaced.repetition.utils.exceptions.EmptyFileException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Runs imports and exports of the cards of a deck in the background. Jobs are processed by a bounded executor,
+ * their progress is persisted, so it can be polled by the owner of the job.
+ */
+public interface CardJobService {
+
+    /**
+     * Saves the file and queues its import into the deck.
+     *
+     * @param cardsFile the file of cards, must not be empty
+     * @param deckId    must not be {@literal null}
+     * @param type      the type of the file, {@link CardJobType#YAML_IMPORT} or {@link CardJobType#ANKI_IMPORT}
+     * @return the queued job
+     * @throws EmptyFileException         if the file is empty
+     * @throws NotOwnerOperationException if user is not the owner of the deck
+     * @throws NotAuthorisedUserException if user is not authorised
+     * @throws IOException                if the file could not be saved
+     * @throws IllegalArgumentException   if the type is not a type of import
+     */
+    CardJob importCards(MultipartFile cardsFile, Long deckId, CardJobType type) throws EmptyFileException,
+            NotOwnerOperationException, NotAuthorisedUserException, IOException;
+
+    /**
+     * Queues an export of the cards of the deck into a file which can be downloaded when the job completes.
+     *
+     * @param deckId must not be {@literal null}
+     * @param format format of the file
+     * @param gzip   whether the file is compressed with gzip
+     * @return the queued job
+     * @throws NotAuthorisedUserException if user is not authorised
+     * @throws IOException                if the file could not be created
+     */
+    CardJob exportCards(Long deckId, CardExportFormat format, boolean gzip) throws NotAuthorisedUserException,
+            IOException;
+
+    /**
+     * @param jobId must not be {@literal null}
+     * @return the job of the authorized user
+     * @throws NotAuthorisedUserException if user is not authorised
+     * @throws java.util.NoSuchElementException if user has no job with the given identifier
+     */
+    CardJob getCardJob(Long jobId) throws NotAuthorisedUserException;
+
+    /**
+     * Cancels the job. A queued job is cancelled at once, a running one stops after the current batch of cards
+     * and its changes are rolled back.
+     *
+     * @param jobId must not be {@literal null}
+     * @return the job after the cancellation has been requested
+     * @throws NotAuthorisedUserException if user is not authorised
+     * @throws IllegalArgumentException   if the job is already finished
+     */
+    CardJob cancelCardJob(Long jobId) throws NotAuthorisedUserException;
+
+    /**
+     * @param jobId must not be {@literal null}
+     * @return the file produced by the completed export job
+     * @throws NotAuthorisedUserException if user is not authorised
+     * @throws IllegalArgumentException   if the job is not a completed export
+     */
+    Path getExportedFile(Long jobId) throws NotAuthorisedUserException;
+
+    /**
+     * Removes finished jobs older than the retention period together with their files.
+     */
+    void removeFinishedCardJobs();
+}
@@ -1,6 +1,8 @@
 package com.softserve.academy.spaced.repetition.service;
 
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardImportResultDTO;
 import com.softserve.academy.spaced.repetition.domain.Card;
+import com.softserve.academy.spaced.repetition.domain.enums.CardExportFormat;
 import com.softserve.academy.spaced.repetition.utils.exceptions.EmptyFileException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
@@ -84,25 +86,30 @@ public interface CardService {
 
     /**
      * Uploads cards from .yml file to deck with the given identifier.
+     * Invalid cards are skipped and reported, the valid ones are added to the deck.
      *
      * @param cardsFile expect .yml file and throw exception otherwise
      * @param deckId    must not be {@literal null}.
+     * @return number of uploaded cards and errors of the skipped ones
      * @throws WrongFormatException       if invalid format of file
      * @throws EmptyFileException         if file is empty
      * @throws NotOwnerOperationException if user can not do this operation because he has not this deck
      * @throws NotAuthorisedUserException if user is not authorised
      * @throws IOException                if failed or interrupted I/O operations
      */
-    void uploadCards(MultipartFile cardsFile, Long deckId) throws WrongFormatException, EmptyFileException,
-            NotOwnerOperationException, NotAuthorisedUserException, IOException;
+    CardImportResultDTO uploadCards(MultipartFile cardsFile, Long deckId) throws WrongFormatException,
+            EmptyFileException, NotOwnerOperationException, NotAuthorisedUserException, IOException;
 
     /**
-     * Downloads cards from website in .yml format from deck with the given identifier.
+     * Downloads cards from website from deck with the given identifier. The cards are streamed to the output
+     * as they are read from the database.
      *
      * @param deckId       must not be {@literal null}.
+     * @param format       format of the file
+     * @param gzip         whether the file is compressed with gzip
      * @param outputStream write date to file
      */
-    void downloadCards(Long deckId, OutputStream outputStream);
+    void downloadCards(Long deckId, CardExportFormat format, boolean gzip, OutputStream outputStream);
 
     /**
      * Download template cards from file which stored ../orlp-server/src/main/resources/data/CardsTemplate.yml
@@ -0,0 +1,73 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import java.util.Collection;
+
+/**
+ * This interface records changes of cards, decks and user card queues for the delta sync of offline clients.
+ * Every recorded change gets a new monotonic version which is stamped on the changed rows. Changes are served
+ * to clients in the order of their sync version, which is assigned once the recording transaction has committed.
+ */
+public interface ChangeLogService {
+    /**
+     * Records that the card was created or updated.
+     *
+     * @param cardId the card`s id.
+     * @param deckId the id of the card`s deck.
+     */
+    void recordCardSaved(Long cardId, Long deckId);
+
+    /**
+     * Records that the cards were created or updated, with one change per card written in bulk.
+     *
+     * @param cardIds the ids of the saved cards.
+     */
+    void recordCardsSaved(Collection<Long> cardIds);
+
+    /**
+     * Records that the card was deleted.
+     *
+     * @param cardId the card`s id.
+     * @param deckId the id of the card`s deck.
+     */
+    void recordCardDeleted(Long cardId, Long deckId);
+
+    /**
+     * Records that the deck was created or updated.
+     *
+     * @param deckId  the deck`s id.
+     * @param ownerId the id of the deck`s owner, may be {@literal null}.
+     */
+    void recordDeckSaved(Long deckId, Long ownerId);
+
+    /**
+     * Records that the deck was deleted together with its cards.
+     *
+     * @param deckId  the deck`s id.
+     * @param ownerId the id of the deck`s owner, may be {@literal null}.
+     */
+    void recordDeckDeleted(Long deckId, Long ownerId);
+
+    /**
+     * Records that the deck was added to the user`s folder, so the next sync sends all cards of the deck.
+     *
+     * @param deckId the deck`s id.
+     * @param userId the id of the folder`s owner.
+     */
+    void recordFolderDeckAdded(Long deckId, Long userId);
+
+    /**
+     * Records one change of the user`s card queue covering all given cards.
+     *
+     * @param userId  the user`s id.
+     * @param deckId  the deck`s id, {@literal null} if the cards belong to different decks.
+     * @param cardIds the ids of the cards whose queue entries were saved.
+     */
+    void recordUserCardQueuesSaved(Long userId, Long deckId, Collection<Long> cardIds);
+
+    /**
+     * Records one change covering the whole card queue of the user, e.g. after rescheduling of all decks.
+     *
+     * @param userId the user`s id.
+     */
+    void recordAllUserCardQueuesSaved(Long userId);
+}
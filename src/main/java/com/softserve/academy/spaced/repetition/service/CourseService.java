@@ -2,12 +2,17 @@ package com.softserve.academy.spaced.repetition.service;
 
 import com.softserve.academy.spaced.repetition.domain.Course;
 import com.softserve.academy.spaced.repetition.domain.Deck;
+import com.softserve.academy.spaced.repetition.utils.exceptions.EmptyFileException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.ImageRepositorySizeQuotaExceededException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.WrongFormatException;
 import org.springframework.data.domain.Page;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.math.BigInteger;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
-import java.util.Set;
 
 /**
  * This interface works with course
@@ -110,6 +115,39 @@ public interface CourseService {
      */
     void createPrivateCourse(Course privateCourse, Long categoryId) throws NotAuthorisedUserException;
 
+    /**
+     * Writes the course with its decks, cards and images to the stream as a zip archive. Unpublished courses can be
+     * exported by their owners only. The archive is written outside of a transaction, so a course changed during
+     * the export may be written partly before and partly after the change.
+     *
+     * @param courseId     must not be {@literal null}.
+     * @param outputStream the stream to write the archive to, it is left open.
+     * @throws NotAuthorisedUserException if user is not authorised
+     * @throws NotOwnerOperationException if the course is not published and user is not its owner
+     * @throws IOException                if writing to the stream failed
+     * @throws java.util.NoSuchElementException if there is no course with such identifier
+     */
+    void exportCourse(Long courseId, OutputStream outputStream) throws NotAuthorisedUserException,
+            NotOwnerOperationException, IOException;
+
+    /**
+     * Creates a private course of the current user with the decks, cards and images of the archive
+     * written by {@link #exportCourse(Long, OutputStream)}. The whole archive is imported in one transaction on
+     * the calling thread, so a large archive keeps the request and a connection of the pool busy until the import
+     * ends. The size of an archive is bounded by the multipart upload limit only.
+     *
+     * @param archive    the uploaded archive, must not be empty.
+     * @param categoryId category of the course and its decks, must not be {@literal null}.
+     * @return the created course
+     * @throws NotAuthorisedUserException                if user is not authorised
+     * @throws EmptyFileException                        if the archive is empty
+     * @throws WrongFormatException                      if the file is not a course archive
+     * @throws ImageRepositorySizeQuotaExceededException if the image of the course does not fit into the quota
+     * @throws IOException                               if the archive can not be read
+     */
+    Course importCourse(MultipartFile archive, Long categoryId) throws NotAuthorisedUserException,
+            EmptyFileException, WrongFormatException, ImageRepositorySizeQuotaExceededException, IOException;
+
     /**
      * Updates access to course - change property published in course
      *
@@ -154,6 +192,4 @@ public interface CourseService {
      * @return sorted course on each page (by default 12 courses on each page)
      */
     Page<Course> getPageWithCoursesByCategory(long categoryId, int pageNumber, String sortBy, boolean ascending);
-
-    Set<BigInteger> findCoursesId(String searchString);
 }
@@ -0,0 +1,41 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.utils.exceptions.ImageRepositorySizeQuotaExceededException;
+
+/**
+ * Keeps the number of bytes used by images of every user, so quota checks read a single row
+ * instead of summing sizes of all images of the user. Images of imported cards are not counted.
+ */
+public interface ImageQuotaService {
+
+    /**
+     * Gets the number of bytes the user still may upload.
+     *
+     * @param userId must not be {@literal null}.
+     * @return number of bytes left, negative if the quota is already exceeded
+     */
+    long getBytesLeft(Long userId);
+
+    /**
+     * Atomically adds bytes of a new image to the bytes used by the user, if they fit into the quota.
+     *
+     * @param userId must not be {@literal null}.
+     * @param bytes  size of the new image
+     * @throws ImageRepositorySizeQuotaExceededException if the image does not fit into the quota
+     */
+    void reserveBytes(Long userId, long bytes) throws ImageRepositorySizeQuotaExceededException;
+
+    /**
+     * Subtracts bytes of a deleted image, or of an image that failed to be saved, from the bytes used by the user.
+     *
+     * @param userId must not be {@literal null}.
+     * @param bytes  size of the image
+     */
+    void releaseBytes(Long userId, long bytes);
+
+    /**
+     * Recomputes bytes used by all users from their images, correcting the counters that drifted
+     * because of images deleted in bulk or failed uploads.
+     */
+    void reconcileBytesUsed();
+}
@@ -2,13 +2,18 @@ package com.softserve.academy.spaced.repetition.service;
 
 import com.softserve.academy.spaced.repetition.domain.Image;
 import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.domain.enums.ImageVariantSize;
 import com.softserve.academy.spaced.repetition.utils.exceptions.CanNotBeDeletedException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.ImageRepositorySizeQuotaExceededException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * Works with processing images.
@@ -25,6 +30,32 @@ public interface ImageService {
      */
     Image addImageToDB(MultipartFile file) throws ImageRepositorySizeQuotaExceededException, NotAuthorisedUserException;
 
+    /**
+     * Adds the profile image of the user to the database. The image is marked as used, so it can not be deleted
+     * as an ordinary uploaded image while it is the profile image.
+     *
+     * @param user        owner of the image, must not be {@literal null}.
+     * @param imageBase64 image as a base64 encoded data URI.
+     * @return saved image
+     * @throws ImageRepositorySizeQuotaExceededException if the image does not fit into the user's quota
+     * @throws IllegalArgumentException                  if the data URI does not contain an image
+     */
+    Image addProfileImage(User user, String imageBase64) throws ImageRepositorySizeQuotaExceededException;
+
+    /**
+     * Adds an image of the user which is already in use, e.g. the image of an imported course.
+     *
+     * @param user    owner of the image, must not be {@literal null}.
+     * @param content the source of image bytes, it may be opened more than once.
+     * @param type    the content type of the image.
+     * @param size    the number of bytes of the image.
+     * @return saved image
+     * @throws ImageRepositorySizeQuotaExceededException if the image does not fit into the user's quota
+     * @throws IllegalArgumentException                  if the type is not a type of an image
+     */
+    Image addImage(User user, InputStreamSource content, String type, Long size)
+            throws ImageRepositorySizeQuotaExceededException;
+
     /**
      * Just check image extension.
      *
@@ -43,6 +74,53 @@ public interface ImageService {
      */
     byte[] getDecodedImageContentByImageId(Long imageId);
 
+    /**
+     * Gets the image with the given identifier without its content.
+     *
+     * @param imageId must not be {@literal null}.
+     * @return the image
+     * @throws NoSuchElementException if there is no image with such identifier
+     */
+    Image getImage(Long imageId);
+
+    /**
+     * Saves image content into the shared content store, equal content is stored once.
+     * Every saved content must be released by {@link #releaseImageContent(String)} when it is not used any more.
+     *
+     * @param content the source of image bytes
+     * @return the key of the stored content
+     * @throws IllegalArgumentException if the content can not be saved
+     */
+    String saveImageContent(InputStreamSource content);
+
+    /**
+     * Releases the content saved by {@link #saveImageContent(InputStreamSource)}, the content is deleted when
+     * nothing refers to it any more.
+     *
+     * @param contentKey the key of the content, ignored if {@literal null}.
+     * @throws IllegalArgumentException if the content can not be deleted
+     */
+    void releaseImageContent(String contentKey);
+
+    /**
+     * Gets a transient image describing the content of the resized variant of the image with the given identifier.
+     *
+     * @param imageId must not be {@literal null}.
+     * @param variant size of the variant, must not be {@literal null}.
+     * @return the variant, or {@literal null} if it is not generated (yet)
+     */
+    Image getImageVariant(Long imageId, ImageVariantSize variant);
+
+    /**
+     * Writes the content of the image to the stream without decoding it into memory as a whole.
+     *
+     * @param image image which content will be written
+     * @param out   stream to write the content to
+     * @throws IOException            if the content can not be read or written
+     * @throws NoSuchElementException if the content of the image is missing
+     */
+    void copyImageContent(Image image, OutputStream out) throws IOException;
+
     /**
      * Encodes file content to Base64 format
      *
@@ -77,6 +155,13 @@ public interface ImageService {
      */
     void deleteImage(Long imageId) throws CanNotBeDeletedException, NotOwnerOperationException, NotAuthorisedUserException;
 
+    /**
+     * Deletes the profile image with the given identifier together with its variants and content.
+     *
+     * @param imageId must not be {@literal null}.
+     */
+    void deleteProfileImage(Long imageId);
+
     /**
      * Sets field 'isImageUsed' on true.
      *
@@ -98,15 +183,4 @@ public interface ImageService {
      * @throws NotAuthorisedUserException if user is not authorised
      */
     List<Image> getImagesForCurrentUser() throws NotAuthorisedUserException;
-
-    /**
-     * Check if user quota not exceeded, encoded string is a image and
-     * encoded string size limit not exceeded.
-     *
-     * @param user user to which image will be added.
-     * @param imageBase64 encoded string of image in base64.
-     * @return return false if some check, that described above, will be false.
-     * @throws ImageRepositorySizeQuotaExceededException if user quota is exceeded.
-     */
-    boolean isImageCanBeAddedToProfile(User user, String imageBase64) throws ImageRepositorySizeQuotaExceededException;
 }
@@ -0,0 +1,29 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.domain.Image;
+import com.softserve.academy.spaced.repetition.domain.ImageVariant;
+import com.softserve.academy.spaced.repetition.domain.enums.ImageVariantSize;
+
+/**
+ * Generates and looks up resized variants of uploaded images.
+ */
+public interface ImageVariantService {
+
+    /**
+     * Queues generation of all variants of the image that are smaller than the original.
+     * Variants are generated in the background once the surrounding transaction commits, so the image is
+     * visible to the background task and they may be missing for a while after upload.
+     *
+     * @param image saved image, must not be {@literal null}.
+     */
+    void generateImageVariants(Image image);
+
+    /**
+     * Gets the variant of the image with the given size.
+     *
+     * @param imageId must not be {@literal null}.
+     * @param variant size of the variant
+     * @return the variant, or {@literal null} if it is not generated (yet)
+     */
+    ImageVariant getImageVariant(Long imageId, ImageVariantSize variant);
+}
@@ -0,0 +1,66 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.domain.Card;
+import com.softserve.academy.spaced.repetition.service.learningSession.LearningSession;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+
+import java.util.List;
+
+/**
+ * This interface works with learning sessions: queues of cards computed once per learning of a deck.
+ */
+public interface LearningSessionService {
+    /**
+     * Computes the queue of cards the user should learn in the deck and stores it as a new session.
+     * A previous session of the user in the same deck is closed.
+     *
+     * @param deckId the deck`s id which will be learned.
+     * @return the opened learning session.
+     * @throws NotAuthorisedUserException if unauthorized user opens the session.
+     */
+    LearningSession openLearningSession(Long deckId) throws NotAuthorisedUserException;
+
+    /**
+     * Merges the cards that need repeating from all decks of the user`s folder into one learning session,
+     * ordered by the date they need repeating with a limited number of cards per deck.
+     * A previous folder session of the user is closed.
+     *
+     * @return the opened learning session, its deck`s id is {@literal null}.
+     * @throws NotAuthorisedUserException if unauthorized user opens the session.
+     */
+    LearningSession openFolderLearningSession() throws NotAuthorisedUserException;
+
+    /**
+     * Gets the learning session of the authorized user.
+     *
+     * @param sessionId the learning session`s id.
+     * @return the learning session.
+     * @throws NotAuthorisedUserException if unauthorized user requests the session.
+     * @throws java.util.NoSuchElementException if the session does not exist, is expired or belongs to another user.
+     */
+    LearningSession getLearningSession(String sessionId) throws NotAuthorisedUserException;
+
+    /**
+     * Gets the next page of cards of the learning session. The page after it is loaded in the background.
+     *
+     * @param sessionId the learning session`s id.
+     * @return the next cards to learn, empty when the session is finished.
+     * @throws NotAuthorisedUserException if unauthorized user requests the cards.
+     * @throws java.util.NoSuchElementException if the session does not exist, is expired or belongs to another user.
+     */
+    List<Card> getNextCards(String sessionId) throws NotAuthorisedUserException;
+
+    /**
+     * Closes the learning session.
+     *
+     * @param sessionId the learning session`s id.
+     * @throws NotAuthorisedUserException if unauthorized user closes the session.
+     * @throws java.util.NoSuchElementException if the session does not exist, is expired or belongs to another user.
+     */
+    void closeLearningSession(String sessionId) throws NotAuthorisedUserException;
+
+    /**
+     * Removes the learning sessions which were not accessed for longer than the session timeout.
+     */
+    void removeExpiredLearningSessions();
+}
@@ -0,0 +1,24 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.domain.enums.SearchDocumentType;
+import com.softserve.academy.spaced.repetition.service.search.SearchHit;
+import org.springframework.data.domain.Page;
+
+/**
+ * Full-text search of decks and courses by their names and descriptions and of cards by their questions
+ * and answers.
+ */
+public interface SearchService {
+
+    /**
+     * Finds the documents containing all words of the query, the last word may be the beginning of a word.
+     * Words of names and questions weigh more than words of descriptions and answers.
+     *
+     * @param query      the text to search for, must not be {@literal null}.
+     * @param type       the type of the documents to search for.
+     * @param pageNumber one-based page index.
+     * @return found documents ranked by relevance (by default 20 documents on each page)
+     * @throws IllegalArgumentException if the page number is less than one
+     */
+    Page<SearchHit> search(String query, SearchDocumentType type, int pageNumber);
+}
@@ -0,0 +1,36 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.OfflineReviewDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.OfflineReviewResultDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.SyncChangesDTO;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+
+import java.util.List;
+
+/**
+ * This interface works with the delta sync of offline clients.
+ */
+public interface SyncService {
+    /**
+     * Gets the decks and cards of the user`s folder and the user`s card queue entries which were changed
+     * after the given version. Only a limited number of changes is returned at once, the client should
+     * repeat the request with the returned version while there are more changes. Decks added to the folder
+     * since the given version are sent with all their cards.
+     *
+     * @param version the version of the last change known by the client, 0 for a full sync.
+     * @return the changed entities, the ids of deleted ones and the version of the last returned change.
+     * @throws NotAuthorisedUserException if unauthorized user requests the changes.
+     */
+    SyncChangesDTO getChanges(long version) throws NotAuthorisedUserException;
+
+    /**
+     * Applies the reviews the user made while being offline. Reviews are identified by ids generated on the client,
+     * so uploading the same batch again does not apply them twice. A review of a card that was answered
+     * later on the server is not applied.
+     *
+     * @param reviews the offline reviews.
+     * @return the result of applying every review in the same order.
+     * @throws NotAuthorisedUserException if unauthorized user uploads the reviews.
+     */
+    List<OfflineReviewResultDTO> uploadReviews(List<OfflineReviewDTO> reviews) throws NotAuthorisedUserException;
+}
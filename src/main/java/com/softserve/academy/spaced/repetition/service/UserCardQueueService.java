@@ -1,8 +1,13 @@
 package com.softserve.academy.spaced.repetition.service;
 
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardAnswerDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardAnswerResultDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.DeckCardsCountDTO;
 import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 
+import java.util.List;
+
 /**
  * This interface works with user card queue.
  */
@@ -19,6 +24,35 @@ public interface UserCardQueueService {
     void updateUserCardQueue(Long deckId, Long cardId, String status)
             throws NotAuthorisedUserException, IllegalArgumentException;
 
+    /**
+     * Updates the user`s card queue with all answers given during one learning session.
+     * Answers with an unknown status are skipped and reported in the result.
+     *
+     * @param deckId  the deck`s id in which the cards` queue will be updated.
+     * @param answers the answered cards with their statuses and dates of answering.
+     * @return the result of the update for every answer in the same order.
+     * @throws NotAuthorisedUserException if unauthorized user updates the queue.
+     */
+    List<CardAnswerResultDTO> updateUserCardQueues(Long deckId, List<CardAnswerDTO> answers)
+            throws NotAuthorisedUserException;
+
+    /**
+     * Recomputes the dates of repeating of all answered cards of the deck
+     * using the current learning regime of the user.
+     *
+     * @param deckId the deck`s id in which the card`s queue will be rescheduled.
+     * @throws NotAuthorisedUserException if unauthorized user reschedules the queue.
+     */
+    void rescheduleUserCardQueue(Long deckId) throws NotAuthorisedUserException;
+
+    /**
+     * Recomputes the dates of repeating of all answered cards of the user in all decks
+     * using the current learning regime of the user.
+     *
+     * @throws NotAuthorisedUserException if unauthorized user reschedules the queue.
+     */
+    void rescheduleAllUserCardQueues() throws NotAuthorisedUserException;
+
     /**
      * Gets user card queue with the given identifier.
      *
@@ -35,4 +69,12 @@ public interface UserCardQueueService {
      * @throws NotAuthorisedUserException if unauthorized user is tying to make this operation.
      */
     long countCardsThatNeedRepeating(Long deckId) throws NotAuthorisedUserException;
+
+    /**
+     * Gets the quantities of new, due and postponed cards in every deck of the user`s folder.
+     *
+     * @return the quantities of cards for every deck of the folder.
+     * @throws NotAuthorisedUserException if unauthorized user is tying to make this operation.
+     */
+    List<DeckCardsCountDTO> countCardsInFolderDecks() throws NotAuthorisedUserException;
 }
@@ -0,0 +1,83 @@
+package com.softserve.academy.spaced.repetition.service.cardExport;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import com.softserve.academy.spaced.repetition.domain.enums.CardExportFormat;
+import com.softserve.academy.spaced.repetition.repository.StreamingStatementCreator;
+import com.softserve.academy.spaced.repetition.service.cardJob.CardJobProgress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports the cards of a deck. Cards are streamed from the database and written to the stream as they come.
+ */
+@Component
+public class CardExporter {
+    private static final String DECK_CARDS_QUERY = "SELECT title, question, answer FROM card WHERE deck_id = ? "
+            + "ORDER BY card_id";
+    private static final int PROGRESS_INTERVAL = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Writes the cards of the deck to the stream, the stream is left open.
+     *
+     * @param deckId       the deck to export the cards of.
+     * @param format       the format of the file.
+     * @param gzip         whether the file is compressed with gzip.
+     * @param outputStream the stream to write the file to.
+     * @throws IOException if writing to the stream failed.
+     */
+    public void exportCards(Long deckId, CardExportFormat format, boolean gzip, OutputStream outputStream)
+            throws IOException {
+        exportCards(deckId, format, gzip, outputStream, CardJobProgress.NONE);
+    }
+
+    /**
+     * Writes the cards of the deck to the stream reporting the number of written cards, the stream is left open.
+     *
+     * @param deckId       the deck to export the cards of.
+     * @param format       the format of the file.
+     * @param gzip         whether the file is compressed with gzip.
+     * @param outputStream the stream to write the file to.
+     * @param progress     receives the number of written cards.
+     * @throws IOException if writing to the stream failed.
+     */
+    public void exportCards(Long deckId, CardExportFormat format, boolean gzip, OutputStream outputStream,
+                            CardJobProgress progress) throws IOException {
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? gzipStream : outputStream,
+                StandardCharsets.UTF_8));
+        CardFileWriter cardWriter = format == CardExportFormat.JSON_LINES
+                ? new JsonLinesCardFileWriter(writer) : new YamlCardFileWriter(writer);
+        AtomicInteger writtenCards = new AtomicInteger();
+        try {
+            jdbcTemplate.query(new StreamingStatementCreator(DECK_CARDS_QUERY, deckId), (RowCallbackHandler) rs -> {
+                try {
+                    cardWriter.writeCard(new CardFileDTO(rs.getString("title"), rs.getString("question"),
+                            rs.getString("answer")));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                int cards = writtenCards.incrementAndGet();
+                if (cards % PROGRESS_INTERVAL == 0) {
+                    progress.update(cards, cards, 0);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        cardWriter.finish();
+        writer.flush();
+        if (gzip) {
+            gzipStream.finish();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.softserve.academy.spaced.repetition.service.cardExport;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+
+import java.io.IOException;
+
+/**
+ * Writes cards to a file one by one, so the cards never have to be held in memory together.
+ */
+public interface CardFileWriter {
+
+    void writeCard(CardFileDTO card) throws IOException;
+
+    /**
+     * Completes the file and flushes it, the underlying stream is left open.
+     */
+    void finish() throws IOException;
+}
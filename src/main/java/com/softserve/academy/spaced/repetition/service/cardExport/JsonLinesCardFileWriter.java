@@ -0,0 +1,38 @@
+package com.softserve.academy.spaced.repetition.service.cardExport;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes every card as a JSON object on its own line.
+ */
+public class JsonLinesCardFileWriter implements CardFileWriter {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final JsonGenerator generator;
+
+    public JsonLinesCardFileWriter(Writer writer) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(writer);
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void writeCard(CardFileDTO card) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("title", card.getTitle());
+        generator.writeStringField("question", card.getQuestion());
+        generator.writeStringField("answer", card.getAnswer());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.close();
+    }
+}
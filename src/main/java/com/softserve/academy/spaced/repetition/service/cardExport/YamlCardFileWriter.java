@@ -0,0 +1,63 @@
+package com.softserve.academy.spaced.repetition.service.cardExport;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.events.*;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the cards file by emitting YAML events, the file is a mapping with the sequence of cards under
+ * the 'cards' key. Scalars are single quoted like in the cards template.
+ */
+public class YamlCardFileWriter implements CardFileWriter {
+    private static final Character SINGLE_QUOTED = '\'';
+    private static final ImplicitTuple IMPLICIT = new ImplicitTuple(true, true);
+
+    private final Writer writer;
+    private final Emitter emitter;
+
+    public YamlCardFileWriter(Writer writer) throws IOException {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        options.setPrettyFlow(true);
+        this.writer = writer;
+        this.emitter = new Emitter(writer, options);
+        emitter.emit(new StreamStartEvent(null, null));
+        emitter.emit(new DocumentStartEvent(null, null, false, null, null));
+        emitter.emit(new MappingStartEvent(null, null, true, null, null, false));
+        emitScalar("cards");
+        emitter.emit(new SequenceStartEvent(null, null, true, null, null, false));
+    }
+
+    @Override
+    public void writeCard(CardFileDTO card) throws IOException {
+        emitter.emit(new MappingStartEvent(null, null, true, null, null, false));
+        emitField("question", card.getQuestion());
+        emitField("answer", card.getAnswer());
+        emitField("title", card.getTitle());
+        emitter.emit(new MappingEndEvent(null, null));
+    }
+
+    @Override
+    public void finish() throws IOException {
+        emitter.emit(new SequenceEndEvent(null, null));
+        emitter.emit(new MappingEndEvent(null, null));
+        emitter.emit(new DocumentEndEvent(null, null, false));
+        emitter.emit(new StreamEndEvent(null, null));
+        writer.flush();
+    }
+
+    private void emitField(String key, String value) throws IOException {
+        if (value != null) {
+            emitScalar(key);
+            emitScalar(value);
+        }
+    }
+
+    private void emitScalar(String value) throws IOException {
+        emitter.emit(new ScalarEvent(null, null, IMPLICIT, value, null, null, SINGLE_QUOTED));
+    }
+}
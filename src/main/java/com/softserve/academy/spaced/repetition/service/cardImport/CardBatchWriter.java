@@ -0,0 +1,122 @@
+package com.softserve.academy.spaced.repetition.service.cardImport;
+
+import com.mysql.jdbc.MySQLConnection;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileImageDTO;
+import com.softserve.academy.spaced.repetition.domain.Card;
+import com.softserve.academy.spaced.repetition.service.ChangeLogService;
+import com.softserve.academy.spaced.repetition.service.ImageService;
+import com.softserve.academy.spaced.repetition.service.search.SearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts imported cards into a deck by one JDBC batch and records them in the change log. Images of the cards
+ * are saved into the shared image store and attached to the inserted cards by another batch. Card images are not
+ * charged to the image quota of the user, which counts uploaded images only, their size is limited by the size of
+ * the imported file. The insert must run in a transaction.
+ */
+@Component
+public class CardBatchWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CardBatchWriter.class);
+    private static final String INSERT_CARD_QUERY = "INSERT INTO card (title, question, question_hash, answer, "
+            + "rating, deck_id, created_by) VALUES (?, ?, ?, ?, 0, ?, ?)";
+    private static final String INSERT_CARD_IMAGE_QUERY = "INSERT INTO card_image (content_key, type, size, card_id) "
+            + "VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ChangeLogService changeLogService;
+    @Autowired
+    private ImageService imageService;
+    @Autowired
+    private SearchIndex searchIndex;
+
+    /**
+     * The MySQL driver sends a batch as one multi-row insert only if rewriteBatchedStatements is set in the url,
+     * without it every card is inserted by its own round trip.
+     */
+    @PostConstruct
+    public void checkBatchRewriting() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (connection.isWrapperFor(MySQLConnection.class)
+                    && !connection.unwrap(MySQLConnection.class).getRewriteBatchedStatements()) {
+                LOGGER.warn("rewriteBatchedStatements=true is missing in the datasource url, "
+                        + "imported cards are inserted one by one");
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Inserts the cards into the deck.
+     *
+     * @param cards  the cards to insert.
+     * @param deckId the deck to add the cards to.
+     * @param userId the user who imports the cards.
+     * @return the number of inserted cards.
+     */
+    public int insertCards(List<CardFileDTO> cards, Long deckId, Long userId) {
+        if (cards.isEmpty()) {
+            return 0;
+        }
+        List<Long> cardIds = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_CARD_QUERY,
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (CardFileDTO card : cards) {
+                    statement.setString(1, card.getTitle());
+                    statement.setString(2, card.getQuestion());
+                    statement.setString(3, Card.hashQuestion(card.getQuestion()));
+                    statement.setString(4, card.getAnswer());
+                    statement.setLong(5, deckId);
+                    statement.setLong(6, userId);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                List<Long> ids = new ArrayList<>(cards.size());
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    while (generatedKeys.next()) {
+                        ids.add(generatedKeys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+        insertCardImages(cards, cardIds);
+        changeLogService.recordCardsSaved(cardIds);
+        searchIndex.indexCards(cardIds);
+        return cardIds.size();
+    }
+
+    /**
+     * Generated keys come in the order of the inserted cards, so the images are matched to the cards by position.
+     */
+    private void insertCardImages(List<CardFileDTO> cards, List<Long> cardIds) {
+        List<Object[]> cardImages = new ArrayList<>();
+        for (int i = 0; i < cards.size(); i++) {
+            List<CardFileImageDTO> images = cards.get(i).getImages();
+            if (images == null) {
+                continue;
+            }
+            for (CardFileImageDTO image : images) {
+                String contentKey = imageService.saveImageContent(image.getContent());
+                cardImages.add(new Object[]{contentKey, image.getType(), image.getSize(), cardIds.get(i)});
+            }
+        }
+        if (!cardImages.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CARD_IMAGE_QUERY, cardImages);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.softserve.academy.spaced.repetition.service.cardImport;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardImportErrorDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardImportResultDTO;
+import com.softserve.academy.spaced.repetition.service.cardJob.CardJobProgress;
+import com.softserve.academy.spaced.repetition.utils.validators.ValidationConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Imports cards from a YAML cards file into a deck. The file is read as a stream and valid cards are written
+ * by JDBC batches, so memory use does not depend on the size of the file. Invalid cards are skipped and
+ * reported by their number and line, only a file which is not a valid YAML fails the whole import.
+ * The import must run in a transaction.
+ */
+@Component
+public class CardImporter {
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final Locale locale = LocaleContextHolder.getLocale();
+    @Autowired
+    private CardBatchWriter cardBatchWriter;
+    @Autowired
+    private MessageSource messageSource;
+    @Value("${app.cards.importBatchSize:500}")
+    private int batchSize;
+
+    /**
+     * Imports the cards of the file into the deck.
+     *
+     * @param reader the content of the cards file.
+     * @param deckId the deck to add the cards to.
+     * @param userId the user who imports the cards.
+     * @return the number of imported cards and errors of the skipped ones.
+     * @throws IllegalArgumentException if the file is not a valid cards file.
+     */
+    public CardImportResultDTO importCards(Reader reader, Long deckId, Long userId) {
+        return importCards(reader, deckId, userId, CardJobProgress.NONE);
+    }
+
+    /**
+     * Imports the cards of the file into the deck reporting the progress after every batch.
+     *
+     * @param reader   the content of the cards file.
+     * @param deckId   the deck to add the cards to.
+     * @param userId   the user who imports the cards.
+     * @param progress receives the progress of the import.
+     * @return the number of imported cards and errors of the skipped ones.
+     * @throws IllegalArgumentException if the file is not a valid cards file.
+     */
+    public CardImportResultDTO importCards(Reader reader, Long deckId, Long userId, CardJobProgress progress) {
+        YamlCardReader cardReader = new YamlCardReader(reader);
+        List<CardFileDTO> batch = new ArrayList<>(batchSize);
+        List<CardImportErrorDTO> errors = new ArrayList<>();
+        int importedCards = 0;
+        int failedCards = 0;
+        try {
+            while (true) {
+                String errorCode;
+                Object[] errorArgs = new Object[]{};
+                try {
+                    CardFileDTO card = cardReader.readCard();
+                    if (card == null) {
+                        break;
+                    }
+                    if (isBlank(card.getTitle()) || isBlank(card.getQuestion()) || isBlank(card.getAnswer())) {
+                        errorCode = "message.exception.cardFieldsNotEmpty";
+                    } else if (card.getTitle().length() > ValidationConstants.MAX_CARD_TITLE_SIZE) {
+                        errorCode = "message.exception.cardTitleTooLong";
+                        errorArgs = new Object[]{ValidationConstants.MAX_CARD_TITLE_SIZE};
+                    } else {
+                        batch.add(card);
+                        if (batch.size() >= batchSize) {
+                            importedCards += cardBatchWriter.insertCards(batch, deckId, userId);
+                            batch.clear();
+                            progress.update(cardReader.getRow(), importedCards, failedCards);
+                        }
+                        continue;
+                    }
+                } catch (CardRowException e) {
+                    errorCode = e.getMessageCode();
+                }
+                if (failedCards++ < MAX_REPORTED_ERRORS) {
+                    errors.add(new CardImportErrorDTO(cardReader.getRow(), cardReader.getLine(),
+                            messageSource.getMessage(errorCode, errorArgs, locale)));
+                }
+            }
+        } catch (YAMLException e) {
+            throw new IllegalArgumentException(messageSource.getMessage("message.exception.fileWrongFormat",
+                    new Object[]{}, locale), e);
+        }
+        importedCards += cardBatchWriter.insertCards(batch, deckId, userId);
+        return new CardImportResultDTO(importedCards, failedCards, errors);
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,17 @@
+package com.softserve.academy.spaced.repetition.service.cardImport;
+
+/**
+ * Thrown when a single card of the imported file is malformed, the rest of the file can still be imported.
+ */
+public class CardRowException extends Exception {
+    private final String messageCode;
+
+    public CardRowException(String messageCode) {
+        super(messageCode);
+        this.messageCode = messageCode;
+    }
+
+    public String getMessageCode() {
+        return messageCode;
+    }
+}
@@ -0,0 +1,133 @@
+package com.softserve.academy.spaced.repetition.service.cardImport;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ScalarEvent;
+
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Reads cards of a cards file one by one from the stream of YAML parse events, so the file is never loaded
+ * as a whole. The file is a mapping with the sequence of cards under the 'cards' key, every card is a mapping
+ * of its title, question and answer.
+ */
+public class YamlCardReader {
+    private static final String CARDS_KEY = "cards";
+    private static final String TITLE_KEY = "title";
+    private static final String QUESTION_KEY = "question";
+    private static final String ANSWER_KEY = "answer";
+
+    private final Iterator<Event> events;
+    private boolean inCards;
+    private boolean finished;
+    private int row;
+    private int line;
+
+    public YamlCardReader(Reader reader) {
+        this.events = new Yaml().parse(reader).iterator();
+    }
+
+    /**
+     * Reads the next card. A malformed card is skipped as a whole, so the following cards can still be read.
+     *
+     * @return the card, or {@literal null} if there are no more cards.
+     * @throws CardRowException if the card is not a mapping of text fields.
+     * @throws YAMLException    if the file is not a valid YAML or does not contain the sequence of cards.
+     */
+    public CardFileDTO readCard() throws CardRowException {
+        if (finished) {
+            return null;
+        }
+        if (!inCards) {
+            seekCards();
+        }
+        Event event = events.next();
+        if (event.is(Event.ID.SequenceEnd)) {
+            finished = true;
+            return null;
+        }
+        row++;
+        line = event.getStartMark().getLine() + 1;
+        if (!event.is(Event.ID.MappingStart)) {
+            skip(event);
+            throw new CardRowException("message.exception.cardNotMapping");
+        }
+        Map<String, String> fields = new HashMap<>();
+        boolean fieldsAreText = true;
+        for (Event key = events.next(); !key.is(Event.ID.MappingEnd); key = events.next()) {
+            skip(key);
+            Event value = events.next();
+            if (key.is(Event.ID.Scalar) && value.is(Event.ID.Scalar)) {
+                fields.put(((ScalarEvent) key).getValue(), ((ScalarEvent) value).getValue());
+            } else {
+                skip(value);
+                fieldsAreText = false;
+            }
+        }
+        if (!fieldsAreText) {
+            throw new CardRowException("message.exception.cardFieldsNotText");
+        }
+        return new CardFileDTO(fields.get(TITLE_KEY), fields.get(QUESTION_KEY), fields.get(ANSWER_KEY));
+    }
+
+    /**
+     * @return the number of the last read card, starting from 1.
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return the line of the file where the last read card starts, starting from 1.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    private void seekCards() {
+        expect(Event.ID.StreamStart);
+        expect(Event.ID.DocumentStart);
+        expect(Event.ID.MappingStart);
+        for (Event key = events.next(); !key.is(Event.ID.MappingEnd); key = events.next()) {
+            skip(key);
+            Event value = events.next();
+            if (key.is(Event.ID.Scalar) && CARDS_KEY.equals(((ScalarEvent) key).getValue())
+                    && value.is(Event.ID.SequenceStart)) {
+                inCards = true;
+                return;
+            }
+            skip(value);
+        }
+        throw new YAMLException("The file does not contain the sequence of cards");
+    }
+
+    private void expect(Event.ID id) {
+        Event event = events.next();
+        if (!event.is(id)) {
+            throw new YAMLException("Expected " + id + " but found " + event);
+        }
+    }
+
+    /**
+     * Skips the rest of the node started by the event, does nothing if the node is a scalar or an alias.
+     */
+    private void skip(Event event) {
+        if (!event.is(Event.ID.MappingStart) && !event.is(Event.ID.SequenceStart)) {
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            Event next = events.next();
+            if (next.is(Event.ID.MappingStart) || next.is(Event.ID.SequenceStart)) {
+                depth++;
+            } else if (next.is(Event.ID.MappingEnd) || next.is(Event.ID.SequenceEnd)) {
+                depth--;
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.softserve.academy.spaced.repetition.service.cardJob;
+
+/**
+ * Thrown from {@link CardJobProgress} to stop a job which has been cancelled by its owner.
+ */
+public class CardJobCancelledException extends RuntimeException {
+
+    public CardJobCancelledException(Long jobId) {
+        super("Card job " + jobId + " has been cancelled");
+    }
+}
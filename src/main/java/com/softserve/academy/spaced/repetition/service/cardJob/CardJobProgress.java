@@ -0,0 +1,12 @@
+package com.softserve.academy.spaced.repetition.service.cardJob;
+
+/**
+ * Receives progress of a long running import or export of cards. It is called after every batch of cards,
+ * a job which has been cancelled stops by throwing {@link CardJobCancelledException} from it.
+ */
+public interface CardJobProgress {
+    CardJobProgress NONE = (processedCards, importedCards, failedCards) -> {
+    };
+
+    void update(int processedCards, int importedCards, int failedCards);
+}
@@ -1,12 +1,32 @@
 package com.softserve.academy.spaced.repetition.service.cardLoaders;
 
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileImageDTO;
 import org.springframework.stereotype.Service;
 
 import java.sql.SQLException;
-import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 public interface CardDataExtractor {
-    Map <String, String> extractData(String path) throws SQLException, ClassNotFoundException;
+
+    /**
+     * Reads the cards of the file one by one and passes each of them to the consumer as soon as it is read.
+     *
+     * @param path     path to the file
+     * @param consumer receives the cards
+     */
+    void extractData(String path, Consumer<CardFileDTO> consumer) throws SQLException, ClassNotFoundException;
+
+    /**
+     * Reads the cards of the file one by one, attaching the images referenced by the cards.
+     *
+     * @param path     path to the file
+     * @param images   finds the image by its file name, returns {@literal null} if there is no such image
+     * @param consumer receives the cards
+     */
+    void extractData(String path, Function<String, CardFileImageDTO> images, Consumer<CardFileDTO> consumer)
+            throws SQLException, ClassNotFoundException;
 
 }
@@ -4,10 +4,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
 
 @Service
 public interface CardUploader {
-    void setFilePath(String filePath);
 
-    String uploadFile(MultipartFile file) throws IOException;
+    /**
+     * Saves the uploaded file to a new temporary file, so concurrent uploads never share a file.
+     * The caller is responsible for deleting the file.
+     *
+     * @param file the uploaded file
+     * @return path to the saved file
+     * @throws IOException if the file could not be saved
+     */
+    Path uploadFile(MultipartFile file) throws IOException;
 }
@@ -1,75 +1,101 @@
 package com.softserve.academy.spaced.repetition.service.cardLoaders.impl;
 
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileImageDTO;
 import com.softserve.academy.spaced.repetition.service.cardLoaders.CardDataExtractor;
 import com.softserve.academy.spaced.repetition.service.cardLoaders.DbConnector;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Service
 public class AnkiCardExtractor implements CardDataExtractor {
-    private static final Logger LOGGER = LoggerFactory.getLogger(AnkiCardExtractor.class);
-    private static final String QUESTION_QUERY = "SELECT sfld FROM notes";
-    private static final String ANSWER_QUERY = "SELECT flds FROM notes";
-    private static final String QUESTION_COLUMN_NAME = "sfld";
-    private static final String ANSWER_COLUMN_NAME = "flds";
-    private static final String REGEX_FOR_TAGS = "<[^>]*>";
+    /**
+     * Fields of a note are stored in one column, the first field is the question and the rest is the answer.
+     */
+    private static final String NOTES_QUERY = "SELECT flds FROM notes ORDER BY id";
+    private static final String FIELDS_COLUMN_NAME = "flds";
+    private static final Pattern FIELD_SEPARATOR = Pattern.compile("\u001f");
+    private static final Pattern IMAGE_TAG = Pattern.compile(
+            "<img[^>]*?\\ssrc\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s>]+))[^>]*>", Pattern.CASE_INSENSITIVE);
+    /**
+     * An image tag is replaced by the name of the image attached to the card, so the text still shows
+     * where the image was and cards which consist of an image only stay distinct.
+     */
+    private static final String IMAGE_REFERENCE = "[image: %s]";
+    private static final Pattern TAGS = Pattern.compile("<[^>]*>");
+    private static final String ANSWER_FIELDS_DELIMITER = " ";
     @Autowired
-    @Qualifier("cardConnector")
     private DbConnector connector;
 
     @Override
-    public Map<String, String> extractData(String path) throws SQLException, ClassNotFoundException {
-        Connection connection = connector.getConnection(path);
-        List<String> questions = extractDateInToList(connection, QUESTION_QUERY, QUESTION_COLUMN_NAME);
-        List<String> answers = extractDateInToList(connection, ANSWER_QUERY, ANSWER_COLUMN_NAME);
-        answers = deleteTags(answers, questions);
-        return formMap(questions, answers);
+    public void extractData(String path, Consumer<CardFileDTO> consumer) throws SQLException, ClassNotFoundException {
+        extractData(path, fileName -> null, consumer);
     }
 
-    private List<String> extractDateInToList(Connection conn, String query, String columnName) {
-        List<String> list = new ArrayList<>();
-        try (Statement statement = conn.createStatement();
-             ResultSet res = statement.executeQuery(query)) {
+    @Override
+    public void extractData(String path, Function<String, CardFileImageDTO> images, Consumer<CardFileDTO> consumer)
+            throws SQLException, ClassNotFoundException {
+        try (Connection connection = connector.getConnection(path);
+             Statement statement = connection.createStatement();
+             ResultSet res = statement.executeQuery(NOTES_QUERY)) {
             while (res.next()) {
-                list.add(res.getString(columnName));
+                String[] fields = FIELD_SEPARATOR.split(res.getString(FIELDS_COLUMN_NAME));
+                if (fields.length < 2) {
+                    continue;
+                }
+                List<CardFileImageDTO> cardImages = new ArrayList<>();
+                String question = readField(fields[0], images, cardImages);
+                StringBuilder answer = new StringBuilder(readField(fields[1], images, cardImages));
+                for (int i = 2; i < fields.length; i++) {
+                    answer.append(ANSWER_FIELDS_DELIMITER).append(readField(fields[i], images, cardImages));
+                }
+                CardFileDTO card = new CardFileDTO(null, question, answer.toString().trim());
+                if (!cardImages.isEmpty()) {
+                    card.setImages(cardImages);
+                }
+                consumer.accept(card);
             }
-        } catch (SQLException e) {
-            LOGGER.error(e.getMessage());
-
         }
-        return list;
     }
 
-    private List<String> deleteTags(List<String> questions, List<String> answers) {
-        List<String> result = new ArrayList<>();
-        Pattern pattern = Pattern.compile(REGEX_FOR_TAGS);
-        for (String elem : questions) {
-            Matcher matcher = pattern.matcher(elem);
-            result.add(matcher.replaceAll(""));
+    /**
+     * Replaces the tags of images found by their file names with references to the images and deletes other tags.
+     */
+    private String readField(String field, Function<String, CardFileImageDTO> images,
+                             List<CardFileImageDTO> cardImages) {
+        Matcher matcher = IMAGE_TAG.matcher(field);
+        StringBuffer text = new StringBuffer();
+        while (matcher.find()) {
+            String source = matcher.group(1) != null ? matcher.group(1)
+                    : matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
+            String fileName = HtmlUtils.htmlUnescape(source.trim());
+            CardFileImageDTO image = images.apply(fileName);
+            String replacement = "";
+            if (image != null) {
+                if (!cardImages.contains(image)) {
+                    cardImages.add(image);
+                }
+                replacement = String.format(IMAGE_REFERENCE, fileName);
+            }
+            matcher.appendReplacement(text, Matcher.quoteReplacement(replacement));
         }
-        return result;
+        matcher.appendTail(text);
+        return deleteTags(text.toString());
     }
 
-    private Map<String, String> formMap(List<String> questions, List<String> answers) {
-        Map<String, String> map = new HashMap<>();
-        Iterator<String> iterAnswer = answers.iterator();
-        Iterator<String> iterQuestion = questions.iterator();
-        while (iterAnswer.hasNext() && iterQuestion.hasNext()) {
-            String question = iterQuestion.next();
-            String clearedAnswer = iterAnswer.next().replace(question, " ");
-            map.put(question, clearedAnswer);
-        }
-        return map;
+    private String deleteTags(String field) {
+        return TAGS.matcher(field).replaceAll("").trim();
     }
 }
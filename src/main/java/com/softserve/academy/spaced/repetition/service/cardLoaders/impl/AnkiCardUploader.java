@@ -4,28 +4,26 @@ import com.softserve.academy.spaced.repetition.service.cardLoaders.CardUploader;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 @Service
 public class AnkiCardUploader implements CardUploader {
-    private String FILE_PATH;
+    private static final String FILE_PREFIX = "anki";
+    private static final String FILE_SUFFIX = ".anki2";
 
     @Override
-    public void setFilePath(String filePath) {
-        this.FILE_PATH = filePath;
-    }
-
-    @Override
-    public String uploadFile(MultipartFile file) throws IOException {
-        String relativePath = "";
-        File newFile = new File(FILE_PATH);
-        newFile.createNewFile();
-        relativePath = newFile.getAbsolutePath();
-        FileOutputStream fos = new FileOutputStream(newFile);
-        fos.write(file.getBytes());
-        fos.close();
-        return relativePath;
+    public Path uploadFile(MultipartFile file) throws IOException {
+        Path path = Files.createTempFile(FILE_PREFIX, FILE_SUFFIX);
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        return path;
     }
 }
@@ -0,0 +1,50 @@
+package com.softserve.academy.spaced.repetition.service.cardLoaders.impl;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileImageDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Anki package unpacked into a temporary directory: the collection of notes and the images the notes refer to.
+ * Closing the package deletes the directory.
+ */
+public class AnkiPackage implements Closeable {
+    private final Path directory;
+    private final Path collection;
+    private final Map<String, CardFileImageDTO> images;
+
+    public AnkiPackage(Path directory, Path collection, Map<String, CardFileImageDTO> images) {
+        this.directory = directory;
+        this.collection = collection;
+        this.images = images;
+    }
+
+    public Path getCollection() {
+        return collection;
+    }
+
+    /**
+     * @param fileName the name of the file the notes refer to
+     * @return the image, or {@literal null} if the package has no image with such name
+     */
+    public CardFileImageDTO getImage(String fileName) {
+        return images.get(fileName);
+    }
+
+    @Override
+    public void close() throws IOException {
+        deleteDirectory(directory);
+    }
+
+    static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.softserve.academy.spaced.repetition.service.cardLoaders.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileImageDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads Anki packages (.apkg). A package is a zip archive of the collection of notes, media files named by
+ * numbers and the "media" map from these numbers to the file names the notes refer to. The archive is read
+ * entry by entry and the entries are copied to a temporary directory. Media entries which come after the media map
+ * are copied only if they are images, and the bytes copied from a package are limited, so a package of a small
+ * size can not fill the disk when it is unpacked.
+ */
+@Component
+public class AnkiPackageReader {
+    private static final byte[] ZIP_SIGNATURE = {'P', 'K', 3, 4};
+    private static final String DIRECTORY_PREFIX = "apkg";
+    /**
+     * Packages of newer Anki versions contain both collections, the old one only asks to update Anki.
+     */
+    private static final String COLLECTION_ENTRY = "collection.anki21";
+    private static final String LEGACY_COLLECTION_ENTRY = "collection.anki2";
+    private static final String MEDIA_MAP_ENTRY = "media";
+    private static final Pattern MEDIA_ENTRY = Pattern.compile("\\d+");
+    private static final String IMAGE_TYPE_PREFIX = "image/";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int BUFFER_SIZE = 8192;
+
+    @Value("${app.cards.ankiMaxUnpackedBytes:536870912}")
+    private long maxUnpackedBytes;
+
+    /**
+     * @param path the uploaded file
+     * @return {@literal true} if the file is a zip archive rather than a bare collection
+     * @throws IOException if the file can not be read
+     */
+    public boolean isPackage(Path path) throws IOException {
+        byte[] signature = new byte[ZIP_SIGNATURE.length];
+        try (InputStream in = Files.newInputStream(path)) {
+            int read = 0;
+            while (read < signature.length) {
+                int count = in.read(signature, read, signature.length - read);
+                if (count < 0) {
+                    return false;
+                }
+                read += count;
+            }
+        }
+        return Arrays.equals(ZIP_SIGNATURE, signature);
+    }
+
+    /**
+     * Unpacks the package. Media files which are not images are skipped.
+     *
+     * @param path the package
+     * @return the unpacked package, which must be closed by the caller
+     * @throws ZipException if the file is not a package or it is larger than allowed when unpacked
+     * @throws IOException  if the package can not be unpacked
+     */
+    public AnkiPackage unpack(Path path) throws IOException {
+        Path directory = Files.createTempDirectory(DIRECTORY_PREFIX);
+        try {
+            Map<String, Long> mediaSizes = new HashMap<>();
+            Map<String, String> fileNames = null;
+            long bytesLeft = maxUnpackedBytes;
+            try (ZipInputStream zip = new ZipInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    String name = entry.getName();
+                    if (MEDIA_ENTRY.matcher(name).matches()) {
+                        if (fileNames == null || getImageType(fileNames.get(name)) != null) {
+                            long size = copy(zip, directory.resolve(name), bytesLeft);
+                            bytesLeft -= size;
+                            mediaSizes.put(name, size);
+                        }
+                    } else if (name.equals(COLLECTION_ENTRY) || name.equals(LEGACY_COLLECTION_ENTRY)) {
+                        bytesLeft -= copy(zip, directory.resolve(name), bytesLeft);
+                    } else if (name.equals(MEDIA_MAP_ENTRY)) {
+                        bytesLeft -= copy(zip, directory.resolve(name), bytesLeft);
+                        fileNames = readMediaMap(directory.resolve(name));
+                    }
+                }
+            }
+            Path collection = directory.resolve(COLLECTION_ENTRY);
+            if (!Files.exists(collection)) {
+                collection = directory.resolve(LEGACY_COLLECTION_ENTRY);
+            }
+            if (!Files.exists(collection)) {
+                throw new ZipException("The package has no collection");
+            }
+            Map<String, CardFileImageDTO> images = new HashMap<>();
+            if (fileNames != null) {
+                for (Map.Entry<String, String> fileName : fileNames.entrySet()) {
+                    String type = getImageType(fileName.getValue());
+                    Long size = mediaSizes.get(fileName.getKey());
+                    if (size != null && type != null) {
+                        images.put(fileName.getValue(), new CardFileImageDTO(
+                                new FileSystemResource(directory.resolve(fileName.getKey()).toFile()), type, size));
+                    }
+                }
+            }
+            return new AnkiPackage(directory, collection, images);
+        } catch (IOException | RuntimeException e) {
+            AnkiPackage.deleteDirectory(directory);
+            throw e;
+        }
+    }
+
+    /**
+     * @return the type of the media file if it is an image, {@literal null} otherwise
+     */
+    private static String getImageType(String fileName) {
+        String type = fileName != null ? URLConnection.guessContentTypeFromName(fileName) : null;
+        return type != null && type.startsWith(IMAGE_TYPE_PREFIX) ? type : null;
+    }
+
+    /**
+     * @return the number of copied bytes
+     * @throws ZipException if the entry is larger than the given number of bytes
+     */
+    private long copy(InputStream in, Path target, long maxBytes) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long copied = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int count;
+            while ((count = in.read(buffer)) > 0) {
+                copied += count;
+                if (copied > maxBytes) {
+                    throw new ZipException("The package is larger than " + maxUnpackedBytes + " bytes unpacked");
+                }
+                out.write(buffer, 0, count);
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * @return names of the media files by the names of their entries
+     */
+    private Map<String, String> readMediaMap(Path mediaMap) throws IOException {
+        Map<String, String> fileNames = new HashMap<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(Files.newInputStream(mediaMap))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ZipException("The media map of the package is not valid");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String entryName = parser.getCurrentName();
+                parser.nextToken();
+                fileNames.put(entryName, parser.getValueAsString());
+            }
+        }
+        return fileNames;
+    }
+}
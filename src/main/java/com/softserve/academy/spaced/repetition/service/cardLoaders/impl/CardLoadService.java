@@ -1,21 +1,37 @@
 package com.softserve.academy.spaced.repetition.service.cardLoaders.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileImageDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardImportResultDTO;
+import com.softserve.academy.spaced.repetition.service.DeckService;
+import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.cardJob.CardJobProgress;
 import com.softserve.academy.spaced.repetition.service.cardLoaders.CardDataExtractor;
 import com.softserve.academy.spaced.repetition.service.cardLoaders.CardUploader;
-import com.softserve.academy.spaced.repetition.service.cardLoaders.impl.DataSaver;
+import com.softserve.academy.spaced.repetition.service.dueCardCounters.DueCardCounters;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.WrongFormatException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.ZipException;
 
 @Service
 public class CardLoadService {
@@ -24,28 +40,103 @@ public class CardLoadService {
     @Autowired
     private DataSaver dataSaver;
     @Autowired
-    @Qualifier("cardUploader")
     private CardUploader cardUploader;
+    @Autowired
+    private AnkiPackageReader ankiPackageReader;
+    @Autowired
+    private DeckService deckService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private DueCardCounters dueCardCounters;
+    @Value("${app.cards.importBatchSize:500}")
+    private int batchSize;
 
     @Autowired
     private MessageSource messageSource;
     private final Locale locale = LocaleContextHolder.getLocale();
 
-    public void loadCard(MultipartFile multipartFile, Long deckId)
-            throws IOException, SQLException, ClassNotFoundException, WrongFormatException {
-        try{
-            String relativePath = cardUploader.uploadFile(multipartFile);
-            Map <String, String> map = cardDataExtractor.extractData(relativePath);
-            dataSaver.save(map, deckId);
+    /**
+     * Imports notes of an Anki collection or package into the deck. Every import works with its own temporary copy
+     * of the collection, which is deleted when the import ends, so imports can run in parallel.
+     *
+     * @return the number of imported notes and the number of skipped ones
+     */
+    @Transactional
+    public CardImportResultDTO loadCard(MultipartFile multipartFile, Long deckId)
+            throws WrongFormatException, NotAuthorisedUserException, NotOwnerOperationException {
+        deckService.getDeckUser(deckId);
+        Long userId = userService.getAuthorizedUser().getId();
+        Path path = null;
+        try {
+            path = cardUploader.uploadFile(multipartFile);
+            return loadCards(path, deckId, userId, CardJobProgress.NONE);
         } catch (IOException e) {
             throw new NoSuchElementException(messageSource.getMessage("message.exception.fileNotFound",
                     new Object[]{}, locale));
+        } finally {
+            deleteFile(path);
+        }
+    }
+
+    /**
+     * Imports notes of an already uploaded Anki collection or package into the deck reporting the progress after
+     * every batch. Images of a package are attached to the cards which refer to them. The file is left for
+     * the caller to delete.
+     *
+     * @return the number of imported notes and the number of skipped ones
+     */
+    @Transactional
+    public CardImportResultDTO loadCards(Path path, Long deckId, Long userId, CardJobProgress progress)
+            throws WrongFormatException {
+        try {
+            if (!ankiPackageReader.isPackage(path)) {
+                return loadCards(path, fileName -> null, deckId, userId, progress);
+            }
+            try (AnkiPackage ankiPackage = ankiPackageReader.unpack(path)) {
+                return loadCards(ankiPackage.getCollection(), ankiPackage::getImage, deckId, userId, progress);
+            }
+        } catch (ZipException | JsonProcessingException e) {
+            throw new WrongFormatException();
+        } catch (IOException e) {
+            throw new NoSuchElementException(messageSource.getMessage("message.exception.cardFileNotReadable",
+                    new Object[]{}, locale));
+        }
+    }
+
+    private CardImportResultDTO loadCards(Path collection, Function<String, CardFileImageDTO> images, Long deckId,
+                                          Long userId, CardJobProgress progress) throws WrongFormatException {
+        try {
+            List<CardFileDTO> batch = new ArrayList<>(batchSize);
+            AtomicInteger readCards = new AtomicInteger();
+            AtomicInteger savedCards = new AtomicInteger();
+            cardDataExtractor.extractData(collection.toString(), images, card -> {
+                readCards.incrementAndGet();
+                batch.add(card);
+                if (batch.size() >= batchSize) {
+                    savedCards.addAndGet(dataSaver.save(batch, deckId, userId));
+                    batch.clear();
+                    progress.update(readCards.get(), savedCards.get(), readCards.get() - savedCards.get());
+                }
+            });
+            savedCards.addAndGet(dataSaver.save(batch, deckId, userId));
+            dueCardCounters.evictDeck(deckId);
+            return new CardImportResultDTO(savedCards.get(), readCards.get() - savedCards.get(), new ArrayList<>());
         } catch (SQLException e) {
             throw new WrongFormatException();
         } catch (ClassNotFoundException e) {
             throw new NoSuchElementException(messageSource.getMessage("message.exception.cardFileNotReadable",
                     new Object[]{}, locale));
         }
+    }
 
+    private void deleteFile(Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                path.toFile().deleteOnExit();
+            }
+        }
     }
 }
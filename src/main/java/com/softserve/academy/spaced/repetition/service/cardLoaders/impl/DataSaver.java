@@ -1,40 +1,41 @@
 package com.softserve.academy.spaced.repetition.service.cardLoaders.impl;
 
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
 import com.softserve.academy.spaced.repetition.domain.Card;
 import com.softserve.academy.spaced.repetition.repository.CardRepository;
-import com.softserve.academy.spaced.repetition.service.CardService;
+import com.softserve.academy.spaced.repetition.service.cardImport.CardBatchWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @Service
 public class DataSaver {
     @Autowired
-    private CardService cardService;
+    private CardBatchWriter cardBatchWriter;
     @Autowired
     private CardRepository cardRepository;
 
-    public void save(Map<String, String> map, Long deckId) {
-        Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<String, String> elem = iterator.next();
-            if (ifCarExistsInDb(elem.getKey())) {
-                Card card = new Card();
-                card.setAnswer(elem.getKey());
-                card.setQuestion(elem.getValue());
-                cardService.addCard(card, deckId, null);
+    /**
+     * Saves the batch of cards to the deck, skipping cards without question or answer and cards whose
+     * question already exists. Existing questions of the whole batch are found by one lookup of their hashes.
+     *
+     * @return the number of saved cards
+     */
+    public int save(List<CardFileDTO> cards, Long deckId, Long userId) {
+        Map<String, CardFileDTO> cardsByQuestionHash = new LinkedHashMap<>();
+        for (CardFileDTO card : cards) {
+            if (!card.getQuestion().isEmpty() && !card.getAnswer().isEmpty()) {
+                cardsByQuestionHash.putIfAbsent(Card.hashQuestion(card.getQuestion()), card);
             }
         }
-    }
-
-    private boolean ifCarExistsInDb(String question) {
-        List<Card> questionsInDb = cardRepository.findAllByQuestion(question);
-        if (questionsInDb.isEmpty()) {
-            return true;
+        if (cardsByQuestionHash.isEmpty()) {
+            return 0;
         }
-        return false;
+        cardRepository.findQuestionHashesIn(cardsByQuestionHash.keySet()).forEach(cardsByQuestionHash::remove);
+        return cardBatchWriter.insertCards(new ArrayList<>(cardsByQuestionHash.values()), deckId, userId);
     }
 }
@@ -0,0 +1,57 @@
+package com.softserve.academy.spaced.repetition.service.changeLog;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Assigns sync versions to committed changes in the order they became visible. Change ids are handed out
+ * at insert time, so a long transaction, e.g. a bulk import, commits ids lower than the ones a client may
+ * have already synced past. Sync versions are taken from a single locked counter and only given to changes
+ * seen as committed while holding the lock, so a change committed later always gets a higher version.
+ */
+@Component
+public class ChangeLogSequencer {
+    private static final String LOCK_SEQUENCE_QUERY = "SELECT last_sync_version FROM change_log_sequence FOR UPDATE";
+    private static final String UNSEQUENCED_CHANGES_QUERY = "SELECT change_id FROM change_log "
+            + "WHERE sync_version IS NULL ORDER BY change_id LIMIT ?";
+    private static final String SEQUENCE_CHANGE_QUERY = "UPDATE change_log SET sync_version = ? WHERE change_id = ?";
+    private static final String UPDATE_SEQUENCE_QUERY = "UPDATE change_log_sequence SET last_sync_version = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Value("${app.sync.sequenceChunkSize:500}")
+    private int chunkSize;
+
+    @Scheduled(fixedDelayString = "${app.sync.sequenceDelayMillis:1000}")
+    public void sequenceCommittedChanges() {
+        int sequenced;
+        do {
+            sequenced = transactionTemplate.execute(status -> sequenceChunk());
+        } while (sequenced == chunkSize);
+    }
+
+    private int sequenceChunk() {
+        long lastSyncVersion = jdbcTemplate.queryForObject(LOCK_SEQUENCE_QUERY, Long.class);
+        // the first plain read takes the snapshot, so it sees every change committed before the lock was taken
+        List<Long> changeIds = jdbcTemplate.queryForList(UNSEQUENCED_CHANGES_QUERY, Long.class, chunkSize);
+        if (changeIds.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> syncVersions = new ArrayList<>();
+        for (int i = 0; i < changeIds.size(); i++) {
+            syncVersions.add(new Object[]{lastSyncVersion + i + 1, changeIds.get(i)});
+        }
+        jdbcTemplate.batchUpdate(SEQUENCE_CHANGE_QUERY, syncVersions);
+        jdbcTemplate.update(UPDATE_SEQUENCE_QUERY, lastSyncVersion + changeIds.size());
+        return changeIds.size();
+    }
+}
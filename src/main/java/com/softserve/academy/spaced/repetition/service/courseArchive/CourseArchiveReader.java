@@ -0,0 +1,203 @@
+package com.softserve.academy.spaced.repetition.service.courseArchive;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileImageDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CourseArchiveCardDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CourseArchiveDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CourseArchiveDeckDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CourseArchiveImageDTO;
+import com.softserve.academy.spaced.repetition.domain.Course;
+import com.softserve.academy.spaced.repetition.domain.Deck;
+import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.repository.CategoryRepository;
+import com.softserve.academy.spaced.repetition.repository.CourseRepository;
+import com.softserve.academy.spaced.repetition.service.DeckService;
+import com.softserve.academy.spaced.repetition.service.ImageService;
+import com.softserve.academy.spaced.repetition.service.cardImport.CardBatchWriter;
+import com.softserve.academy.spaced.repetition.utils.exceptions.ImageRepositorySizeQuotaExceededException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.WrongFormatException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads a course archive written by {@link CourseArchiveWriter} in one pass. The course and its decks are created
+ * from the manifest, image entries are copied to a temporary directory, which is deleted when the archive is read,
+ * and cards are inserted by batches as their lines are read.
+ */
+@Component
+public class CourseArchiveReader {
+    private static final String DIRECTORY_PREFIX = "course-archive";
+    private static final Pattern CONTENT_KEY = Pattern.compile("[0-9a-f]{64}");
+    private static final String IMAGE_TYPE_PREFIX = "image/";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final ObjectReader CARD_READER = OBJECT_MAPPER.readerFor(CourseArchiveCardDTO.class);
+
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private DeckService deckService;
+    @Autowired
+    private ImageService imageService;
+    @Autowired
+    private CardBatchWriter cardBatchWriter;
+    @Value("${app.cards.importBatchSize:500}")
+    private int batchSize;
+
+    /**
+     * Creates a private course of the user from the archive. Must run in a transaction.
+     *
+     * @param inputStream the archive.
+     * @param user        the owner of the new course and its decks.
+     * @param categoryId  the category of the new course and its decks.
+     * @return the created course.
+     * @throws WrongFormatException                      if the stream is not a course archive.
+     * @throws ImageRepositorySizeQuotaExceededException if the image of the course does not fit into the quota.
+     * @throws NotAuthorisedUserException                if user is not authorised.
+     * @throws IOException                               if the archive can not be read.
+     */
+    public Course readCourse(InputStream inputStream, User user, Long categoryId) throws WrongFormatException,
+            ImageRepositorySizeQuotaExceededException, NotAuthorisedUserException, IOException {
+        Path directory = Files.createTempDirectory(DIRECTORY_PREFIX);
+        try (ZipInputStream zip = new ZipInputStream(new BufferedInputStream(inputStream))) {
+            ZipEntry entry = zip.getNextEntry();
+            if (entry == null || !entry.getName().equals(CourseArchiveWriter.MANIFEST_ENTRY)) {
+                throw new WrongFormatException();
+            }
+            CourseArchiveDTO manifest = OBJECT_MAPPER.readValue(zip, CourseArchiveDTO.class);
+            if (manifest.getName() == null || manifest.getDescription() == null || manifest.getDecks() == null) {
+                throw new WrongFormatException();
+            }
+            Map<String, Deck> decksByEntry = new HashMap<>();
+            Course course = createCourse(manifest, user, categoryId, decksByEntry);
+            CourseArchiveImageDTO courseImage = manifest.getImage();
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                Path image = copyImage(zip, name, directory);
+                if (image != null && courseImage != null && name.equals(courseImage.getFile())) {
+                    course.setImage(imageService.addImage(user, new FileSystemResource(image.toFile()),
+                            courseImage.getType(), Files.size(image)));
+                } else if (decksByEntry.containsKey(name)) {
+                    readCards(zip, decksByEntry.get(name).getId(), user.getId(), directory);
+                }
+            }
+            return course;
+        } catch (JsonProcessingException e) {
+            throw new WrongFormatException();
+        } finally {
+            FileSystemUtils.deleteRecursively(directory.toFile());
+        }
+    }
+
+    /**
+     * The course is flushed together with its decks, so the cards inserted by JDBC can refer to the decks.
+     */
+    private Course createCourse(CourseArchiveDTO manifest, User user, Long categoryId,
+                                Map<String, Deck> decksByEntry) throws NotAuthorisedUserException {
+        Course course = new Course();
+        course.setName(manifest.getName());
+        course.setDescription(manifest.getDescription());
+        course.setCategory(categoryRepository.findById(categoryId));
+        course.setPublished(false);
+        course.setOwner(user);
+        course.setDecks(new ArrayList<>());
+        for (CourseArchiveDeckDTO archiveDeck : manifest.getDecks()) {
+            Deck deck = new Deck();
+            deck.setName(archiveDeck.getName());
+            deck.setDescription(archiveDeck.getDescription());
+            deck.setSyntaxToHighlight(archiveDeck.getSyntax());
+            deckService.createNewDeck(deck, categoryId);
+            course.getDecks().add(deck);
+            decksByEntry.put(archiveDeck.getCards(), deck);
+        }
+        return courseRepository.saveAndFlush(course);
+    }
+
+    /**
+     * @return the copied image, or {@literal null} if the entry is not an image
+     */
+    private Path copyImage(ZipInputStream zip, String name, Path directory) throws IOException {
+        if (!name.startsWith(CourseArchiveWriter.IMAGES_DIRECTORY)) {
+            return null;
+        }
+        String contentKey = name.substring(CourseArchiveWriter.IMAGES_DIRECTORY.length());
+        Path image = directory.resolve(contentKey);
+        if (!CONTENT_KEY.matcher(contentKey).matches() || Files.exists(image)) {
+            return null;
+        }
+        Files.copy(zip, image);
+        return image;
+    }
+
+    private void readCards(ZipInputStream zip, Long deckId, Long userId, Path directory)
+            throws WrongFormatException, IOException {
+        List<CardFileDTO> batch = new ArrayList<>(batchSize);
+        MappingIterator<CourseArchiveCardDTO> cards = CARD_READER.readValues(zip);
+        while (cards.hasNextValue()) {
+            CourseArchiveCardDTO archiveCard = cards.nextValue();
+            if (archiveCard.getQuestion() == null || archiveCard.getAnswer() == null) {
+                throw new WrongFormatException();
+            }
+            CardFileDTO card = new CardFileDTO(archiveCard.getTitle(), archiveCard.getQuestion(),
+                    archiveCard.getAnswer());
+            card.setImages(findImages(archiveCard.getImages(), directory));
+            batch.add(card);
+            if (batch.size() >= batchSize) {
+                cardBatchWriter.insertCards(batch, deckId, userId);
+                batch.clear();
+            }
+        }
+        cardBatchWriter.insertCards(batch, deckId, userId);
+    }
+
+    /**
+     * Images missing from the archive are left out.
+     */
+    private List<CardFileImageDTO> findImages(List<CourseArchiveImageDTO> archiveImages, Path directory)
+            throws IOException {
+        if (archiveImages == null || archiveImages.isEmpty()) {
+            return null;
+        }
+        List<CardFileImageDTO> images = new ArrayList<>(archiveImages.size());
+        for (CourseArchiveImageDTO archiveImage : archiveImages) {
+            String file = archiveImage.getFile();
+            String type = archiveImage.getType();
+            if (file == null || !file.startsWith(CourseArchiveWriter.IMAGES_DIRECTORY) || type == null
+                    || !type.startsWith(IMAGE_TYPE_PREFIX)) {
+                continue;
+            }
+            String contentKey = file.substring(CourseArchiveWriter.IMAGES_DIRECTORY.length());
+            Path image = directory.resolve(contentKey);
+            if (CONTENT_KEY.matcher(contentKey).matches() && Files.exists(image)) {
+                images.add(new CardFileImageDTO(new FileSystemResource(image.toFile()), type, Files.size(image)));
+            }
+        }
+        return images.isEmpty() ? null : images;
+    }
+}
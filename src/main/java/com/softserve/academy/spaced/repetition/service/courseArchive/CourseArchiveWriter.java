@@ -0,0 +1,200 @@
+package com.softserve.academy.spaced.repetition.service.courseArchive;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CourseArchiveCardDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CourseArchiveDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CourseArchiveDeckDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CourseArchiveImageDTO;
+import com.softserve.academy.spaced.repetition.domain.Course;
+import com.softserve.academy.spaced.repetition.domain.Deck;
+import com.softserve.academy.spaced.repetition.domain.Image;
+import com.softserve.academy.spaced.repetition.repository.CourseRepository;
+import com.softserve.academy.spaced.repetition.repository.StreamingStatementCreator;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a course as a zip archive: the manifest with the course and its decks comes first, then the content
+ * of every image once, then the cards of every deck as JSON Lines. Images come before the cards, so the archive
+ * can be read in one pass. Only the course and its decks are read in a transaction, the rest of the archive is
+ * written without one, so a slow download does not keep a connection of the pool busy.
+ */
+@Component
+public class CourseArchiveWriter {
+    static final String MANIFEST_ENTRY = "manifest.json";
+    static final String IMAGES_DIRECTORY = "images/";
+    private static final String DECK_CARDS_ENTRY = "decks/%d.jsonl";
+    private static final String CARD_IMAGE_KEYS_QUERY = "SELECT DISTINCT ci.content_key FROM card_image ci "
+            + "JOIN card c ON c.card_id = ci.card_id JOIN course_decks cd ON cd.deck_id = c.deck_id "
+            + "WHERE cd.course_id = ? AND ci.content_key > ? ORDER BY ci.content_key LIMIT ?";
+    private static final String DECK_CARDS_QUERY = "SELECT c.card_id, c.title, c.question, c.answer, "
+            + "ci.content_key, ci.type FROM card c LEFT JOIN card_image ci ON ci.card_id = c.card_id "
+            + "WHERE c.deck_id = ? ORDER BY c.card_id, ci.card_image_id";
+    private static final int IMAGE_KEYS_CHUNK_SIZE = 1000;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final ObjectWriter CARD_WRITER = OBJECT_MAPPER.writerFor(CourseArchiveCardDTO.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ImageContentStore imageContentStore;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Writes the course to the stream, the stream is left open.
+     *
+     * @param courseId     identifier of the course to write, the course must exist.
+     * @param outputStream the stream to write the archive to.
+     * @throws IOException if writing to the stream failed.
+     */
+    public void writeCourse(Long courseId, OutputStream outputStream) throws IOException {
+        CourseContents contents = transactionTemplate.execute(status ->
+                new CourseContents(courseRepository.findOne(courseId)));
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(outputStream));
+        String courseImageKey = contents.courseImageKey;
+        List<CourseArchiveDeckDTO> archiveDecks = contents.manifest.getDecks();
+
+        zip.putNextEntry(new ZipEntry(MANIFEST_ENTRY));
+        OBJECT_MAPPER.writeValue(zip, contents.manifest);
+        zip.closeEntry();
+
+        // image content is compressed already
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        if (courseImageKey != null) {
+            writeImage(zip, courseImageKey);
+        }
+        String lastKey = "";
+        List<String> contentKeys;
+        do {
+            contentKeys = jdbcTemplate.queryForList(CARD_IMAGE_KEYS_QUERY, String.class, courseId, lastKey,
+                    IMAGE_KEYS_CHUNK_SIZE);
+            for (String contentKey : contentKeys) {
+                if (!contentKey.equals(courseImageKey)) {
+                    writeImage(zip, contentKey);
+                }
+                lastKey = contentKey;
+            }
+        } while (contentKeys.size() == IMAGE_KEYS_CHUNK_SIZE);
+
+        zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+        for (int i = 0; i < archiveDecks.size(); i++) {
+            zip.putNextEntry(new ZipEntry(archiveDecks.get(i).getCards()));
+            writeDeckCards(zip, contents.deckIds.get(i));
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    /**
+     * Content missing from the store is left out, the cards referring to it are imported without the image.
+     */
+    private void writeImage(ZipOutputStream zip, String contentKey) throws IOException {
+        zip.putNextEntry(new ZipEntry(IMAGES_DIRECTORY + contentKey));
+        imageContentStore.copy(contentKey, zip);
+        zip.closeEntry();
+    }
+
+    /**
+     * A card comes in as many rows as it has images, the rows of a card are consecutive.
+     */
+    private void writeDeckCards(OutputStream outputStream, Long deckId) throws IOException {
+        JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(outputStream);
+        generator.setRootValueSeparator(null);
+        DeckCardsHandler handler = new DeckCardsHandler(generator);
+        try {
+            jdbcTemplate.query(new StreamingStatementCreator(DECK_CARDS_QUERY, deckId), handler);
+            handler.writeCard();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.close();
+    }
+
+    /**
+     * What the archive needs of the course and its decks, read while the course is loaded.
+     */
+    private static class CourseContents {
+        private final CourseArchiveDTO manifest;
+        private final String courseImageKey;
+        private final List<Long> deckIds;
+
+        CourseContents(Course course) {
+            Image courseImage = course.getImage();
+            courseImageKey = courseImage != null ? courseImage.getContentKey() : null;
+            List<Deck> decks = course.getDecks();
+            List<CourseArchiveDeckDTO> archiveDecks = new ArrayList<>(decks.size());
+            deckIds = new ArrayList<>(decks.size());
+            for (int i = 0; i < decks.size(); i++) {
+                Deck deck = decks.get(i);
+                archiveDecks.add(new CourseArchiveDeckDTO(deck.getName(), deck.getDescription(),
+                        deck.getSyntaxToHighlight(), String.format(DECK_CARDS_ENTRY, i)));
+                deckIds.add(deck.getId());
+            }
+            CourseArchiveImageDTO archiveImage = courseImageKey != null
+                    ? new CourseArchiveImageDTO(IMAGES_DIRECTORY + courseImageKey, courseImage.getType()) : null;
+            manifest = new CourseArchiveDTO(course.getName(), course.getDescription(), archiveImage, archiveDecks);
+        }
+    }
+
+    private static class DeckCardsHandler implements RowCallbackHandler {
+        private final JsonGenerator generator;
+        private long cardId;
+        private CourseArchiveCardDTO card;
+
+        DeckCardsHandler(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (card == null || rs.getLong("card_id") != cardId) {
+                writeCard();
+                cardId = rs.getLong("card_id");
+                card = new CourseArchiveCardDTO(rs.getString("title"), rs.getString("question"),
+                        rs.getString("answer"));
+                card.setImages(new ArrayList<>());
+            }
+            String contentKey = rs.getString("content_key");
+            if (contentKey != null) {
+                card.getImages().add(new CourseArchiveImageDTO(IMAGES_DIRECTORY + contentKey, rs.getString("type")));
+            }
+        }
+
+        void writeCard() {
+            if (card == null) {
+                return;
+            }
+            try {
+                CARD_WRITER.writeValue(generator, card);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
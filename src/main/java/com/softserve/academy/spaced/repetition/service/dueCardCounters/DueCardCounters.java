@@ -0,0 +1,242 @@
+package com.softserve.academy.spaced.repetition.service.dueCardCounters;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.DeckCardsCountDTO;
+import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
+import com.softserve.academy.spaced.repetition.repository.CardRepository;
+import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * In-memory counters of new, due and postponed cards for every deck of a user, so that
+ * the counts shown on the dashboard are read without querying the user card queue.
+ * Decks of a user are loaded lazily with two aggregate queries and kept up to date
+ * by {@link #update(UserCardQueue, Date, boolean)}.
+ */
+@Component
+public class DueCardCounters {
+    private static final int MAX_COUNTED_USERS = 10_000;
+
+    @Autowired
+    private UserCardQueueRepository userCardQueueRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    private final Map<Long, Map<Long, UserDeckCardCounters>> counters =
+            new LinkedHashMap<Long, Map<Long, UserDeckCardCounters>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Map<Long, UserDeckCardCounters>> eldest) {
+                    if (size() <= MAX_COUNTED_USERS) {
+                        return false;
+                    }
+                    unindexUser(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+            };
+    /**
+     * Users whose counters of the deck are loaded, guarded by the lock of {@link #counters}.
+     */
+    private final Map<Long, Set<Long>> userIdsByDeck = new HashMap<>();
+    /**
+     * Dates to repeat by card id of the cards answered while the counters of a deck are being loaded, replayed
+     * on the loaded counters before they are installed. Counters whose pending changes are dropped by an
+     * eviction are not installed at all.
+     */
+    private final Map<UserDeckKey, Map<Long, Date>> pendingChanges = new HashMap<>();
+
+    public long countCardsThatNeedRepeating(Long userId, Long deckId, Date now) {
+        return getUserDeckCardCounters(userId, Collections.singletonList(deckId), now.getTime()).get(deckId)
+                .countCardsThatNeedRepeating(now.getTime());
+    }
+
+    public List<DeckCardsCountDTO> getDeckCardsCounts(Long userId, Collection<Long> deckIds, Date now) {
+        Map<Long, UserDeckCardCounters> userDeckCardCounters =
+                getUserDeckCardCounters(userId, deckIds, now.getTime());
+        List<DeckCardsCountDTO> deckCardsCounts = new ArrayList<>();
+        for (Long deckId : deckIds) {
+            UserDeckCardCounters deckCounters = userDeckCardCounters.get(deckId);
+            deckCardsCounts.add(new DeckCardsCountDTO(deckId, deckCounters.countNewCards(),
+                    deckCounters.countCardsThatNeedRepeating(now.getTime()),
+                    deckCounters.countPostponedCards(now.getTime())));
+        }
+        return deckCardsCounts;
+    }
+
+    /**
+     * Moves the answered card between the counters once the surrounding transaction commits.
+     *
+     * @param userCardQueue        the saved user card queue entry
+     * @param previousDateToRepeat the date to repeat of the entry before the answer
+     * @param newCard              whether the card was answered for the first time
+     */
+    public void update(UserCardQueue userCardQueue, Date previousDateToRepeat, boolean newCard) {
+        Date dateToRepeat = userCardQueue.getDateToRepeat();
+        afterCommit(() -> {
+            UserDeckCardCounters deckCounters;
+            synchronized (counters) {
+                deckCounters = getLoaded(userCardQueue.getUserId(), userCardQueue.getDeckId());
+                Map<Long, Date> changes =
+                        pendingChanges.get(new UserDeckKey(userCardQueue.getUserId(), userCardQueue.getDeckId()));
+                if (deckCounters == null && changes != null) {
+                    changes.put(userCardQueue.getCardId(), dateToRepeat);
+                }
+            }
+            if (deckCounters != null) {
+                deckCounters.update(previousDateToRepeat, dateToRepeat, newCard, System.currentTimeMillis());
+            }
+        });
+    }
+
+    /**
+     * Drops the counters of the user once the surrounding transaction commits.
+     *
+     * @param userId id of the user whose queue was changed in bulk
+     */
+    public void evictUser(Long userId) {
+        afterCommit(() -> {
+            synchronized (counters) {
+                Map<Long, UserDeckCardCounters> userDeckCardCounters = counters.remove(userId);
+                if (userDeckCardCounters != null) {
+                    unindexUser(userId, userDeckCardCounters);
+                }
+                pendingChanges.keySet().removeIf(key -> key.userId.equals(userId));
+            }
+        });
+    }
+
+    /**
+     * Drops the counters of the deck for all users once the surrounding transaction commits,
+     * e.g. after cards were added to or removed from the deck.
+     *
+     * @param deckId id of the changed deck
+     */
+    public void evictDeck(Long deckId) {
+        afterCommit(() -> {
+            synchronized (counters) {
+                Set<Long> userIds = userIdsByDeck.remove(deckId);
+                if (userIds != null) {
+                    userIds.forEach(userId -> Optional.ofNullable(counters.get(userId))
+                            .ifPresent(userDeckCardCounters -> userDeckCardCounters.remove(deckId)));
+                }
+                pendingChanges.keySet().removeIf(key -> key.deckId.equals(deckId));
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void unindexUser(Long userId, Map<Long, UserDeckCardCounters> userDeckCardCounters) {
+        for (Long deckId : userDeckCardCounters.keySet()) {
+            Set<Long> userIds = userIdsByDeck.get(deckId);
+            if (userIds != null && userIds.remove(userId) && userIds.isEmpty()) {
+                userIdsByDeck.remove(deckId);
+            }
+        }
+    }
+
+    private UserDeckCardCounters getLoaded(Long userId, Long deckId) {
+        synchronized (counters) {
+            Map<Long, UserDeckCardCounters> userDeckCardCounters = counters.get(userId);
+            return userDeckCardCounters != null ? userDeckCardCounters.get(deckId) : null;
+        }
+    }
+
+    private Map<Long, UserDeckCardCounters> getUserDeckCardCounters(Long userId, Collection<Long> deckIds,
+                                                                    long now) {
+        Map<Long, UserDeckCardCounters> requested = new HashMap<>();
+        Map<Long, Map<Long, Date>> changesByDeck = new HashMap<>();
+        synchronized (counters) {
+            Map<Long, UserDeckCardCounters> userDeckCardCounters = counters.get(userId);
+            for (Long deckId : deckIds) {
+                UserDeckCardCounters deckCounters = userDeckCardCounters != null
+                        ? userDeckCardCounters.get(deckId) : null;
+                if (deckCounters != null) {
+                    requested.put(deckId, deckCounters);
+                } else {
+                    changesByDeck.put(deckId, pendingChanges.computeIfAbsent(new UserDeckKey(userId, deckId),
+                            k -> new HashMap<>()));
+                }
+            }
+        }
+        if (changesByDeck.isEmpty()) {
+            return requested;
+        }
+        Map<Long, Map<Long, Date>> datesToRepeat = new HashMap<>();
+        Map<Long, UserDeckCardCounters> loaded = load(userId, changesByDeck.keySet(), datesToRepeat, now);
+        synchronized (counters) {
+            Map<Long, UserDeckCardCounters> userDeckCardCounters = counters.computeIfAbsent(userId, k -> new HashMap<>());
+            changesByDeck.forEach((deckId, changes) -> {
+                UserDeckCardCounters deckCounters = userDeckCardCounters.get(deckId);
+                if (deckCounters == null) {
+                    deckCounters = loaded.get(deckId);
+                    deckCounters.replay(datesToRepeat.get(deckId), changes, now);
+                    UserDeckKey key = new UserDeckKey(userId, deckId);
+                    if (pendingChanges.get(key) == changes) {
+                        pendingChanges.remove(key);
+                        userDeckCardCounters.put(deckId, deckCounters);
+                        userIdsByDeck.computeIfAbsent(deckId, k -> new HashSet<>()).add(userId);
+                    }
+                }
+                requested.put(deckId, deckCounters);
+            });
+            return requested;
+        }
+    }
+
+    private Map<Long, UserDeckCardCounters> load(Long userId, Set<Long> deckIds,
+                                                 Map<Long, Map<Long, Date>> datesToRepeat, long now) {
+        Map<Long, Long> deckSizes = new HashMap<>();
+        cardRepository.countCardsByDeckIds(deckIds)
+                .forEach(row -> deckSizes.put((Long) row[0], (Long) row[1]));
+        deckIds.forEach(deckId -> datesToRepeat.put(deckId, new HashMap<>()));
+        userCardQueueRepository.findDeckIdsCardIdsAndDatesToRepeat(userId, deckIds)
+                .forEach(row -> datesToRepeat.get((Long) row[0]).put((Long) row[1], (Date) row[2]));
+        Map<Long, UserDeckCardCounters> loaded = new HashMap<>();
+        datesToRepeat.forEach((deckId, dates) -> loaded.put(deckId,
+                new UserDeckCardCounters(deckSizes.getOrDefault(deckId, 0L), dates.values(), now)));
+        return loaded;
+    }
+
+    private static final class UserDeckKey {
+        private final Long userId;
+        private final Long deckId;
+
+        private UserDeckKey(Long userId, Long deckId) {
+            this.userId = userId;
+            this.deckId = deckId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            UserDeckKey that = (UserDeckKey) o;
+            return userId.equals(that.userId) && deckId.equals(that.deckId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * userId.hashCode() + deckId.hashCode();
+        }
+    }
+}
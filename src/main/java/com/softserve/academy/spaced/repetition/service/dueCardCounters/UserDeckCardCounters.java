@@ -0,0 +1,100 @@
+package com.softserve.academy.spaced.repetition.service.dueCardCounters;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Numbers of new, due and postponed cards of one user in one deck. Postponed cards are kept
+ * in buckets by the time they need repeating, the buckets are moved to the due cards as time passes.
+ * A card counts as due once its date to repeat is reached, the same way as the learning queries select it.
+ */
+class UserDeckCardCounters {
+    private final long deckSize;
+    private long answeredCards;
+    private long dueCards;
+    private long currentTime;
+    private final NavigableMap<Long, Long> postponedCardsByTime = new TreeMap<>();
+
+    UserDeckCardCounters(long deckSize, Collection<Date> datesToRepeat, long now) {
+        this.deckSize = deckSize;
+        this.currentTime = now;
+        datesToRepeat.forEach(dateToRepeat -> {
+            answeredCards++;
+            add(dateToRepeat);
+        });
+    }
+
+    synchronized void update(Date previousDateToRepeat, Date dateToRepeat, boolean newCard, long now) {
+        rollForward(now);
+        if (newCard) {
+            answeredCards++;
+        } else {
+            remove(previousDateToRepeat);
+        }
+        add(dateToRepeat);
+    }
+
+    /**
+     * Applies the answers which were committed while the counters were loaded. An answer the load already
+     * saw changes nothing, because the loaded date to repeat of its card is the answered one.
+     *
+     * @param loadedDatesToRepeat the loaded dates to repeat by card id
+     * @param datesToRepeat       the answered dates to repeat by card id
+     * @param now                 the current time
+     */
+    synchronized void replay(Map<Long, Date> loadedDatesToRepeat, Map<Long, Date> datesToRepeat, long now) {
+        datesToRepeat.forEach((cardId, dateToRepeat) -> update(loadedDatesToRepeat.get(cardId), dateToRepeat,
+                !loadedDatesToRepeat.containsKey(cardId), now));
+    }
+
+    synchronized long countNewCards() {
+        return Math.max(0, deckSize - answeredCards);
+    }
+
+    synchronized long countCardsThatNeedRepeating(long now) {
+        rollForward(now);
+        return dueCards;
+    }
+
+    synchronized long countPostponedCards(long now) {
+        rollForward(now);
+        return answeredCards - dueCards;
+    }
+
+    private void rollForward(long now) {
+        if (now <= currentTime) {
+            return;
+        }
+        NavigableMap<Long, Long> reachedTimes = postponedCardsByTime.headMap(now, true);
+        reachedTimes.values().forEach(count -> dueCards += count);
+        reachedTimes.clear();
+        currentTime = now;
+    }
+
+    private void add(Date dateToRepeat) {
+        if (dateToRepeat == null) {
+            return;
+        }
+        long time = dateToRepeat.getTime();
+        if (time <= currentTime) {
+            dueCards++;
+        } else {
+            postponedCardsByTime.merge(time, 1L, Long::sum);
+        }
+    }
+
+    private void remove(Date dateToRepeat) {
+        if (dateToRepeat == null) {
+            return;
+        }
+        long time = dateToRepeat.getTime();
+        if (time <= currentTime) {
+            dueCards--;
+        } else {
+            postponedCardsByTime.computeIfPresent(time, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.softserve.academy.spaced.repetition.service.dueCardIndex;
+
+import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
+import com.softserve.academy.spaced.repetition.repository.CardRepository;
+import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * In-memory index of the user card queue used by the spaced repetition learning regime.
+ * Each (user, deck) pair is loaded lazily from the database on first access, so the index
+ * rebuilds itself after a restart, and is kept up to date by {@link #update(UserCardQueue)}.
+ */
+@Component
+public class DueCardIndex {
+    private static final int MAX_INDEXED_USER_DECKS = 10_000;
+
+    @Autowired
+    private UserCardQueueRepository userCardQueueRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    private final Map<UserDeckKey, UserDeckDueCards> index =
+            new LinkedHashMap<UserDeckKey, UserDeckDueCards>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UserDeckKey, UserDeckDueCards> eldest) {
+                    return size() > MAX_INDEXED_USER_DECKS;
+                }
+            };
+    /**
+     * Changes made while an entry is being loaded, replayed on the loaded entry before it is installed.
+     * An entry whose pending changes are dropped by {@link #evictUser(Long)} is not installed at all.
+     */
+    private final Map<UserDeckKey, List<Consumer<UserDeckDueCards>>> pendingChanges = new HashMap<>();
+
+    public List<Long> getCardsThatNeedRepeating(Long userId, Long deckId, Date now, int limit) {
+        return getUserDeckDueCards(userId, deckId).getCardsThatNeedRepeating(now.getTime(), limit);
+    }
+
+    public List<Long> getPostponedCards(Long userId, Long deckId, Date now, int limit) {
+        return getUserDeckDueCards(userId, deckId).getPostponedCards(now.getTime(), limit);
+    }
+
+    public long countCardsThatNeedRepeating(Long userId, Long deckId, Date now) {
+        return getUserDeckDueCards(userId, deckId).countCardsThatNeedRepeating(now.getTime());
+    }
+
+    public List<Long> getNewCards(Long userId, Long deckId, int limit) {
+        return getUserDeckDueCards(userId, deckId).getNewCards(cardRepository.findIdsByDeckId(deckId), limit);
+    }
+
+    /**
+     * Applies the saved queue entry to the index once the surrounding transaction commits.
+     *
+     * @param userCardQueue the saved user card queue entry
+     */
+    public void update(UserCardQueue userCardQueue) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    applyUpdate(userCardQueue);
+                }
+            });
+        } else {
+            applyUpdate(userCardQueue);
+        }
+    }
+
+    /**
+     * Drops all loaded entries of the user once the surrounding transaction commits,
+     * they are loaded again from the database on next access.
+     *
+     * @param userId id of the user whose queue was changed in bulk
+     */
+    public void evictUser(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    removeUser(userId);
+                }
+            });
+        } else {
+            removeUser(userId);
+        }
+    }
+
+    public void removeCard(Long cardId) {
+        List<UserDeckDueCards> loaded;
+        synchronized (index) {
+            loaded = new ArrayList<>(index.values());
+            pendingChanges.values().forEach(changes -> changes.add(entry -> entry.remove(cardId)));
+        }
+        loaded.forEach(userDeckDueCards -> userDeckDueCards.remove(cardId));
+    }
+
+    private void removeUser(Long userId) {
+        synchronized (index) {
+            index.keySet().removeIf(key -> key.userId.equals(userId));
+            pendingChanges.keySet().removeIf(key -> key.userId.equals(userId));
+        }
+    }
+
+    private void applyUpdate(UserCardQueue userCardQueue) {
+        UserDeckKey key = new UserDeckKey(userCardQueue.getUserId(), userCardQueue.getDeckId());
+        UserDeckDueCards userDeckDueCards;
+        synchronized (index) {
+            userDeckDueCards = index.get(key);
+            List<Consumer<UserDeckDueCards>> changes = pendingChanges.get(key);
+            if (userDeckDueCards == null && changes != null) {
+                changes.add(entry -> entry.put(userCardQueue));
+            }
+        }
+        if (userDeckDueCards != null) {
+            userDeckDueCards.put(userCardQueue);
+        }
+    }
+
+    private UserDeckDueCards getUserDeckDueCards(Long userId, Long deckId) {
+        UserDeckKey key = new UserDeckKey(userId, deckId);
+        List<Consumer<UserDeckDueCards>> changes;
+        synchronized (index) {
+            UserDeckDueCards userDeckDueCards = index.get(key);
+            if (userDeckDueCards != null) {
+                return userDeckDueCards;
+            }
+            changes = pendingChanges.computeIfAbsent(key, k -> new ArrayList<>());
+        }
+        UserDeckDueCards loaded =
+                new UserDeckDueCards(userCardQueueRepository.findAllByUserIdAndDeckId(userId, deckId));
+        synchronized (index) {
+            UserDeckDueCards userDeckDueCards = index.get(key);
+            if (userDeckDueCards != null) {
+                return userDeckDueCards;
+            }
+            changes.forEach(change -> change.accept(loaded));
+            if (pendingChanges.get(key) == changes) {
+                pendingChanges.remove(key);
+                index.put(key, loaded);
+            }
+            return loaded;
+        }
+    }
+
+    private static final class UserDeckKey {
+        private final Long userId;
+        private final Long deckId;
+
+        private UserDeckKey(Long userId, Long deckId) {
+            this.userId = userId;
+            this.deckId = deckId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            UserDeckKey that = (UserDeckKey) o;
+            return userId.equals(that.userId) && deckId.equals(that.deckId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * userId.hashCode() + deckId.hashCode();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.softserve.academy.spaced.repetition.service.dueCardIndex;
+
+import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
+
+import java.util.*;
+
+/**
+ * Learning state of one user in one deck: cards ordered by the date they need repeating
+ * and the sorted ids of all cards the user has already seen.
+ */
+class UserDeckDueCards {
+    private static final Comparator<long[]> BY_DATE_TO_REPEAT = (first, second) -> first[0] != second[0]
+            ? Long.compare(first[0], second[0]) : Long.compare(first[1], second[1]);
+
+    private final NavigableSet<long[]> dueCards = new TreeSet<>(BY_DATE_TO_REPEAT);
+    private final Map<Long, Long> dateToRepeatByCardId = new HashMap<>();
+    private long[] seenCards = new long[8];
+    private int seenCount;
+
+    UserDeckDueCards(Collection<UserCardQueue> userCardQueues) {
+        userCardQueues.forEach(this::put);
+    }
+
+    synchronized void put(UserCardQueue userCardQueue) {
+        long cardId = userCardQueue.getCardId();
+        int position = Arrays.binarySearch(seenCards, 0, seenCount, cardId);
+        if (position < 0) {
+            position = -position - 1;
+            if (seenCount == seenCards.length) {
+                seenCards = Arrays.copyOf(seenCards, seenCount * 2);
+            }
+            System.arraycopy(seenCards, position, seenCards, position + 1, seenCount - position);
+            seenCards[position] = cardId;
+            seenCount++;
+        }
+        Long previousDate = dateToRepeatByCardId.remove(cardId);
+        if (previousDate != null) {
+            dueCards.remove(new long[]{previousDate, cardId});
+        }
+        if (userCardQueue.getDateToRepeat() != null) {
+            long dateToRepeat = userCardQueue.getDateToRepeat().getTime();
+            dateToRepeatByCardId.put(cardId, dateToRepeat);
+            dueCards.add(new long[]{dateToRepeat, cardId});
+        }
+    }
+
+    synchronized void remove(long cardId) {
+        int position = Arrays.binarySearch(seenCards, 0, seenCount, cardId);
+        if (position >= 0) {
+            System.arraycopy(seenCards, position + 1, seenCards, position, seenCount - position - 1);
+            seenCount--;
+        }
+        Long previousDate = dateToRepeatByCardId.remove(cardId);
+        if (previousDate != null) {
+            dueCards.remove(new long[]{previousDate, cardId});
+        }
+    }
+
+    synchronized List<Long> getCardsThatNeedRepeating(long now, int limit) {
+        return collectCardIds(dueCards.headSet(new long[]{now, Long.MAX_VALUE}, true), limit);
+    }
+
+    synchronized List<Long> getPostponedCards(long now, int limit) {
+        return collectCardIds(dueCards.tailSet(new long[]{now, Long.MAX_VALUE}, false), limit);
+    }
+
+    synchronized long countCardsThatNeedRepeating(long now) {
+        return dueCards.headSet(new long[]{now, Long.MAX_VALUE}, true).size();
+    }
+
+    synchronized List<Long> getNewCards(List<Long> deckCardIds, int limit) {
+        List<Long> newCards = new ArrayList<>();
+        for (Iterator<Long> iterator = deckCardIds.iterator(); iterator.hasNext() && newCards.size() < limit; ) {
+            Long cardId = iterator.next();
+            if (Arrays.binarySearch(seenCards, 0, seenCount, cardId) < 0) {
+                newCards.add(cardId);
+            }
+        }
+        return newCards;
+    }
+
+    private static List<Long> collectCardIds(Set<long[]> entries, int limit) {
+        List<Long> cardIds = new ArrayList<>();
+        for (Iterator<long[]> iterator = entries.iterator(); iterator.hasNext() && cardIds.size() < limit; ) {
+            cardIds.add(iterator.next()[1]);
+        }
+        return cardIds;
+    }
+}
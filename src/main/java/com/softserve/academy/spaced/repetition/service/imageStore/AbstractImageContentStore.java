@@ -0,0 +1,11 @@
+package com.softserve.academy.spaced.repetition.service.imageStore;
+
+import java.util.regex.Pattern;
+
+public abstract class AbstractImageContentStore implements ImageContentStore {
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    protected boolean isValidKey(String key) {
+        return key != null && KEY_PATTERN.matcher(key).matches();
+    }
+}
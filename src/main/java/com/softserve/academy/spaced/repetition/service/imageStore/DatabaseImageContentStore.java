@@ -0,0 +1,93 @@
+package com.softserve.academy.spaced.repetition.service.imageStore;
+
+import com.softserve.academy.spaced.repetition.utils.Sha256;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps image content in the BLOB column of the image_content table. New content is inserted under a temporary
+ * key, which is replaced by the hash of the content once the insert has read it. Content is read by chunks,
+ * because the MySQL driver reads a BLOB column into memory as a whole.
+ */
+@Component
+@ConditionalOnProperty(name = "app.images.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseImageContentStore extends AbstractImageContentStore {
+    private static final String COUNT_QUERY = "SELECT COUNT(*) FROM image_content WHERE content_key = ?";
+    private static final String LOCK_QUERY = "SELECT COUNT(*) FROM image_content WHERE content_key = ? FOR UPDATE";
+    private static final String INSERT_QUERY = "INSERT INTO image_content (content_key, content) VALUES (?, ?)";
+    private static final String RENAME_QUERY = "UPDATE image_content SET content_key = ? WHERE content_key = ?";
+    private static final String CHUNK_QUERY = "SELECT SUBSTRING(content, ?, ?) FROM image_content "
+            + "WHERE content_key = ?";
+    private static final String SIZE_QUERY = "SELECT LENGTH(content) FROM image_content WHERE content_key = ?";
+    private static final String DELETE_QUERY = "DELETE FROM image_content WHERE content_key = ?";
+    private static final String TEMPORARY_KEY_PREFIX = "tmp-";
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String save(InputStreamSource content) throws IOException {
+        String temporaryKey = TEMPORARY_KEY_PREFIX + UUID.randomUUID();
+        String key;
+        try (DigestInputStream in = new DigestInputStream(content.getInputStream(), Sha256.newDigest())) {
+            jdbcTemplate.update(INSERT_QUERY, ps -> {
+                ps.setString(1, temporaryKey);
+                ps.setBinaryStream(2, in);
+            });
+            key = Sha256.toHex(in.getMessageDigest().digest());
+        }
+        try {
+            if (jdbcTemplate.queryForObject(COUNT_QUERY, Integer.class, key) == 0) {
+                jdbcTemplate.update(RENAME_QUERY, key, temporaryKey);
+                return key;
+            }
+        } catch (DuplicateKeyException e) {
+            // the same content was saved concurrently
+        }
+        jdbcTemplate.update(DELETE_QUERY, temporaryKey);
+        return key;
+    }
+
+    /**
+     * Reads the content row with a lock, so the result is not taken from the snapshot of the surrounding transaction
+     * and the content can not be deleted until the transaction ends.
+     */
+    @Override
+    public boolean exists(String key) {
+        return jdbcTemplate.queryForObject(LOCK_QUERY, Integer.class, key) > 0;
+    }
+
+    @Override
+    public boolean copy(String key, OutputStream out) throws IOException {
+        List<Long> sizes = jdbcTemplate.queryForList(SIZE_QUERY, Long.class, key);
+        if (sizes.isEmpty()) {
+            return false;
+        }
+        for (long offset = 0; offset < sizes.get(0); offset += CHUNK_SIZE) {
+            List<byte[]> chunks = jdbcTemplate.queryForList(CHUNK_QUERY, byte[].class, offset + 1, CHUNK_SIZE, key);
+            if (chunks.isEmpty()) {
+                throw new IOException("Content " + key + " was deleted while it was copied");
+            }
+            out.write(chunks.get(0));
+        }
+        return true;
+    }
+
+    @Override
+    public long delete(String key) {
+        List<Long> sizes = jdbcTemplate.queryForList(SIZE_QUERY, Long.class, key);
+        jdbcTemplate.update(DELETE_QUERY, key);
+        return sizes.isEmpty() ? 0L : sizes.get(0);
+    }
+}
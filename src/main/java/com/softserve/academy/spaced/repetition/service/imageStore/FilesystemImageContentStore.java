@@ -0,0 +1,90 @@
+package com.softserve.academy.spaced.repetition.service.imageStore;
+
+import com.softserve.academy.spaced.repetition.utils.Sha256;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+
+/**
+ * Keeps image content in files named by their keys, nested in two levels of directories
+ * named by the first characters of the key. New content is copied to a temporary file in the root directory
+ * and moved to its place once its key is known.
+ */
+@Component
+@ConditionalOnProperty(name = "app.images.store", havingValue = "filesystem")
+public class FilesystemImageContentStore extends AbstractImageContentStore {
+    private static final String TEMP_FILE_PREFIX = "content";
+    private final Path rootDirectory;
+
+    public FilesystemImageContentStore(@Value("${app.images.storageDirectory:images}") String rootDirectory) {
+        this.rootDirectory = Paths.get(rootDirectory);
+    }
+
+    @Override
+    public String save(InputStreamSource content) throws IOException {
+        Files.createDirectories(rootDirectory);
+        Path tempFile = Files.createTempFile(rootDirectory, TEMP_FILE_PREFIX, ".tmp");
+        try {
+            String key;
+            try (DigestInputStream in = new DigestInputStream(content.getInputStream(), Sha256.newDigest())) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+                key = Sha256.toHex(in.getMessageDigest().digest());
+            }
+            Path path = getPath(key);
+            if (!Files.exists(path)) {
+                Files.createDirectories(path.getParent());
+                try {
+                    Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // the same content was saved concurrently
+                }
+            }
+            return key;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return isValidKey(key) && Files.exists(getPath(key));
+    }
+
+    @Override
+    public boolean copy(String key, OutputStream out) throws IOException {
+        if (!isValidKey(key)) {
+            return false;
+        }
+        try {
+            Files.copy(getPath(key), out);
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public long delete(String key) throws IOException {
+        if (!isValidKey(key)) {
+            return 0L;
+        }
+        Path path = getPath(key);
+        try {
+            long size = Files.size(path);
+            Files.delete(path);
+            return size;
+        } catch (NoSuchFileException e) {
+            return 0L;
+        }
+    }
+
+    private Path getPath(String key) {
+        return rootDirectory.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+}
@@ -0,0 +1,87 @@
+package com.softserve.academy.spaced.repetition.service.imageStore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory LRU cache of image content bounded by the total number of cached bytes.
+ * Content is immutable for its key, so entries only have to be evicted when the image is deleted.
+ * Hits, misses, evictions and the cache size are published to the actuator metrics endpoint.
+ */
+@Component
+public class ImageContentCache implements PublicMetrics {
+    private static final int MAX_ENTRY_SHARE = 16;
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final LinkedHashMap<String, byte[]> contents = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ImageContentCache(@Value("${app.images.cacheSize:33554432}") long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxBytes / MAX_ENTRY_SHARE;
+    }
+
+    /**
+     * Tells whether content of such size is kept in the cache, bigger content should be streamed.
+     *
+     * @param size size of the content in bytes
+     * @return {@literal true} if the content may be cached
+     */
+    public boolean isCacheable(long size) {
+        return size <= maxEntryBytes;
+    }
+
+    public synchronized byte[] get(String key) {
+        byte[] content = contents.get(key);
+        if (content != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return content;
+    }
+
+    public synchronized void put(String key, byte[] content) {
+        if (!isCacheable(content.length)) {
+            return;
+        }
+        byte[] previousContent = contents.put(key, content);
+        if (previousContent != null) {
+            bytes -= previousContent.length;
+        }
+        bytes += content.length;
+        Iterator<Map.Entry<String, byte[]>> eldestEntries = contents.entrySet().iterator();
+        while (bytes > maxBytes && eldestEntries.hasNext()) {
+            bytes -= eldestEntries.next().getValue().length;
+            eldestEntries.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public synchronized void evict(String key) {
+        byte[] content = contents.remove(key);
+        if (content != null) {
+            bytes -= content.length;
+        }
+    }
+
+    @Override
+    public synchronized Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        metrics.add(new Metric<>("imageContentCache.hits", hits.get()));
+        metrics.add(new Metric<>("imageContentCache.misses", misses.get()));
+        metrics.add(new Metric<>("imageContentCache.evictions", evictions.get()));
+        metrics.add(new Metric<>("imageContentCache.entries", contents.size()));
+        metrics.add(new Metric<>("imageContentCache.bytes", bytes));
+        return metrics;
+    }
+}
@@ -0,0 +1,122 @@
+package com.softserve.academy.spaced.repetition.service.imageStore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Counts references to the shared image content, so equal content uploaded by different users or repeated across
+ * cards is stored once and removed from the {@link ImageContentStore} when the last reference to it is released.
+ */
+@Component
+public class ImageContentReferences {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageContentReferences.class);
+    private static final String ACQUIRE_QUERY = "INSERT INTO image_content_reference (content_key, ref_count) "
+            + "VALUES (?, 1) ON DUPLICATE KEY UPDATE ref_count = ref_count + 1";
+    private static final String RELEASE_QUERY = "UPDATE image_content_reference SET ref_count = ref_count - 1 "
+            + "WHERE content_key = ? AND ref_count > 0";
+    private static final String SELECT_FOR_UPDATE_QUERY = "SELECT ref_count FROM image_content_reference "
+            + "WHERE content_key = ? FOR UPDATE";
+    private static final String DELETE_QUERY = "DELETE FROM image_content_reference WHERE content_key = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ImageContentStore imageContentStore;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Saves the content unless it is already stored and adds a reference to it. The content is saved again if
+     * a concurrent release of its last reference deleted it before the reference was added; the check after adding
+     * the reference locks the content, so it does not rely on a snapshot the caller's transaction took earlier.
+     *
+     * @param content the source of image bytes, it may be opened more than once.
+     * @return the key of the stored content.
+     * @throws IOException if the content can not be read or written.
+     */
+    public String acquire(InputStreamSource content) throws IOException {
+        String key = imageContentStore.save(content);
+        jdbcTemplate.update(ACQUIRE_QUERY, key);
+        try {
+            if (!imageContentStore.exists(key)) {
+                imageContentStore.save(content);
+            }
+        } catch (IOException | RuntimeException e) {
+            jdbcTemplate.update(RELEASE_QUERY, key);
+            throw e;
+        }
+        return key;
+    }
+
+    /**
+     * Removes a reference to the content and deletes the content once the surrounding transaction commits if it
+     * was the last one, so a rolled back release keeps the content. The deletion locks the reference row again and
+     * skips the content if it has been acquired in the meantime; a concurrent {@link #acquire(InputStreamSource)}
+     * of the same content waits for the deletion and saves the content again.
+     *
+     * @param key the key of the content, ignored if {@literal null}.
+     * @return {@literal true} if the last reference was released.
+     */
+    @Transactional
+    public boolean release(String key) {
+        if (key == null) {
+            return false;
+        }
+        jdbcTemplate.update(RELEASE_QUERY, key);
+        List<Integer> refCounts = jdbcTemplate.queryForList(SELECT_FOR_UPDATE_QUERY, Integer.class, key);
+        if (refCounts.isEmpty() || refCounts.get(0) > 0) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    deleteUnreferenced(key);
+                }
+            });
+        } else {
+            deleteUnreferenced(key);
+        }
+        return true;
+    }
+
+    /**
+     * Runs in a transaction of its own, the released one has already committed. Content which fails to be deleted
+     * keeps its reference row and is reclaimed by the {@link ImageGarbageCollector}.
+     */
+    private void deleteUnreferenced(String key) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transactionTemplate.execute(status -> {
+                List<Integer> refCounts = jdbcTemplate.queryForList(SELECT_FOR_UPDATE_QUERY, Integer.class, key);
+                if (refCounts.isEmpty() || refCounts.get(0) > 0) {
+                    return null;
+                }
+                try {
+                    imageContentStore.delete(key);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                jdbcTemplate.update(DELETE_QUERY, key);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to delete released image content {}", key, e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.softserve.academy.spaced.repetition.service.imageStore;
+
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Stores the binary content of images. Content is addressed by the SHA-256 of its bytes,
+ * so saving equal content twice returns the same key.
+ */
+public interface ImageContentStore {
+    /**
+     * Saves the content unless content with the same key is already stored. The key is computed while the content
+     * is copied into the store, so the content is read once.
+     *
+     * @param content the source of image bytes.
+     * @return the key of the stored content.
+     * @throws IOException if the content can not be read or written.
+     */
+    String save(InputStreamSource content) throws IOException;
+
+    /**
+     * Checks the content as it is committed now, not as it was seen earlier by the surrounding transaction.
+     *
+     * @param key the key of the content.
+     * @return {@literal true} if there is content with such key.
+     * @throws IOException if the store can not be read.
+     */
+    boolean exists(String key) throws IOException;
+
+    /**
+     * Writes the stored content to the stream without loading it into memory as a whole.
+     *
+     * @param key the key of the content.
+     * @param out the stream to write the content to.
+     * @return {@literal false} if there is no content with such key.
+     * @throws IOException if the content can not be read or written.
+     */
+    boolean copy(String key, OutputStream out) throws IOException;
+
+    /**
+     * Removes the stored content, does nothing if there is no content with such key.
+     *
+     * @param key the key of the content.
+     * @return the number of removed bytes, 0 if there was no content with such key.
+     * @throws IOException if the content can not be removed.
+     */
+    long delete(String key) throws IOException;
+}
@@ -0,0 +1,217 @@
+package com.softserve.academy.spaced.repetition.service.imageStore;
+
+import com.softserve.academy.spaced.repetition.domain.Image;
+import com.softserve.academy.spaced.repetition.service.ImageQuotaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reclaims images nobody needs any more: uploaded images which have not been used for the grace period, and
+ * stored content which lost all its referrers without being released, e.g. images of cards removed together
+ * with their deck. Candidates are found by keyset-paginated scans outside of transactions and removed by chunks,
+ * each in its own short transaction that locks only the rows of the chunk. Reclaimed bytes are published to
+ * the actuator metrics endpoint.
+ */
+@Component
+public class ImageGarbageCollector implements PublicMetrics {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageGarbageCollector.class);
+    private static final String UNUSED_IMAGE_CONDITION = "i.is_used = 0 AND i.created_date < :before "
+            + "AND NOT EXISTS (SELECT 1 FROM course c WHERE c.image = i.image_id) "
+            + "AND NOT EXISTS (SELECT 1 FROM category c WHERE c.image = i.image_id) "
+            + "AND NOT EXISTS (SELECT 1 FROM person p WHERE p.avatar_id = i.image_id)";
+    private static final String UNUSED_IMAGES_QUERY = "SELECT i.image_id FROM image i "
+            + "WHERE i.image_id > :lastId AND " + UNUSED_IMAGE_CONDITION + " ORDER BY i.image_id LIMIT :limit";
+    private static final String LOCK_UNUSED_IMAGES_QUERY = "SELECT i.image_id, i.user_id, i.content_key, i.size "
+            + "FROM image i WHERE i.image_id IN (:ids) AND " + UNUSED_IMAGE_CONDITION + " FOR UPDATE";
+    private static final String IMAGE_VARIANTS_QUERY = "SELECT content_key, size FROM image_variant "
+            + "WHERE image_id IN (:ids)";
+    // variants of the images are removed by the cascading foreign key
+    private static final String DELETE_IMAGES_QUERY = "DELETE FROM image WHERE image_id IN (:ids)";
+    private static final String UNREFERENCED_CONTENT_CONDITION = "r.updated_date < :before "
+            + "AND NOT EXISTS (SELECT 1 FROM image i WHERE i.content_key = r.content_key) "
+            + "AND NOT EXISTS (SELECT 1 FROM image_variant v WHERE v.content_key = r.content_key) "
+            + "AND NOT EXISTS (SELECT 1 FROM card_image c WHERE c.content_key = r.content_key)";
+    private static final String UNREFERENCED_CONTENTS_QUERY = "SELECT r.content_key FROM image_content_reference r "
+            + "WHERE r.content_key > :lastKey AND " + UNREFERENCED_CONTENT_CONDITION
+            + " ORDER BY r.content_key LIMIT :limit";
+    private static final String LOCK_UNREFERENCED_CONTENTS_QUERY = "SELECT r.content_key "
+            + "FROM image_content_reference r WHERE r.content_key IN (:keys) AND " + UNREFERENCED_CONTENT_CONDITION
+            + " FOR UPDATE";
+    private static final String DELETE_CONTENT_REFERENCES_QUERY = "DELETE FROM image_content_reference "
+            + "WHERE content_key IN (:keys)";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ImageContentReferences imageContentReferences;
+    @Autowired
+    private ImageContentStore imageContentStore;
+    @Autowired
+    private ImageContentCache imageContentCache;
+    @Autowired
+    private ImageQuotaService imageQuotaService;
+    @Value("${app.images.gcGracePeriodDays:30}")
+    private int gracePeriodDays;
+    @Value("${app.images.gcChunkSize:100}")
+    private int chunkSize;
+    @Value("${app.images.gcChunkPauseMillis:200}")
+    private long chunkPauseMillis;
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+    private final AtomicLong removedImages = new AtomicLong();
+    private final AtomicLong removedContents = new AtomicLong();
+
+    @Scheduled(cron = "${app.images.gcCron:0 0 4 * * *}")
+    public void collectGarbage() {
+        Date before = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(gracePeriodDays));
+        long reclaimedBytesBefore = reclaimedBytes.get();
+        try {
+            int images = collectUnusedImages(before);
+            int contents = collectUnreferencedContents(before);
+            LOGGER.info("Collected image garbage: {} images and {} unreferenced contents removed, {} bytes reclaimed",
+                    images, contents, reclaimedBytes.get() - reclaimedBytesBefore);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.info("Image garbage collection interrupted");
+        }
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        metrics.add(new Metric<>("imageGarbageCollector.reclaimedBytes", reclaimedBytes.get()));
+        metrics.add(new Metric<>("imageGarbageCollector.removedImages", removedImages.get()));
+        metrics.add(new Metric<>("imageGarbageCollector.removedContents", removedContents.get()));
+        return metrics;
+    }
+
+    private int collectUnusedImages(Date before) throws InterruptedException {
+        int removed = 0;
+        long lastId = 0L;
+        List<Long> imageIds;
+        do {
+            MapSqlParameterSource params = new MapSqlParameterSource("lastId", lastId)
+                    .addValue("before", before)
+                    .addValue("limit", chunkSize);
+            imageIds = namedParameterJdbcTemplate.queryForList(UNUSED_IMAGES_QUERY, params, Long.class);
+            if (imageIds.isEmpty()) {
+                break;
+            }
+            lastId = imageIds.get(imageIds.size() - 1);
+            List<Long> chunk = imageIds;
+            removed += transactionTemplate.execute(status -> removeImages(chunk, before));
+            pause();
+        } while (imageIds.size() == chunkSize);
+        return removed;
+    }
+
+    private int collectUnreferencedContents(Date before) throws InterruptedException {
+        int removed = 0;
+        String lastKey = "";
+        List<String> contentKeys;
+        do {
+            MapSqlParameterSource params = new MapSqlParameterSource("lastKey", lastKey)
+                    .addValue("before", before)
+                    .addValue("limit", chunkSize);
+            contentKeys = namedParameterJdbcTemplate.queryForList(UNREFERENCED_CONTENTS_QUERY, params, String.class);
+            if (contentKeys.isEmpty()) {
+                break;
+            }
+            lastKey = contentKeys.get(contentKeys.size() - 1);
+            List<String> chunk = contentKeys;
+            removed += transactionTemplate.execute(status -> removeContents(chunk, before));
+            pause();
+        } while (contentKeys.size() == chunkSize);
+        return removed;
+    }
+
+    /**
+     * The images are selected again under lock, so an image which has been taken into use since the scan
+     * is skipped.
+     */
+    private int removeImages(List<Long> candidateIds, Date before) {
+        List<Long> imageIds = new ArrayList<>();
+        Map<Long, Long> bytesByUser = new HashMap<>();
+        List<Image> contents = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", candidateIds).addValue("before", before);
+        namedParameterJdbcTemplate.query(LOCK_UNUSED_IMAGES_QUERY, params, (RowCallbackHandler) rs -> {
+            imageIds.add(rs.getLong("image_id"));
+            long userId = rs.getLong("user_id");
+            boolean hasOwner = !rs.wasNull();
+            Image content = createContent(rs.getString("content_key"), rs.getLong("size"));
+            if (hasOwner) {
+                bytesByUser.merge(userId, content.getSize(), Long::sum);
+            }
+            contents.add(content);
+        });
+        if (imageIds.isEmpty()) {
+            return 0;
+        }
+        params = new MapSqlParameterSource("ids", imageIds);
+        namedParameterJdbcTemplate.query(IMAGE_VARIANTS_QUERY, params, (RowCallbackHandler) rs ->
+                contents.add(createContent(rs.getString("content_key"), rs.getLong("size"))));
+        namedParameterJdbcTemplate.update(DELETE_IMAGES_QUERY, params);
+        bytesByUser.forEach(imageQuotaService::releaseBytes);
+        for (Image content : contents) {
+            if (imageContentReferences.release(content.getContentKey())) {
+                imageContentCache.evict(content.getContentKey());
+                reclaimedBytes.addAndGet(content.getSize());
+            }
+        }
+        removedImages.addAndGet(imageIds.size());
+        return imageIds.size();
+    }
+
+    private int removeContents(List<String> candidateKeys, Date before) {
+        MapSqlParameterSource params = new MapSqlParameterSource("keys", candidateKeys).addValue("before", before);
+        List<String> contentKeys = namedParameterJdbcTemplate.queryForList(LOCK_UNREFERENCED_CONTENTS_QUERY, params,
+                String.class);
+        if (contentKeys.isEmpty()) {
+            return 0;
+        }
+        try {
+            for (String contentKey : contentKeys) {
+                reclaimedBytes.addAndGet(imageContentStore.delete(contentKey));
+                imageContentCache.evict(contentKey);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        namedParameterJdbcTemplate.update(DELETE_CONTENT_REFERENCES_QUERY, new MapSqlParameterSource("keys",
+                contentKeys));
+        removedContents.addAndGet(contentKeys.size());
+        return contentKeys.size();
+    }
+
+    private Image createContent(String contentKey, long size) {
+        Image content = new Image(contentKey);
+        content.setSize(size);
+        return content;
+    }
+
+    /**
+     * Gives foreground requests a chance to take the rows and connections between chunks.
+     */
+    private void pause() throws InterruptedException {
+        if (chunkPauseMillis > 0) {
+            Thread.sleep(chunkPauseMillis);
+        }
+    }
+}
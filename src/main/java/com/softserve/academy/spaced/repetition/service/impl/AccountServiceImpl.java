@@ -4,11 +4,15 @@ import com.softserve.academy.spaced.repetition.domain.Account;
 import com.softserve.academy.spaced.repetition.domain.RememberingLevel;
 import com.softserve.academy.spaced.repetition.domain.enums.AccountStatus;
 import com.softserve.academy.spaced.repetition.domain.enums.AuthenticationType;
+import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
 import com.softserve.academy.spaced.repetition.repository.AccountRepository;
 import com.softserve.academy.spaced.repetition.repository.RememberingLevelRepository;
 import com.softserve.academy.spaced.repetition.service.AccountService;
 import com.softserve.academy.spaced.repetition.service.MailService;
+import com.softserve.academy.spaced.repetition.service.UserCardQueueService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.rememberingLevel.RememberingLevelLadder;
+import com.softserve.academy.spaced.repetition.service.rememberingLevel.RememberingLevelLadderCache;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +21,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 @Service
 public class AccountServiceImpl implements AccountService {
@@ -33,15 +39,29 @@ public class AccountServiceImpl implements AccountService {
     private MailService mailService;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private RememberingLevelLadderCache rememberingLevelLadderCache;
+    @Autowired
+    private UserCardQueueService userCardQueueService;
 
     @Override
     @Transactional
     public Account updateAccountDetails(Account acc) throws NotAuthorisedUserException {
         Account account = userService.getAuthorizedUser().getAccount();
+        boolean ladderChanged = !createLadder(account.getRememberingLevels())
+                .hasSamePostponingPeriods(createLadder(acc.getRememberingLevels()));
         account.setRememberingLevels(acc.getRememberingLevels());
         account.setCardsNumber(acc.getCardsNumber());
+        boolean learningRegimeChanged = account.getLearningRegime() != acc.getLearningRegime();
         account.setLearningRegime(acc.getLearningRegime());
-        return accountRepository.save(account);
+        rememberingLevelLadderCache.evict(account.getId());
+        Account savedAccount = accountRepository.save(account);
+        // dates to repeat of the spaced repetition regime are computed from the days of the remembering levels
+        if (learningRegimeChanged || ladderChanged
+                && account.getLearningRegime() == LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION) {
+            userCardQueueService.rescheduleAllUserCardQueues();
+        }
+        return savedAccount;
     }
 
     @Override
@@ -97,4 +117,8 @@ public class AccountServiceImpl implements AccountService {
         }
         return type.toString();
     }
+
+    private static RememberingLevelLadder createLadder(List<RememberingLevel> rememberingLevels) {
+        return new RememberingLevelLadder(rememberingLevels != null ? rememberingLevels : Collections.emptyList());
+    }
 }
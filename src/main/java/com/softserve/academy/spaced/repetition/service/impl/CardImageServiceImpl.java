@@ -2,28 +2,90 @@ package com.softserve.academy.spaced.repetition.service.impl;
 
 import com.softserve.academy.spaced.repetition.domain.Card;
 import com.softserve.academy.spaced.repetition.domain.CardImage;
+import com.softserve.academy.spaced.repetition.domain.Image;
 import com.softserve.academy.spaced.repetition.repository.CardImageRepository;
 import com.softserve.academy.spaced.repetition.service.CardImageService;
+import com.softserve.academy.spaced.repetition.service.ImageService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
 
 @Service
 public class CardImageServiceImpl implements CardImageService {
+    private static final String DATA_URI_PREFIX = "data:";
+    private static final String DATA_URI_BASE64_SEPARATOR = ";base64,";
 
     @Autowired
     private CardImageRepository cardImageRepository;
+    @Autowired
+    private ImageService imageService;
+    @Autowired
+    private MessageSource messageSource;
+    private final Locale locale = LocaleContextHolder.getLocale();
 
     @Override
     public void addCardImage(List<String> imageList, Card card) {
         if (imageList != null) {
-            imageList.forEach(image -> cardImageRepository.save(new CardImage(image, card)));
+            imageList.forEach(image -> cardImageRepository.save(createCardImage(image, card)));
         }
     }
 
+    @Override
+    public CardImage getCardImage(Long cardImageId) {
+        CardImage cardImage = cardImageRepository.findOne(cardImageId);
+        if (cardImage == null) {
+            throw new NoSuchElementException(messageSource.getMessage("message.exception.imageNotFound",
+                    new Object[]{}, locale));
+        }
+        return cardImage;
+    }
+
+    @Override
+    public void copyCardImageContent(CardImage cardImage, OutputStream out) throws IOException {
+        Image image = new Image(cardImage.getContentKey(), cardImage.getType());
+        image.setSize(cardImage.getSize());
+        imageService.copyImageContent(image, out);
+    }
+
     @Override
     public void deleteById(Long cardImageID) {
+        CardImage cardImage = cardImageRepository.findOne(cardImageID);
         cardImageRepository.delete(cardImageID);
+        if (cardImage != null) {
+            imageService.releaseImageContent(cardImage.getContentKey());
+        }
+    }
+
+    @Override
+    public void releaseCardImages(List<CardImage> cardImages) {
+        if (cardImages != null) {
+            cardImages.forEach(cardImage -> imageService.releaseImageContent(cardImage.getContentKey()));
+        }
+    }
+
+    /**
+     * Card images come as base64 strings, usually data URIs which also carry the type of the image.
+     * Equal images are stored once and shared by all cards that contain them.
+     */
+    private CardImage createCardImage(String image, Card card) {
+        String type = MediaType.IMAGE_JPEG_VALUE;
+        String encodedContent = image;
+        int separatorIndex = image.indexOf(DATA_URI_BASE64_SEPARATOR);
+        if (image.startsWith(DATA_URI_PREFIX) && separatorIndex > 0) {
+            type = image.substring(DATA_URI_PREFIX.length(), separatorIndex);
+            encodedContent = image.substring(separatorIndex + DATA_URI_BASE64_SEPARATOR.length());
+        }
+        byte[] content = imageService.decodeFromBase64(encodedContent);
+        String contentKey = imageService.saveImageContent(new ByteArrayResource(content));
+        return new CardImage(contentKey, type, (long) content.length, card);
     }
 }
@@ -0,0 +1,303 @@
+package com.softserve.academy.spaced.repetition.service.impl;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardImportResultDTO;
+import com.softserve.academy.spaced.repetition.domain.CardJob;
+import com.softserve.academy.spaced.repetition.domain.enums.CardExportFormat;
+import com.softserve.academy.spaced.repetition.domain.enums.CardJobStatus;
+import com.softserve.academy.spaced.repetition.domain.enums.CardJobType;
+import com.softserve.academy.spaced.repetition.repository.CardJobRepository;
+import com.softserve.academy.spaced.repetition.service.CardJobService;
+import com.softserve.academy.spaced.repetition.service.DeckService;
+import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.cardExport.CardExporter;
+import com.softserve.academy.spaced.repetition.service.cardImport.CardImporter;
+import com.softserve.academy.spaced.repetition.service.cardJob.CardJobCancelledException;
+import com.softserve.academy.spaced.repetition.service.cardJob.CardJobProgress;
+import com.softserve.academy.spaced.repetition.service.cardLoaders.impl.CardLoadService;
+import com.softserve.academy.spaced.repetition.service.dueCardCounters.DueCardCounters;
+import com.softserve.academy.spaced.repetition.utils.exceptions.EmptyFileException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.WrongFormatException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import java.io.*;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class CardJobServiceImpl implements CardJobService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CardJobServiceImpl.class);
+    private static final String FILE_PREFIX = "card-job";
+    private static final String UPLOAD_SUFFIX = ".upload";
+    private static final String GZIP_EXTENSION = ".gz";
+
+    @Autowired
+    private CardJobRepository cardJobRepository;
+    @Autowired
+    private DeckService deckService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private CardImporter cardImporter;
+    @Autowired
+    private CardLoadService cardLoadService;
+    @Autowired
+    private CardExporter cardExporter;
+    @Autowired
+    private DueCardCounters dueCardCounters;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    @Qualifier("cardJobExecutor")
+    private AsyncTaskExecutor cardJobExecutor;
+    @Autowired
+    private MessageSource messageSource;
+    @Value("${app.cardJobs.retentionHours:24}")
+    private int retentionHours;
+    /**
+     * Identifies this node among the nodes sharing the database, it must stay the same across restarts.
+     * The host name is used when it is not configured.
+     */
+    @Value("${app.cardJobs.nodeId:}")
+    private String nodeId;
+    private final Locale locale = LocaleContextHolder.getLocale();
+    /**
+     * Writes the state of a job besides the transaction of the job itself, so the state is visible to polling
+     * requests while the job runs and survives a rollback of the job.
+     */
+    private TransactionTemplate jobStateTransaction;
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.isEmpty()) {
+            try {
+                nodeId = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                throw new IllegalStateException("Host name is unknown, set app.cardJobs.nodeId", e);
+            }
+        }
+        jobStateTransaction = new TransactionTemplate(transactionManager);
+        jobStateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // jobs are processed by the node which accepted them, so no one finishes the jobs left by a restart,
+        // jobs of the other nodes are still running there
+        int interrupted = jobStateTransaction.execute(status -> cardJobRepository.failUnfinished(nodeId,
+                messageSource.getMessage("message.exception.cardJobInterrupted", new Object[]{}, locale)));
+        if (interrupted > 0) {
+            LOGGER.warn("{} card jobs were interrupted by the restart", interrupted);
+        }
+    }
+
+    @Override
+    public CardJob importCards(MultipartFile cardsFile, Long deckId, CardJobType type) throws EmptyFileException,
+            NotOwnerOperationException, NotAuthorisedUserException, IOException {
+        if (type != CardJobType.YAML_IMPORT && type != CardJobType.ANKI_IMPORT) {
+            throw new IllegalArgumentException(messageSource.getMessage("message.exception.cardJobTypeNotValid",
+                    new Object[]{type}, locale));
+        }
+        deckService.getDeckUser(deckId);
+        if (cardsFile.isEmpty()) {
+            throw new EmptyFileException(messageSource.getMessage("message.exception.fileEmpty",
+                    new Object[]{}, locale));
+        }
+        Long userId = userService.getAuthorizedUser().getId();
+        Path path = Files.createTempFile(FILE_PREFIX, UPLOAD_SUFFIX);
+        try (InputStream in = cardsFile.getInputStream()) {
+            Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        return submit(new CardJob(userId, deckId, type, path.toString()));
+    }
+
+    @Override
+    public CardJob exportCards(Long deckId, CardExportFormat format, boolean gzip)
+            throws NotAuthorisedUserException, IOException {
+        Long userId = userService.getAuthorizedUser().getId();
+        String suffix = "." + format.getFileExtension() + (gzip ? GZIP_EXTENSION : "");
+        Path path = Files.createTempFile(FILE_PREFIX, suffix);
+        CardJob cardJob = new CardJob(userId, deckId, CardJobType.EXPORT, path.toString());
+        cardJob.setExportFormat(format);
+        cardJob.setGzip(gzip);
+        return submit(cardJob);
+    }
+
+    @Override
+    public CardJob getCardJob(Long jobId) throws NotAuthorisedUserException {
+        CardJob cardJob = cardJobRepository.findByIdAndUserId(jobId, userService.getAuthorizedUser().getId());
+        if (cardJob == null) {
+            throw new NoSuchElementException(messageSource.getMessage("message.exception.cardJobNotFound",
+                    new Object[]{}, locale));
+        }
+        return cardJob;
+    }
+
+    @Override
+    @Transactional
+    public CardJob cancelCardJob(Long jobId) throws NotAuthorisedUserException {
+        CardJob cardJob = getCardJob(jobId);
+        if (cardJobRepository.requestCancel(jobId) == 0) {
+            throw new IllegalArgumentException(messageSource.getMessage("message.exception.cardJobFinished",
+                    new Object[]{}, locale));
+        }
+        return cardJobRepository.findOne(cardJob.getId());
+    }
+
+    @Override
+    public Path getExportedFile(Long jobId) throws NotAuthorisedUserException {
+        CardJob cardJob = getCardJob(jobId);
+        if (cardJob.getType() != CardJobType.EXPORT || cardJob.getStatus() != CardJobStatus.COMPLETED) {
+            throw new IllegalArgumentException(messageSource.getMessage("message.exception.cardJobFileNotReady",
+                    new Object[]{}, locale));
+        }
+        Path path = Paths.get(cardJob.getFilePath());
+        if (!Files.exists(path)) {
+            throw new NoSuchElementException(messageSource.getMessage("message.exception.fileNotFound",
+                    new Object[]{}, locale));
+        }
+        return path;
+    }
+
+    @Override
+    @Scheduled(cron = "${app.cardJobs.cleanupCron:0 15 4 * * *}")
+    public void removeFinishedCardJobs() {
+        Date before = new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(retentionHours));
+        int removed = 0;
+        for (CardJob cardJob : cardJobRepository.findFinishedBefore(nodeId, before)) {
+            deleteFile(cardJob.getFilePath());
+            cardJobRepository.delete(cardJob);
+            removed++;
+        }
+        LOGGER.info("Removed {} finished card jobs", removed);
+    }
+
+    /**
+     * The job is saved before it is queued, so the worker always finds it committed.
+     */
+    private CardJob submit(CardJob cardJob) {
+        cardJob.setNodeId(nodeId);
+        CardJob savedJob = cardJobRepository.save(cardJob);
+        Long jobId = savedJob.getId();
+        try {
+            cardJobExecutor.execute(() -> runJob(jobId));
+        } catch (TaskRejectedException e) {
+            String errorMessage = messageSource.getMessage("message.exception.cardJobQueueFull",
+                    new Object[]{}, locale);
+            finish(savedJob, CardJobStatus.FAILED, errorMessage);
+            savedJob.setStatus(CardJobStatus.FAILED);
+            savedJob.setErrorMessage(errorMessage);
+        }
+        return savedJob;
+    }
+
+    private void runJob(Long jobId) {
+        CardJob cardJob = cardJobRepository.findOne(jobId);
+        if (jobStateTransaction.execute(status -> cardJobRepository.markRunning(jobId)) == 0) {
+            LOGGER.debug("Card job {} was cancelled before it started", jobId);
+            finish(cardJob, CardJobStatus.CANCELLED, null);
+            return;
+        }
+        CardJobProgress progress = (processedCards, importedCards, failedCards) -> {
+            boolean cancelRequested = jobStateTransaction.execute(status -> {
+                cardJobRepository.updateProgress(jobId, processedCards, importedCards, failedCards);
+                return cardJobRepository.isCancelRequested(jobId);
+            });
+            if (cancelRequested) {
+                throw new CardJobCancelledException(jobId);
+            }
+        };
+        try {
+            if (cardJob.getType() == CardJobType.EXPORT) {
+                runExport(cardJob, progress);
+            } else {
+                CardImportResultDTO result = runImport(cardJob, progress);
+                progress.update(result.getImportedCards() + result.getFailedCards(), result.getImportedCards(),
+                        result.getFailedCards());
+            }
+            finish(cardJob, CardJobStatus.COMPLETED, null);
+        } catch (CardJobCancelledException e) {
+            LOGGER.debug("Card job {} cancelled", jobId);
+            finish(cardJob, CardJobStatus.CANCELLED, null);
+        } catch (WrongFormatException e) {
+            finish(cardJob, CardJobStatus.FAILED, messageSource.getMessage("message.exception.fileWrongFormat",
+                    new Object[]{}, locale));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Card job {} failed", jobId, e);
+            finish(cardJob, CardJobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private CardImportResultDTO runImport(CardJob cardJob, CardJobProgress progress) throws WrongFormatException {
+        Path path = Paths.get(cardJob.getFilePath());
+        if (cardJob.getType() == CardJobType.ANKI_IMPORT) {
+            return cardLoadService.loadCards(path, cardJob.getDeckId(), cardJob.getUserId(), progress);
+        }
+        CardImportResultDTO result = transactionTemplate.execute(status -> {
+            try (Reader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                return cardImporter.importCards(in, cardJob.getDeckId(), cardJob.getUserId(), progress);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        dueCardCounters.evictDeck(cardJob.getDeckId());
+        return result;
+    }
+
+    private void runExport(CardJob cardJob, CardJobProgress progress) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Paths.get(cardJob.getFilePath())))) {
+            cardExporter.exportCards(cardJob.getDeckId(), cardJob.getExportFormat(), cardJob.isGzip(), out,
+                    progress);
+        }
+    }
+
+    /**
+     * The uploaded file of an import is not needed any more, the file of an export is kept for downloading
+     * only when the export completed.
+     */
+    private void finish(CardJob cardJob, CardJobStatus status, String errorMessage) {
+        jobStateTransaction.execute(transactionStatus -> cardJobRepository.finish(cardJob.getId(), status.name(),
+                errorMessage));
+        if (cardJob.getType() != CardJobType.EXPORT || status != CardJobStatus.COMPLETED) {
+            deleteFile(cardJob.getFilePath());
+        }
+    }
+
+    private void deleteFile(String filePath) {
+        if (filePath == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Paths.get(filePath));
+        } catch (IOException e) {
+            LOGGER.warn("Removing file {} of a card job failed", filePath, e);
+        }
+    }
+}
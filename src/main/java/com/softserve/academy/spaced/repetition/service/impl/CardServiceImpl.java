@@ -1,13 +1,18 @@
 package com.softserve.academy.spaced.repetition.service.impl;
 
-import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
-import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTOList;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardImportResultDTO;
 import com.softserve.academy.spaced.repetition.domain.Card;
 import com.softserve.academy.spaced.repetition.domain.User;
-import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
+import com.softserve.academy.spaced.repetition.domain.enums.CardExportFormat;
 import com.softserve.academy.spaced.repetition.repository.CardRepository;
 import com.softserve.academy.spaced.repetition.repository.DeckRepository;
 import com.softserve.academy.spaced.repetition.service.*;
+import com.softserve.academy.spaced.repetition.service.cardExport.CardExporter;
+import com.softserve.academy.spaced.repetition.service.cardImport.CardImporter;
+import com.softserve.academy.spaced.repetition.service.dueCardCounters.DueCardCounters;
+import com.softserve.academy.spaced.repetition.service.dueCardIndex.DueCardIndex;
+import com.softserve.academy.spaced.repetition.service.scheduler.SchedulerRegistry;
+import com.softserve.academy.spaced.repetition.service.search.SearchIndex;
 import com.softserve.academy.spaced.repetition.utils.exceptions.EmptyFileException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
@@ -20,13 +25,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.web.multipart.MultipartFile;
-import org.yaml.snakeyaml.DumperOptions;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.ConstructorException;
-import org.yaml.snakeyaml.parser.ParserException;
 
 import java.io.*;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 @Service
@@ -42,13 +44,25 @@ public class CardServiceImpl implements CardService {
     @Autowired
     private AccountService accountService;
     @Autowired
-    private UserCardQueueService userCardQueueService;
-    @Autowired
     private DeckService deckService;
     @Autowired
     private MessageSource messageSource;
     @Autowired
     private CardImageService cardImageService;
+    @Autowired
+    private DueCardIndex dueCardIndex;
+    @Autowired
+    private SchedulerRegistry schedulerRegistry;
+    @Autowired
+    private DueCardCounters dueCardCounters;
+    @Autowired
+    private ChangeLogService changeLogService;
+    @Autowired
+    private CardImporter cardImporter;
+    @Autowired
+    private CardExporter cardExporter;
+    @Autowired
+    private SearchIndex searchIndex;
 
     @Override
     @Transactional
@@ -56,22 +70,8 @@ public class CardServiceImpl implements CardService {
         try {
             User user = userService.getAuthorizedUser();
             final int cardsNumber = accountService.getCardsNumber();
-            List<Card> learningCards = new ArrayList<>();
-            if (user.getAccount().getLearningRegime().equals(LearningRegime.BAD_NORMAL_GOOD_STATUS_DEPENDING)) {
-                learningCards = cardRepository.cardsForLearningWithOutStatus(user.getId(), deckId, cardsNumber);
-                if (learningCards.size() < cardsNumber) {
-                    learningCards.addAll(cardRepository.cardsQueueForLearningWithStatus(user.getId(), deckId,
-                            cardsNumber - learningCards.size()));
-                }
-            } else if (user.getAccount().getLearningRegime()
-                    .equals(LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION)) {
-                learningCards = cardRepository.getCardsThatNeedRepeating(deckId, new Date(), user.getId(), cardsNumber);
-                if (learningCards.size() < cardsNumber) {
-                    learningCards.addAll(cardRepository
-                            .getNewCards(deckId, user.getId(), cardsNumber - learningCards.size()));
-                }
-            }
-            return learningCards;
+            return schedulerRegistry.getScheduler(user.getAccount().getLearningRegime())
+                    .getLearningCards(user, deckId, cardsNumber);
         } catch (NotAuthorisedUserException e) {
             return cardRepository.findAllByDeckId(deckId).subList(0, ValidationConstants.MAX_SHOW_DECK_SIZE);
         }
@@ -88,6 +88,9 @@ public class CardServiceImpl implements CardService {
         card.setDeck(deckRepository.findOne(deckId));
         cardRepository.save(card);
         cardImageService.addCardImage(imageList, card);
+        dueCardCounters.evictDeck(deckId);
+        changeLogService.recordCardSaved(card.getId(), deckId);
+        searchIndex.indexCards(Collections.singleton(card.getId()));
     }
 
     @Override
@@ -98,6 +101,8 @@ public class CardServiceImpl implements CardService {
         card.setDeck(cardRepository.findOne(cardId).getDeck());
         cardRepository.save(card);
         cardImageService.addCardImage(imageList, card);
+        changeLogService.recordCardSaved(cardId, card.getDeck() != null ? card.getDeck().getId() : null);
+        searchIndex.indexCards(Collections.singleton(cardId));
         return card;
     }
 
@@ -116,71 +121,62 @@ public class CardServiceImpl implements CardService {
     @Override
     @Transactional
     public void deleteCard(Long cardId) {
+        Card card = cardRepository.findOne(cardId);
         cardRepository.delete(cardId);
+        dueCardIndex.removeCard(cardId);
+        searchIndex.removeCard(cardId);
+        if (card != null) {
+            cardImageService.releaseCardImages(card.getCardImages());
+        }
+        if (card != null && card.getDeck() != null) {
+            dueCardCounters.evictDeck(card.getDeck().getId());
+            changeLogService.recordCardDeleted(cardId, card.getDeck().getId());
+        }
     }
 
     @Override
     @Transactional
     public List<Card> getAdditionalLearningCards(Long deckId) throws NotAuthorisedUserException {
         User user = userService.getAuthorizedUser();
-        return cardRepository.getPostponedCards(deckId, new Date(), user.getId(), accountService.getCardsNumber());
+        return schedulerRegistry.getScheduler(user.getAccount().getLearningRegime())
+                .getPostponedCards(user, deckId, accountService.getCardsNumber());
     }
 
     @Override
     @Transactional
     public boolean areThereNotPostponedCardsAvailable(Long deckId) throws NotAuthorisedUserException {
         User user = userService.getAuthorizedUser();
-        return userCardQueueService.countCardsThatNeedRepeating(deckId) > 0 ||
-                !cardRepository.getNewCards(deckId, user.getId(), user.getAccount().getCardsNumber()).isEmpty();
+        return dueCardIndex.countCardsThatNeedRepeating(user.getId(), deckId, new Date()) > 0 ||
+                !dueCardIndex.getNewCards(user.getId(), deckId, 1).isEmpty();
     }
 
     @Override
     @Transactional
-    public void uploadCards(MultipartFile cardsFile, Long deckId) throws WrongFormatException, EmptyFileException,
-            NotOwnerOperationException, NotAuthorisedUserException, IOException {
-
-        if (deckService.getDeckUser(deckId) != null) {
-            if (cardsFile.isEmpty())
-                throw new EmptyFileException(messageSource.getMessage("message.exception.fileEmpty",
-                        new Object[]{}, locale));
-            Yaml yaml = new Yaml();
-            InputStream in = cardsFile.getInputStream();
-            try {
-                CardFileDTOList cards = yaml.loadAs(in, CardFileDTOList.class);
-
-                for (CardFileDTO card : cards.getCards())
-                    addCard(new Card(card.getTitle(), card.getQuestion(), card.getAnswer()), deckId, null);
-
-            } catch (ParserException | ConstructorException ex) {
-                throw new IllegalArgumentException(messageSource.getMessage("message.exception.fileWrongFormat",
-                        new Object[]{}, locale));
-            }
+    public CardImportResultDTO uploadCards(MultipartFile cardsFile, Long deckId) throws WrongFormatException,
+            EmptyFileException, NotOwnerOperationException, NotAuthorisedUserException, IOException {
+        deckService.getDeckUser(deckId);
+        if (cardsFile.isEmpty()) {
+            throw new EmptyFileException(messageSource.getMessage("message.exception.fileEmpty",
+                    new Object[]{}, locale));
         }
+        User user = userService.getAuthorizedUser();
+        CardImportResultDTO result;
+        try (Reader in = new BufferedReader(new InputStreamReader(cardsFile.getInputStream(),
+                StandardCharsets.UTF_8))) {
+            result = cardImporter.importCards(in, deckId, user.getId());
+        }
+        dueCardCounters.evictDeck(deckId);
+        return result;
     }
 
     @Override
-    public void downloadCards(Long deckId, OutputStream outputStream) {
-        List<Map<String, String>> list = new ArrayList<>();
-        cardRepository.findAllByDeckId(deckId).forEach(card -> {
-            Map<String, String> cardMap = new HashMap<>();
-            cardMap.put("title", card.getTitle());
-            cardMap.put("question", card.getQuestion());
-            cardMap.put("answer", card.getAnswer());
-            list.add(cardMap);
-        });
-        DumperOptions options = new DumperOptions();
-        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-        options.setDefaultScalarStyle(DumperOptions.ScalarStyle.SINGLE_QUOTED);
-        options.setPrettyFlow(true);
-        Map cardsMap = Collections.singletonMap("cards", list);
-        Yaml yaml = new Yaml(options);
-        try (Writer out = new BufferedWriter(new OutputStreamWriter(outputStream))) {
-            yaml.dump(cardsMap, out);
+    public void downloadCards(Long deckId, CardExportFormat format, boolean gzip, OutputStream outputStream) {
+        try {
+            cardExporter.exportCards(deckId, format, gzip, outputStream);
         } catch (IOException ex) {
             throw new IllegalArgumentException(messageSource.getMessage("message.exception.fileDumpingFailed",
                     new Object[]{}, locale));
         }
-
     }
 
     @Override
@@ -0,0 +1,95 @@
+package com.softserve.academy.spaced.repetition.service.impl;
+
+import com.softserve.academy.spaced.repetition.domain.ChangeLogEntry;
+import com.softserve.academy.spaced.repetition.domain.enums.ChangeEntityType;
+import com.softserve.academy.spaced.repetition.domain.enums.ChangeOperation;
+import com.softserve.academy.spaced.repetition.repository.CardRepository;
+import com.softserve.academy.spaced.repetition.repository.ChangeLogEntryRepository;
+import com.softserve.academy.spaced.repetition.repository.DeckRepository;
+import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import com.softserve.academy.spaced.repetition.service.ChangeLogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Service
+public class ChangeLogServiceImpl implements ChangeLogService {
+    @Autowired
+    private ChangeLogEntryRepository changeLogEntryRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private DeckRepository deckRepository;
+
+    @Autowired
+    private UserCardQueueRepository userCardQueueRepository;
+
+    @Override
+    @Transactional
+    public void recordCardSaved(Long cardId, Long deckId) {
+        Long version = record(ChangeEntityType.CARD, cardId, deckId, null, ChangeOperation.SAVE);
+        cardRepository.updateVersion(cardId, version);
+    }
+
+    @Override
+    @Transactional
+    public void recordCardsSaved(Collection<Long> cardIds) {
+        if (cardIds.isEmpty()) {
+            return;
+        }
+        changeLogEntryRepository.insertCardChanges(cardIds);
+        cardRepository.updateVersionsFromChangeLog(cardIds);
+    }
+
+    @Override
+    @Transactional
+    public void recordCardDeleted(Long cardId, Long deckId) {
+        record(ChangeEntityType.CARD, cardId, deckId, null, ChangeOperation.DELETE);
+    }
+
+    @Override
+    @Transactional
+    public void recordDeckSaved(Long deckId, Long ownerId) {
+        Long version = record(ChangeEntityType.DECK, deckId, deckId, ownerId, ChangeOperation.SAVE);
+        deckRepository.updateVersion(deckId, version);
+    }
+
+    @Override
+    @Transactional
+    public void recordDeckDeleted(Long deckId, Long ownerId) {
+        record(ChangeEntityType.DECK, deckId, deckId, ownerId, ChangeOperation.DELETE);
+    }
+
+    @Override
+    @Transactional
+    public void recordFolderDeckAdded(Long deckId, Long userId) {
+        record(ChangeEntityType.FOLDER_DECK, deckId, deckId, userId, ChangeOperation.SAVE);
+    }
+
+    @Override
+    @Transactional
+    public void recordUserCardQueuesSaved(Long userId, Long deckId, Collection<Long> cardIds) {
+        if (cardIds.isEmpty()) {
+            return;
+        }
+        Long version = record(ChangeEntityType.USER_CARD_QUEUE, null, deckId, userId, ChangeOperation.SAVE);
+        userCardQueueRepository.updateVersion(userId, cardIds, version);
+    }
+
+    @Override
+    @Transactional
+    public void recordAllUserCardQueuesSaved(Long userId) {
+        Long version = record(ChangeEntityType.USER_CARD_QUEUE, null, null, userId, ChangeOperation.SAVE);
+        userCardQueueRepository.updateVersion(userId, version);
+    }
+
+    private Long record(ChangeEntityType entityType, Long entityId, Long deckId, Long userId,
+                        ChangeOperation operation) {
+        return changeLogEntryRepository.save(new ChangeLogEntry(entityType, entityId, deckId, userId, operation))
+                .getId();
+    }
+}
@@ -5,7 +5,14 @@ import com.softserve.academy.spaced.repetition.repository.*;
 import com.softserve.academy.spaced.repetition.service.CourseService;
 import com.softserve.academy.spaced.repetition.service.ImageService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.courseArchive.CourseArchiveReader;
+import com.softserve.academy.spaced.repetition.service.courseArchive.CourseArchiveWriter;
+import com.softserve.academy.spaced.repetition.service.search.SearchIndex;
+import com.softserve.academy.spaced.repetition.utils.exceptions.EmptyFileException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.ImageRepositorySizeQuotaExceededException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.WrongFormatException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
@@ -13,11 +20,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.math.BigInteger;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 @Service
@@ -40,6 +52,12 @@ public class CourseServiceImpl implements CourseService {
     @Autowired
     private DeckRepository deckRepository;
     @Autowired
+    private CourseArchiveWriter courseArchiveWriter;
+    @Autowired
+    private CourseArchiveReader courseArchiveReader;
+    @Autowired
+    private SearchIndex searchIndex;
+    @Autowired
     private MessageSource messageSource;
 
     @Override
@@ -69,6 +87,7 @@ public class CourseServiceImpl implements CourseService {
         imageService.setImageStatusInUse(imageId);
         course.setCategory(new Category(category_id));
         courseRepository.save(course);
+        searchIndex.indexCourse(course.getId());
     }
 
     @Override
@@ -86,6 +105,7 @@ public class CourseServiceImpl implements CourseService {
     public void updateCourse(Long course_id, Course course) {
         course.setId(course_id);
         courseRepository.save(course);
+        searchIndex.indexCourse(course_id);
     }
 
     @Override
@@ -103,6 +123,7 @@ public class CourseServiceImpl implements CourseService {
 
         userRepository.save(user);
         courseRepository.delete(course_id);
+        searchIndex.removeCourse(course_id);
     }
 
     @Override
@@ -141,8 +162,43 @@ public class CourseServiceImpl implements CourseService {
         course.setPublished(false);
         course.setOwner(user);
         courseRepository.save(course);
+        searchIndex.indexCourse(course.getId());
+        user.getCourses().add(course);
+        userRepository.save(user);
+    }
+
+    @Override
+    public void exportCourse(Long courseId, OutputStream outputStream) throws NotAuthorisedUserException,
+            NotOwnerOperationException, IOException {
+        User user = userService.getAuthorizedUser();
+        Course course = courseRepository.findOne(courseId);
+        if (course == null) {
+            throw new NoSuchElementException(messageSource.getMessage("message.exception.courseNotFound",
+                    new Object[]{}, locale));
+        }
+        if (!course.isPublished() && (course.getOwner() == null || !course.getOwner().getId().equals(user.getId()))) {
+            throw new NotOwnerOperationException();
+        }
+        courseArchiveWriter.writeCourse(courseId, outputStream);
+    }
+
+    @Override
+    @Transactional
+    public Course importCourse(MultipartFile archive, Long categoryId) throws NotAuthorisedUserException,
+            EmptyFileException, WrongFormatException, ImageRepositorySizeQuotaExceededException, IOException {
+        if (archive.isEmpty()) {
+            throw new EmptyFileException(messageSource.getMessage("message.exception.fileEmpty",
+                    new Object[]{}, locale));
+        }
+        User user = userService.getAuthorizedUser();
+        Course course;
+        try (InputStream inputStream = archive.getInputStream()) {
+            course = courseArchiveReader.readCourse(inputStream, user, categoryId);
+        }
+        searchIndex.indexCourse(course.getId());
         user.getCourses().add(course);
         userRepository.save(user);
+        return course;
     }
 
     @Override
@@ -150,6 +206,7 @@ public class CourseServiceImpl implements CourseService {
         Course course = courseRepository.findOne(course_id);
         course.setPublished(courseAccess.isPublished());
         courseRepository.save(course);
+        searchIndex.indexCourse(course_id);
         return course;
     }
 
@@ -175,6 +232,7 @@ public class CourseServiceImpl implements CourseService {
         }
         course.getDecks().add(deckRepository.getDeckById(deckId));
         courseRepository.save(course);
+        searchIndex.indexCourse(courseId);
         return course;
     }
 
@@ -191,9 +249,4 @@ public class CourseServiceImpl implements CourseService {
                 ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
         return courseRepository.findAllByCategoryEqualsAndPublishedTrue(categoryRepository.findOne(categoryId), request);
     }
-
-    @Override
-    public Set<BigInteger> findCoursesId(String searchString) {
-        return courseRepository.findCoursesId(searchString);
-    }
 }
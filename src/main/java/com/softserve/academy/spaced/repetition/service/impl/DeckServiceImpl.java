@@ -7,8 +7,10 @@ import com.softserve.academy.spaced.repetition.repository.CourseRepository;
 import com.softserve.academy.spaced.repetition.repository.DeckRepository;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
+import com.softserve.academy.spaced.repetition.service.ChangeLogService;
 import com.softserve.academy.spaced.repetition.service.DeckService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.search.SearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
@@ -18,11 +20,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigInteger;
 import java.util.List;
 import java.util.Locale;
 import java.util.NoSuchElementException;
-import java.util.Set;
 
 @Service
 public class DeckServiceImpl implements DeckService {
@@ -41,6 +41,12 @@ public class DeckServiceImpl implements DeckService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
     @Autowired
     private MessageSource messageSource;
     private final Locale locale = LocaleContextHolder.getLocale();
@@ -74,23 +80,22 @@ public class DeckServiceImpl implements DeckService {
         return deck.getCards();
     }
 
-    @Override
-    public Set<BigInteger> findDecksId(String searchString) {
-        return deckRepository.findDecksId(searchString);
-    }
-
     @Override
     @Transactional
     public void addDeckToCategory(Deck deck, Long categoryId) {
         Category category = categoryRepository.findOne(categoryId);
-        category.getDecks().add(deckRepository.save(deck));
+        Deck savedDeck = deckRepository.save(deck);
+        category.getDecks().add(savedDeck);
+        recordDeckSaved(savedDeck);
     }
 
     @Override
     @Transactional
     public void addDeckToCourse(Deck deck, Long courseId) {
         Course course = courseRepository.findOne(courseId);
-        course.getDecks().add(deckRepository.save(deck));
+        Deck savedDeck = deckRepository.save(deck);
+        course.getDecks().add(savedDeck);
+        recordDeckSaved(savedDeck);
     }
 
     @Override
@@ -101,6 +106,7 @@ public class DeckServiceImpl implements DeckService {
         deck.setDescription(updatedDeck.getDescription());
         deck.setCategory(categoryRepository.findById(categoryId));
         deckRepository.save(deck);
+        recordDeckSaved(deck);
     }
 
     @Override
@@ -110,13 +116,20 @@ public class DeckServiceImpl implements DeckService {
         deck.setName(updatedDeck.getName());
         deck.setDescription(updatedDeck.getDescription());
         deck.setCategory(categoryRepository.findById(updatedDeck.getCategory().getId()));
-        return deckRepository.save(deck);
+        Deck savedDeck = deckRepository.save(deck);
+        recordDeckSaved(savedDeck);
+        return savedDeck;
     }
 
     @Override
     @Transactional
     public void deleteDeck(Long deckId) {
+        Deck deck = deckRepository.findOne(deckId);
         deckRepository.delete(deckId);
+        if (deck != null) {
+            changeLogService.recordDeckDeleted(deckId, getDeckOwnerId(deck));
+            searchIndex.removeDeck(deckId);
+        }
     }
 
     @Override
@@ -125,7 +138,7 @@ public class DeckServiceImpl implements DeckService {
         User user = userService.getAuthorizedUser();
         newDeck.setCategory(categoryRepository.findOne(categoryId));
         newDeck.setDeckOwner(user);
-        deckRepository.save(newDeck);
+        recordDeckSaved(deckRepository.save(newDeck));
     }
 
     @Override
@@ -139,6 +152,7 @@ public class DeckServiceImpl implements DeckService {
         deck.setDeckOwner(user);
         Deck savedDeck = deckRepository.save(deck);
         deck.setId(savedDeck.getId());
+        recordDeckSaved(savedDeck);
         return savedDeck;
     }
 
@@ -154,6 +168,8 @@ public class DeckServiceImpl implements DeckService {
         }
         if (deck.getDeckOwner().getId().equals(user.getId())) {
             deckRepository.delete(deck);
+            changeLogService.recordDeckDeleted(deckId, user.getId());
+            searchIndex.removeDeck(deckId);
         } else {
             throw new NotOwnerOperationException();
         }
@@ -174,7 +190,9 @@ public class DeckServiceImpl implements DeckService {
             deck.setDescription(updatedDeck.getDescription());
             deck.setCategory(categoryRepository.findOne(categoryId));
             deck.setSyntaxToHighlight(updatedDeck.getSyntaxToHighlight());
-            return deckRepository.save(deck);
+            Deck savedDeck = deckRepository.save(deck);
+            recordDeckSaved(savedDeck);
+            return savedDeck;
         } else {
             throw new NotOwnerOperationException();
         }
@@ -219,4 +237,13 @@ public class DeckServiceImpl implements DeckService {
     public String getSynthaxToHightlight(long deckId){
         return deckRepository.getDeckById(deckId).getSyntaxToHighlight();
     }
+
+    private void recordDeckSaved(Deck deck) {
+        changeLogService.recordDeckSaved(deck.getId(), getDeckOwnerId(deck));
+        searchIndex.indexDeck(deck.getId());
+    }
+
+    private Long getDeckOwnerId(Deck deck) {
+        return deck.getDeckOwner() != null ? deck.getDeckOwner().getId() : null;
+    }
 }
@@ -6,6 +6,7 @@ import com.softserve.academy.spaced.repetition.domain.User;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import com.softserve.academy.spaced.repetition.repository.DeckRepository;
 import com.softserve.academy.spaced.repetition.repository.FolderRepository;
+import com.softserve.academy.spaced.repetition.service.ChangeLogService;
 import com.softserve.academy.spaced.repetition.service.FolderService;
 import com.softserve.academy.spaced.repetition.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,7 +27,11 @@ public class FolderServiceImpl implements FolderService{
     @Autowired
     private DeckRepository deckRepository;
 
+    @Autowired
+    private ChangeLogService changeLogService;
+
     @Override
+    @Transactional
     public Deck addDeck(Long deckId) throws NotAuthorisedUserException {
 
         Deck deck = deckRepository.getDeckById(deckId);
@@ -35,10 +40,13 @@ public class FolderServiceImpl implements FolderService{
 
         Folder folder = user.getFolder();
         Set<Deck> decks = folder.getDecks();
-        if (!decks.add(deck)) {
+        if (decks.add(deck)) {
+            folderRepository.save(folder);
+            changeLogService.recordFolderDeckAdded(deckId, user.getId());
+        } else {
             folder.getDecks().remove(deck);
+            folderRepository.save(folder);
         }
-        folderRepository.save(folder);
 
         return deck;
     }
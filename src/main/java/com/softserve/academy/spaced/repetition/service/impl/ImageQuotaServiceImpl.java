@@ -0,0 +1,94 @@
+package com.softserve.academy.spaced.repetition.service.impl;
+
+import com.softserve.academy.spaced.repetition.repository.ImageQuotaRepository;
+import com.softserve.academy.spaced.repetition.service.ImageQuotaService;
+import com.softserve.academy.spaced.repetition.utils.exceptions.ImageRepositorySizeQuotaExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ImageQuotaServiceImpl implements ImageQuotaService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageQuotaServiceImpl.class);
+
+    @Autowired
+    private ImageQuotaRepository imageQuotaRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Value("${app.images.userQuote}")
+    private Long userQuote;
+    @Value("${app.images.quotaReconciliationChunkSize:500}")
+    private int reconciliationChunkSize;
+    @Value("${app.images.quotaReconciliationGraceMinutes:60}")
+    private int reconciliationGraceMinutes;
+
+    @Override
+    public long getBytesLeft(Long userId) {
+        Long bytesUsed = imageQuotaRepository.getBytesUsed(userId);
+        return userQuote - (bytesUsed != null ? bytesUsed : 0L);
+    }
+
+    @Override
+    @Transactional
+    public void reserveBytes(Long userId, long bytes) throws ImageRepositorySizeQuotaExceededException {
+        if (imageQuotaRepository.reserveBytes(userId, bytes, userQuote) == 1) {
+            return;
+        }
+        // the row may have just been created by a concurrent first upload, so the result is not checked
+        imageQuotaRepository.createIfMissing(userId);
+        if (imageQuotaRepository.reserveBytes(userId, bytes, userQuote) == 1) {
+            return;
+        }
+        throw new ImageRepositorySizeQuotaExceededException();
+    }
+
+    @Override
+    @Transactional
+    public void releaseBytes(Long userId, long bytes) {
+        imageQuotaRepository.releaseBytes(userId, bytes);
+    }
+
+    /**
+     * Recomputes the bytes used by every user from their images, a chunk of users per transaction. Quotas changed
+     * within the grace period are skipped, as they may hold bytes reserved for images which are not committed yet.
+     */
+    @Override
+    @Scheduled(cron = "${app.images.quotaReconciliationCron:0 30 3 * * *}")
+    public void reconcileBytesUsed() {
+        int reconciled = 0;
+        int skipped = 0;
+        List<Long> userIds = imageQuotaRepository.findUserIdsAfter(0L, new PageRequest(0, reconciliationChunkSize));
+        while (!userIds.isEmpty()) {
+            List<Long> chunk = userIds;
+            int chunkReconciled = transactionTemplate.execute(status -> reconcileBytesUsed(chunk));
+            reconciled += chunkReconciled;
+            skipped += chunk.size() - chunkReconciled;
+            userIds = imageQuotaRepository.findUserIdsAfter(chunk.get(chunk.size() - 1),
+                    new PageRequest(0, reconciliationChunkSize));
+        }
+        LOGGER.info("Reconciled image quota of users: {} reconciled, {} skipped as recently changed",
+                reconciled, skipped);
+    }
+
+    private int reconcileBytesUsed(List<Long> userIds) {
+        Map<Long, Long> bytesUsedByUser = new HashMap<>();
+        imageQuotaRepository.sumImageSizesByUser(userIds).forEach(row ->
+                bytesUsedByUser.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue()));
+        int reconciled = 0;
+        for (Long userId : userIds) {
+            reconciled += imageQuotaRepository.reconcileBytesUsed(userId, bytesUsedByUser.getOrDefault(userId, 0L),
+                    reconciliationGraceMinutes);
+        }
+        return reconciled;
+    }
+}
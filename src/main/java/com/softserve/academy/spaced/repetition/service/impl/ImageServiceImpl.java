@@ -2,10 +2,18 @@ package com.softserve.academy.spaced.repetition.service.impl;
 
 import com.google.api.client.util.Base64;
 import com.softserve.academy.spaced.repetition.domain.Image;
+import com.softserve.academy.spaced.repetition.domain.ImageVariant;
 import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.domain.enums.ImageVariantSize;
 import com.softserve.academy.spaced.repetition.repository.ImageRepository;
+import com.softserve.academy.spaced.repetition.repository.ImageVariantRepository;
+import com.softserve.academy.spaced.repetition.service.ImageQuotaService;
 import com.softserve.academy.spaced.repetition.service.ImageService;
+import com.softserve.academy.spaced.repetition.service.ImageVariantService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentCache;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentReferences;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentStore;
 import com.softserve.academy.spaced.repetition.utils.exceptions.CanNotBeDeletedException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.ImageRepositorySizeQuotaExceededException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
@@ -14,24 +22,44 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartException;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Locale;
+import java.util.NoSuchElementException;
 
 @Service
 public class ImageServiceImpl implements ImageService {
+    private static final String DATA_URI_PREFIX = "data:";
+    private static final String IMAGE_DATA_URI_PREFIX = "data:image/";
+    private static final String IMAGE_TYPE_PREFIX = "image/";
+    private static final String DATA_URI_BASE64_SEPARATOR = ";base64,";
+
     @Autowired
     private UserService userService;
     @Autowired
     private ImageRepository imageRepository;
+    @Autowired
+    private ImageVariantRepository imageVariantRepository;
+    @Autowired
+    private ImageVariantService imageVariantService;
+    @Autowired
+    private ImageQuotaService imageQuotaService;
+    @Autowired
+    private ImageContentStore imageContentStore;
+    @Autowired
+    private ImageContentCache imageContentCache;
+    @Autowired
+    private ImageContentReferences imageContentReferences;
     @Value("${app.images.maxSize}")
     private Long maxFileSize;
-    @Value("${app.images.userQuote}")
-    private Long userQuote;
 
     @Autowired
     private MessageSource messageSource;
@@ -41,13 +69,41 @@ public class ImageServiceImpl implements ImageService {
     public Image addImageToDB(MultipartFile file)
             throws ImageRepositorySizeQuotaExceededException, NotAuthorisedUserException {
         checkImageExtension(file);
-        Image image = new Image(encodeToBase64(file), file.getContentType(),
-                userService.getAuthorizedUser(), file.getSize());
-        imageRepository.save(image);
+        User user = userService.getAuthorizedUser();
+        Image image = saveImage(file, file.getContentType(), file.getSize(), user, false);
         image = imageRepository.getImageWithoutContent(image.getId());
         return image;
     }
 
+    @Override
+    public Image addProfileImage(User user, String imageBase64) throws ImageRepositorySizeQuotaExceededException {
+        int separatorIndex = imageBase64.indexOf(DATA_URI_BASE64_SEPARATOR);
+        if (!imageBase64.startsWith(IMAGE_DATA_URI_PREFIX) || separatorIndex < 0) {
+            throw new IllegalArgumentException(messageSource.getMessage("message.exception.imageFileWrongFormat",
+                    new Object[]{}, locale));
+        }
+        String type = imageBase64.substring(DATA_URI_PREFIX.length(), separatorIndex);
+        byte[] content = decodeFromBase64(imageBase64.substring(separatorIndex + DATA_URI_BASE64_SEPARATOR.length()));
+        if (content.length > maxFileSize) {
+            throw new MultipartException(messageSource.getMessage("message.exception.fileSizeTooLarge",
+                    new Object[]{}, locale));
+        }
+        return saveImage(new ByteArrayResource(content), type, (long) content.length, user, true);
+    }
+
+    @Override
+    public Image addImage(User user, InputStreamSource content, String type, Long size)
+            throws ImageRepositorySizeQuotaExceededException {
+        if (type == null || !type.startsWith(IMAGE_TYPE_PREFIX)) {
+            throw new IllegalArgumentException(messageSource.getMessage("message.exception.imageFileWrongFormat",
+                    new Object[]{}, locale));
+        }
+        if (size > maxFileSize) {
+            throw new MultipartException(messageSource.getMessage("message.exception.fileSizeTooLarge",
+                    new Object[]{}, locale));
+        }
+        return saveImage(content, type, size, user, true);
+    }
 
     @Override
     public void checkImageExtension(MultipartFile file) throws ImageRepositorySizeQuotaExceededException,
@@ -70,46 +126,71 @@ public class ImageServiceImpl implements ImageService {
     }
 
     @Override
-    public boolean isImageCanBeAddedToProfile(User user, String imageBase64) throws ImageRepositorySizeQuotaExceededException {
-        if(isUserImageQuotaExceeded(user)) {
-            throw new ImageRepositorySizeQuotaExceededException();
+    public byte[] getDecodedImageContentByImageId(Long id) {
+        Image image = imageRepository.findImageById(id);
+        if (image == null || image.getContentKey() == null) {
+            return null;
         }
-        if(isEncodedStringNotImage(imageBase64)) {
-           throw new IllegalArgumentException(messageSource.getMessage(("message.exception.imageFileWrongFormat"),
-                   new Object[]{}, locale));
+        try {
+            return readImageContent(image);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(messageSource.getMessage("message.exception.fileCopyFailed",
+                    new Object[]{}, locale), e);
         }
-        if(isEncodedStringExceedMaxSize(imageBase64)) {
-            throw new MultipartException(messageSource.getMessage(("message.exception.fileSizeTooLarge"),
+    }
+
+    @Override
+    public Image getImage(Long imageId) {
+        Image image = imageRepository.findImageById(imageId);
+        if (image == null || image.getContentKey() == null) {
+            throw new NoSuchElementException(messageSource.getMessage("message.exception.imageNotFound",
                     new Object[]{}, locale));
         }
-        return true;
+        return image;
     }
 
-    private boolean isUserImageQuotaExceeded(User user) {
-        return getUsersLimitInBytesForImagesLeft(user.getId()) > userQuote;
+    @Override
+    public String saveImageContent(InputStreamSource content) {
+        try {
+            return imageContentReferences.acquire(content);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(messageSource.getMessage("message.exception.fileCopyFailed",
+                    new Object[]{}, locale), e);
+        }
     }
 
-    private boolean isEncodedStringNotImage(String imageBase64) {
-        return !imageBase64.startsWith("data:image/");
+    @Override
+    public void releaseImageContent(String contentKey) {
+        if (imageContentReferences.release(contentKey)) {
+            imageContentCache.evict(contentKey);
+        }
     }
 
-    private boolean isEncodedStringExceedMaxSize(String imageBase64) {
-        return imageBase64.length() > maxFileSize;
+    @Override
+    public Image getImageVariant(Long imageId, ImageVariantSize variant) {
+        ImageVariant imageVariant = imageVariantService.getImageVariant(imageId, variant);
+        if (imageVariant == null) {
+            return null;
+        }
+        Image variantImage = new Image(imageVariant.getContentKey(), imageVariant.getType());
+        variantImage.setId(imageId);
+        variantImage.setSize(imageVariant.getSize());
+        return variantImage;
     }
 
     @Override
-    public byte[] getDecodedImageContentByImageId(Long id) {
-        byte[] imageContent = null;
-        List<Long> idList = imageRepository.getIdList();
-        for (Long existingId : idList) {
-            if (id.equals(existingId)) {
-                Image image = imageRepository.findImageById(id);
-                String encodedFileContent = image.getImageBase64();
-                imageContent = decodeFromBase64(encodedFileContent);
-                break;
+    public void copyImageContent(Image image, OutputStream out) throws IOException {
+        if (imageContentCache.isCacheable(image.getSize())) {
+            byte[] content = readImageContent(image);
+            if (content != null) {
+                out.write(content);
+                return;
             }
+        } else if (imageContentStore.copy(image.getContentKey(), out)) {
+            return;
         }
-        return imageContent;
+        throw new NoSuchElementException(messageSource.getMessage("message.exception.imageNotFound",
+                new Object[]{}, locale));
     }
 
 
@@ -136,13 +217,7 @@ public class ImageServiceImpl implements ImageService {
 
     @Override
     public Long getUsersLimitInBytesForImagesLeft(Long userId) {
-
-        Long bytesUsed = imageRepository.getSumOfImagesSizesOfUserById(userId);
-        if (bytesUsed == null) {
-            bytesUsed = 0L;
-        }
-        Long bytesLeft = userQuote - bytesUsed;
-        return bytesLeft;
+        return imageQuotaService.getBytesLeft(userId);
     }
 
 
@@ -160,7 +235,15 @@ public class ImageServiceImpl implements ImageService {
         if (isUsed) {
             throw new CanNotBeDeletedException();
         } else {
-            imageRepository.delete(image);
+            removeImage(image);
+        }
+    }
+
+    @Override
+    public void deleteProfileImage(Long imageId) {
+        Image image = imageRepository.findImageById(imageId);
+        if (image != null) {
+            removeImage(image);
         }
     }
 
@@ -186,4 +269,51 @@ public class ImageServiceImpl implements ImageService {
         Long userId = userService.getAuthorizedUser().getId();
         return imageRepository.getImagesWithoutContentById(userId);
     }
+
+    /**
+     * Bytes of the image are reserved in the quota of the user before its content is stored, so concurrent uploads
+     * can not exceed the quota together.
+     */
+    private Image saveImage(InputStreamSource content, String type, Long size, User user, boolean isImageUsed)
+            throws ImageRepositorySizeQuotaExceededException {
+        imageQuotaService.reserveBytes(user.getId(), size);
+        Image image;
+        String contentKey = null;
+        try {
+            contentKey = saveImageContent(content);
+            image = new Image(contentKey, type, user, size);
+            image.setIsImageUsed(isImageUsed);
+            imageRepository.save(image);
+        } catch (RuntimeException e) {
+            imageQuotaService.releaseBytes(user.getId(), size);
+            releaseImageContent(contentKey);
+            throw e;
+        }
+        imageVariantService.generateImageVariants(image);
+        return image;
+    }
+
+    private void removeImage(Image image) {
+        List<ImageVariant> imageVariants = imageVariantRepository.findAllByImageId(image.getId());
+        imageVariantRepository.delete(imageVariants);
+        imageRepository.delete(image);
+        imageQuotaService.releaseBytes(image.getCreatedBy().getId(), image.getSize());
+        releaseImageContent(image.getContentKey());
+        for (ImageVariant imageVariant : imageVariants) {
+            releaseImageContent(imageVariant.getContentKey());
+        }
+    }
+
+    private byte[] readImageContent(Image image) throws IOException {
+        byte[] content = imageContentCache.get(image.getContentKey());
+        if (content == null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(image.getSize().intValue());
+            if (!imageContentStore.copy(image.getContentKey(), out)) {
+                return null;
+            }
+            content = out.toByteArray();
+            imageContentCache.put(image.getContentKey(), content);
+        }
+        return content;
+    }
 }
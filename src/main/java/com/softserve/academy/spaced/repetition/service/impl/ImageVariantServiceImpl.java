@@ -0,0 +1,150 @@
+package com.softserve.academy.spaced.repetition.service.impl;
+
+import com.softserve.academy.spaced.repetition.domain.Image;
+import com.softserve.academy.spaced.repetition.domain.ImageVariant;
+import com.softserve.academy.spaced.repetition.domain.enums.ImageVariantSize;
+import com.softserve.academy.spaced.repetition.repository.ImageVariantRepository;
+import com.softserve.academy.spaced.repetition.service.ImageVariantService;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentReferences;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+@Service
+public class ImageVariantServiceImpl implements ImageVariantService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageVariantServiceImpl.class);
+    private static final String PNG_FORMAT = "png";
+    private static final String JPEG_FORMAT = "jpg";
+
+    @Autowired
+    private ImageVariantRepository imageVariantRepository;
+    @Autowired
+    private ImageContentStore imageContentStore;
+    @Autowired
+    private ImageContentReferences imageContentReferences;
+    @Autowired
+    @Qualifier("imageVariantExecutor")
+    private AsyncTaskExecutor imageVariantExecutor;
+
+    @Override
+    public void generateImageVariants(Image image) {
+        Long imageId = image.getId();
+        String contentKey = image.getContentKey();
+        String type = image.getType();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    submitImageVariants(imageId, contentKey, type);
+                }
+            });
+        } else {
+            submitImageVariants(imageId, contentKey, type);
+        }
+    }
+
+    @Override
+    public ImageVariant getImageVariant(Long imageId, ImageVariantSize variant) {
+        return imageVariantRepository.findByImageIdAndVariant(imageId, variant);
+    }
+
+    private void submitImageVariants(Long imageId, String contentKey, String type) {
+        try {
+            imageVariantExecutor.execute(() -> {
+                try {
+                    saveImageVariants(imageId, contentKey, type);
+                } catch (IOException | DataAccessException e) {
+                    LOGGER.warn("Generating variants of image {} failed", imageId, e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            LOGGER.warn("Generating variants of image {} skipped: {}", imageId, e.getMessage());
+        }
+    }
+
+    private void saveImageVariants(Long imageId, String contentKey, String type) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        if (contentKey == null || !imageContentStore.copy(contentKey, content)) {
+            return;
+        }
+        BufferedImage original = ImageIO.read(new ByteArrayInputStream(content.toByteArray()));
+        if (original == null) {
+            LOGGER.debug("Image {} of type {} can not be decoded, variants are not generated", imageId, type);
+            return;
+        }
+        boolean keepsTransparency = MediaType.IMAGE_PNG_VALUE.equals(type) || MediaType.IMAGE_GIF_VALUE.equals(type);
+        String format = keepsTransparency ? PNG_FORMAT : JPEG_FORMAT;
+        String variantType = keepsTransparency ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE;
+        int originalDimension = Math.max(original.getWidth(), original.getHeight());
+        for (ImageVariantSize variant : ImageVariantSize.values()) {
+            if (variant.getMaxDimension() >= originalDimension
+                    || imageVariantRepository.findByImageIdAndVariant(imageId, variant) != null) {
+                continue;
+            }
+            BufferedImage resized = resize(original, variant.getMaxDimension(), keepsTransparency);
+            ByteArrayOutputStream variantContent = new ByteArrayOutputStream();
+            ImageIO.write(resized, format, variantContent);
+            String variantContentKey = imageContentReferences.acquire(
+                    new ByteArrayResource(variantContent.toByteArray()));
+            try {
+                imageVariantRepository.save(new ImageVariant(imageId, variant, variantContentKey, variantType,
+                        (long) variantContent.size()));
+            } catch (DataAccessException e) {
+                imageContentReferences.release(variantContentKey);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Scales the image down so that its larger side equals the given dimension. The size is halved step by step,
+     * bilinear interpolation of a single big step skips most of the source pixels and gives a noisy thumbnail.
+     */
+    private static BufferedImage resize(BufferedImage original, int maxDimension, boolean keepsTransparency) {
+        double scale = (double) maxDimension / Math.max(original.getWidth(), original.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(original.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(original.getHeight() * scale));
+        int imageType = keepsTransparency ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage resized = original;
+        int width = original.getWidth();
+        int height = original.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, imageType);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                if (!keepsTransparency) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, width, height);
+                }
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(resized, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            resized = step;
+        } while (width != targetWidth || height != targetHeight);
+        return resized;
+    }
+}
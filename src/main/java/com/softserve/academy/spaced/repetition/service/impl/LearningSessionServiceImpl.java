@@ -0,0 +1,170 @@
+package com.softserve.academy.spaced.repetition.service.impl;
+
+import com.softserve.academy.spaced.repetition.domain.Card;
+import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.repository.CardRepository;
+import com.softserve.academy.spaced.repetition.repository.FolderRepository;
+import com.softserve.academy.spaced.repetition.service.LearningSessionService;
+import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.learningSession.LearningSession;
+import com.softserve.academy.spaced.repetition.service.scheduler.SchedulerRegistry;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class LearningSessionServiceImpl implements LearningSessionService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LearningSessionServiceImpl.class);
+    static final int MAX_LEARNING_SESSION_CARDS = 1000;
+    static final long LEARNING_SESSION_TIMEOUT = TimeUnit.HOURS.toMillis(1);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SchedulerRegistry schedulerRegistry;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private FolderRepository folderRepository;
+
+    @Autowired
+    @Qualifier("learningSessionExecutor")
+    private AsyncTaskExecutor learningSessionExecutor;
+
+    @Autowired
+    private MessageSource messageSource;
+    private final Locale locale = LocaleContextHolder.getLocale();
+
+    private final Map<String, LearningSession> learningSessions = new ConcurrentHashMap<>();
+
+    @Override
+    @Transactional
+    public LearningSession openLearningSession(Long deckId) throws NotAuthorisedUserException {
+        User user = userService.getAuthorizedUser();
+        List<Long> cardIds = schedulerRegistry.getScheduler(user.getAccount().getLearningRegime())
+                .getLearningCardIds(user, deckId, MAX_LEARNING_SESSION_CARDS);
+        return startLearningSession(user, deckId, cardIds);
+    }
+
+    @Override
+    @Transactional
+    public LearningSession openFolderLearningSession() throws NotAuthorisedUserException {
+        User user = userService.getAuthorizedUser();
+        List<Long> deckIds = folderRepository.selectAllDeckIdWithFolder(user.getFolder().getId());
+        List<Long> cardIds = deckIds.isEmpty() ? new ArrayList<>()
+                : schedulerRegistry.getScheduler(user.getAccount().getLearningRegime())
+                .getLearningCardIds(user, deckIds, MAX_LEARNING_SESSION_CARDS);
+        return startLearningSession(user, null, cardIds);
+    }
+
+    @Override
+    public LearningSession getLearningSession(String sessionId) throws NotAuthorisedUserException {
+        User user = userService.getAuthorizedUser();
+        LearningSession learningSession = learningSessions.get(sessionId);
+        if (learningSession == null || !learningSession.getUserId().equals(user.getId())
+                || learningSession.getLastAccessTime() < System.currentTimeMillis() - LEARNING_SESSION_TIMEOUT) {
+            throw new NoSuchElementException(messageSource.getMessage("message.exception.learningSessionNotFound",
+                    new Object[]{}, locale));
+        }
+        learningSession.touch();
+        return learningSession;
+    }
+
+    @Override
+    @Transactional
+    public List<Card> getNextCards(String sessionId) throws NotAuthorisedUserException {
+        LearningSession learningSession = getLearningSession(sessionId);
+        synchronized (learningSession) {
+            Future<List<Card>> prefetchedPage = learningSession.takePrefetchedPage();
+            List<Long> cardIds = new ArrayList<>(learningSession.nextPage());
+            if (cardIds.isEmpty()) {
+                return new ArrayList<>();
+            }
+            List<Card> cards = prefetchedPage != null
+                    ? getPrefetchedCards(prefetchedPage, cardIds) : cardRepository.findAllInOrder(cardIds);
+            prefetchNextPage(learningSession);
+            return cards;
+        }
+    }
+
+    @Override
+    public void closeLearningSession(String sessionId) throws NotAuthorisedUserException {
+        LearningSession learningSession = getLearningSession(sessionId);
+        learningSessions.remove(learningSession.getId());
+        cancelPrefetching(learningSession);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.learningSessions.cleanupDelayMillis:300000}")
+    public void removeExpiredLearningSessions() {
+        long expirationTime = System.currentTimeMillis() - LEARNING_SESSION_TIMEOUT;
+        int removed = 0;
+        for (LearningSession learningSession : learningSessions.values()) {
+            if (learningSession.getLastAccessTime() < expirationTime
+                    && learningSessions.remove(learningSession.getId(), learningSession)) {
+                cancelPrefetching(learningSession);
+                removed++;
+            }
+        }
+        LOGGER.debug("Removed {} expired learning sessions", removed);
+    }
+
+    private LearningSession startLearningSession(User user, Long deckId, List<Long> cardIds) {
+        learningSessions.values().removeIf(learningSession -> learningSession.getUserId().equals(user.getId())
+                && Objects.equals(learningSession.getDeckId(), deckId));
+        LearningSession learningSession = new LearningSession(UUID.randomUUID().toString(), user.getId(), deckId,
+                cardIds, user.getAccount().getCardsNumber());
+        learningSessions.put(learningSession.getId(), learningSession);
+        prefetchNextPage(learningSession);
+        return learningSession;
+    }
+
+    private void prefetchNextPage(LearningSession learningSession) {
+        List<Long> cardIds = new ArrayList<>(learningSession.peekNextPage());
+        if (cardIds.isEmpty()) {
+            return;
+        }
+        try {
+            learningSession.setPrefetchedPage(learningSessionExecutor.submit(() ->
+                    cardRepository.findAllInOrder(cardIds)));
+        } catch (TaskRejectedException e) {
+            LOGGER.debug("Prefetching of learning session {} skipped: {}", learningSession.getId(), e.getMessage());
+        }
+    }
+
+    private void cancelPrefetching(LearningSession learningSession) {
+        Future<List<Card>> prefetchedPage = learningSession.takePrefetchedPage();
+        if (prefetchedPage != null) {
+            prefetchedPage.cancel(false);
+        }
+    }
+
+    private List<Card> getPrefetchedCards(Future<List<Card>> prefetchedPage, List<Long> cardIds) {
+        try {
+            return prefetchedPage.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.warn("Prefetching of learning session cards failed", e.getCause());
+        }
+        return cardRepository.findAllInOrder(cardIds);
+    }
+}
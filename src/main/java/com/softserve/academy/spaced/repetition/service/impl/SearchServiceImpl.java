@@ -0,0 +1,43 @@
+package com.softserve.academy.spaced.repetition.service.impl;
+
+import com.softserve.academy.spaced.repetition.domain.enums.SearchDocumentType;
+import com.softserve.academy.spaced.repetition.service.SearchService;
+import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.search.SearchHit;
+import com.softserve.academy.spaced.repetition.service.search.SearchIndex;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+@Service
+public class SearchServiceImpl implements SearchService {
+    private final static int QUANTITY_RESULTS_IN_PAGE = 20;
+    private final Locale locale = LocaleContextHolder.getLocale();
+    @Autowired
+    private SearchIndex searchIndex;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private MessageSource messageSource;
+
+    @Override
+    public Page<SearchHit> search(String query, SearchDocumentType type, int pageNumber) {
+        if (pageNumber < 1) {
+            throw new IllegalArgumentException(messageSource.getMessage("message.exception.pageNumberNotPositive",
+                    new Object[]{}, locale));
+        }
+        Long userId;
+        try {
+            userId = userService.getAuthorizedUser().getId();
+        } catch (NotAuthorisedUserException e) {
+            userId = null;
+        }
+        return searchIndex.search(type, query, userId, new PageRequest(pageNumber - 1, QUANTITY_RESULTS_IN_PAGE));
+    }
+}
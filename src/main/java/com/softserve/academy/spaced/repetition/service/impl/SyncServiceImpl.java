@@ -0,0 +1,196 @@
+package com.softserve.academy.spaced.repetition.service.impl;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.*;
+import com.softserve.academy.spaced.repetition.domain.*;
+import com.softserve.academy.spaced.repetition.domain.enums.ChangeEntityType;
+import com.softserve.academy.spaced.repetition.domain.enums.SyncReviewResult;
+import com.softserve.academy.spaced.repetition.repository.*;
+import com.softserve.academy.spaced.repetition.service.SyncService;
+import com.softserve.academy.spaced.repetition.service.UserCardQueueService;
+import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+public class SyncServiceImpl implements SyncService {
+    private static final int MAX_SYNC_CHANGES = 500;
+    private static final int MAX_REVIEW_ID_LENGTH = 64;
+    private static final List<ChangeEntityType> USER_ENTITY_TYPES = Arrays.asList(ChangeEntityType.USER_CARD_QUEUE,
+            ChangeEntityType.FOLDER_DECK);
+
+    @Autowired
+    private ChangeLogEntryRepository changeLogEntryRepository;
+
+    @Autowired
+    private SyncReviewRepository syncReviewRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private DeckRepository deckRepository;
+
+    @Autowired
+    private UserCardQueueRepository userCardQueueRepository;
+
+    @Autowired
+    private FolderRepository folderRepository;
+
+    @Autowired
+    private UserCardQueueService userCardQueueService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MessageSource messageSource;
+    private final Locale locale = LocaleContextHolder.getLocale();
+
+    @Override
+    @Transactional
+    public SyncChangesDTO getChanges(long version) throws NotAuthorisedUserException {
+        User user = userService.getAuthorizedUser();
+        List<Long> folderDeckIds = folderRepository.selectAllDeckIdWithFolder(user.getFolder().getId());
+        PageRequest pageRequest = new PageRequest(0, MAX_SYNC_CHANGES + 1);
+        List<ChangeLogEntry> changes = folderDeckIds.isEmpty()
+                ? changeLogEntryRepository.findUserChangesSince(user.getId(), version, pageRequest)
+                : changeLogEntryRepository.findChangesSince(user.getId(), folderDeckIds, USER_ENTITY_TYPES, version,
+                pageRequest);
+        boolean hasMore = changes.size() > MAX_SYNC_CHANGES;
+        if (hasMore) {
+            changes = changes.subList(0, MAX_SYNC_CHANGES);
+        }
+
+        Set<Long> changedDeckIds = new LinkedHashSet<>();
+        Set<Long> changedCardIds = new LinkedHashSet<>();
+        List<Long> userCardQueueVersions = new ArrayList<>();
+        for (ChangeLogEntry change : changes) {
+            switch (change.getEntityType()) {
+                case DECK:
+                    changedDeckIds.add(change.getEntityId());
+                    break;
+                case CARD:
+                    changedCardIds.add(change.getEntityId());
+                    break;
+                case USER_CARD_QUEUE:
+                    userCardQueueVersions.add(change.getId());
+                    break;
+                case FOLDER_DECK:
+                    // the client has not received the cards changed before the deck was added to the folder
+                    if (folderDeckIds.contains(change.getDeckId())) {
+                        changedDeckIds.add(change.getDeckId());
+                        changedCardIds.addAll(cardRepository.findIdsByDeckId(change.getDeckId()));
+                    }
+                    break;
+            }
+        }
+
+        List<DeckSyncDTO> decks = new ArrayList<>();
+        deckRepository.findAll(changedDeckIds).forEach(deck -> {
+            changedDeckIds.remove(deck.getId());
+            decks.add(new DeckSyncDTO(deck.getId(), deck.getName(), deck.getDescription(),
+                    deck.getSyntaxToHighlight(), deck.getVersion()));
+        });
+        List<CardSyncDTO> cards = new ArrayList<>();
+        cardRepository.findAll(changedCardIds).forEach(card -> {
+            changedCardIds.remove(card.getId());
+            cards.add(new CardSyncDTO(card.getId(), card.getDeck() != null ? card.getDeck().getId() : null,
+                    card.getTitle(), card.getQuestion(), card.getAnswer(), card.getVersion()));
+        });
+        List<UserCardQueueSyncDTO> userCardQueues = userCardQueueVersions.isEmpty() ? new ArrayList<>()
+                : userCardQueueRepository.findAllByUserIdAndVersionIn(user.getId(), userCardQueueVersions).stream()
+                .map(userCardQueue -> new UserCardQueueSyncDTO(userCardQueue.getCardId(), userCardQueue.getDeckId(),
+                        userCardQueue.getStatus() != null ? userCardQueue.getStatus().name() : null,
+                        userCardQueue.getCardDate(), userCardQueue.getDateToRepeat(), userCardQueue.getVersion()))
+                .collect(Collectors.toList());
+
+        Long lastVersion = changes.isEmpty() ? version : changes.get(changes.size() - 1).getSyncVersion();
+        return new SyncChangesDTO(lastVersion, hasMore, folderDeckIds, decks, new ArrayList<>(changedDeckIds),
+                cards, new ArrayList<>(changedCardIds), userCardQueues);
+    }
+
+    @Override
+    @Transactional
+    public List<OfflineReviewResultDTO> uploadReviews(List<OfflineReviewDTO> reviews)
+            throws NotAuthorisedUserException {
+        User user = userService.getAuthorizedUser();
+        OfflineReviewResultDTO[] results = new OfflineReviewResultDTO[reviews.size()];
+        Set<String> reviewIds = reviews.stream().map(OfflineReviewDTO::getReviewId).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> knownReviewIds = reviewIds.isEmpty() ? new HashSet<>() : syncReviewRepository
+                .findAllByUserIdAndReviewIdIn(user.getId(), reviewIds).stream()
+                .map(SyncReview::getReviewId).collect(Collectors.toSet());
+
+        List<Integer> reviewsToApply = new ArrayList<>();
+        for (int i = 0; i < reviews.size(); i++) {
+            OfflineReviewDTO review = reviews.get(i);
+            if (!isValid(review)) {
+                results[i] = new OfflineReviewResultDTO(review.getReviewId(), SyncReviewResult.REJECTED.name(), null,
+                        messageSource.getMessage("message.exception.offlineReviewNotValid", new Object[]{}, locale));
+            } else if (!knownReviewIds.add(review.getReviewId()) || syncReviewRepository.insertIfAbsent(user.getId(),
+                    review.getReviewId(), SyncReviewResult.APPLIED.name()) == 0) {
+                // the review is recorded before it is applied, so an upload of the same review running
+                // concurrently waits on the unique key and reports it as a duplicate instead of applying it twice
+                results[i] = new OfflineReviewResultDTO(review.getReviewId(), SyncReviewResult.DUPLICATE.name(),
+                        null, null);
+            } else {
+                reviewsToApply.add(i);
+            }
+        }
+        reviewsToApply.sort(Comparator.comparing(i -> reviews.get(i).getAnsweredAt()));
+
+        Set<Long> cardIds = reviewsToApply.stream().map(i -> reviews.get(i).getCardId()).collect(Collectors.toSet());
+        Map<Long, Date> cardDates = new HashMap<>();
+        if (!cardIds.isEmpty()) {
+            userCardQueueRepository.findAllByUserIdAndCardIdIn(user.getId(), cardIds)
+                    .forEach(userCardQueue -> cardDates.put(userCardQueue.getCardId(), userCardQueue.getCardDate()));
+        }
+        Map<Long, List<Integer>> reviewsByDeck = new LinkedHashMap<>();
+        for (Integer i : reviewsToApply) {
+            OfflineReviewDTO review = reviews.get(i);
+            Date cardDate = cardDates.get(review.getCardId());
+            if (cardDate != null && !review.getAnsweredAt().after(cardDate)) {
+                results[i] = new OfflineReviewResultDTO(review.getReviewId(), SyncReviewResult.CONFLICT.name(), null,
+                        messageSource.getMessage("message.exception.offlineReviewConflict", new Object[]{}, locale));
+            } else {
+                cardDates.put(review.getCardId(), review.getAnsweredAt());
+                reviewsByDeck.computeIfAbsent(review.getDeckId(), deckId -> new ArrayList<>()).add(i);
+            }
+        }
+        for (Map.Entry<Long, List<Integer>> deckReviews : reviewsByDeck.entrySet()) {
+            List<CardAnswerDTO> answers = deckReviews.getValue().stream().map(reviews::get)
+                    .map(review -> new CardAnswerDTO(review.getCardId(), review.getStatus(), review.getAnsweredAt()))
+                    .collect(Collectors.toList());
+            List<CardAnswerResultDTO> answerResults = userCardQueueService.updateUserCardQueues(deckReviews.getKey(),
+                    answers);
+            for (int j = 0; j < answerResults.size(); j++) {
+                int i = deckReviews.getValue().get(j);
+                CardAnswerResultDTO answerResult = answerResults.get(j);
+                results[i] = new OfflineReviewResultDTO(reviews.get(i).getReviewId(), answerResult.isUpdated()
+                        ? SyncReviewResult.APPLIED.name() : SyncReviewResult.REJECTED.name(),
+                        answerResult.getDateToRepeat(), answerResult.getMessage());
+            }
+        }
+
+        reviewsToApply.stream().filter(i -> !SyncReviewResult.APPLIED.name().equals(results[i].getResult()))
+                .collect(Collectors.groupingBy(i -> SyncReviewResult.valueOf(results[i].getResult()),
+                        Collectors.mapping(i -> reviews.get(i).getReviewId(), Collectors.toList())))
+                .forEach((result, resultReviewIds) -> syncReviewRepository.updateResults(user.getId(), resultReviewIds,
+                        result));
+        return Arrays.asList(results);
+    }
+
+    private boolean isValid(OfflineReviewDTO review) {
+        return review.getReviewId() != null && !review.getReviewId().isEmpty()
+                && review.getReviewId().length() <= MAX_REVIEW_ID_LENGTH && review.getCardId() != null
+                && review.getDeckId() != null && review.getAnsweredAt() != null;
+    }
+}
@@ -1,38 +1,57 @@
 package com.softserve.academy.spaced.repetition.service.impl;
 
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardAnswerDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardAnswerResultDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.DeckCardsCountDTO;
 import com.softserve.academy.spaced.repetition.domain.*;
-import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
 import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
-import com.softserve.academy.spaced.repetition.repository.RememberingLevelRepository;
+import com.softserve.academy.spaced.repetition.repository.CardRepository;
+import com.softserve.academy.spaced.repetition.repository.FolderRepository;
 import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import com.softserve.academy.spaced.repetition.service.ChangeLogService;
 import com.softserve.academy.spaced.repetition.service.UserCardQueueService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.dueCardCounters.DueCardCounters;
+import com.softserve.academy.spaced.repetition.service.dueCardIndex.DueCardIndex;
+import com.softserve.academy.spaced.repetition.service.scheduler.Scheduler;
+import com.softserve.academy.spaced.repetition.service.scheduler.SchedulerRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
-import java.util.Date;
-import java.util.Locale;
-
-import static com.softserve.academy.spaced.repetition.service.impl.AccountServiceImpl.NUMBER_OF_REMEMBERING_LEVELS;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class UserCardQueueServiceImpl implements UserCardQueueService {
-    private static final int DAY_IN_MILLISECONDS = 24 * 60 * 60 * 1000;
-
     @Autowired
     private UserCardQueueRepository userCardQueueRepository;
 
     @Autowired
-    private RememberingLevelRepository rememberingLevelRepository;
+    private SchedulerRegistry schedulerRegistry;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DueCardIndex dueCardIndex;
+
+    @Autowired
+    private DueCardCounters dueCardCounters;
+
+    @Autowired
+    private FolderRepository folderRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
     @Autowired
     private MessageSource messageSource;
     private final Locale locale = LocaleContextHolder.getLocale();
@@ -54,44 +73,115 @@ public class UserCardQueueServiceImpl implements UserCardQueueService {
 
         User user = userService.getAuthorizedUser();
         UserCardQueue userCardQueue = userCardQueueRepository.findUserCardQueueByUserIdAndCardId(user.getId(), cardId);
-        if (userCardQueue == null) {
-            userCardQueue = new UserCardQueue();
-            userCardQueue.setCardId(cardId);
-            userCardQueue.setDeckId(deckId);
-            userCardQueue.setUserId(user.getId());
+        boolean newCard = userCardQueue == null;
+        if (newCard) {
+            userCardQueue = createUserCardQueue(user.getId(), deckId, cardId);
         }
+        Date previousDateToRepeat = userCardQueue.getDateToRepeat();
         userCardQueue.setCardDate(new Date());
-
-        if (user.getAccount().getLearningRegime() == LearningRegime.BAD_NORMAL_GOOD_STATUS_DEPENDING) {
-            userCardQueue.setStatus(userCardQueueStatus);
-        } else if (user.getAccount().getLearningRegime() == LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION) {
-            applyCardsPostponingLearningRegime(userCardQueue, userCardQueueStatus);
-        }
+        schedulerRegistry.getScheduler(user.getAccount().getLearningRegime())
+                .schedule(userCardQueue, userCardQueueStatus, user.getAccount());
         userCardQueueRepository.save(userCardQueue);
+        changeLogService.recordUserCardQueuesSaved(user.getId(), userCardQueue.getDeckId(),
+                Collections.singleton(cardId));
+        dueCardIndex.update(userCardQueue);
+        dueCardCounters.update(userCardQueue, previousDateToRepeat, newCard);
     }
 
-    private void applyCardsPostponingLearningRegime(UserCardQueue userCardQueue, UserCardQueueStatus status)
+    @Override
+    @Transactional
+    public List<CardAnswerResultDTO> updateUserCardQueues(Long deckId, List<CardAnswerDTO> answers)
             throws NotAuthorisedUserException {
-        final Account account = userService.getAuthorizedUser().getAccount();
-        RememberingLevel rememberingLevel =
-                rememberingLevelRepository.findRememberingLevelByAccountEqualsAndOrderNumber(account, 1);
-        if (userCardQueue.getRememberingLevel() != null) {
-            rememberingLevel = userCardQueue.getRememberingLevel();
+        final User user = userService.getAuthorizedUser();
+        final Scheduler scheduler = schedulerRegistry.getScheduler(user.getAccount().getLearningRegime());
+        Set<Long> cardIds = answers.stream().map(CardAnswerDTO::getCardId).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> deckCardIds = cardIds.isEmpty() ? new HashSet<>()
+                : new HashSet<>(cardRepository.findIdsByDeckIdAndIdIn(deckId, cardIds));
+        Map<Long, UserCardQueue> userCardQueues = cardIds.isEmpty() ? new HashMap<>() : userCardQueueRepository
+                .findAllByUserIdAndCardIdIn(user.getId(), cardIds).stream()
+                .collect(Collectors.toMap(UserCardQueue::getCardId, Function.identity()));
+        Map<Long, Date> previousDatesToRepeat = new HashMap<>();
+        userCardQueues.values().forEach(userCardQueue ->
+                previousDatesToRepeat.put(userCardQueue.getCardId(), userCardQueue.getDateToRepeat()));
+
+        final Date now = new Date();
+        Map<Long, UserCardQueue> answeredCards = new LinkedHashMap<>();
+        List<CardAnswerResultDTO> results = new ArrayList<>();
+        for (CardAnswerDTO answer : answers) {
+            UserCardQueueStatus status = Arrays.stream(UserCardQueueStatus.values())
+                    .filter(value -> value.name().equals(answer.getStatus())).findFirst().orElse(null);
+            if (answer.getCardId() == null) {
+                results.add(new CardAnswerResultDTO(null, false, null, messageSource.getMessage(
+                        "message.exception.userCardQueueCardNotSpecified", new Object[]{}, locale)));
+                continue;
+            }
+            if (status == null) {
+                results.add(new CardAnswerResultDTO(answer.getCardId(), false, null, messageSource.getMessage(
+                        "message.exception.userCardQueueStatusNotValid", new Object[]{answer.getStatus()}, locale)));
+                continue;
+            }
+            if (!deckCardIds.contains(answer.getCardId())) {
+                results.add(new CardAnswerResultDTO(answer.getCardId(), false, null, messageSource.getMessage(
+                        "message.exception.userCardQueueCardNotInDeck", new Object[]{answer.getCardId(), deckId},
+                        locale)));
+                continue;
+            }
+            UserCardQueue userCardQueue = userCardQueues.computeIfAbsent(answer.getCardId(),
+                    cardId -> createUserCardQueue(user.getId(), deckId, cardId));
+            Date answeredAt = answer.getAnsweredAt();
+            userCardQueue.setCardDate(answeredAt == null || answeredAt.after(now) ? now : answeredAt);
+            scheduler.schedule(userCardQueue, status, user.getAccount());
+            answeredCards.put(answer.getCardId(), userCardQueue);
+            results.add(new CardAnswerResultDTO(answer.getCardId(), true, userCardQueue.getDateToRepeat(), null));
         }
+        userCardQueueRepository.saveAllInBatch(answeredCards.values());
+        changeLogService.recordUserCardQueuesSaved(user.getId(), deckId, answeredCards.keySet());
+        answeredCards.values().forEach(userCardQueue -> {
+            dueCardIndex.update(userCardQueue);
+            dueCardCounters.update(userCardQueue, previousDatesToRepeat.get(userCardQueue.getCardId()),
+                    !previousDatesToRepeat.containsKey(userCardQueue.getCardId()));
+        });
+        return results;
+    }
 
-        if (status == UserCardQueueStatus.BAD && rememberingLevel.getOrderNumber() > 1) {
-            userCardQueue.setRememberingLevel(rememberingLevelRepository
-                    .findRememberingLevelByAccountEqualsAndOrderNumber(account, rememberingLevel.getOrderNumber() - 1));
-        } else if (status == UserCardQueueStatus.GOOD &&
-                rememberingLevel.getOrderNumber() < NUMBER_OF_REMEMBERING_LEVELS) {
-            userCardQueue.setRememberingLevel(rememberingLevelRepository
-                    .findRememberingLevelByAccountEqualsAndOrderNumber(account, rememberingLevel.getOrderNumber() + 1));
+    private UserCardQueue createUserCardQueue(Long userId, Long deckId, Long cardId) {
+        UserCardQueue userCardQueue = new UserCardQueue();
+        userCardQueue.setCardId(cardId);
+        userCardQueue.setDeckId(deckId);
+        userCardQueue.setUserId(userId);
+        return userCardQueue;
+    }
+
+    @Override
+    @Transactional
+    public void rescheduleUserCardQueue(Long deckId) throws NotAuthorisedUserException {
+        User user = userService.getAuthorizedUser();
+        reschedule(user, deckId, userCardQueueRepository.findAllByUserIdAndDeckId(user.getId(), deckId));
+    }
+
+    @Override
+    @Transactional
+    public void rescheduleAllUserCardQueues() throws NotAuthorisedUserException {
+        User user = userService.getAuthorizedUser();
+        reschedule(user, null, userCardQueueRepository.findAllByUserId(user.getId()));
+    }
+
+    private void reschedule(User user, Long deckId, List<UserCardQueue> userCardQueues) {
+        if (userCardQueues.isEmpty()) {
+            return;
+        }
+        schedulerRegistry.getScheduler(user.getAccount().getLearningRegime())
+                .reschedule(userCardQueues, user.getAccount());
+        userCardQueueRepository.saveAllInBatch(userCardQueues);
+        if (deckId != null) {
+            changeLogService.recordUserCardQueuesSaved(user.getId(), deckId, userCardQueues.stream()
+                    .map(UserCardQueue::getCardId).collect(Collectors.toList()));
         } else {
-            userCardQueue.setRememberingLevel(rememberingLevelRepository
-                    .findRememberingLevelByAccountEqualsAndOrderNumber(account, rememberingLevel.getOrderNumber()));
+            changeLogService.recordAllUserCardQueuesSaved(user.getId());
         }
-        userCardQueue.setDateToRepeat(new Date(userCardQueue.getCardDate().getTime() +
-                userCardQueue.getRememberingLevel().getNumberOfPostponedDays() * DAY_IN_MILLISECONDS));
+        dueCardIndex.evictUser(user.getId());
+        dueCardCounters.evictUser(user.getId());
     }
 
     @Override
@@ -102,7 +192,15 @@ public class UserCardQueueServiceImpl implements UserCardQueueService {
     @Override
     @Transactional
     public long countCardsThatNeedRepeating(Long deckId) throws NotAuthorisedUserException {
-        return userCardQueueRepository.countAllByUserIdEqualsAndDeckIdEqualsAndDateToRepeatBefore(
-                userService.getAuthorizedUser().getId(), deckId, new Date());
+        return dueCardCounters.countCardsThatNeedRepeating(userService.getAuthorizedUser().getId(), deckId,
+                new Date());
+    }
+
+    @Override
+    @Transactional
+    public List<DeckCardsCountDTO> countCardsInFolderDecks() throws NotAuthorisedUserException {
+        User user = userService.getAuthorizedUser();
+        return dueCardCounters.getDeckCardsCounts(user.getId(),
+                folderRepository.selectAllDeckIdWithFolder(user.getFolder().getId()), new Date());
     }
 }
@@ -4,6 +4,7 @@ import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.userProf
 import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.userProfileDTO.JsonPasswordDTO;
 import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.userProfileDTO.JsonPersonalInfoDTO;
 import com.softserve.academy.spaced.repetition.domain.Account;
+import com.softserve.academy.spaced.repetition.domain.Image;
 import com.softserve.academy.spaced.repetition.domain.Person;
 import com.softserve.academy.spaced.repetition.domain.User;
 import com.softserve.academy.spaced.repetition.domain.enums.ImageType;
@@ -75,10 +76,13 @@ public class UserProfileServiceImpl implements UserProfileService {
     public Person uploadProfileImage(JsonImageDTO imageDTO) throws NotAuthorisedUserException, ImageRepositorySizeQuotaExceededException {
         User user = userService.getAuthorizedUser();
         Person person = user.getPerson();
-        String imageBase64 = imageDTO.getImageBase64();
-        if (imageService.isImageCanBeAddedToProfile(user, imageBase64)) {
-            person.setImageBase64(imageBase64);
-            person.setImageType(ImageType.BASE64);
+        Long previousAvatarId = person.getAvatarId();
+        Image avatar = imageService.addProfileImage(user, imageDTO.getImageBase64());
+        person.setAvatarId(avatar.getId());
+        person.setImage(null);
+        person.setImageType(ImageType.LINK);
+        if (previousAvatarId != null) {
+            imageService.deleteProfileImage(previousAvatarId);
         }
         return person;
     }
@@ -88,8 +92,12 @@ public class UserProfileServiceImpl implements UserProfileService {
     public void deleteProfileImage() throws NotAuthorisedUserException {
         User user = userService.getAuthorizedUser();
         Person person = user.getPerson();
-        person.setImageBase64(null);
+        Long avatarId = person.getAvatarId();
+        person.setAvatarId(null);
         person.setImageType(ImageType.NONE);
+        if (avatarId != null) {
+            imageService.deleteProfileImage(avatarId);
+        }
     }
 
     @Override
@@ -0,0 +1,84 @@
+package com.softserve.academy.spaced.repetition.service.learningSession;
+
+import java.util.*;
+
+/**
+ * Merges the cards that need repeating of several decks into one queue ordered by the date
+ * they need repeating. Every deck is a run already sorted by date, the runs are merged with
+ * a priority queue of their heads, so merging n cards of k decks takes O(n log k).
+ * <p>
+ * No deck takes more than the fairness cap of the queue while other decks still have due cards,
+ * the cards over the cap are appended, still ordered by date, only when the queue is not full.
+ */
+public final class DueCardsMerger {
+
+    private DueCardsMerger() {
+    }
+
+    /**
+     * @param dueCardsByDeck cards that need repeating grouped by deck, each group ordered by date to repeat
+     * @param limit          maximal number of cards in the queue
+     * @param perDeckCap     maximal number of cards one deck takes before the cards of other decks
+     * @return identifiers of the merged cards
+     */
+    public static List<Long> merge(Collection<List<DueCard>> dueCardsByDeck, int limit, int perDeckCap) {
+        PriorityQueue<DeckRun> heads = new PriorityQueue<>(Math.max(1, dueCardsByDeck.size()));
+        dueCardsByDeck.stream().filter(dueCards -> !dueCards.isEmpty())
+                .forEach(dueCards -> heads.add(new DeckRun(dueCards)));
+
+        List<Long> merged = new ArrayList<>();
+        List<Long> overCap = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            DeckRun run = heads.poll();
+            DueCard dueCard = run.next();
+            if (run.taken <= perDeckCap) {
+                merged.add(dueCard.cardId);
+            } else {
+                overCap.add(dueCard.cardId);
+            }
+            if (run.hasNext()) {
+                heads.add(run);
+            }
+        }
+        for (Iterator<Long> iterator = overCap.iterator(); iterator.hasNext() && merged.size() < limit; ) {
+            merged.add(iterator.next());
+        }
+        return merged;
+    }
+
+    public static final class DueCard {
+        private final long cardId;
+        private final long dateToRepeat;
+
+        public DueCard(long cardId, long dateToRepeat) {
+            this.cardId = cardId;
+            this.dateToRepeat = dateToRepeat;
+        }
+    }
+
+    private static final class DeckRun implements Comparable<DeckRun> {
+        private final List<DueCard> dueCards;
+        private int taken;
+
+        private DeckRun(List<DueCard> dueCards) {
+            this.dueCards = dueCards;
+        }
+
+        private DueCard next() {
+            return dueCards.get(taken++);
+        }
+
+        private boolean hasNext() {
+            return taken < dueCards.size();
+        }
+
+        @Override
+        public int compareTo(DeckRun other) {
+            DueCard head = dueCards.get(taken);
+            DueCard otherHead = other.dueCards.get(other.taken);
+            return head.dateToRepeat != otherHead.dateToRepeat
+                    ? Long.compare(head.dateToRepeat, otherHead.dateToRepeat)
+                    : Long.compare(head.cardId, otherHead.cardId);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.softserve.academy.spaced.repetition.service.learningSession;
+
+import com.softserve.academy.spaced.repetition.domain.Card;
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * Ordered queue of cards computed once when the user starts learning a deck,
+ * handed out page by page. The next page may already be loading in the background.
+ */
+public class LearningSession {
+    private final String id;
+    private final Long userId;
+    private final Long deckId;
+    private final List<Long> cardIds;
+    private final int pageSize;
+    private int position;
+    private Future<List<Card>> prefetchedPage;
+    private volatile long lastAccessTime;
+
+    public LearningSession(String id, Long userId, Long deckId, List<Long> cardIds, int pageSize) {
+        this.id = id;
+        this.userId = userId;
+        this.deckId = deckId;
+        this.cardIds = cardIds;
+        this.pageSize = pageSize;
+        this.lastAccessTime = System.currentTimeMillis();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getDeckId() {
+        return deckId;
+    }
+
+    public int getCardsNumber() {
+        return cardIds.size();
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    public void touch() {
+        lastAccessTime = System.currentTimeMillis();
+    }
+
+    public synchronized int getRemainingCardsNumber() {
+        return cardIds.size() - position;
+    }
+
+    /**
+     * @return identifiers of the cards of the next page, the position of the session moves past them
+     */
+    public synchronized List<Long> nextPage() {
+        List<Long> page = peekNextPage();
+        position += page.size();
+        return page;
+    }
+
+    /**
+     * @return identifiers of the cards of the next page without moving the position
+     */
+    public synchronized List<Long> peekNextPage() {
+        return cardIds.subList(position, Math.min(position + pageSize, cardIds.size()));
+    }
+
+    /**
+     * Hands over the page loaded in the background, if any. It always holds the cards
+     * of {@link #peekNextPage()}.
+     *
+     * @return the prefetched page or {@literal null}
+     */
+    public synchronized Future<List<Card>> takePrefetchedPage() {
+        Future<List<Card>> page = prefetchedPage;
+        prefetchedPage = null;
+        return page;
+    }
+
+    public synchronized void setPrefetchedPage(Future<List<Card>> prefetchedPage) {
+        this.prefetchedPage = prefetchedPage;
+    }
+}
@@ -0,0 +1,54 @@
+package com.softserve.academy.spaced.repetition.service.rememberingLevel;
+
+import com.softserve.academy.spaced.repetition.domain.RememberingLevel;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable snapshot of the remembering levels of one account, indexed by level order number.
+ */
+public final class RememberingLevelLadder {
+    private final RememberingLevel[] levels;
+    private final long[] postponingPeriods;
+
+    public RememberingLevelLadder(List<RememberingLevel> rememberingLevels) {
+        levels = rememberingLevels.stream()
+                .sorted(Comparator.comparing(RememberingLevel::getOrderNumber))
+                .toArray(RememberingLevel[]::new);
+        postponingPeriods = new long[levels.length];
+        for (int i = 0; i < levels.length; i++) {
+            postponingPeriods[i] = TimeUnit.DAYS.toMillis(levels[i].getNumberOfPostponedDays());
+        }
+    }
+
+    public int size() {
+        return levels.length;
+    }
+
+    /**
+     * @param orderNumber order number of the level, starting from 1
+     * @return the remembering level with the given order number
+     */
+    public RememberingLevel getLevel(int orderNumber) {
+        return levels[orderNumber - 1];
+    }
+
+    /**
+     * @param orderNumber order number of the level, starting from 1
+     * @return number of milliseconds a card on this level is postponed for
+     */
+    public long getPostponingPeriod(int orderNumber) {
+        return postponingPeriods[orderNumber - 1];
+    }
+
+    /**
+     * @param other another ladder
+     * @return whether cards on every level are postponed for the same period in both ladders
+     */
+    public boolean hasSamePostponingPeriods(RememberingLevelLadder other) {
+        return Arrays.equals(postponingPeriods, other.postponingPeriods);
+    }
+}
@@ -0,0 +1,68 @@
+package com.softserve.academy.spaced.repetition.service.rememberingLevel;
+
+import com.softserve.academy.spaced.repetition.domain.Account;
+import com.softserve.academy.spaced.repetition.repository.RememberingLevelRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of remembering level ladders by account id.
+ */
+@Component
+public class RememberingLevelLadderCache {
+    private static final int MAX_CACHED_LADDERS = 10_000;
+
+    @Autowired
+    private RememberingLevelRepository rememberingLevelRepository;
+
+    private final Map<Long, RememberingLevelLadder> ladders =
+            new LinkedHashMap<Long, RememberingLevelLadder>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, RememberingLevelLadder> eldest) {
+                    return size() > MAX_CACHED_LADDERS;
+                }
+            };
+
+    public RememberingLevelLadder getLadder(Account account) {
+        synchronized (ladders) {
+            RememberingLevelLadder ladder = ladders.get(account.getId());
+            if (ladder != null) {
+                return ladder;
+            }
+        }
+        RememberingLevelLadder loaded =
+                new RememberingLevelLadder(rememberingLevelRepository.findAllByAccountOrderByOrderNumber(account));
+        synchronized (ladders) {
+            return ladders.computeIfAbsent(account.getId(), accountId -> loaded);
+        }
+    }
+
+    /**
+     * Drops the cached ladder of the account, and once more after the surrounding transaction commits
+     * so that a ladder concurrently loaded from the old rows is not kept.
+     *
+     * @param accountId id of the account whose remembering levels were changed
+     */
+    public void evict(Long accountId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    remove(accountId);
+                }
+            });
+        }
+        remove(accountId);
+    }
+
+    private void remove(Long accountId) {
+        synchronized (ladders) {
+            ladders.remove(accountId);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.softserve.academy.spaced.repetition.service.scheduler;
+
+import com.softserve.academy.spaced.repetition.domain.Card;
+import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.repository.CardRepository;
+import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import com.softserve.academy.spaced.repetition.service.dueCardIndex.DueCardIndex;
+import com.softserve.academy.spaced.repetition.service.learningSession.DueCardsMerger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.*;
+
+/**
+ * Base for schedulers which choose cards by the date they need repeating, taking new cards
+ * when there are not enough cards to repeat.
+ */
+public abstract class AbstractScheduler implements Scheduler {
+    @Autowired
+    protected CardRepository cardRepository;
+
+    @Autowired
+    protected DueCardIndex dueCardIndex;
+
+    @Autowired
+    protected UserCardQueueRepository userCardQueueRepository;
+
+    @Override
+    public List<Card> getLearningCards(User user, Long deckId, int cardsNumber) {
+        return cardRepository.findAllInOrder(getLearningCardIds(user, deckId, cardsNumber));
+    }
+
+    @Override
+    public List<Long> getLearningCardIds(User user, Long deckId, int cardsNumber) {
+        List<Long> learningCardIds = new ArrayList<>(dueCardIndex
+                .getCardsThatNeedRepeating(user.getId(), deckId, new Date(), cardsNumber));
+        if (learningCardIds.size() < cardsNumber) {
+            learningCardIds.addAll(dueCardIndex
+                    .getNewCards(user.getId(), deckId, cardsNumber - learningCardIds.size()));
+        }
+        return learningCardIds;
+    }
+
+    /**
+     * Every deck takes at most its share of the cards, or a page if the share is smaller, so a deck with many
+     * overdue cards cannot crowd out the others. The cards over the share fill the rest only when the other decks
+     * are short of due cards.
+     */
+    @Override
+    public List<Long> getLearningCardIds(User user, Collection<Long> deckIds, int cardsNumber) {
+        int perDeckCap = Math.min(cardsNumber, Math.max(user.getAccount().getCardsNumber(),
+                (cardsNumber + deckIds.size() - 1) / deckIds.size()));
+        Date now = new Date();
+        Map<Long, List<DueCardsMerger.DueCard>> dueCardsByDeck = new LinkedHashMap<>();
+        int dueCardsNumber = addDueCards(dueCardsByDeck, userCardQueueRepository
+                .findCardsThatNeedRepeatingInDecks(user.getId(), deckIds, now, 0, perDeckCap));
+        int remaining = cardsNumber - dueCardsNumber;
+        if (remaining > 0) {
+            List<Long> fullDeckIds = new ArrayList<>();
+            dueCardsByDeck.forEach((deckId, dueCards) -> {
+                if (dueCards.size() == perDeckCap) {
+                    fullDeckIds.add(deckId);
+                }
+            });
+            if (!fullDeckIds.isEmpty()) {
+                addDueCards(dueCardsByDeck, userCardQueueRepository
+                        .findCardsThatNeedRepeatingInDecks(user.getId(), fullDeckIds, now, perDeckCap, remaining));
+            }
+        }
+        List<Long> learningCardIds = DueCardsMerger.merge(dueCardsByDeck.values(), cardsNumber, perDeckCap);
+        if (learningCardIds.size() < cardsNumber) {
+            learningCardIds.addAll(cardRepository.findNewCardIdsInDecks(user.getId(), deckIds,
+                    new PageRequest(0, cardsNumber - learningCardIds.size())));
+        }
+        return learningCardIds;
+    }
+
+    /**
+     * @return the number of added cards
+     */
+    private static int addDueCards(Map<Long, List<DueCardsMerger.DueCard>> dueCardsByDeck, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            dueCardsByDeck.computeIfAbsent((Long) row[0], deckId -> new ArrayList<>())
+                    .add(new DueCardsMerger.DueCard((Long) row[1], ((Date) row[2]).getTime()));
+        }
+        return rows.size();
+    }
+
+    @Override
+    public List<Card> getPostponedCards(User user, Long deckId, int cardsNumber) {
+        return cardRepository.findAllInOrder(dueCardIndex
+                .getPostponedCards(user.getId(), deckId, new Date(), cardsNumber));
+    }
+}
@@ -0,0 +1,60 @@
+package com.softserve.academy.spaced.repetition.service.scheduler;
+
+import com.softserve.academy.spaced.repetition.domain.Account;
+import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
+import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
+import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
+import com.softserve.academy.spaced.repetition.service.rememberingLevel.RememberingLevelLadder;
+import com.softserve.academy.spaced.repetition.service.rememberingLevel.RememberingLevelLadderCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * Moves the card one remembering level up or down depending on the answer and postpones it
+ * for the number of days configured for the level.
+ */
+@Component
+public class CardsPostponingScheduler extends AbstractScheduler {
+    private static final int FIRST_LEVEL = 1;
+
+    @Autowired
+    private RememberingLevelLadderCache rememberingLevelLadderCache;
+
+    @Override
+    public LearningRegime getLearningRegime() {
+        return LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION;
+    }
+
+    @Override
+    public void schedule(UserCardQueue userCardQueue, UserCardQueueStatus status, Account account) {
+        RememberingLevelLadder ladder = rememberingLevelLadderCache.getLadder(account);
+        int orderNumber = getOrderNumber(userCardQueue);
+        if (status == UserCardQueueStatus.BAD && orderNumber > FIRST_LEVEL) {
+            orderNumber--;
+        } else if (status == UserCardQueueStatus.GOOD && orderNumber < ladder.size()) {
+            orderNumber++;
+        }
+        postpone(userCardQueue, ladder, orderNumber);
+    }
+
+    @Override
+    public void reschedule(Collection<UserCardQueue> userCardQueues, Account account) {
+        RememberingLevelLadder ladder = rememberingLevelLadderCache.getLadder(account);
+        userCardQueues.forEach(userCardQueue ->
+                postpone(userCardQueue, ladder, Math.min(getOrderNumber(userCardQueue), ladder.size())));
+    }
+
+    private int getOrderNumber(UserCardQueue userCardQueue) {
+        return userCardQueue.getRememberingLevel() != null
+                ? userCardQueue.getRememberingLevel().getOrderNumber() : FIRST_LEVEL;
+    }
+
+    private void postpone(UserCardQueue userCardQueue, RememberingLevelLadder ladder, int orderNumber) {
+        userCardQueue.setRememberingLevel(ladder.getLevel(orderNumber));
+        userCardQueue.setDateToRepeat(new Date(userCardQueue.getCardDate().getTime() +
+                ladder.getPostponingPeriod(orderNumber)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.softserve.academy.spaced.repetition.service.scheduler;
+
+import com.softserve.academy.spaced.repetition.domain.Account;
+import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
+import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
+import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SM-2 like scheduling: every card keeps its own ease factor and interval, the next interval is
+ * the previous one multiplied by the ease factor, which grows with good answers and shrinks with bad ones.
+ * Everything is computed from the queue entry itself, no lookups are needed.
+ */
+@Component
+public class EaseFactorScheduler extends AbstractScheduler {
+    static final double INITIAL_EASE_FACTOR = 2.5;
+    static final double MIN_EASE_FACTOR = 1.3;
+    static final int FIRST_INTERVAL_DAYS = 1;
+    static final int SECOND_INTERVAL_DAYS = 6;
+    private static final int MAX_QUALITY = 5;
+
+    @Override
+    public LearningRegime getLearningRegime() {
+        return LearningRegime.CARDS_POSTPONING_USING_EASE_FACTOR;
+    }
+
+    @Override
+    public void schedule(UserCardQueue userCardQueue, UserCardQueueStatus status, Account account) {
+        double easeFactor = userCardQueue.getEaseFactor() != null ? userCardQueue.getEaseFactor() : INITIAL_EASE_FACTOR;
+        int repetitions = userCardQueue.getRepetitions() != null ? userCardQueue.getRepetitions() : 0;
+        int intervalDays = userCardQueue.getIntervalDays() != null ? userCardQueue.getIntervalDays() : 0;
+
+        if (status == UserCardQueueStatus.BAD) {
+            repetitions = 0;
+            intervalDays = FIRST_INTERVAL_DAYS;
+        } else {
+            repetitions++;
+            if (repetitions == 1) {
+                intervalDays = FIRST_INTERVAL_DAYS;
+            } else if (repetitions == 2) {
+                intervalDays = SECOND_INTERVAL_DAYS;
+            } else {
+                intervalDays = (int) Math.round(intervalDays * easeFactor);
+            }
+        }
+        int lapse = MAX_QUALITY - getQuality(status);
+        easeFactor = Math.max(MIN_EASE_FACTOR, easeFactor + 0.1 - lapse * (0.08 + lapse * 0.02));
+
+        userCardQueue.setStatus(status);
+        userCardQueue.setEaseFactor(easeFactor);
+        userCardQueue.setRepetitions(repetitions);
+        userCardQueue.setIntervalDays(intervalDays);
+        postpone(userCardQueue);
+    }
+
+    @Override
+    public void reschedule(Collection<UserCardQueue> userCardQueues, Account account) {
+        for (UserCardQueue userCardQueue : userCardQueues) {
+            if (userCardQueue.getEaseFactor() == null) {
+                int intervalDays = FIRST_INTERVAL_DAYS;
+                if (userCardQueue.getDateToRepeat() != null) {
+                    intervalDays = (int) Math.max(FIRST_INTERVAL_DAYS, TimeUnit.MILLISECONDS.toDays(
+                            userCardQueue.getDateToRepeat().getTime() - userCardQueue.getCardDate().getTime()));
+                }
+                userCardQueue.setEaseFactor(INITIAL_EASE_FACTOR);
+                userCardQueue.setIntervalDays(intervalDays);
+                userCardQueue.setRepetitions(intervalDays >= SECOND_INTERVAL_DAYS ? 2 : 1);
+            }
+            postpone(userCardQueue);
+        }
+    }
+
+    private int getQuality(UserCardQueueStatus status) {
+        switch (status) {
+            case GOOD:
+                return 5;
+            case NORMAL:
+                return 4;
+            default:
+                return 2;
+        }
+    }
+
+    private void postpone(UserCardQueue userCardQueue) {
+        userCardQueue.setDateToRepeat(new Date(userCardQueue.getCardDate().getTime() +
+                TimeUnit.DAYS.toMillis(userCardQueue.getIntervalDays())));
+    }
+}
@@ -0,0 +1,80 @@
+package com.softserve.academy.spaced.repetition.service.scheduler;
+
+import com.softserve.academy.spaced.repetition.domain.Account;
+import com.softserve.academy.spaced.repetition.domain.Card;
+import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
+import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
+import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Strategy of choosing cards for learning and scheduling their repetition, one per learning regime.
+ */
+public interface Scheduler {
+    /**
+     * @return the learning regime this scheduler implements
+     */
+    LearningRegime getLearningRegime();
+
+    /**
+     * Returns cards the user should learn now from the deck with the given identifier.
+     *
+     * @param user        the learning user
+     * @param deckId      must not be {@literal null}.
+     * @param cardsNumber maximal number of cards to return
+     * @return cards for learning in the order they should be shown
+     */
+    List<Card> getLearningCards(User user, Long deckId, int cardsNumber);
+
+    /**
+     * Returns identifiers of the cards the user should learn now, in the same order as
+     * {@link #getLearningCards(User, Long, int)}.
+     *
+     * @param user        the learning user
+     * @param deckId      must not be {@literal null}.
+     * @param cardsNumber maximal number of cards to return
+     * @return identifiers of cards for learning in the order they should be shown
+     */
+    List<Long> getLearningCardIds(User user, Long deckId, int cardsNumber);
+
+    /**
+     * Returns identifiers of the cards the user should learn now from several decks, e.g. the decks of a folder.
+     *
+     * @param user        the learning user
+     * @param deckIds     must not be empty.
+     * @param cardsNumber maximal number of cards to return
+     * @return identifiers of cards for learning in the order they should be shown
+     */
+    List<Long> getLearningCardIds(User user, Collection<Long> deckIds, int cardsNumber);
+
+    /**
+     * Returns cards of the deck with the given identifier which are postponed to the future.
+     *
+     * @param user        the learning user
+     * @param deckId      must not be {@literal null}.
+     * @param cardsNumber maximal number of cards to return
+     * @return postponed cards ordered by the date they need repeating
+     */
+    List<Card> getPostponedCards(User user, Long deckId, int cardsNumber);
+
+    /**
+     * Applies the user`s answer to the queue entry. The card date of the entry must already be set.
+     *
+     * @param userCardQueue the queue entry of the answered card
+     * @param status        the user`s answer
+     * @param account       account of the user, holds the learning settings
+     */
+    void schedule(UserCardQueue userCardQueue, UserCardQueueStatus status, Account account);
+
+    /**
+     * Recomputes the repetition dates of already answered cards, e.g. after the learning settings were changed.
+     * Works in memory only, the caller is responsible for saving the entries.
+     *
+     * @param userCardQueues queue entries to reschedule
+     * @param account        account of the user, holds the learning settings
+     */
+    void reschedule(Collection<UserCardQueue> userCardQueues, Account account);
+}
@@ -0,0 +1,34 @@
+package com.softserve.academy.spaced.repetition.service.scheduler;
+
+import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Looks up the {@link Scheduler} implementing a learning regime among all scheduler beans.
+ */
+@Component
+public class SchedulerRegistry {
+    @Autowired
+    private List<Scheduler> schedulers;
+
+    private final Map<LearningRegime, Scheduler> schedulersByRegime = new EnumMap<>(LearningRegime.class);
+
+    @PostConstruct
+    public void init() {
+        schedulers.forEach(scheduler -> schedulersByRegime.put(scheduler.getLearningRegime(), scheduler));
+    }
+
+    public Scheduler getScheduler(LearningRegime learningRegime) {
+        Scheduler scheduler = schedulersByRegime.get(learningRegime);
+        if (scheduler == null) {
+            throw new IllegalArgumentException("No scheduler for learning regime " + learningRegime);
+        }
+        return scheduler;
+    }
+}
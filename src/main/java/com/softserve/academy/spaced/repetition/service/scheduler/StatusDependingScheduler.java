@@ -0,0 +1,63 @@
+package com.softserve.academy.spaced.repetition.service.scheduler;
+
+import com.softserve.academy.spaced.repetition.domain.Account;
+import com.softserve.academy.spaced.repetition.domain.Card;
+import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
+import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
+import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Shows new cards first and then already answered cards ordered from BAD to GOOD.
+ */
+@Component
+public class StatusDependingScheduler extends AbstractScheduler {
+
+    @Override
+    public LearningRegime getLearningRegime() {
+        return LearningRegime.BAD_NORMAL_GOOD_STATUS_DEPENDING;
+    }
+
+    @Override
+    public List<Card> getLearningCards(User user, Long deckId, int cardsNumber) {
+        List<Card> learningCards = cardRepository.cardsForLearningWithOutStatus(user.getId(), deckId, cardsNumber);
+        if (learningCards.size() < cardsNumber) {
+            learningCards.addAll(cardRepository.cardsQueueForLearningWithStatus(user.getId(), deckId,
+                    cardsNumber - learningCards.size()));
+        }
+        return learningCards;
+    }
+
+    @Override
+    public List<Long> getLearningCardIds(User user, Long deckId, int cardsNumber) {
+        return getLearningCards(user, deckId, cardsNumber).stream().map(Card::getId).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Long> getLearningCardIds(User user, Collection<Long> deckIds, int cardsNumber) {
+        List<Long> learningCardIds = new ArrayList<>(cardRepository.findNewCardIdsInDecks(user.getId(), deckIds,
+                new PageRequest(0, cardsNumber)));
+        if (learningCardIds.size() < cardsNumber) {
+            learningCardIds.addAll(userCardQueueRepository.findCardIdsWithStatusInDecks(user.getId(), deckIds,
+                    new PageRequest(0, cardsNumber - learningCardIds.size())));
+        }
+        return learningCardIds;
+    }
+
+    @Override
+    public void schedule(UserCardQueue userCardQueue, UserCardQueueStatus status, Account account) {
+        userCardQueue.setStatus(status);
+    }
+
+    @Override
+    public void reschedule(Collection<UserCardQueue> userCardQueues, Account account) {
+        // the order of cards depends on the last status only, there are no dates to recompute
+    }
+}
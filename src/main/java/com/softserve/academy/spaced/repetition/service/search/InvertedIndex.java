@@ -0,0 +1,304 @@
+package com.softserve.academy.spaced.repetition.service.search;
+
+import com.softserve.academy.spaced.repetition.domain.enums.SearchDocumentType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index of the documents of one type. Every version of a document gets a new ordinal, so postings
+ * are only ever appended; the previous version is marked as deleted and its postings are dropped when
+ * deleted documents outnumber the live ones and the index is compacted.
+ */
+class InvertedIndex {
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MIN_COMPACTED_DOCUMENTS = 1024;
+    private static final float K1 = 1.2f;
+
+    private final SearchDocumentType type;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private long[] ids = new long[16];
+    private long[] parentIds = new long[16];
+    private long[] ownerIds = new long[16];
+    private long[] versions = new long[16];
+    private BitSet published = new BitSet();
+    private BitSet deleted = new BitSet();
+    private int size;
+    private int deletedCount;
+
+    InvertedIndex(SearchDocumentType type) {
+        this.type = type;
+    }
+
+    /**
+     * Indexes the document replacing its previous version, unless the indexed version is newer, which happens
+     * when the rows of two commits are read in one order and indexed in the other.
+     *
+     * @param id          id of the document.
+     * @param parentId    id of the document the document belongs to, e.g. the deck of a card, or 0.
+     * @param ownerId     id of the user who owns the document, or 0.
+     * @param published   whether the document is visible to every user.
+     * @param version     version of the document, or 0 if the document is not versioned.
+     * @param termWeights weights of the terms of the document.
+     */
+    void put(long id, long parentId, long ownerId, boolean published, long version,
+             Map<String, Integer> termWeights) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = ordinalsById.get(id);
+            if (previous != null && versions[previous] > version) {
+                return;
+            }
+            markDeleted(ordinalsById.remove(id));
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                parentIds = Arrays.copyOf(parentIds, size * 2);
+                ownerIds = Arrays.copyOf(ownerIds, size * 2);
+                versions = Arrays.copyOf(versions, size * 2);
+            }
+            int ordinal = size++;
+            ids[ordinal] = id;
+            parentIds[ordinal] = parentId;
+            ownerIds[ordinal] = ownerId;
+            versions[ordinal] = version;
+            this.published.set(ordinal, published);
+            ordinalsById.put(id, ordinal);
+            termWeights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new PostingList())
+                    .add(ordinal, weight));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            markDeleted(ordinalsById.remove(id));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeByParent(long parentId) {
+        lock.writeLock().lock();
+        try {
+            for (int ordinal = deleted.nextClearBit(0); ordinal < size; ordinal = deleted.nextClearBit(ordinal + 1)) {
+                if (parentIds[ordinal] == parentId) {
+                    ordinalsById.remove(ids[ordinal]);
+                    markDeleted(ordinal);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int count() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents containing all terms of the query, the last term also matches the terms it is a prefix
+     * of. Documents are ranked by the BM25 weight of the query terms without length normalization, as the weights
+     * are already summed over the fields of the document, the most recently indexed first among equal ones.
+     *
+     * @param query    the text to search for.
+     * @param filter   the filter the documents the caller may see pass, applied before paging.
+     * @param pageable the page of the ranked documents to return.
+     * @return the page of the found documents.
+     */
+    Page<SearchHit> search(String query, DocumentFilter filter, Pageable pageable) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+        lock.readLock().lock();
+        try {
+            int liveCount = ordinalsById.size();
+            ScoredOrdinals matches = null;
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                Collection<PostingList> termPostings = i == terms.size() - 1 && term.length() >= MIN_PREFIX_LENGTH
+                        ? postings.subMap(term, true, term + Character.MAX_VALUE, false).values()
+                        : postingsOf(term);
+                ScoredOrdinals termMatches = score(termPostings, liveCount);
+                matches = matches == null ? termMatches : matches.intersect(termMatches);
+                if (matches.size == 0) {
+                    break;
+                }
+            }
+            return toPage(matches, filter, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<PostingList> postingsOf(String term) {
+        PostingList postingList = postings.get(term);
+        return postingList != null ? Collections.singletonList(postingList) : Collections.emptyList();
+    }
+
+    private ScoredOrdinals score(Collection<PostingList> termPostings, int liveCount) {
+        ScoredOrdinals scored = new ScoredOrdinals(termPostings.stream().mapToInt(PostingList::count).sum());
+        for (PostingList postingList : termPostings) {
+            int documentFrequency = postingList.count();
+            float idf = (float) Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            postingList.forEach((ordinal, weight) -> {
+                if (!deleted.get(ordinal)) {
+                    scored.add(ordinal, Math.max(idf, 0.01f) * weight * (K1 + 1) / (weight + K1));
+                }
+            });
+        }
+        if (termPostings.size() > 1) {
+            scored.sortAndMerge();
+        }
+        return scored;
+    }
+
+    private Page<SearchHit> toPage(ScoredOrdinals matches, DocumentFilter filter, Pageable pageable) {
+        long[] ranked = new long[matches.size];
+        int count = 0;
+        for (int i = 0; i < matches.size; i++) {
+            int ordinal = matches.ordinals[i];
+            if (filter.accepts(ids[ordinal], parentIds[ordinal], ownerIds[ordinal], published.get(ordinal))) {
+                // scores are positive, so their bits sort like the scores themselves
+                ranked[count++] = (long) Float.floatToIntBits(matches.scores[i]) << 32 | ordinal;
+            }
+        }
+        ranked = Arrays.copyOf(ranked, count);
+        Arrays.sort(ranked);
+        List<SearchHit> hits = new ArrayList<>();
+        long from = Math.min((long) pageable.getOffset(), ranked.length);
+        long to = Math.min(from + pageable.getPageSize(), ranked.length);
+        for (int i = (int) from; i < to; i++) {
+            long rank = ranked[ranked.length - 1 - i];
+            int ordinal = (int) rank;
+            hits.add(new SearchHit(type, ids[ordinal], parentIds[ordinal] != 0 ? parentIds[ordinal] : null,
+                    Float.intBitsToFloat((int) (rank >>> 32))));
+        }
+        return new PageImpl<>(hits, pageable, ranked.length);
+    }
+
+    private void markDeleted(Integer ordinal) {
+        if (ordinal != null && !deleted.get(ordinal)) {
+            deleted.set(ordinal);
+            deletedCount++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (deletedCount < MIN_COMPACTED_DOCUMENTS || deletedCount < size - deletedCount) {
+            return;
+        }
+        int[] newOrdinals = new int[size];
+        BitSet compactedPublished = new BitSet();
+        int liveCount = 0;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (deleted.get(ordinal)) {
+                newOrdinals[ordinal] = -1;
+            } else {
+                ids[liveCount] = ids[ordinal];
+                parentIds[liveCount] = parentIds[ordinal];
+                ownerIds[liveCount] = ownerIds[ordinal];
+                versions[liveCount] = versions[ordinal];
+                compactedPublished.set(liveCount, published.get(ordinal));
+                ordinalsById.put(ids[liveCount], liveCount);
+                newOrdinals[ordinal] = liveCount++;
+            }
+        }
+        Iterator<Map.Entry<String, PostingList>> entries = postings.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, PostingList> entry = entries.next();
+            PostingList renumbered = entry.getValue().renumber(newOrdinals);
+            if (renumbered.count() == 0) {
+                entries.remove();
+            } else {
+                entry.setValue(renumbered);
+            }
+        }
+        size = liveCount;
+        published = compactedPublished;
+        deleted = new BitSet();
+        deletedCount = 0;
+    }
+
+    /**
+     * Decides which of the matching documents are returned to the caller.
+     */
+    @FunctionalInterface
+    interface DocumentFilter {
+        boolean accepts(long id, long parentId, long ownerId, boolean published);
+    }
+
+    /**
+     * Ordinals of the documents matching a query with their scores, sorted by ordinal.
+     */
+    private static final class ScoredOrdinals {
+        private int[] ordinals;
+        private float[] scores;
+        private int size;
+
+        private ScoredOrdinals(int capacity) {
+            ordinals = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        private void add(int ordinal, float score) {
+            ordinals[size] = ordinal;
+            scores[size++] = score;
+        }
+
+        /**
+         * Sorts the ordinals gathered from several posting lists summing the scores of repeated ones.
+         */
+        private void sortAndMerge() {
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = (long) ordinals[i] << 32 | Float.floatToIntBits(scores[i]) & 0xFFFFFFFFL;
+            }
+            Arrays.sort(sorted);
+            int merged = 0;
+            for (long entry : sorted) {
+                int ordinal = (int) (entry >>> 32);
+                float score = Float.intBitsToFloat((int) entry);
+                if (merged > 0 && ordinals[merged - 1] == ordinal) {
+                    scores[merged - 1] += score;
+                } else {
+                    ordinals[merged] = ordinal;
+                    scores[merged++] = score;
+                }
+            }
+            size = merged;
+        }
+
+        private ScoredOrdinals intersect(ScoredOrdinals other) {
+            ScoredOrdinals intersection = new ScoredOrdinals(Math.min(size, other.size));
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (ordinals[i] < other.ordinals[j]) {
+                    i++;
+                } else if (ordinals[i] > other.ordinals[j]) {
+                    j++;
+                } else {
+                    intersection.add(ordinals[i], scores[i++] + other.scores[j++]);
+                }
+            }
+            return intersection;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.softserve.academy.spaced.repetition.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Documents containing a term, as pairs of a document ordinal and the weight of the term in the document.
+ * Ordinals only grow, so the pairs are appended in order and stored as variable-length encoded deltas,
+ * which takes one or two bytes per pair for most terms.
+ */
+class PostingList {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int count;
+    private int lastOrdinal = -1;
+
+    interface PostingConsumer {
+        void accept(int ordinal, int weight);
+    }
+
+    /**
+     * Appends the document to the list.
+     *
+     * @param ordinal ordinal of the document, greater than all ordinals in the list.
+     * @param weight  weight of the term in the document, positive.
+     */
+    void add(int ordinal, int weight) {
+        if (ordinal <= lastOrdinal) {
+            throw new IllegalArgumentException("Ordinal " + ordinal + " is not greater than " + lastOrdinal);
+        }
+        ensureCapacity(length + 10);
+        writeVarInt(ordinal - lastOrdinal);
+        writeVarInt(weight);
+        lastOrdinal = ordinal;
+        count++;
+    }
+
+    void forEach(PostingConsumer consumer) {
+        int position = 0;
+        int ordinal = -1;
+        while (position < length) {
+            int delta = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            int weight = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                weight |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            ordinal += delta;
+            consumer.accept(ordinal, weight);
+        }
+    }
+
+    /**
+     * Copies the list renumbering its documents, documents mapped to a negative ordinal are left out.
+     *
+     * @param newOrdinals new ordinals indexed by the old ones, must preserve their order.
+     * @return the renumbered list, empty if no document is left.
+     */
+    PostingList renumber(int[] newOrdinals) {
+        PostingList renumbered = new PostingList();
+        forEach((ordinal, weight) -> {
+            if (newOrdinals[ordinal] >= 0) {
+                renumbered.add(newOrdinals[ordinal], weight);
+            }
+        });
+        renumbered.data = Arrays.copyOf(renumbered.data, Math.max(renumbered.length, 1));
+        return renumbered;
+    }
+
+    int count() {
+        return count;
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length + (data.length >> 1)));
+        }
+    }
+}
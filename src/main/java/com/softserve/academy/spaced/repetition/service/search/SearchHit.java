@@ -0,0 +1,36 @@
+package com.softserve.academy.spaced.repetition.service.search;
+
+import com.softserve.academy.spaced.repetition.domain.enums.SearchDocumentType;
+
+public class SearchHit {
+    private final SearchDocumentType type;
+    private final Long id;
+    private final Long deckId;
+    private final float score;
+
+    public SearchHit(SearchDocumentType type, Long id, Long deckId, float score) {
+        this.type = type;
+        this.id = id;
+        this.deckId = deckId;
+        this.score = score;
+    }
+
+    public SearchDocumentType getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return the deck of a card, {@literal null} for decks and courses.
+     */
+    public Long getDeckId() {
+        return deckId;
+    }
+
+    public float getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,233 @@
+package com.softserve.academy.spaced.repetition.service.search;
+
+import com.softserve.academy.spaced.repetition.domain.enums.SearchDocumentType;
+import com.softserve.academy.spaced.repetition.repository.StreamingStatementCreator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory full-text index of the names and descriptions of decks and courses and of the questions and answers
+ * of cards. The index is built from the database on startup and kept up to date by the write paths, which
+ * report changed documents once their transaction commits; the changed rows are then read again. Every node
+ * holds its own index.
+ * <p>
+ * Search only returns what the caller may see: published courses, decks of published courses and their cards,
+ * and the caller's own courses, decks and cards.
+ */
+@Component
+public class SearchIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndex.class);
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int QUESTION_WEIGHT = 2;
+    private static final int ANSWER_WEIGHT = 1;
+    private static final String DECKS_QUERY = "SELECT deck_id, name, description, user_id, version FROM deck";
+    private static final String COURSES_QUERY = "SELECT course_id, name, description, user_id, published FROM course";
+    private static final String CARDS_QUERY = "SELECT card_id, deck_id, question, answer, version FROM card";
+    private static final String PUBLIC_DECKS_QUERY = "SELECT DISTINCT cd.deck_id FROM course_decks cd "
+            + "JOIN course c ON c.course_id = cd.course_id WHERE c.published = 1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final Map<SearchDocumentType, InvertedIndex> indexes = new EnumMap<>(SearchDocumentType.class);
+    /**
+     * Reads and applies of the changed rows of one type are done under its lock, so the row read last is applied
+     * last. Courses have no version to compare and removed documents none at all.
+     */
+    private final Map<SearchDocumentType, Object> reloadLocks = new EnumMap<>(SearchDocumentType.class);
+    private final Map<Long, Long> deckOwnerIds = new ConcurrentHashMap<>();
+    private volatile Set<Long> publicDeckIds = Collections.emptySet();
+
+    public SearchIndex() {
+        for (SearchDocumentType type : SearchDocumentType.values()) {
+            indexes.put(type, new InvertedIndex(type));
+            reloadLocks.put(type, new Object());
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        long start = System.currentTimeMillis();
+        stream(DECKS_QUERY, this::putDeck);
+        stream(COURSES_QUERY, this::putCourse);
+        stream(CARDS_QUERY, this::putCard);
+        loadPublicDecks();
+        LOGGER.info("Indexed {} decks, {} courses and {} cards for search in {} ms",
+                indexes.get(SearchDocumentType.DECK).count(), indexes.get(SearchDocumentType.COURSE).count(),
+                indexes.get(SearchDocumentType.CARD).count(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Searches the documents of the type visible to the user.
+     *
+     * @param type     type of the documents to search.
+     * @param query    the text to search for.
+     * @param userId   id of the searching user, or null for an anonymous one.
+     * @param pageable the page of the ranked documents to return.
+     * @return the page of the found documents.
+     */
+    public Page<SearchHit> search(SearchDocumentType type, String query, Long userId, Pageable pageable) {
+        long callerId = userId != null ? userId : 0;
+        Set<Long> publicDecks = publicDeckIds;
+        InvertedIndex.DocumentFilter filter;
+        switch (type) {
+            case COURSE:
+                filter = (id, parentId, ownerId, published) -> published || ownerId == callerId && callerId != 0;
+                break;
+            case DECK:
+                filter = (id, parentId, ownerId, published) -> publicDecks.contains(id)
+                        || ownerId == callerId && callerId != 0;
+                break;
+            default:
+                filter = (id, parentId, ownerId, published) -> publicDecks.contains(parentId)
+                        || callerId != 0 && Objects.equals(deckOwnerIds.get(parentId), callerId);
+        }
+        return indexes.get(type).search(query, filter, pageable);
+    }
+
+    public void indexDeck(Long deckId) {
+        afterCommit(() -> reload(SearchDocumentType.DECK, DECKS_QUERY + " WHERE deck_id IN (:ids)",
+                Collections.singleton(deckId), this::putDeck));
+    }
+
+    /**
+     * Removes the deck together with its cards once the surrounding transaction commits.
+     *
+     * @param deckId id of the removed deck
+     */
+    public void removeDeck(Long deckId) {
+        afterCommit(() -> {
+            synchronized (reloadLocks.get(SearchDocumentType.DECK)) {
+                indexes.get(SearchDocumentType.DECK).remove(deckId);
+                deckOwnerIds.remove(deckId);
+            }
+            synchronized (reloadLocks.get(SearchDocumentType.CARD)) {
+                indexes.get(SearchDocumentType.CARD).removeByParent(deckId);
+            }
+            loadPublicDecks();
+        });
+    }
+
+    /**
+     * Reads the course again once the surrounding transaction commits, together with the decks made visible by
+     * published courses, as publishing a course or adding a deck to it changes them.
+     *
+     * @param courseId id of the changed course
+     */
+    public void indexCourse(Long courseId) {
+        afterCommit(() -> {
+            reload(SearchDocumentType.COURSE, COURSES_QUERY + " WHERE course_id IN (:ids)",
+                    Collections.singleton(courseId), this::putCourse);
+            loadPublicDecks();
+        });
+    }
+
+    public void removeCourse(Long courseId) {
+        afterCommit(() -> {
+            synchronized (reloadLocks.get(SearchDocumentType.COURSE)) {
+                indexes.get(SearchDocumentType.COURSE).remove(courseId);
+            }
+            loadPublicDecks();
+        });
+    }
+
+    public void indexCards(Collection<Long> cardIds) {
+        if (cardIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(cardIds);
+        afterCommit(() -> reload(SearchDocumentType.CARD, CARDS_QUERY + " WHERE card_id IN (:ids)", ids,
+                this::putCard));
+    }
+
+    public void removeCard(Long cardId) {
+        afterCommit(() -> {
+            synchronized (reloadLocks.get(SearchDocumentType.CARD)) {
+                indexes.get(SearchDocumentType.CARD).remove(cardId);
+            }
+        });
+    }
+
+    private void putDeck(ResultSet rs) throws SQLException {
+        long deckId = rs.getLong("deck_id");
+        long ownerId = rs.getLong("user_id");
+        deckOwnerIds.put(deckId, ownerId);
+        indexes.get(SearchDocumentType.DECK).put(deckId, 0, ownerId, false, rs.getLong("version"), namedTerms(rs));
+    }
+
+    private void putCourse(ResultSet rs) throws SQLException {
+        indexes.get(SearchDocumentType.COURSE).put(rs.getLong("course_id"), 0, rs.getLong("user_id"),
+                rs.getBoolean("published"), 0, namedTerms(rs));
+    }
+
+    private Map<String, Integer> namedTerms(ResultSet rs) throws SQLException {
+        Map<String, Integer> termWeights = new HashMap<>();
+        Tokenizer.addTerms(rs.getString("name"), NAME_WEIGHT, termWeights);
+        Tokenizer.addTerms(rs.getString("description"), DESCRIPTION_WEIGHT, termWeights);
+        return termWeights;
+    }
+
+    private void putCard(ResultSet rs) throws SQLException {
+        Map<String, Integer> termWeights = new HashMap<>();
+        Tokenizer.addTerms(rs.getString("question"), QUESTION_WEIGHT, termWeights);
+        Tokenizer.addTerms(rs.getString("answer"), ANSWER_WEIGHT, termWeights);
+        indexes.get(SearchDocumentType.CARD).put(rs.getLong("card_id"), rs.getLong("deck_id"), 0, false,
+                rs.getLong("version"), termWeights);
+    }
+
+    private void loadPublicDecks() {
+        synchronized (reloadLocks.get(SearchDocumentType.COURSE)) {
+            publicDeckIds = new HashSet<>(jdbcTemplate.queryForList(PUBLIC_DECKS_QUERY, Long.class));
+        }
+    }
+
+    private void stream(String query, RowCallbackHandler handler) {
+        jdbcTemplate.query(new StreamingStatementCreator(query), handler);
+    }
+
+    /**
+     * Reads the documents again, documents which are not found any more are removed from the index.
+     */
+    private void reload(SearchDocumentType type, String query, Collection<Long> ids, RowCallbackHandler handler) {
+        synchronized (reloadLocks.get(type)) {
+            Set<Long> missingIds = new HashSet<>(ids);
+            namedParameterJdbcTemplate.query(query, new MapSqlParameterSource("ids", ids),
+                    (RowCallbackHandler) rs -> {
+                        missingIds.remove(rs.getLong(1));
+                        handler.processRow(rs);
+                    });
+            missingIds.forEach(indexes.get(type)::remove);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
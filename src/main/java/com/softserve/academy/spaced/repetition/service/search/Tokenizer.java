@@ -0,0 +1,51 @@
+package com.softserve.academy.spaced.repetition.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Splits text into lowercase terms on every character which is neither a letter nor a digit.
+ */
+final class Tokenizer {
+    static final int MAX_TERM_LENGTH = 64;
+
+    private Tokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); ) {
+            int codePoint = i < text.length() ? text.codePointAt(i) : ' ';
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                // overlong terms are encoded data or urls rather than words
+                if (i - start <= MAX_TERM_LENGTH) {
+                    terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return terms;
+    }
+
+    /**
+     * Adds the weight of a field to every term of its text.
+     *
+     * @param text        text of the field, may be {@literal null}.
+     * @param weight      weight of one occurrence of a term in the field.
+     * @param termWeights receives the summed weights of the terms.
+     */
+    static void addTerms(String text, int weight, Map<String, Integer> termWeights) {
+        tokenize(text).forEach(term -> termWeights.merge(term, weight, Integer::sum));
+    }
+}
@@ -47,6 +47,8 @@ public enum AuditingAction {
     CREATE_COURSE,
     CREATE_PRIVATE_COURSE,
     DELETE_COURSE,
+    EXPORT_COURSE,
+    IMPORT_COURSE,
 
     VIEW_DECKS_VIA_CATEGORY,
     VIEW_DECKS_VIA_COURSE,
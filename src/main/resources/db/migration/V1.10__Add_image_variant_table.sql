@@ -0,0 +1,15 @@
+create table image_variant (
+  image_variant_id bigint not null auto_increment,
+  image_id bigint not null,
+  variant varchar(10) not null,
+  content_key char(64) not null,
+  type varchar(255) not null,
+  size bigint not null,
+  primary key (image_variant_id),
+  unique key image_variant_image_variant_index (image_id, variant)
+);
+
+alter table image_variant add constraint image_variant_image_fk foreign key (image_id) references image (image_id)
+  on delete cascade;
+
+create index image_variant_content_key_index on image_variant (content_key);
@@ -0,0 +1,43 @@
+ALTER TABLE card_image ADD content_key char(64);
+ALTER TABLE card_image ADD type varchar(255);
+ALTER TABLE card_image ADD size bigint;
+
+update card_image set type = substring(image_base64, 6, locate(';base64,', image_base64) - 6),
+  image_base64 = substring(image_base64, locate(';base64,', image_base64) + 8)
+where image_base64 like 'data:%;base64,%';
+
+update card_image set type = 'image/jpeg' where type is null;
+
+update card_image set content_key = sha2(from_base64(image_base64), 256),
+  size = length(from_base64(image_base64));
+
+-- images which are not valid base64 have no content to move to the content store, they are kept
+-- in card_image_unreadable for inspection and recovery rather than dropped with the base64 column
+create table card_image_unreadable as
+select card_image_id, card_id, type, image_base64 from card_image where content_key is null;
+
+delete from card_image where content_key is null;
+
+insert ignore into image_content (content_key, content)
+select content_key, from_base64(image_base64) from card_image;
+
+ALTER TABLE card_image DROP COLUMN image_base64;
+ALTER TABLE card_image MODIFY content_key char(64) not null;
+ALTER TABLE card_image MODIFY type varchar(255) not null;
+ALTER TABLE card_image MODIFY size bigint not null;
+
+create table image_content_reference (
+  content_key char(64) not null,
+  ref_count int not null,
+  primary key (content_key)
+);
+
+insert into image_content_reference (content_key, ref_count)
+select content_key, count(*) from (
+  select content_key from image where content_key is not null
+  union all
+  select content_key from image_variant
+  union all
+  select content_key from card_image
+) content_references
+group by content_key;
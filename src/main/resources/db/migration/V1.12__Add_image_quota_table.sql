@@ -0,0 +1,8 @@
+create table image_quota (
+  user_id bigint not null,
+  bytes_used bigint not null default 0,
+  primary key (user_id)
+);
+
+insert into image_quota (user_id, bytes_used)
+select user_id, sum(size) from image where user_id is not null group by user_id;
@@ -0,0 +1,44 @@
+ALTER TABLE person ADD avatar_id bigint;
+
+create temporary table person_avatar (
+  person_id bigint not null,
+  user_id bigint not null,
+  type varchar(255) not null,
+  content longblob not null,
+  primary key (person_id)
+);
+
+insert into person_avatar (person_id, user_id, type, content)
+select person.person_id, user.user_id,
+  substring(person.image_base64, 6, locate(';base64,', person.image_base64) - 6),
+  from_base64(substring(person.image_base64, locate(';base64,', person.image_base64) + 8))
+from person inner join user on user.person_id = person.person_id
+where person.image_type = 'BASE64' and person.image_base64 like 'data:image/%;base64,%';
+
+insert ignore into image_content (content_key, content)
+select sha2(content, 256), content from person_avatar;
+
+insert into image (content_key, type, size, is_used, user_id)
+select sha2(content, 256), type, length(content), 1, user_id from person_avatar;
+
+update person inner join person_avatar on person_avatar.person_id = person.person_id
+set person.avatar_id = (select max(image.image_id) from image
+                        where image.user_id = person_avatar.user_id
+                          and image.content_key = sha2(person_avatar.content, 256)),
+  person.image = null,
+  person.image_type = 'LINK';
+
+update person set image_type = 'NONE' where image_type = 'BASE64';
+
+insert into image_content_reference (content_key, ref_count)
+select sha2(content, 256), count(*) from person_avatar group by sha2(content, 256)
+on duplicate key update ref_count = ref_count + values(ref_count);
+
+insert into image_quota (user_id, bytes_used)
+select user_id, length(content) from person_avatar
+on duplicate key update bytes_used = bytes_used + values(bytes_used);
+
+drop temporary table person_avatar;
+
+ALTER TABLE person DROP COLUMN image_base64;
+alter table person add constraint person_avatar_fk foreign key (avatar_id) references image (image_id);
@@ -0,0 +1,6 @@
+ALTER TABLE image ADD created_date datetime not null default current_timestamp;
+ALTER TABLE image_content_reference ADD updated_date datetime not null default current_timestamp
+  on update current_timestamp;
+
+create index image_is_used_index on image (is_used, image_id);
+create index card_image_content_key_index on card_image (content_key);
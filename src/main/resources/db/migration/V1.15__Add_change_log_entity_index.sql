@@ -0,0 +1 @@
+create index change_log_entity_index on change_log (entity_type, entity_id, change_id);
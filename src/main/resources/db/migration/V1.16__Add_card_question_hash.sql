@@ -0,0 +1,6 @@
+alter table card add column question_hash char(64);
+
+-- Java hashes the UTF-8 bytes of the question, so the column is converted whatever its character set is
+update card set question_hash = sha2(convert(question using utf8mb4), 256);
+
+create index card_question_hash_index on card (question_hash);
@@ -0,0 +1,21 @@
+create table card_job (
+  job_id bigint not null auto_increment,
+  user_id bigint not null,
+  deck_id bigint not null,
+  type varchar(20) not null,
+  status varchar(20) not null,
+  export_format varchar(20),
+  gzip bit not null default 0,
+  file_path varchar(1024),
+  processed_cards integer not null default 0,
+  imported_cards integer not null default 0,
+  failed_cards integer not null default 0,
+  cancel_requested bit not null default 0,
+  error_message varchar(1024),
+  created_date datetime not null default current_timestamp,
+  updated_date datetime not null default current_timestamp on update current_timestamp,
+  primary key (job_id)
+);
+
+create index card_job_user_index on card_job (user_id);
+create index card_job_status_index on card_job (status, updated_date);
@@ -0,0 +1,14 @@
+ALTER TABLE change_log ADD sync_version BIGINT;
+UPDATE change_log SET sync_version = change_id;
+
+drop index change_log_user_change_index on change_log;
+drop index change_log_deck_change_index on change_log;
+create index change_log_sync_version_index on change_log (sync_version);
+create index change_log_user_sync_version_index on change_log (user_id, sync_version);
+create index change_log_deck_sync_version_index on change_log (deck_id, sync_version);
+
+create table change_log_sequence (
+  last_sync_version bigint not null
+);
+
+insert into change_log_sequence (last_sync_version) select coalesce(max(change_id), 0) from change_log;
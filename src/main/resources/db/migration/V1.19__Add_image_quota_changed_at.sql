@@ -0,0 +1 @@
+alter table image_quota add changed_at datetime;
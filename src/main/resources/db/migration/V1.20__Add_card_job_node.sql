@@ -0,0 +1,3 @@
+ALTER TABLE card_job ADD node_id varchar(255);
+
+create index card_job_node_status_index on card_job (node_id, status);
@@ -0,0 +1,3 @@
+ALTER TABLE user_card_queue ADD ease_factor DOUBLE;
+ALTER TABLE user_card_queue ADD interval_days INT;
+ALTER TABLE user_card_queue ADD repetitions INT;
@@ -0,0 +1,2 @@
+create index user_card_queue_user_deck_date_index on user_card_queue (user_id, deck_id, date_to_repeat);
+create index user_card_queue_user_card_index on user_card_queue (user_id, card_id);
@@ -0,0 +1,28 @@
+ALTER TABLE card ADD version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE deck ADD version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE user_card_queue ADD version BIGINT NOT NULL DEFAULT 0;
+
+create index user_card_queue_user_version_index on user_card_queue (user_id, version);
+
+create table change_log (
+  change_id bigint not null auto_increment,
+  entity_type varchar(20) not null,
+  entity_id bigint,
+  deck_id bigint,
+  user_id bigint,
+  operation varchar(10) not null,
+  changed_at datetime not null,
+  primary key (change_id)
+);
+
+create index change_log_user_change_index on change_log (user_id, change_id);
+create index change_log_deck_change_index on change_log (deck_id, change_id);
+
+create table sync_review (
+  sync_review_id bigint not null auto_increment,
+  user_id bigint not null,
+  review_id varchar(64) not null,
+  result varchar(10) not null,
+  primary key (sync_review_id),
+  unique key sync_review_user_review_index (user_id, review_id)
+);
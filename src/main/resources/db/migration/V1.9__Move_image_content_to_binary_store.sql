@@ -0,0 +1,22 @@
+create table image_content (
+  content_key char(64) not null,
+  content longblob not null,
+  primary key (content_key)
+);
+
+ALTER TABLE image ADD content_key char(64);
+
+insert ignore into image_content (content_key, content)
+select sha2(from_base64(image_base64), 256), from_base64(image_base64) from image
+where from_base64(image_base64) is not null;
+
+update image set content_key = sha2(from_base64(image_base64), 256) where image_base64 is not null;
+
+-- images which are not valid base64 have no content to move to the content store, they are kept
+-- in image_unreadable for inspection and recovery rather than dropped with the base64 column
+create table image_unreadable as
+select image_id, type, image_base64 from image where image_base64 is not null and content_key is null;
+
+create index image_content_key_index on image (content_key);
+
+ALTER TABLE image DROP COLUMN image_base64;
@@ -78,7 +78,6 @@ public class CourseCommentControllerTest {
                 .andExpect(content().json("{" +
                         "\"parentCommentId\": null," +
                         "\"image\": null," +
-                        "\"imageBase64\": null," +
                         "\"personLastName\": \"Admin\"," +
                         "\"personFirstName\": \"Admin\"," +
                         "\"commentId\": 3," +
@@ -100,7 +99,6 @@ public class CourseCommentControllerTest {
                         "{" +
                         "\"parentCommentId\": null," +
                         "\"image\": null," +
-                        "\"imageBase64\": null," +
                         "\"personLastName\": \"Admin\"," +
                         "\"personFirstName\": \"Admin\"," +
                         "\"commentId\": 3," +
@@ -111,7 +109,6 @@ public class CourseCommentControllerTest {
                         "{" +
                         "\"parentCommentId\": null," +
                         "\"image\": null," +
-                        "\"imageBase64\": null," +
                         "\"personLastName\": \"Kruk\"," +
                         "\"personFirstName\": \"Petro\"," +
                         "\"commentId\": 1," +
@@ -122,7 +119,6 @@ public class CourseCommentControllerTest {
                         "{" +
                         "\"parentCommentId\": null," +
                         "\"image\": null," +
-                        "\"imageBase64\": null," +
                         "\"personLastName\": \"Shyba\"," +
                         "\"personFirstName\": \"Stepan\"," +
                         "\"commentId\": 2," +
@@ -0,0 +1,132 @@
+package com.softserve.academy.spaced.repetition.controller;
+
+import com.softserve.academy.spaced.repetition.controller.handler.ExceptionHandlerController;
+import com.softserve.academy.spaced.repetition.domain.Image;
+import com.softserve.academy.spaced.repetition.domain.enums.ImageVariantSize;
+import com.softserve.academy.spaced.repetition.repository.ImageRepository;
+import com.softserve.academy.spaced.repetition.service.ImageService;
+import com.softserve.academy.spaced.repetition.util.DomainFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ImageControllerTest {
+
+    private static final long IMAGE_ID = 1L;
+    private static final String IMAGE_CONTENT_KEY = "contentKey";
+    private static final String IMAGE_ETAG = "\"" + IMAGE_CONTENT_KEY + "\"";
+    private static final byte[] IMAGE_CONTENT = {1, 2, 3};
+    private MockMvc mockMvc;
+
+    @InjectMocks
+    private ImageController imageController;
+
+    @Mock
+    private ImageService imageService;
+    @Mock
+    private ImageRepository imageRepository;
+    @InjectMocks
+    private ExceptionHandlerController exceptionHandlerController;
+    @Mock
+    private MessageSource messageSource;
+    private Image image;
+
+    @Before
+    public void setUp() throws Exception {
+        final String MESSAGE_SOURCE_MESSAGE = "message";
+
+        mockMvc = MockMvcBuilders.standaloneSetup(imageController)
+                .setControllerAdvice(exceptionHandlerController)
+                .build();
+        image = DomainFactory.createImage(IMAGE_ID, IMAGE_CONTENT_KEY, "image/png", null,
+                (long) IMAGE_CONTENT.length, false);
+
+        when(messageSource.getMessage(any(String.class), any(Object[].class), any(Locale.class)))
+                .thenReturn(MESSAGE_SOURCE_MESSAGE);
+        when(imageService.getImage(IMAGE_ID)).thenReturn(image);
+        doAnswer(invocation -> {
+            ((OutputStream) invocation.getArguments()[1]).write(IMAGE_CONTENT);
+            return null;
+        }).when(imageService).copyImageContent(eq(image), any(OutputStream.class));
+    }
+
+    @Test
+    public void testGetImageById() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/service/image/{id}", IMAGE_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, IMAGE_ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public"))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(IMAGE_CONTENT));
+    }
+
+    @Test
+    public void testGetImageByIdWithMatchingETag() throws Exception {
+        mockMvc.perform(get("/api/service/image/{id}", IMAGE_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, IMAGE_ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, IMAGE_ETAG));
+
+        verify(imageService, never()).copyImageContent(eq(image), any(OutputStream.class));
+    }
+
+    @Test
+    public void testGetImageByIdThatNotFound() throws Exception {
+        when(imageService.getImage(IMAGE_ID)).thenThrow(new NoSuchElementException());
+
+        mockMvc.perform(get("/api/service/image/{id}", IMAGE_ID))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testGetImageByIdWithSize() throws Exception {
+        final String VARIANT_CONTENT_KEY = "variantContentKey";
+        Image variantImage = DomainFactory.createImage(IMAGE_ID, VARIANT_CONTENT_KEY, "image/jpeg", null,
+                (long) IMAGE_CONTENT.length, false);
+        when(imageService.getImageVariant(IMAGE_ID, ImageVariantSize.SMALL)).thenReturn(variantImage);
+
+        mockMvc.perform(get("/api/service/image/{id}", IMAGE_ID).param("size", "SMALL")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + VARIANT_CONTENT_KEY + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public"));
+
+        verify(imageService, never()).getImage(IMAGE_ID);
+    }
+
+    @Test
+    public void testGetImageByIdWithSizeThatIsNotGeneratedYet() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/service/image/{id}", IMAGE_ID).param("size", "SMALL"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, IMAGE_ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+                .andExpect(content().bytes(IMAGE_CONTENT));
+    }
+}
@@ -1,5 +1,8 @@
 package com.softserve.academy.spaced.repetition.controller;
 
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardAnswerDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardAnswerResultDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.DeckCardsCountDTO;
 import com.softserve.academy.spaced.repetition.controller.handler.ExceptionHandlerController;
 import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
@@ -15,9 +18,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.Collections;
 import java.util.Locale;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -89,6 +94,42 @@ public class UserCardQueueControllerTest {
         verify(messageSource).getMessage(any(String.class), any(Object[].class), any(Locale.class));
     }
 
+    @Test
+    public void testUpdateUserCardQueues() throws Exception {
+        when(userCardQueueService.updateUserCardQueues(eq(DECK_ID), anyListOf(CardAnswerDTO.class)))
+                .thenReturn(Collections.singletonList(new CardAnswerResultDTO(CARD_ID, true, null, null)));
+        mockMvc.perform(put("/api/decks/{deckId}/cards/queue", DECK_ID)
+                .content("[{\"cardId\":1,\"status\":\"GOOD\"}]")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"cardId\":1,\"updated\":true}]"));
+
+        verify(userCardQueueService).updateUserCardQueues(eq(DECK_ID), anyListOf(CardAnswerDTO.class));
+    }
+
+    @Test
+    public void testCountCardsInFolderDecks() throws Exception {
+        when(userCardQueueService.countCardsInFolderDecks())
+                .thenReturn(Collections.singletonList(new DeckCardsCountDTO(DECK_ID, 1, 2, 3)));
+        mockMvc.perform(get("/api/users/folders/decks/cards/count")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"deckId\":1,\"newCards\":1,\"cardsThatNeedRepeating\":2," +
+                        "\"postponedCards\":3}]"));
+
+        verify(userCardQueueService).countCardsInFolderDecks();
+    }
+
+    @Test
+    public void testRescheduleUserCardQueue() throws Exception {
+        mockMvc.perform(put("/api/decks/{deckId}/cards/queue/reschedule", DECK_ID)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(userCardQueueService).rescheduleUserCardQueue(DECK_ID);
+    }
+
     @Test
     public void testCountCardsThatNeedRepeatingWhenThereAreNone() throws Exception {
         mockMvc.perform(get("/api/decks/{deckId}/cards-that-need-repeating/count", DECK_ID)
@@ -7,6 +7,7 @@ import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.userProf
 import com.softserve.academy.spaced.repetition.domain.Account;
 import com.softserve.academy.spaced.repetition.domain.Person;
 import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.domain.enums.ImageType;
 import com.softserve.academy.spaced.repetition.service.UserProfileService;
 import com.softserve.academy.spaced.repetition.util.DomainFactory;
 import com.softserve.academy.spaced.repetition.utils.exceptions.ImageRepositorySizeQuotaExceededException;
@@ -25,15 +26,18 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Locale;
 
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(MockitoJUnitRunner.class)
 public class UserProfileControllerTest {
 
     private final String IMAGE_BASE64 = "imageBase64";
+    private final Long AVATAR_ID = 1L;
     private final String FIRST_NAME = "firstName";
     private final String LAST_NAME = "lastName";
     private final String CURRENT_PASSWORD = "currentPassword";
@@ -58,7 +62,8 @@ public class UserProfileControllerTest {
         final Long ACCOUNT_ID = 1L;
         final String MESSAGE_SOURCE_MESSAGE = "message";
 
-        final Person person = DomainFactory.createPerson(PERSON_ID, FIRST_NAME, LAST_NAME, null, null, IMAGE_BASE64);
+        final Person person = DomainFactory.createPerson(PERSON_ID, FIRST_NAME, LAST_NAME, ImageType.LINK, null,
+                AVATAR_ID);
         final Account account = DomainFactory.createAccount(ACCOUNT_ID, null, null, null, null, false, null, null, null,
                 null, null);
         final User user = DomainFactory.createUser(USER_ID, account, person, null, null);
@@ -157,7 +162,9 @@ public class UserProfileControllerTest {
                 .content(UPLOAD_IMAGE_CONTENT)
                 .accept(MediaType.APPLICATION_JSON)
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imageType", is(ImageType.LINK.name())))
+                .andExpect(jsonPath("$.image", is("http://localhost/api/service/image/" + AVATAR_ID)));
         verify(userProfileService).uploadProfileImage(any(JsonImageDTO.class));
     }
 
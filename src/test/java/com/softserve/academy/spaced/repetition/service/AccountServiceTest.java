@@ -10,6 +10,7 @@ import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
 import com.softserve.academy.spaced.repetition.repository.AccountRepository;
 import com.softserve.academy.spaced.repetition.repository.RememberingLevelRepository;
 import com.softserve.academy.spaced.repetition.service.impl.AccountServiceImpl;
+import com.softserve.academy.spaced.repetition.service.rememberingLevel.RememberingLevelLadderCache;
 import com.softserve.academy.spaced.repetition.util.DomainFactory;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import com.softserve.academy.spaced.repetition.utils.validators.NumberOfPostponedDaysValidator;
@@ -22,6 +23,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -49,6 +51,10 @@ public class AccountServiceTest {
     private MailService mailService;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private RememberingLevelLadderCache rememberingLevelLadderCache;
+    @Mock
+    private UserCardQueueService userCardQueueService;
     @InjectMocks
     private AccountServiceImpl accountService;
     private Account account;
@@ -56,7 +62,7 @@ public class AccountServiceTest {
 
     @Before
     public void setUp() throws Exception {
-        Person person = DomainFactory.createPerson(1L, "", "", null, "", "");
+        Person person = DomainFactory.createPerson(1L, "", "", null, "", null);
         account = DomainFactory.createAccount(ACCOUNT_ID, PASSWORD, EMAIL, AuthenticationType.LOCAL, AccountStatus.ACTIVE
                 , false, new Date(), null, LearningRegime.BAD_NORMAL_GOOD_STATUS_DEPENDING, CARDS_NUMBER
                 , null);
@@ -69,10 +75,51 @@ public class AccountServiceTest {
     @Test
     public void testUpdateAccount() throws NotAuthorisedUserException {
         accountService.updateAccountDetails(account);
+        verify(rememberingLevelLadderCache).evict(ACCOUNT_ID);
+        verify(accountRepository).save(account);
+        verify(userCardQueueService, never()).rescheduleAllUserCardQueues();
+    }
+
+    @Test
+    public void testUpdateAccountWithNewLearningRegime() throws NotAuthorisedUserException {
+        Account accountDetails = DomainFactory.createAccount(ACCOUNT_ID, PASSWORD, EMAIL, AuthenticationType.LOCAL,
+                AccountStatus.ACTIVE, false, new Date(), null, LearningRegime.CARDS_POSTPONING_USING_EASE_FACTOR,
+                CARDS_NUMBER, null);
+
+        accountService.updateAccountDetails(accountDetails);
         verify(accountRepository).save(account);
+        verify(userCardQueueService).rescheduleAllUserCardQueues();
+        assertEquals(LearningRegime.CARDS_POSTPONING_USING_EASE_FACTOR, account.getLearningRegime());
     }
 
 
+    @Test
+    public void testUpdateAccountWithNewRememberingLevelDays() throws NotAuthorisedUserException {
+        account.setLearningRegime(LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION);
+        account.setRememberingLevels(Collections.singletonList(
+                DomainFactory.createRememberingLevel(1L, 1, "Teapot", 1, account)));
+        Account accountDetails = DomainFactory.createAccount(ACCOUNT_ID, PASSWORD, EMAIL, AuthenticationType.LOCAL,
+                AccountStatus.ACTIVE, false, new Date(), null, LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION,
+                CARDS_NUMBER, Collections.singletonList(DomainFactory.createRememberingLevel(1L, 1, "Teapot", 2,
+                        account)));
+
+        accountService.updateAccountDetails(accountDetails);
+        verify(userCardQueueService).rescheduleAllUserCardQueues();
+    }
+
+    @Test
+    public void testUpdateAccountWithNewRememberingLevelDaysInOtherRegime() throws NotAuthorisedUserException {
+        account.setRememberingLevels(Collections.singletonList(
+                DomainFactory.createRememberingLevel(1L, 1, "Teapot", 1, account)));
+        Account accountDetails = DomainFactory.createAccount(ACCOUNT_ID, PASSWORD, EMAIL, AuthenticationType.LOCAL,
+                AccountStatus.ACTIVE, false, new Date(), null, LearningRegime.BAD_NORMAL_GOOD_STATUS_DEPENDING,
+                CARDS_NUMBER, Collections.singletonList(DomainFactory.createRememberingLevel(1L, 1, "Teapot", 2,
+                        account)));
+
+        accountService.updateAccountDetails(accountDetails);
+        verify(userCardQueueService, never()).rescheduleAllUserCardQueues();
+    }
+
     @Test(expected = NotAuthorisedUserException.class)
     public void testUpdateAccountByNotAuthorisedUser() throws NotAuthorisedUserException {
         when(userService.getAuthorizedUser()).thenThrow(new NotAuthorisedUserException());
@@ -0,0 +1,95 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileImageDTO;
+import com.softserve.academy.spaced.repetition.service.cardLoaders.DbConnector;
+import com.softserve.academy.spaced.repetition.service.cardLoaders.impl.AnkiCardExtractor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AnkiCardExtractorTest {
+
+    private Path collection;
+    @Mock
+    private DbConnector connector;
+    @InjectMocks
+    private AnkiCardExtractor ankiCardExtractor;
+
+    @Before
+    public void setUp() throws Exception {
+        collection = Files.createTempFile("anki", ".anki2");
+        String url = "jdbc:sqlite:" + collection;
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE notes (id INTEGER PRIMARY KEY, sfld TEXT, flds TEXT)");
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO notes (id, sfld, flds) VALUES (?, ?, ?)")) {
+                insertNote(insert, 2, "What is <b>JVM</b>?\u001fJava <i>Virtual</i> Machine\u001fruntime");
+                insertNote(insert, 1, "What is JDK?\u001fJava Development Kit");
+                insertNote(insert, 3, "Question without answer");
+                insertNote(insert, 4, "<img src=\"cat&amp;dog.png\">\u001fA cat <img src='missing.png'>");
+                insert.executeBatch();
+            }
+        }
+        when(connector.getConnection(collection.toString())).thenAnswer(invocation -> DriverManager.getConnection(url));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(collection);
+    }
+
+    @Test
+    public void testExtractData() throws Exception {
+        List<CardFileDTO> cards = new ArrayList<>();
+
+        ankiCardExtractor.extractData(collection.toString(), cards::add);
+        assertEquals(3, cards.size());
+        assertEquals("What is JDK?", cards.get(0).getQuestion());
+        assertEquals("Java Development Kit", cards.get(0).getAnswer());
+        assertEquals("What is JVM?", cards.get(1).getQuestion());
+        assertEquals("Java Virtual Machine runtime", cards.get(1).getAnswer());
+        assertNull(cards.get(1).getImages());
+    }
+
+    @Test
+    public void testExtractDataWithImages() throws Exception {
+        CardFileImageDTO image = new CardFileImageDTO(new ByteArrayResource(new byte[]{1}), "image/png", 1L);
+        List<CardFileDTO> cards = new ArrayList<>();
+
+        ankiCardExtractor.extractData(collection.toString(),
+                fileName -> fileName.equals("cat&dog.png") ? image : null, cards::add);
+        CardFileDTO card = cards.get(2);
+        assertEquals("[image: cat&dog.png]", card.getQuestion());
+        assertEquals("A cat", card.getAnswer());
+        assertEquals(Collections.singletonList(image), card.getImages());
+    }
+
+    private void insertNote(PreparedStatement insert, long id, String fields) throws Exception {
+        insert.setLong(1, id);
+        insert.setString(2, fields.split("\u001f")[0]);
+        insert.setString(3, fields);
+        insert.addBatch();
+    }
+}
@@ -0,0 +1,122 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileImageDTO;
+import com.softserve.academy.spaced.repetition.service.cardLoaders.impl.AnkiPackage;
+import com.softserve.academy.spaced.repetition.service.cardLoaders.impl.AnkiPackageReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+public class AnkiPackageReaderTest {
+
+    private final byte[] IMAGE_CONTENT = {1, 2, 3};
+    private Path packageFile;
+    private AnkiPackageReader ankiPackageReader = new AnkiPackageReader();
+
+    @Before
+    public void setUp() throws Exception {
+        packageFile = Files.createTempFile("anki", ".apkg");
+        ReflectionTestUtils.setField(ankiPackageReader, "maxUnpackedBytes", 1024L);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(packageFile);
+    }
+
+    @Test
+    public void testUnpack() throws Exception {
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(packageFile))) {
+            addEntry(zip, "collection.anki2", "legacy collection".getBytes(StandardCharsets.UTF_8));
+            addEntry(zip, "collection.anki21", "collection".getBytes(StandardCharsets.UTF_8));
+            addEntry(zip, "0", IMAGE_CONTENT);
+            addEntry(zip, "1", new byte[]{4, 5});
+            addEntry(zip, "../2", new byte[]{6});
+            addEntry(zip, "media", "{\"0\": \"cat.png\", \"1\": \"meow.mp3\", \"2\": \"dog.png\"}"
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertTrue(ankiPackageReader.isPackage(packageFile));
+        Path collection;
+        try (AnkiPackage ankiPackage = ankiPackageReader.unpack(packageFile)) {
+            collection = ankiPackage.getCollection();
+            assertEquals("collection", new String(Files.readAllBytes(collection), StandardCharsets.UTF_8));
+            CardFileImageDTO image = ankiPackage.getImage("cat.png");
+            assertEquals("image/png", image.getType());
+            assertEquals(Long.valueOf(IMAGE_CONTENT.length), image.getSize());
+            try (InputStream in = image.getContent().getInputStream()) {
+                assertArrayEquals(IMAGE_CONTENT, StreamUtils.copyToByteArray(in));
+            }
+            assertNull(ankiPackage.getImage("meow.mp3"));
+            assertNull(ankiPackage.getImage("dog.png"));
+        }
+        assertFalse(Files.exists(collection.getParent()));
+    }
+
+    @Test
+    public void testUnpackSkipsMediaWhichAreNotImagesAfterMediaMap() throws Exception {
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(packageFile))) {
+            addEntry(zip, "collection.anki2", "collection".getBytes(StandardCharsets.UTF_8));
+            addEntry(zip, "media", "{\"0\": \"meow.mp3\", \"1\": \"cat.png\"}".getBytes(StandardCharsets.UTF_8));
+            addEntry(zip, "0", new byte[2048]);
+            addEntry(zip, "1", IMAGE_CONTENT);
+        }
+
+        try (AnkiPackage ankiPackage = ankiPackageReader.unpack(packageFile)) {
+            assertNotNull(ankiPackage.getImage("cat.png"));
+            assertNull(ankiPackage.getImage("meow.mp3"));
+            assertFalse(Files.exists(ankiPackage.getCollection().resolveSibling("0")));
+        }
+    }
+
+    @Test
+    public void testUnpackTooLargePackage() throws Exception {
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(packageFile))) {
+            addEntry(zip, "collection.anki2", "collection".getBytes(StandardCharsets.UTF_8));
+            addEntry(zip, "0", new byte[600]);
+            addEntry(zip, "1", new byte[600]);
+        }
+
+        try {
+            ankiPackageReader.unpack(packageFile);
+            fail();
+        } catch (ZipException e) {
+            assertTrue(e.getMessage().contains("1024"));
+        }
+    }
+
+    @Test(expected = ZipException.class)
+    public void testUnpackWithoutCollection() throws Exception {
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(packageFile))) {
+            addEntry(zip, "media", "{}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        ankiPackageReader.unpack(packageFile);
+    }
+
+    @Test
+    public void testIsPackageOfCollection() throws Exception {
+        Files.write(packageFile, "SQLite format 3\u0000".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(ankiPackageReader.isPackage(packageFile));
+    }
+
+    private void addEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+}
@@ -0,0 +1,105 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileImageDTO;
+import com.softserve.academy.spaced.repetition.domain.Card;
+import com.softserve.academy.spaced.repetition.service.cardImport.CardBatchWriter;
+import com.softserve.academy.spaced.repetition.service.search.SearchIndex;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.contains;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CardBatchWriterTest {
+
+    private final Long DECK_ID = 1L;
+    private final Long USER_ID = 2L;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ChangeLogService changeLogService;
+    @Mock
+    private ImageService imageService;
+    @Mock
+    private SearchIndex searchIndex;
+    @InjectMocks
+    private CardBatchWriter cardBatchWriter;
+
+    @Test
+    public void testInsertCards() throws Exception {
+        ResultSet generatedKeys = mock(ResultSet.class);
+        when(generatedKeys.next()).thenReturn(true, true, false);
+        when(generatedKeys.getLong(1)).thenReturn(10L, 11L);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.getGeneratedKeys()).thenReturn(generatedKeys);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(statement);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation ->
+                ((ConnectionCallback<?>) invocation.getArguments()[0]).doInConnection(connection));
+
+        int insertedCards = cardBatchWriter.insertCards(Arrays.asList(new CardFileDTO("t1", "q1", "a1"),
+                new CardFileDTO("t2", "q2", "a2")), DECK_ID, USER_ID);
+        verify(statement, times(2)).addBatch();
+        verify(statement).executeBatch();
+        verify(statement).setString(3, Card.hashQuestion("q1"));
+        verify(statement, times(2)).setLong(5, DECK_ID);
+        verify(statement, times(2)).setLong(6, USER_ID);
+        verify(changeLogService).recordCardsSaved(Arrays.asList(10L, 11L));
+        verify(searchIndex).indexCards(Arrays.asList(10L, 11L));
+        assertEquals(2, insertedCards);
+    }
+
+    @Test
+    public void testInsertCardsWithImages() throws Exception {
+        ResultSet generatedKeys = mock(ResultSet.class);
+        when(generatedKeys.next()).thenReturn(true, true, false);
+        when(generatedKeys.getLong(1)).thenReturn(10L, 11L);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.getGeneratedKeys()).thenReturn(generatedKeys);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(statement);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation ->
+                ((ConnectionCallback<?>) invocation.getArguments()[0]).doInConnection(connection));
+        InputStreamSource content = new ByteArrayResource(new byte[]{1, 2});
+        when(imageService.saveImageContent(content)).thenReturn("contentKey");
+        CardFileDTO cardWithImage = new CardFileDTO(null, "q2", "a2");
+        cardWithImage.setImages(Collections.singletonList(new CardFileImageDTO(content, "image/png", 2L)));
+
+        cardBatchWriter.insertCards(Arrays.asList(new CardFileDTO(null, "q1", "a1"), cardWithImage), DECK_ID,
+                USER_ID);
+        ArgumentCaptor<List> cardImages = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO card_image"), cardImages.capture());
+        assertEquals(1, cardImages.getValue().size());
+        assertArrayEquals(new Object[]{"contentKey", "image/png", 2L, 11L}, (Object[]) cardImages.getValue().get(0));
+    }
+
+    @Test
+    public void testInsertNoCards() {
+        int insertedCards = cardBatchWriter.insertCards(Collections.emptyList(), DECK_ID, USER_ID);
+        verifyZeroInteractions(jdbcTemplate, changeLogService, imageService, searchIndex);
+        assertEquals(0, insertedCards);
+    }
+}
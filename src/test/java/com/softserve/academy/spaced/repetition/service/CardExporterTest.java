@@ -0,0 +1,81 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import com.softserve.academy.spaced.repetition.domain.enums.CardExportFormat;
+import com.softserve.academy.spaced.repetition.service.cardExport.CardExporter;
+import com.softserve.academy.spaced.repetition.service.cardImport.YamlCardReader;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CardExporterTest {
+
+    private final Long DECK_ID = 1L;
+    private final String TITLE = "Card One";
+    private final String QUESTION = "What's the difference between\n'==' and equals()?";
+    private final String ANSWER = "Reference: equality";
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @InjectMocks
+    private CardExporter cardExporter;
+
+    @Before
+    public void setUp() throws Exception {
+        doAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("title")).thenReturn(TITLE);
+            when(rs.getString("question")).thenReturn(QUESTION);
+            when(rs.getString("answer")).thenReturn(ANSWER);
+            RowCallbackHandler handler = (RowCallbackHandler) invocation.getArguments()[1];
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    public void testExportCardsToYamlCanBeImported() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        cardExporter.exportCards(DECK_ID, CardExportFormat.YAML, false, outputStream);
+        YamlCardReader reader = new YamlCardReader(new StringReader(outputStream.toString("UTF-8")));
+        for (int i = 0; i < 2; i++) {
+            CardFileDTO card = reader.readCard();
+            assertEquals(TITLE, card.getTitle());
+            assertEquals(QUESTION, card.getQuestion());
+            assertEquals(ANSWER, card.getAnswer());
+        }
+        assertNull(reader.readCard());
+    }
+
+    @Test
+    public void testExportCardsToGzippedJsonLines() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        cardExporter.exportCards(DECK_ID, CardExportFormat.JSON_LINES, true, outputStream);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(
+                new ByteArrayInputStream(outputStream.toByteArray())), StandardCharsets.UTF_8));
+        String expectedLine = "{\"title\":\"Card One\",\"question\":\"What's the difference between\\n'==' and "
+                + "equals()?\",\"answer\":\"Reference: equality\"}";
+        assertEquals(expectedLine, reader.readLine());
+        assertEquals(expectedLine, reader.readLine());
+        assertNull(reader.readLine());
+    }
+}
@@ -2,29 +2,47 @@ package com.softserve.academy.spaced.repetition.service;
 
 import com.softserve.academy.spaced.repetition.domain.Card;
 import com.softserve.academy.spaced.repetition.domain.CardImage;
+import com.softserve.academy.spaced.repetition.domain.Image;
 import com.softserve.academy.spaced.repetition.repository.CardImageRepository;
 import com.softserve.academy.spaced.repetition.service.impl.CardImageServiceImpl;
 import com.softserve.academy.spaced.repetition.util.DomainFactory;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.MessageSource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 @Transactional
 public class CardImageServiceTest {
 
+    private final Long CARD_IMAGE_ID = 1L;
+    private final String CONTENT_KEY = "contentKey";
+    private final byte[] CONTENT = {1, 2, 3};
     @Mock
     private CardImageRepository cardImageRepository;
+    @Mock
+    private ImageService imageService;
+    @Mock
+    private MessageSource messageSource;
     @InjectMocks
     private CardImageServiceImpl cardImageService;
     private Card card;
@@ -35,21 +53,69 @@ public class CardImageServiceTest {
     public void setUp() {
         final Long CARD_ID = 1L;;
         imageList = new ArrayList<>();
-        imageList.add("imageInBase64");
+        imageList.add("data:image/png;base64,imageInBase64");
         imageList.add("imageInBase64");
         card = DomainFactory.createCard(CARD_ID, "Card One",
                 "What are the supported platforms by Java Programming Language?",
                 "Java runs on a variety of platforms, such as Windows, Mac OS, and the\n" +
                         "    various versions of UNIX/Linux like HP-Unix, Sun Solaris, Redhat Linux, Ubuntu,\n" +
                         "    CentOS, etc.", null);
-        cardImage = DomainFactory.createCardImage(1L, "very long string", card);
+        cardImage = DomainFactory.createCardImage(CARD_IMAGE_ID, CONTENT_KEY, "image/png", (long) CONTENT.length,
+                card);
+
+        when(imageService.decodeFromBase64(anyString())).thenReturn(CONTENT);
+        when(imageService.saveImageContent(any(InputStreamSource.class))).thenReturn(CONTENT_KEY);
+        when(cardImageRepository.findOne(CARD_IMAGE_ID)).thenReturn(cardImage);
+        when(messageSource.getMessage(any(String.class), any(Object[].class), any(Locale.class)))
+                .thenReturn("message");
     }
 
     @Test
     public void testSaveImages() {
-        when(cardImageRepository.save(cardImage)).thenReturn(cardImage);
+        ArgumentCaptor<CardImage> cardImageCaptor = ArgumentCaptor.forClass(CardImage.class);
 
         cardImageService.addCardImage(imageList, card);
-        verify(cardImageRepository, times(2)).save(any(CardImage.class));
+        verify(imageService).decodeFromBase64("imageInBase64");
+        verify(imageService, times(2)).saveImageContent(any(InputStreamSource.class));
+        verify(cardImageRepository, times(2)).save(cardImageCaptor.capture());
+        assertEquals("image/png", cardImageCaptor.getAllValues().get(0).getType());
+        assertEquals("image/jpeg", cardImageCaptor.getAllValues().get(1).getType());
+        assertEquals(CONTENT_KEY, cardImageCaptor.getAllValues().get(0).getContentKey());
+        assertEquals(Long.valueOf(CONTENT.length), cardImageCaptor.getAllValues().get(0).getSize());
+    }
+
+    @Test
+    public void testGetCardImage() {
+        assertEquals(cardImage, cardImageService.getCardImage(CARD_IMAGE_ID));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testGetCardImageThatNotFound() {
+        when(cardImageRepository.findOne(CARD_IMAGE_ID)).thenReturn(null);
+
+        cardImageService.getCardImage(CARD_IMAGE_ID);
+    }
+
+    @Test
+    public void testCopyCardImageContent() throws IOException {
+        final OutputStream OUTPUT_STREAM = mock(OutputStream.class);
+        ArgumentCaptor<Image> imageCaptor = ArgumentCaptor.forClass(Image.class);
+
+        cardImageService.copyCardImageContent(cardImage, OUTPUT_STREAM);
+        verify(imageService).copyImageContent(imageCaptor.capture(), eq(OUTPUT_STREAM));
+        assertEquals(CONTENT_KEY, imageCaptor.getValue().getContentKey());
+    }
+
+    @Test
+    public void testDeleteById() {
+        cardImageService.deleteById(CARD_IMAGE_ID);
+        verify(cardImageRepository).delete(CARD_IMAGE_ID);
+        verify(imageService).releaseImageContent(CONTENT_KEY);
+    }
+
+    @Test
+    public void testReleaseCardImages() {
+        cardImageService.releaseCardImages(Collections.singletonList(cardImage));
+        verify(imageService).releaseImageContent(CONTENT_KEY);
     }
 }
@@ -0,0 +1,103 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardImportResultDTO;
+import com.softserve.academy.spaced.repetition.service.cardImport.CardBatchWriter;
+import com.softserve.academy.spaced.repetition.service.cardImport.CardImporter;
+import com.softserve.academy.spaced.repetition.utils.validators.ValidationConstants;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.MessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CardImporterTest {
+
+    private final Long DECK_ID = 1L;
+    private final Long USER_ID = 2L;
+    private final String ERROR_MESSAGE = "error";
+    @Mock
+    private CardBatchWriter cardBatchWriter;
+    @Mock
+    private MessageSource messageSource;
+    @InjectMocks
+    private CardImporter cardImporter;
+
+    @Before
+    public void setUp() throws Exception {
+        ReflectionTestUtils.setField(cardImporter, "batchSize", 2);
+        when(messageSource.getMessage(anyString(), any(Object[].class), any())).thenReturn(ERROR_MESSAGE);
+        when(cardBatchWriter.insertCards(anyList(), eq(DECK_ID), eq(USER_ID))).thenAnswer(invocation ->
+                ((List<?>) invocation.getArguments()[0]).size());
+    }
+
+    @Test
+    public void testImportCardsInBatches() {
+        CardImportResultDTO result = cardImporter.importCards(new StringReader("cards:\n"
+                + "- {title: t1, question: q1, answer: a1}\n"
+                + "- {title: t2, question: q2, answer: a2}\n"
+                + "- {title: t3, question: q3, answer: a3}\n"), DECK_ID, USER_ID);
+        verify(cardBatchWriter, times(2)).insertCards(anyList(), eq(DECK_ID), eq(USER_ID));
+        assertEquals(3, result.getImportedCards());
+        assertEquals(0, result.getFailedCards());
+    }
+
+    @Test
+    public void testImportCardsReportsMalformedCards() {
+        CardImportResultDTO result = cardImporter.importCards(new StringReader("cards:\n"
+                + "- not a card\n"
+                + "- title: t2\n"
+                + "  question: [q2]\n"
+                + "  answer: a2\n"
+                + "- {title: t3, question: q3}\n"
+                + "- {title: t4, question: q4, answer: a4}\n"), DECK_ID, USER_ID);
+        verify(messageSource).getMessage(eq("message.exception.cardNotMapping"), any(Object[].class), any());
+        verify(messageSource).getMessage(eq("message.exception.cardFieldsNotText"), any(Object[].class), any());
+        verify(messageSource).getMessage(eq("message.exception.cardFieldsNotEmpty"), any(Object[].class), any());
+        assertEquals(1, result.getImportedCards());
+        assertEquals(3, result.getFailedCards());
+        assertEquals(3, result.getErrors().size());
+        assertEquals(2, result.getErrors().get(1).getRow());
+        assertEquals(3, result.getErrors().get(1).getLine());
+        assertEquals(ERROR_MESSAGE, result.getErrors().get(1).getMessage());
+    }
+
+    @Test
+    public void testImportCardsWithTooLongTitle() {
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i <= ValidationConstants.MAX_CARD_TITLE_SIZE; i++) {
+            title.append('t');
+        }
+        CardImportResultDTO result = cardImporter.importCards(new StringReader("cards:\n"
+                + "- {title: " + title + ", question: q1, answer: a1}\n"), DECK_ID, USER_ID);
+        verify(messageSource).getMessage(eq("message.exception.cardTitleTooLong"), any(Object[].class), any());
+        verify(cardBatchWriter).insertCards(Collections.emptyList(), DECK_ID, USER_ID);
+        assertEquals(0, result.getImportedCards());
+        assertEquals(1, result.getFailedCards());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testImportCardsWithoutCardsSequence() {
+        cardImporter.importCards(new StringReader("decks:\n- {title: t1, question: q1, answer: a1}\n"),
+                DECK_ID, USER_ID);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testImportCardsFromInvalidYaml() {
+        cardImporter.importCards(new StringReader("cards:\n- {title: t1, question: q1\n"), DECK_ID, USER_ID);
+    }
+}
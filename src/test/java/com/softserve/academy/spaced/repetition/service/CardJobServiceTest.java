@@ -0,0 +1,205 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardImportResultDTO;
+import com.softserve.academy.spaced.repetition.domain.CardJob;
+import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.domain.enums.CardExportFormat;
+import com.softserve.academy.spaced.repetition.domain.enums.CardJobStatus;
+import com.softserve.academy.spaced.repetition.domain.enums.CardJobType;
+import com.softserve.academy.spaced.repetition.repository.CardJobRepository;
+import com.softserve.academy.spaced.repetition.service.cardExport.CardExporter;
+import com.softserve.academy.spaced.repetition.service.cardImport.CardImporter;
+import com.softserve.academy.spaced.repetition.service.cardJob.CardJobCancelledException;
+import com.softserve.academy.spaced.repetition.service.cardJob.CardJobProgress;
+import com.softserve.academy.spaced.repetition.service.cardLoaders.impl.CardLoadService;
+import com.softserve.academy.spaced.repetition.service.dueCardCounters.DueCardCounters;
+import com.softserve.academy.spaced.repetition.service.impl.CardJobServiceImpl;
+import com.softserve.academy.spaced.repetition.util.DomainFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.MessageSource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CardJobServiceTest {
+
+    private final Long JOB_ID = 1L;
+    private final Long DECK_ID = 2L;
+    private final Long USER_ID = 3L;
+    private final String NODE_ID = "node-1";
+    private CardJob savedJob;
+    @Mock
+    private CardJobRepository cardJobRepository;
+    @Mock
+    private DeckService deckService;
+    @Mock
+    private UserService userService;
+    @Mock
+    private CardImporter cardImporter;
+    @Mock
+    private CardLoadService cardLoadService;
+    @Mock
+    private CardExporter cardExporter;
+    @Mock
+    private DueCardCounters dueCardCounters;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private AsyncTaskExecutor cardJobExecutor;
+    @Mock
+    private MessageSource messageSource;
+    @Mock
+    private MultipartFile multipartFile;
+    @InjectMocks
+    private CardJobServiceImpl cardJobService;
+
+    @Before
+    public void setUp() throws Exception {
+        ReflectionTestUtils.setField(cardJobService, "jobStateTransaction", transactionTemplate);
+        ReflectionTestUtils.setField(cardJobService, "nodeId", NODE_ID);
+        User user = DomainFactory.createUser(USER_ID, null, null, null, null);
+        when(userService.getAuthorizedUser()).thenReturn(user);
+        when(transactionTemplate.execute(any(TransactionCallback.class))).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArguments()[0]).doInTransaction(null));
+        when(cardJobRepository.save(any(CardJob.class))).thenAnswer(invocation -> {
+            savedJob = (CardJob) invocation.getArguments()[0];
+            savedJob.setId(JOB_ID);
+            return savedJob;
+        });
+        when(cardJobRepository.findOne(JOB_ID)).thenAnswer(invocation -> savedJob);
+        when(cardJobRepository.markRunning(JOB_ID)).thenReturn(1);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(cardJobExecutor).execute(any(Runnable.class));
+        when(multipartFile.getInputStream()).thenReturn(new ByteArrayInputStream(
+                "cards: []".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (savedJob != null) {
+            Files.deleteIfExists(Paths.get(savedJob.getFilePath()));
+        }
+    }
+
+    @Test
+    public void testExportCardsKeepsFileOfCompletedJob() throws Exception {
+        CardJob cardJob = cardJobService.exportCards(DECK_ID, CardExportFormat.JSON_LINES, true);
+        verify(cardJobRepository).markRunning(JOB_ID);
+        verify(cardExporter).exportCards(eq(DECK_ID), eq(CardExportFormat.JSON_LINES), eq(true),
+                any(OutputStream.class), any(CardJobProgress.class));
+        verify(cardJobRepository).finish(JOB_ID, CardJobStatus.COMPLETED.name(), null);
+        assertEquals(USER_ID, cardJob.getUserId());
+        assertEquals(NODE_ID, cardJob.getNodeId());
+        assertTrue(cardJob.getFilePath().endsWith(".jsonl.gz"));
+        assertTrue(Files.exists(Paths.get(cardJob.getFilePath())));
+    }
+
+    @Test
+    public void testInitFailsUnfinishedJobsOfThisNode() {
+        cardJobService.init();
+        verify(cardJobRepository).failUnfinished(eq(NODE_ID), anyString());
+    }
+
+    @Test
+    public void testImportCardsReportsProgressAndRemovesUpload() throws Exception {
+        when(cardImporter.importCards(any(Reader.class), eq(DECK_ID), eq(USER_ID), any(CardJobProgress.class)))
+                .thenReturn(new CardImportResultDTO(5, 1, null));
+
+        CardJob cardJob = cardJobService.importCards(multipartFile, DECK_ID, CardJobType.YAML_IMPORT);
+        verify(deckService).getDeckUser(DECK_ID);
+        verify(cardJobRepository).updateProgress(JOB_ID, 6, 5, 1);
+        verify(dueCardCounters).evictDeck(DECK_ID);
+        verify(cardJobRepository).finish(JOB_ID, CardJobStatus.COMPLETED.name(), null);
+        assertFalse(Files.exists(Paths.get(cardJob.getFilePath())));
+    }
+
+    @Test
+    public void testImportCardsCancelledWhileRunning() throws Exception {
+        when(cardJobRepository.isCancelRequested(JOB_ID)).thenReturn(true);
+        when(cardImporter.importCards(any(Reader.class), eq(DECK_ID), eq(USER_ID), any(CardJobProgress.class)))
+                .thenAnswer(invocation -> {
+                    ((CardJobProgress) invocation.getArguments()[3]).update(100, 100, 0);
+                    return new CardImportResultDTO(100, 0, null);
+                });
+
+        CardJob cardJob = cardJobService.importCards(multipartFile, DECK_ID, CardJobType.YAML_IMPORT);
+        verify(cardJobRepository).finish(JOB_ID, CardJobStatus.CANCELLED.name(), null);
+        verify(cardJobRepository, never()).finish(JOB_ID, CardJobStatus.COMPLETED.name(), null);
+        assertFalse(Files.exists(Paths.get(cardJob.getFilePath())));
+    }
+
+    @Test
+    public void testJobCancelledBeforeItStarted() throws Exception {
+        when(cardJobRepository.markRunning(JOB_ID)).thenReturn(0);
+
+        cardJobService.importCards(multipartFile, DECK_ID, CardJobType.ANKI_IMPORT);
+        verifyZeroInteractions(cardLoadService);
+        verify(cardJobRepository).finish(JOB_ID, CardJobStatus.CANCELLED.name(), null);
+    }
+
+    @Test
+    public void testJobFailsWhenQueueIsFull() throws Exception {
+        doThrow(new TaskRejectedException("full")).when(cardJobExecutor).execute(any(Runnable.class));
+
+        CardJob cardJob = cardJobService.exportCards(DECK_ID, CardExportFormat.YAML, false);
+        verify(cardJobRepository).finish(eq(JOB_ID), eq(CardJobStatus.FAILED.name()), anyString());
+        assertEquals(CardJobStatus.FAILED, cardJob.getStatus());
+        assertFalse(Files.exists(Paths.get(cardJob.getFilePath())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testImportCardsWithExportType() throws Exception {
+        try {
+            cardJobService.importCards(multipartFile, DECK_ID, CardJobType.EXPORT);
+        } finally {
+            verifyZeroInteractions(cardJobRepository, cardJobExecutor);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCancelFinishedCardJob() throws Exception {
+        when(cardJobRepository.findByIdAndUserId(JOB_ID, USER_ID)).thenReturn(new CardJob());
+        when(cardJobRepository.requestCancel(JOB_ID)).thenReturn(0);
+
+        cardJobService.cancelCardJob(JOB_ID);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetExportedFileOfRunningJob() throws Exception {
+        CardJob cardJob = new CardJob(USER_ID, DECK_ID, CardJobType.EXPORT, null);
+        cardJob.setStatus(CardJobStatus.RUNNING);
+        when(cardJobRepository.findByIdAndUserId(JOB_ID, USER_ID)).thenReturn(cardJob);
+
+        cardJobService.getExportedFile(JOB_ID);
+    }
+}
@@ -0,0 +1,107 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardImportResultDTO;
+import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.service.cardLoaders.CardDataExtractor;
+import com.softserve.academy.spaced.repetition.service.cardLoaders.CardUploader;
+import com.softserve.academy.spaced.repetition.service.cardLoaders.impl.AnkiPackageReader;
+import com.softserve.academy.spaced.repetition.service.cardLoaders.impl.CardLoadService;
+import com.softserve.academy.spaced.repetition.service.cardLoaders.impl.DataSaver;
+import com.softserve.academy.spaced.repetition.service.dueCardCounters.DueCardCounters;
+import com.softserve.academy.spaced.repetition.util.DomainFactory;
+import com.softserve.academy.spaced.repetition.utils.exceptions.WrongFormatException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.MessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CardLoadServiceTest {
+
+    private final Long DECK_ID = 1L;
+    private final Long USER_ID = 2L;
+    private Path uploadedFile;
+    @Mock
+    private CardDataExtractor cardDataExtractor;
+    @Mock
+    private DataSaver dataSaver;
+    @Mock
+    private CardUploader cardUploader;
+    @Mock
+    private AnkiPackageReader ankiPackageReader;
+    @Mock
+    private DeckService deckService;
+    @Mock
+    private UserService userService;
+    @Mock
+    private DueCardCounters dueCardCounters;
+    @Mock
+    private MessageSource messageSource;
+    @Mock
+    private MultipartFile multipartFile;
+    @InjectMocks
+    private CardLoadService cardLoadService;
+
+    @Before
+    public void setUp() throws Exception {
+        ReflectionTestUtils.setField(cardLoadService, "batchSize", 2);
+        uploadedFile = Files.createTempFile("anki", ".anki2");
+        User user = DomainFactory.createUser(USER_ID, null, null, null, null);
+        when(userService.getAuthorizedUser()).thenReturn(user);
+        when(cardUploader.uploadFile(multipartFile)).thenReturn(uploadedFile);
+        when(dataSaver.save(anyList(), eq(DECK_ID), eq(USER_ID))).thenAnswer(invocation ->
+                ((List<?>) invocation.getArguments()[0]).size());
+    }
+
+    @Test
+    public void testLoadCard() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<CardFileDTO> consumer = (Consumer<CardFileDTO>) invocation.getArguments()[2];
+            for (int i = 0; i < 3; i++) {
+                consumer.accept(new CardFileDTO(null, "question" + i, "answer" + i));
+            }
+            return null;
+        }).when(cardDataExtractor).extractData(eq(uploadedFile.toString()), any(Function.class),
+                any(Consumer.class));
+
+        CardImportResultDTO result = cardLoadService.loadCard(multipartFile, DECK_ID);
+        verify(deckService).getDeckUser(DECK_ID);
+        verify(dataSaver, times(2)).save(anyList(), eq(DECK_ID), eq(USER_ID));
+        verify(dueCardCounters).evictDeck(DECK_ID);
+        assertEquals(3, result.getImportedCards());
+        assertFalse(Files.exists(uploadedFile));
+    }
+
+    @Test(expected = WrongFormatException.class)
+    public void testLoadCardFromCorruptedFile() throws Exception {
+        doThrow(new SQLException()).when(cardDataExtractor).extractData(eq(uploadedFile.toString()),
+                any(Function.class), any(Consumer.class));
+
+        try {
+            cardLoadService.loadCard(multipartFile, DECK_ID);
+        } finally {
+            verifyZeroInteractions(dataSaver);
+            assertFalse(Files.exists(uploadedFile));
+        }
+    }
+}
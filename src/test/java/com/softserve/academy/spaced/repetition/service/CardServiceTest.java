@@ -1,10 +1,19 @@
 package com.softserve.academy.spaced.repetition.service;
 
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardImportResultDTO;
 import com.softserve.academy.spaced.repetition.domain.*;
+import com.softserve.academy.spaced.repetition.domain.enums.CardExportFormat;
 import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
 import com.softserve.academy.spaced.repetition.repository.CardRepository;
 import com.softserve.academy.spaced.repetition.repository.DeckRepository;
+import com.softserve.academy.spaced.repetition.service.cardExport.CardExporter;
+import com.softserve.academy.spaced.repetition.service.cardImport.CardImporter;
+import com.softserve.academy.spaced.repetition.service.dueCardCounters.DueCardCounters;
+import com.softserve.academy.spaced.repetition.service.dueCardIndex.DueCardIndex;
 import com.softserve.academy.spaced.repetition.service.impl.CardServiceImpl;
+import com.softserve.academy.spaced.repetition.service.scheduler.Scheduler;
+import com.softserve.academy.spaced.repetition.service.scheduler.SchedulerRegistry;
+import com.softserve.academy.spaced.repetition.service.search.SearchIndex;
 import com.softserve.academy.spaced.repetition.util.DomainFactory;
 import com.softserve.academy.spaced.repetition.utils.exceptions.EmptyFileException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
@@ -24,6 +33,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Reader;
 import java.net.URISyntaxException;
 import java.util.*;
 
@@ -50,7 +60,13 @@ public class CardServiceTest {
     @Mock
     private AccountService accountService;
     @Mock
-    private UserCardQueueService userCardQueueService;
+    private DueCardIndex dueCardIndex;
+    @Mock
+    private DueCardCounters dueCardCounters;
+    @Mock
+    private SchedulerRegistry schedulerRegistry;
+    @Mock
+    private Scheduler scheduler;
     @Mock
     private DeckService deckService;
     @Mock
@@ -61,6 +77,14 @@ public class CardServiceTest {
     private MessageSource messageSource;
     @Mock
     private CardImageService cardImageService;
+    @Mock
+    private ChangeLogService changeLogService;
+    @Mock
+    private CardImporter cardImporter;
+    @Mock
+    private CardExporter cardExporter;
+    @Mock
+    private SearchIndex searchIndex;
     @InjectMocks
     private CardServiceImpl cardService;
     private Deck deck;
@@ -94,41 +118,22 @@ public class CardServiceTest {
         when(cardRepository.findOne(CARD_ID)).thenReturn(card);
         when(cardRepository.save(card)).thenReturn(card);
         when(deckService.getDeckUser(DECK_ID)).thenReturn(deck);
+        when(schedulerRegistry.getScheduler(any(LearningRegime.class))).thenReturn(scheduler);
 
     }
 
     @Test
-    public void testGetLearningCardsWithLearningRegimeBadNormalGood() throws NotAuthorisedUserException {
-        List<Card> learningCards = new ArrayList<>();
+    public void testGetLearningCards() throws NotAuthorisedUserException {
+        List<Card> learningCards = Collections.singletonList(card);
         when(accountService.getCardsNumber()).thenReturn(ACCOUNT_CARDS_NUMBER);
-        when(cardRepository.cardsForLearningWithOutStatus(user.getId(), DECK_ID, ACCOUNT_CARDS_NUMBER)).thenReturn(learningCards);
-        when(cardRepository.cardsQueueForLearningWithStatus(user.getId(), DECK_ID, ACCOUNT_CARDS_NUMBER - learningCards.size()))
-                .thenReturn(learningCards);
+        when(scheduler.getLearningCards(user, DECK_ID, ACCOUNT_CARDS_NUMBER)).thenReturn(learningCards);
 
         List<Card> result = cardService.getLearningCards(DECK_ID);
         verify(userService).getAuthorizedUser();
         verify(accountService).getCardsNumber();
-        verify(cardRepository).cardsForLearningWithOutStatus(user.getId(), DECK_ID, ACCOUNT_CARDS_NUMBER);
-        verify(cardRepository).cardsQueueForLearningWithStatus(user.getId()
-                , DECK_ID, ACCOUNT_CARDS_NUMBER - learningCards.size());
-        assertNotNull(result);
-    }
-
-    @Test
-    public void testGetLearningCardsWithLearningRegimeCardPositionUsingSpaced() throws NotAuthorisedUserException {
-        List<Card> learningCards = new ArrayList<>();
-        user.getAccount().setLearningRegime(LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION);
-        when(userService.getAuthorizedUser()).thenReturn(user);
-        when(accountService.getCardsNumber()).thenReturn(0);
-        when(cardRepository.getCardsThatNeedRepeating(eq(DECK_ID), any(Date.class), eq(user.getId()), eq(0)))
-                .thenReturn(learningCards);
-
-        List<Card> result = cardService.getLearningCards(DECK_ID);
-        verify(userService).getAuthorizedUser();
-        verify(accountService).getCardsNumber();
-        verify(cardRepository).getCardsThatNeedRepeating(eq(DECK_ID),
-                any(Date.class), eq(user.getId()), eq(0));
-        assertNotNull(result);
+        verify(schedulerRegistry).getScheduler(LearningRegime.BAD_NORMAL_GOOD_STATUS_DEPENDING);
+        verify(scheduler).getLearningCards(user, DECK_ID, ACCOUNT_CARDS_NUMBER);
+        assertEquals(learningCards, result);
     }
 
     @Test
@@ -158,6 +163,9 @@ public class CardServiceTest {
         verify(deckRepository).findOne(DECK_ID);
         verify(cardRepository).save(card);
         verify(cardImageService).addCardImage(null, card);
+        verify(dueCardCounters).evictDeck(DECK_ID);
+        verify(changeLogService).recordCardSaved(CARD_ID, DECK_ID);
+        verify(searchIndex).indexCards(Collections.singleton(CARD_ID));
     }
 
     @Test
@@ -244,19 +252,24 @@ public class CardServiceTest {
 
         cardService.deleteCard(CARD_ID);
         verify(cardRepository).delete(CARD_ID);
+        verify(dueCardIndex).removeCard(CARD_ID);
+        verify(cardImageService).releaseCardImages(card.getCardImages());
+        verify(dueCardCounters).evictDeck(DECK_ID);
+        verify(changeLogService).recordCardDeleted(CARD_ID, DECK_ID);
+        verify(searchIndex).removeCard(CARD_ID);
     }
 
     @Test
     public void testGetAdditionalLearningCards() throws NotAuthorisedUserException {
         List<Card> learningCards = new ArrayList<>();
         when(accountService.getCardsNumber()).thenReturn(ACCOUNT_CARDS_NUMBER);
-        when(cardRepository.getPostponedCards(DECK_ID, new Date(), user.getId(), ACCOUNT_CARDS_NUMBER))
-                .thenReturn(learningCards);
+        when(scheduler.getPostponedCards(user, DECK_ID, ACCOUNT_CARDS_NUMBER)).thenReturn(new ArrayList<>());
 
-        cardService.getAdditionalLearningCards(DECK_ID);
+        List<Card> result = cardService.getAdditionalLearningCards(DECK_ID);
         verify(userService).getAuthorizedUser();
         verify(accountService).getCardsNumber();
-        verify(cardRepository).getPostponedCards(eq(DECK_ID), any(Date.class), eq(USER_ID), eq(ACCOUNT_CARDS_NUMBER));
+        verify(scheduler).getPostponedCards(user, DECK_ID, ACCOUNT_CARDS_NUMBER);
+        assertEquals(learningCards, result);
     }
 
     @Test(expected = NotAuthorisedUserException.class)
@@ -269,16 +282,13 @@ public class CardServiceTest {
 
     @Test
     public void testAreThereNotPostponedCardsAvailable() throws NotAuthorisedUserException {
-        List<Card> learningCards = new ArrayList<>();
-        learningCards.add(card);
-        when(userCardQueueService.countCardsThatNeedRepeating(DECK_ID)).thenReturn(0L);
-        when(cardRepository.getNewCards(DECK_ID, user.getId(), user.getAccount().getCardsNumber()))
-                .thenReturn(learningCards);
+        when(dueCardIndex.countCardsThatNeedRepeating(eq(USER_ID), eq(DECK_ID), any(Date.class))).thenReturn(0L);
+        when(dueCardIndex.getNewCards(USER_ID, DECK_ID, 1)).thenReturn(Collections.singletonList(CARD_ID));
 
         boolean result = cardService.areThereNotPostponedCardsAvailable(DECK_ID);
         verify(userService).getAuthorizedUser();
-        verify(userCardQueueService).countCardsThatNeedRepeating(DECK_ID);
-        verify(cardRepository).getNewCards(DECK_ID, user.getId(), user.getAccount().getCardsNumber());
+        verify(dueCardIndex).countCardsThatNeedRepeating(eq(USER_ID), eq(DECK_ID), any(Date.class));
+        verify(dueCardIndex).getNewCards(USER_ID, DECK_ID, 1);
         assertEquals(true, result);
     }
 
@@ -295,19 +305,20 @@ public class CardServiceTest {
             NotAuthorisedUserException, IOException, URISyntaxException {
         File file = new File(Thread.currentThread().getContextClassLoader()
                 .getResource("ymlTestPackage/JavaInterview.yml").toURI());
+        CardImportResultDTO importResult = new CardImportResultDTO(3, 0, new ArrayList<>());
 
         FileInputStream fileStream = new FileInputStream(file);
         when(cardsFile.isEmpty()).thenReturn(false);
         when(cardsFile.getInputStream()).thenReturn(fileStream);
-        when(deckRepository.findOne(DECK_ID)).thenReturn(deck);
-        when(cardRepository.save(any(Card.class))).thenReturn(any(Card.class));
+        when(cardImporter.importCards(any(Reader.class), eq(DECK_ID), eq(USER_ID))).thenReturn(importResult);
 
-        cardService.uploadCards(cardsFile, DECK_ID);
+        CardImportResultDTO result = cardService.uploadCards(cardsFile, DECK_ID);
         verify(deckService).getDeckUser(DECK_ID);
         verify(cardsFile).isEmpty();
         verify(cardsFile).getInputStream();
-        verify(deckRepository).findOne(DECK_ID);
-
+        verify(cardImporter).importCards(any(Reader.class), eq(DECK_ID), eq(USER_ID));
+        verify(dueCardCounters).evictDeck(DECK_ID);
+        assertEquals(importResult, result);
     }
 
     @Test(expected = EmptyFileException.class)
@@ -332,13 +343,16 @@ public class CardServiceTest {
     }
 
     @Test
-    public void testDownloadCards() {
-        List<Card> cardList = new ArrayList<>();
-        cardList.add(card);
+    public void testDownloadCards() throws IOException {
+        cardService.downloadCards(DECK_ID, CardExportFormat.YAML, false, outputStream);
+        verify(cardExporter).exportCards(DECK_ID, CardExportFormat.YAML, false, outputStream);
+    }
 
-        when(cardRepository.findAllByDeckId(DECK_ID)).thenReturn(cardList);
+    @Test(expected = IllegalArgumentException.class)
+    public void testDownloadCardsFailed() throws IOException {
+        doThrow(new IOException()).when(cardExporter).exportCards(DECK_ID, CardExportFormat.JSON_LINES, true,
+                outputStream);
 
-        cardService.downloadCards(DECK_ID, outputStream);
-        verify(cardRepository).findAllByDeckId(DECK_ID);
+        cardService.downloadCards(DECK_ID, CardExportFormat.JSON_LINES, true, outputStream);
     }
 }
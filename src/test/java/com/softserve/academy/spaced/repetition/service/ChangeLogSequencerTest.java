@@ -0,0 +1,70 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.service.changeLog.ChangeLogSequencer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.contains;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ChangeLogSequencerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @InjectMocks
+    private ChangeLogSequencer changeLogSequencer;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(changeLogSequencer, "chunkSize", 2);
+        when(transactionTemplate.execute(any(TransactionCallback.class))).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArguments()[0]).doInTransaction(null));
+    }
+
+    @Test
+    public void testSequenceCommittedChangesInChunks() {
+        when(jdbcTemplate.queryForObject(contains("FOR UPDATE"), eq(Long.class))).thenReturn(100L, 102L);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(2))).thenReturn(Arrays.asList(7L, 9L),
+                Collections.singletonList(8L));
+
+        changeLogSequencer.sequenceCommittedChanges();
+        ArgumentCaptor<List> syncVersions = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(contains("UPDATE change_log SET"), syncVersions.capture());
+        assertArrayEquals(new Object[]{101L, 7L}, (Object[]) syncVersions.getAllValues().get(0).get(0));
+        assertArrayEquals(new Object[]{102L, 9L}, (Object[]) syncVersions.getAllValues().get(0).get(1));
+        assertArrayEquals(new Object[]{103L, 8L}, (Object[]) syncVersions.getAllValues().get(1).get(0));
+        verify(jdbcTemplate).update(contains("change_log_sequence"), eq(102L));
+        verify(jdbcTemplate).update(contains("change_log_sequence"), eq(103L));
+    }
+
+    @Test
+    public void testNothingToSequence() {
+        when(jdbcTemplate.queryForObject(contains("FOR UPDATE"), eq(Long.class))).thenReturn(100L);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(2))).thenReturn(Collections.emptyList());
+
+        changeLogSequencer.sequenceCommittedChanges();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(List.class));
+        verify(jdbcTemplate, never()).update(anyString(), anyLong());
+    }
+}
@@ -0,0 +1,172 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileImageDTO;
+import com.softserve.academy.spaced.repetition.domain.Course;
+import com.softserve.academy.spaced.repetition.domain.Deck;
+import com.softserve.academy.spaced.repetition.domain.Image;
+import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.repository.CategoryRepository;
+import com.softserve.academy.spaced.repetition.repository.CourseRepository;
+import com.softserve.academy.spaced.repetition.service.cardImport.CardBatchWriter;
+import com.softserve.academy.spaced.repetition.service.courseArchive.CourseArchiveReader;
+import com.softserve.academy.spaced.repetition.service.courseArchive.CourseArchiveWriter;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentStore;
+import com.softserve.academy.spaced.repetition.util.DomainFactory;
+import com.softserve.academy.spaced.repetition.utils.exceptions.WrongFormatException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CourseArchiveTest {
+
+    private final Long COURSE_ID = 1L;
+    private final Long CATEGORY_ID = 2L;
+    private final Long DECK_ID = 3L;
+    private final Long IMPORTED_DECK_ID = 4L;
+    private final Long USER_ID = 5L;
+    private final String COURSE_IMAGE_KEY = new String(new char[64]).replace('\0', 'a');
+    private final String CARD_IMAGE_KEY = new String(new char[64]).replace('\0', 'b');
+    private final byte[] CARD_IMAGE_CONTENT = {1, 2, 3};
+    private User user;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ImageContentStore imageContentStore;
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private DeckService deckService;
+    @Mock
+    private ImageService imageService;
+    @Mock
+    private CardBatchWriter cardBatchWriter;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @InjectMocks
+    private CourseArchiveWriter courseArchiveWriter;
+    @InjectMocks
+    private CourseArchiveReader courseArchiveReader;
+
+    @Before
+    public void setUp() throws Exception {
+        ReflectionTestUtils.setField(courseArchiveReader, "batchSize", 500);
+        user = DomainFactory.createUser(USER_ID, null, null, null, null);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), anyVararg()))
+                .thenReturn(Collections.singletonList(CARD_IMAGE_KEY));
+        doAnswer(invocation -> {
+            ResultSet cardWithImage = mock(ResultSet.class);
+            when(cardWithImage.getLong("card_id")).thenReturn(10L);
+            when(cardWithImage.getString("question")).thenReturn("What is it?");
+            when(cardWithImage.getString("answer")).thenReturn("A cat");
+            when(cardWithImage.getString("content_key")).thenReturn(CARD_IMAGE_KEY);
+            when(cardWithImage.getString("type")).thenReturn("image/png");
+            ResultSet card = mock(ResultSet.class);
+            when(card.getLong("card_id")).thenReturn(11L);
+            when(card.getString("title")).thenReturn("JDK");
+            when(card.getString("question")).thenReturn("What is JDK?");
+            when(card.getString("answer")).thenReturn("Java Development Kit");
+            RowCallbackHandler handler = (RowCallbackHandler) invocation.getArguments()[1];
+            handler.processRow(cardWithImage);
+            handler.processRow(card);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        when(imageContentStore.copy(anyString(), any(OutputStream.class))).thenAnswer(invocation -> {
+            byte[] content = CARD_IMAGE_KEY.equals(invocation.getArguments()[0]) ? CARD_IMAGE_CONTENT : new byte[]{9};
+            ((OutputStream) invocation.getArguments()[1]).write(content);
+            return true;
+        });
+        when(courseRepository.saveAndFlush(any(Course.class))).thenAnswer(invocation -> invocation.getArguments()[0]);
+        doAnswer(invocation -> {
+            ((Deck) invocation.getArguments()[0]).setId(IMPORTED_DECK_ID);
+            return null;
+        }).when(deckService).createNewDeck(any(Deck.class), eq(CATEGORY_ID));
+    }
+
+    @Test
+    public void testExportedCourseCanBeImported() throws Exception {
+        Image image = DomainFactory.createImage(1L, COURSE_IMAGE_KEY, "image/jpeg", user, 1L, true);
+        Deck deck = DomainFactory.createDeck(DECK_ID, "Java", "Java basics", "java", null, 0, user, null, null,
+                null, null);
+        Course course = DomainFactory.createCourse(COURSE_ID, "Java course", "Learn Java", image, 0, true, user,
+                null, Collections.singletonList(deck), null, null);
+        Image importedImage = new Image(2L);
+        when(imageService.addImage(eq(user), any(InputStreamSource.class), eq("image/jpeg"), eq(1L)))
+                .thenReturn(importedImage);
+        when(courseRepository.findOne(COURSE_ID)).thenReturn(course);
+        when(transactionTemplate.execute(any(TransactionCallback.class))).thenAnswer(invocation ->
+                ((TransactionCallback) invocation.getArguments()[0]).doInTransaction(null));
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+
+        courseArchiveWriter.writeCourse(COURSE_ID, archive);
+        Course importedCourse = courseArchiveReader.readCourse(new ByteArrayInputStream(archive.toByteArray()),
+                user, CATEGORY_ID);
+        assertEquals("Java course", importedCourse.getName());
+        assertEquals("Learn Java", importedCourse.getDescription());
+        assertFalse(importedCourse.isPublished());
+        assertEquals(user, importedCourse.getOwner());
+        assertEquals(importedImage, importedCourse.getImage());
+        Deck importedDeck = importedCourse.getDecks().get(0);
+        assertEquals("Java", importedDeck.getName());
+        assertEquals("java", importedDeck.getSyntaxToHighlight());
+
+        ArgumentCaptor<List> cards = ArgumentCaptor.forClass(List.class);
+        verify(cardBatchWriter).insertCards(cards.capture(), eq(IMPORTED_DECK_ID), eq(USER_ID));
+        assertEquals(2, cards.getValue().size());
+        CardFileDTO cardWithImage = (CardFileDTO) cards.getValue().get(0);
+        assertEquals("What is it?", cardWithImage.getQuestion());
+        CardFileImageDTO cardImage = cardWithImage.getImages().get(0);
+        assertEquals("image/png", cardImage.getType());
+        assertEquals(Long.valueOf(CARD_IMAGE_CONTENT.length), cardImage.getSize());
+        CardFileDTO card = (CardFileDTO) cards.getValue().get(1);
+        assertEquals("JDK", card.getTitle());
+        assertEquals("Java Development Kit", card.getAnswer());
+        assertNull(card.getImages());
+    }
+
+    @Test(expected = WrongFormatException.class)
+    public void testImportArchiveWithoutManifest() throws Exception {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+            zip.putNextEntry(new ZipEntry("decks/0.jsonl"));
+            zip.write("{}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        try {
+            courseArchiveReader.readCourse(new ByteArrayInputStream(archive.toByteArray()), user, CATEGORY_ID);
+        } finally {
+            verifyZeroInteractions(courseRepository, deckService, cardBatchWriter);
+        }
+    }
+}
@@ -2,9 +2,12 @@ package com.softserve.academy.spaced.repetition.service;
 
 import com.softserve.academy.spaced.repetition.domain.*;
 import com.softserve.academy.spaced.repetition.repository.*;
+import com.softserve.academy.spaced.repetition.service.courseArchive.CourseArchiveWriter;
 import com.softserve.academy.spaced.repetition.service.impl.CourseServiceImpl;
+import com.softserve.academy.spaced.repetition.service.search.SearchIndex;
 import com.softserve.academy.spaced.repetition.util.DomainFactory;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -15,6 +18,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -49,6 +54,10 @@ public class CourseServiceTest {
     private CategoryRepository categoryRepository;
     @Mock
     private DeckRepository deckRepository;
+    @Mock
+    private CourseArchiveWriter courseArchiveWriter;
+    @Mock
+    private SearchIndex searchIndex;
     @InjectMocks
     private CourseServiceImpl courseService;
     private Course course;
@@ -150,6 +159,7 @@ public class CourseServiceTest {
     public void testUpdateCourse() {
         courseService.updateCourse(COURSE_ID, course);
         verify(courseRepository).save(course);
+        verify(searchIndex).indexCourse(COURSE_ID);
     }
 
     @Test
@@ -160,6 +170,7 @@ public class CourseServiceTest {
         verify(userService).getAuthorizedUser();
         verify(userRepository).save(user);
         verify(courseRepository).delete(COURSE_ID);
+        verify(searchIndex).removeCourse(COURSE_ID);
     }
 
     @Test(expected = NotAuthorisedUserException.class)
@@ -231,6 +242,7 @@ public class CourseServiceTest {
         courseService.updateCourseAccess(COURSE_ID, course);
         verify(courseRepository).findOne(COURSE_ID);
         verify(courseRepository).save(course);
+        verify(searchIndex).indexCourse(COURSE_ID);
     }
 
     @Test
@@ -259,6 +271,7 @@ public class CourseServiceTest {
         verify(courseRepository).findOne(COURSE_ID);
         verify(deckRepository).getDeckById(DECK_ID);
         verify(courseRepository).save(course);
+        verify(searchIndex).indexCourse(COURSE_ID);
     }
 
     @Test
@@ -279,4 +292,24 @@ public class CourseServiceTest {
         verify(courseRepository).findAllByCategoryEqualsAndPublishedTrue(any(Category.class), any(PageRequest.class));
         assertNull(result);
     }
+
+    @Test
+    public void testExportCourse() throws Exception {
+        OutputStream outputStream = new ByteArrayOutputStream();
+
+        courseService.exportCourse(COURSE_ID, outputStream);
+        verify(courseArchiveWriter).writeCourse(COURSE_ID, outputStream);
+    }
+
+    @Test(expected = NotOwnerOperationException.class)
+    public void testExportPrivateCourseOfOtherUser() throws Exception {
+        course.setPublished(false);
+        course.setOwner(DomainFactory.createUser(2L, null, null, null, null));
+
+        try {
+            courseService.exportCourse(COURSE_ID, new ByteArrayOutputStream());
+        } finally {
+            verifyZeroInteractions(courseArchiveWriter);
+        }
+    }
 }
@@ -0,0 +1,61 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardFileDTO;
+import com.softserve.academy.spaced.repetition.domain.Card;
+import com.softserve.academy.spaced.repetition.repository.CardRepository;
+import com.softserve.academy.spaced.repetition.service.cardImport.CardBatchWriter;
+import com.softserve.academy.spaced.repetition.service.cardLoaders.impl.DataSaver;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DataSaverTest {
+
+    private final Long DECK_ID = 1L;
+    private final Long USER_ID = 2L;
+    @Mock
+    private CardBatchWriter cardBatchWriter;
+    @Mock
+    private CardRepository cardRepository;
+    @InjectMocks
+    private DataSaver dataSaver;
+
+    @Test
+    public void testSaveSkipsDuplicates() {
+        CardFileDTO newCard = new CardFileDTO(null, "new question", "answer");
+        CardFileDTO existingCard = new CardFileDTO(null, "existing question", "answer");
+        CardFileDTO repeatedCard = new CardFileDTO(null, "new question", "other answer");
+        CardFileDTO emptyCard = new CardFileDTO(null, "empty answer", "");
+        when(cardRepository.findQuestionHashesIn(any(Collection.class)))
+                .thenReturn(Collections.singletonList(Card.hashQuestion("existing question")));
+        when(cardBatchWriter.insertCards(anyList(), eq(DECK_ID), eq(USER_ID))).thenAnswer(invocation ->
+                ((List<?>) invocation.getArguments()[0]).size());
+
+        int savedCards = dataSaver.save(Arrays.asList(newCard, existingCard, repeatedCard, emptyCard), DECK_ID,
+                USER_ID);
+        verify(cardRepository, times(1)).findQuestionHashesIn(any(Collection.class));
+        verify(cardBatchWriter).insertCards(Collections.singletonList(newCard), DECK_ID, USER_ID);
+        assertEquals(1, savedCards);
+    }
+
+    @Test
+    public void testSaveEmptyBatch() {
+        int savedCards = dataSaver.save(Collections.emptyList(), DECK_ID, USER_ID);
+        verifyZeroInteractions(cardRepository, cardBatchWriter);
+        assertEquals(0, savedCards);
+    }
+}
@@ -5,6 +5,7 @@ import com.softserve.academy.spaced.repetition.repository.CategoryRepository;
 import com.softserve.academy.spaced.repetition.repository.CourseRepository;
 import com.softserve.academy.spaced.repetition.repository.DeckRepository;
 import com.softserve.academy.spaced.repetition.service.impl.DeckServiceImpl;
+import com.softserve.academy.spaced.repetition.service.search.SearchIndex;
 import com.softserve.academy.spaced.repetition.util.DomainFactory;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
@@ -50,6 +51,10 @@ public class DeckServiceTest {
     @Mock
     private UserService userService;
     @Mock
+    private ChangeLogService changeLogService;
+    @Mock
+    private SearchIndex searchIndex;
+    @Mock
     private MessageSource messageSource;
     private User notOwnerUser;
     private Category category;
@@ -122,6 +127,8 @@ public class DeckServiceTest {
         deckService.addDeckToCategory(deck, CATEGORY_ID);
         verify(categoryRepository).findOne(CATEGORY_ID);
         verify(deckRepository).save(deck);
+        verify(changeLogService).recordDeckSaved(DECK_ID, USER_ID);
+        verify(searchIndex).indexDeck(DECK_ID);
     }
 
     @Test
@@ -195,6 +202,8 @@ public class DeckServiceTest {
         verify(userService).getAuthorizedUser();
         verify(deckRepository).findOne(DECK_ID);
         verify(deckRepository).delete(deck);
+        verify(changeLogService).recordDeckDeleted(DECK_ID, USER_ID);
+        verify(searchIndex).removeDeck(DECK_ID);
     }
 
     @Test(expected = NoSuchElementException.class)
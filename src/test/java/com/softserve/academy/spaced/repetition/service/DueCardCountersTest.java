@@ -0,0 +1,162 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.DeckCardsCountDTO;
+import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
+import com.softserve.academy.spaced.repetition.repository.CardRepository;
+import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import com.softserve.academy.spaced.repetition.service.dueCardCounters.DueCardCounters;
+import com.softserve.academy.spaced.repetition.util.DomainFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DueCardCountersTest {
+
+    private final Long USER_ID = 1L;
+    private final Long DECK_ID = 1L;
+    private final Long OTHER_DECK_ID = 2L;
+    private final long DAY = TimeUnit.DAYS.toMillis(1);
+    private final Date NOW = new Date();
+    @Mock
+    private UserCardQueueRepository userCardQueueRepository;
+    @Mock
+    private CardRepository cardRepository;
+    @InjectMocks
+    private DueCardCounters dueCardCounters;
+
+    @Before
+    public void setUp() {
+        when(cardRepository.countCardsByDeckIds(anyCollectionOf(Long.class))).thenReturn(Arrays.asList(
+                new Object[]{DECK_ID, 5L}, new Object[]{OTHER_DECK_ID, 2L}));
+        when(userCardQueueRepository.findDeckIdsCardIdsAndDatesToRepeat(eq(USER_ID), anyCollectionOf(Long.class)))
+                .thenReturn(Arrays.asList(
+                        new Object[]{DECK_ID, 1L, new Date(NOW.getTime() - DAY)},
+                        new Object[]{DECK_ID, 2L, new Date(NOW.getTime() + 2 * DAY)},
+                        new Object[]{DECK_ID, 3L, null}));
+    }
+
+    @Test
+    public void testGetDeckCardsCounts() {
+        List<DeckCardsCountDTO> result = dueCardCounters.getDeckCardsCounts(USER_ID,
+                Arrays.asList(DECK_ID, OTHER_DECK_ID), NOW);
+
+        assertDeckCardsCount(result.get(0), DECK_ID, 2, 1, 2);
+        assertDeckCardsCount(result.get(1), OTHER_DECK_ID, 2, 0, 0);
+        verify(userCardQueueRepository, times(1)).findDeckIdsCardIdsAndDatesToRepeat(eq(USER_ID), anyCollectionOf(Long.class));
+    }
+
+    @Test
+    public void testCountersRollForwardWithTime() {
+        assertEquals(1, dueCardCounters.countCardsThatNeedRepeating(USER_ID, DECK_ID, NOW));
+        assertEquals(1, dueCardCounters.countCardsThatNeedRepeating(USER_ID, DECK_ID, new Date(NOW.getTime() + DAY)));
+        assertEquals(2, dueCardCounters.countCardsThatNeedRepeating(USER_ID, DECK_ID,
+                new Date(NOW.getTime() + 2 * DAY)));
+        verify(cardRepository, times(1)).countCardsByDeckIds(anyCollectionOf(Long.class));
+    }
+
+    @Test
+    public void testUpdateMovesAnsweredCards() {
+        dueCardCounters.getDeckCardsCounts(USER_ID, Collections.singletonList(DECK_ID), NOW);
+        dueCardCounters.update(createUserCardQueue(1L, new Date(NOW.getTime() + 3 * DAY)),
+                new Date(NOW.getTime() - DAY), false);
+        dueCardCounters.update(createUserCardQueue(4L, new Date(NOW.getTime() - DAY)), null, true);
+
+        assertDeckCardsCount(dueCardCounters.getDeckCardsCounts(USER_ID, Collections.singletonList(DECK_ID), NOW)
+                .get(0), DECK_ID, 1, 1, 3);
+    }
+
+    @Test
+    public void testEvictDeckReloadsCounters() {
+        dueCardCounters.countCardsThatNeedRepeating(USER_ID, DECK_ID, NOW);
+        dueCardCounters.evictDeck(DECK_ID);
+        dueCardCounters.countCardsThatNeedRepeating(USER_ID, DECK_ID, NOW);
+
+        verify(cardRepository, times(2)).countCardsByDeckIds(anyCollectionOf(Long.class));
+    }
+
+    @Test
+    public void testEvictDeckKeepsOtherDecksOfUser() {
+        dueCardCounters.getDeckCardsCounts(USER_ID, Arrays.asList(DECK_ID, OTHER_DECK_ID), NOW);
+        dueCardCounters.evictDeck(OTHER_DECK_ID);
+        dueCardCounters.countCardsThatNeedRepeating(USER_ID, DECK_ID, NOW);
+        dueCardCounters.getDeckCardsCounts(USER_ID, Arrays.asList(DECK_ID, OTHER_DECK_ID), NOW);
+
+        verify(cardRepository).countCardsByDeckIds(new HashSet<>(Arrays.asList(DECK_ID, OTHER_DECK_ID)));
+        verify(cardRepository).countCardsByDeckIds(Collections.singleton(OTHER_DECK_ID));
+    }
+
+    @Test
+    public void testEvictDeckOfEvictedUser() {
+        dueCardCounters.countCardsThatNeedRepeating(USER_ID, DECK_ID, NOW);
+        dueCardCounters.evictUser(USER_ID);
+        dueCardCounters.evictDeck(DECK_ID);
+        dueCardCounters.countCardsThatNeedRepeating(USER_ID, DECK_ID, NOW);
+
+        verify(cardRepository, times(2)).countCardsByDeckIds(anyCollectionOf(Long.class));
+    }
+
+    @Test
+    public void testCardNeedsRepeatingFromItsDateToRepeat() {
+        Date dateToRepeat = new Date(NOW.getTime() + TimeUnit.HOURS.toMillis(1));
+        dueCardCounters.countCardsThatNeedRepeating(USER_ID, DECK_ID, NOW);
+        dueCardCounters.update(createUserCardQueue(4L, dateToRepeat), null, true);
+
+        assertEquals(1, dueCardCounters.countCardsThatNeedRepeating(USER_ID, DECK_ID, NOW));
+        assertEquals(2, dueCardCounters.countCardsThatNeedRepeating(USER_ID, DECK_ID, dateToRepeat));
+    }
+
+    @Test
+    public void testUpdateDuringLoadIsApplied() {
+        when(userCardQueueRepository.findDeckIdsCardIdsAndDatesToRepeat(eq(USER_ID), anyCollectionOf(Long.class)))
+                .thenAnswer(invocation -> {
+                    dueCardCounters.update(createUserCardQueue(1L, new Date(NOW.getTime() + 3 * DAY)),
+                            new Date(NOW.getTime() - DAY), false);
+                    dueCardCounters.update(createUserCardQueue(4L, new Date(NOW.getTime() - DAY)), null, true);
+                    return Arrays.asList(
+                            new Object[]{DECK_ID, 1L, new Date(NOW.getTime() - DAY)},
+                            new Object[]{DECK_ID, 4L, new Date(NOW.getTime() - DAY)});
+                });
+
+        assertDeckCardsCount(dueCardCounters.getDeckCardsCounts(USER_ID, Collections.singletonList(DECK_ID), NOW)
+                .get(0), DECK_ID, 3, 1, 1);
+        verify(userCardQueueRepository, times(1)).findDeckIdsCardIdsAndDatesToRepeat(eq(USER_ID),
+                anyCollectionOf(Long.class));
+    }
+
+    @Test
+    public void testEvictUserDuringLoadIsNotCached() {
+        when(userCardQueueRepository.findDeckIdsCardIdsAndDatesToRepeat(eq(USER_ID), anyCollectionOf(Long.class)))
+                .thenAnswer(invocation -> {
+                    dueCardCounters.evictUser(USER_ID);
+                    return Collections.emptyList();
+                });
+        dueCardCounters.countCardsThatNeedRepeating(USER_ID, DECK_ID, NOW);
+        dueCardCounters.countCardsThatNeedRepeating(USER_ID, DECK_ID, NOW);
+
+        verify(cardRepository, times(2)).countCardsByDeckIds(anyCollectionOf(Long.class));
+    }
+
+    private void assertDeckCardsCount(DeckCardsCountDTO deckCardsCount, Long deckId, long newCards,
+                                      long cardsThatNeedRepeating, long postponedCards) {
+        assertEquals(deckId, deckCardsCount.getDeckId());
+        assertEquals(newCards, deckCardsCount.getNewCards());
+        assertEquals(cardsThatNeedRepeating, deckCardsCount.getCardsThatNeedRepeating());
+        assertEquals(postponedCards, deckCardsCount.getPostponedCards());
+    }
+
+    private UserCardQueue createUserCardQueue(Long cardId, Date dateToRepeat) {
+        return DomainFactory.createUserCardQueue(null, USER_ID, cardId, DECK_ID, null, NOW, dateToRepeat, null);
+    }
+}
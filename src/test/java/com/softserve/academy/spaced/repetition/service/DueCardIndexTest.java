@@ -0,0 +1,133 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
+import com.softserve.academy.spaced.repetition.repository.CardRepository;
+import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import com.softserve.academy.spaced.repetition.service.dueCardIndex.DueCardIndex;
+import com.softserve.academy.spaced.repetition.util.DomainFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DueCardIndexTest {
+
+    private final Long USER_ID = 1L;
+    private final Long DECK_ID = 1L;
+    private final long DAY = TimeUnit.DAYS.toMillis(1);
+    private final Date NOW = new Date(100_000L);
+    @Mock
+    private UserCardQueueRepository userCardQueueRepository;
+    @Mock
+    private CardRepository cardRepository;
+    @InjectMocks
+    private DueCardIndex dueCardIndex;
+
+    @Before
+    public void setUp() {
+        UserCardQueue dueLater = createUserCardQueue(1L, new Date(NOW.getTime() - 10));
+        UserCardQueue dueEarlier = createUserCardQueue(2L, new Date(NOW.getTime() - 20));
+        UserCardQueue postponed = createUserCardQueue(3L, new Date(NOW.getTime() + DAY));
+
+        when(userCardQueueRepository.findAllByUserIdAndDeckId(USER_ID, DECK_ID))
+                .thenReturn(Arrays.asList(dueLater, dueEarlier, postponed));
+        when(cardRepository.findIdsByDeckId(DECK_ID)).thenReturn(Arrays.asList(1L, 2L, 3L, 4L, 5L));
+    }
+
+    @Test
+    public void testGetCardsThatNeedRepeatingOrderedByDateToRepeat() {
+        assertEquals(Arrays.asList(2L, 1L), dueCardIndex.getCardsThatNeedRepeating(USER_ID, DECK_ID, NOW, 10));
+        assertEquals(Collections.singletonList(2L),
+                dueCardIndex.getCardsThatNeedRepeating(USER_ID, DECK_ID, NOW, 1));
+        assertEquals(2L, dueCardIndex.countCardsThatNeedRepeating(USER_ID, DECK_ID, NOW));
+    }
+
+    @Test
+    public void testGetPostponedCards() {
+        assertEquals(Collections.singletonList(3L), dueCardIndex.getPostponedCards(USER_ID, DECK_ID, NOW, 10));
+    }
+
+    @Test
+    public void testGetNewCardsSkipsSeenCards() {
+        assertEquals(Arrays.asList(4L, 5L), dueCardIndex.getNewCards(USER_ID, DECK_ID, 10));
+        assertEquals(Collections.singletonList(4L), dueCardIndex.getNewCards(USER_ID, DECK_ID, 1));
+    }
+
+    @Test
+    public void testIndexIsLoadedOnceAndKeptUpToDate() {
+        dueCardIndex.getCardsThatNeedRepeating(USER_ID, DECK_ID, NOW, 10);
+        dueCardIndex.update(createUserCardQueue(2L, new Date(NOW.getTime() + 2 * DAY)));
+        dueCardIndex.update(createUserCardQueue(4L, new Date(NOW.getTime() - 30)));
+
+        assertEquals(Arrays.asList(4L, 1L), dueCardIndex.getCardsThatNeedRepeating(USER_ID, DECK_ID, NOW, 10));
+        assertEquals(Arrays.asList(3L, 2L), dueCardIndex.getPostponedCards(USER_ID, DECK_ID, NOW, 10));
+        assertEquals(Collections.singletonList(5L), dueCardIndex.getNewCards(USER_ID, DECK_ID, 10));
+        verify(userCardQueueRepository, times(1)).findAllByUserIdAndDeckId(USER_ID, DECK_ID);
+    }
+
+    @Test
+    public void testCardNeedsRepeatingFromItsDateToRepeat() {
+        Date dateToRepeat = new Date(NOW.getTime() + 10);
+        dueCardIndex.getCardsThatNeedRepeating(USER_ID, DECK_ID, NOW, 10);
+        dueCardIndex.update(createUserCardQueue(4L, dateToRepeat));
+
+        assertEquals(Arrays.asList(4L, 3L), dueCardIndex.getPostponedCards(USER_ID, DECK_ID, NOW, 10));
+        assertEquals(2L, dueCardIndex.countCardsThatNeedRepeating(USER_ID, DECK_ID, NOW));
+        assertEquals(Arrays.asList(2L, 1L, 4L),
+                dueCardIndex.getCardsThatNeedRepeating(USER_ID, DECK_ID, dateToRepeat, 10));
+    }
+
+    @Test
+    public void testRemoveCard() {
+        dueCardIndex.getCardsThatNeedRepeating(USER_ID, DECK_ID, NOW, 10);
+        dueCardIndex.removeCard(2L);
+
+        assertEquals(Collections.singletonList(1L), dueCardIndex.getCardsThatNeedRepeating(USER_ID, DECK_ID, NOW, 10));
+    }
+
+    @Test
+    public void testEvictUserReloadsIndex() {
+        dueCardIndex.getCardsThatNeedRepeating(USER_ID, DECK_ID, NOW, 10);
+        dueCardIndex.evictUser(USER_ID);
+        dueCardIndex.getCardsThatNeedRepeating(USER_ID, DECK_ID, NOW, 10);
+
+        verify(userCardQueueRepository, times(2)).findAllByUserIdAndDeckId(USER_ID, DECK_ID);
+    }
+
+    @Test
+    public void testUpdateDuringLoadIsApplied() {
+        UserCardQueue dueEarlier = createUserCardQueue(2L, new Date(NOW.getTime() - 20));
+        when(userCardQueueRepository.findAllByUserIdAndDeckId(USER_ID, DECK_ID)).thenAnswer(invocation -> {
+            dueCardIndex.update(createUserCardQueue(5L, new Date(NOW.getTime() - 30)));
+            return Collections.singletonList(dueEarlier);
+        });
+
+        assertEquals(Arrays.asList(5L, 2L), dueCardIndex.getCardsThatNeedRepeating(USER_ID, DECK_ID, NOW, 10));
+        assertEquals(Arrays.asList(1L, 3L, 4L), dueCardIndex.getNewCards(USER_ID, DECK_ID, 10));
+    }
+
+    @Test
+    public void testGetNewCardsWithIdsBeyondIntRange() {
+        long cardId = Integer.MAX_VALUE + 10L;
+        when(cardRepository.findIdsByDeckId(DECK_ID)).thenReturn(Arrays.asList(1L, cardId, cardId + 1));
+        dueCardIndex.getCardsThatNeedRepeating(USER_ID, DECK_ID, NOW, 10);
+        dueCardIndex.update(createUserCardQueue(cardId, new Date(NOW.getTime() + DAY)));
+
+        assertEquals(Collections.singletonList(cardId + 1), dueCardIndex.getNewCards(USER_ID, DECK_ID, 10));
+    }
+
+    private UserCardQueue createUserCardQueue(Long cardId, Date dateToRepeat) {
+        return DomainFactory.createUserCardQueue(cardId, USER_ID, cardId, DECK_ID, null, NOW, dateToRepeat, null);
+    }
+}
@@ -0,0 +1,43 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.service.learningSession.DueCardsMerger;
+import com.softserve.academy.spaced.repetition.service.learningSession.DueCardsMerger.DueCard;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DueCardsMergerTest {
+
+    private final List<DueCard> FIRST_DECK = Arrays.asList(new DueCard(1L, 10L), new DueCard(2L, 20L),
+            new DueCard(3L, 30L), new DueCard(4L, 40L));
+    private final List<DueCard> SECOND_DECK = Arrays.asList(new DueCard(5L, 15L), new DueCard(6L, 50L));
+
+    @Test
+    public void testMergeOrdersCardsByDateToRepeat() {
+        assertEquals(Arrays.asList(1L, 5L, 2L, 3L, 4L, 6L),
+                DueCardsMerger.merge(Arrays.asList(FIRST_DECK, SECOND_DECK), 10, 10));
+    }
+
+    @Test
+    public void testMergeKeepsCardsOverPerDeckCapForTheEnd() {
+        assertEquals(Arrays.asList(1L, 5L, 2L, 6L, 3L, 4L),
+                DueCardsMerger.merge(Arrays.asList(FIRST_DECK, SECOND_DECK), 10, 2));
+    }
+
+    @Test
+    public void testMergeStopsAtLimit() {
+        assertEquals(Arrays.asList(1L, 5L, 2L, 6L),
+                DueCardsMerger.merge(Arrays.asList(FIRST_DECK, SECOND_DECK), 4, 2));
+    }
+
+    @Test
+    public void testMergeWithoutDueCards() {
+        assertTrue(DueCardsMerger.merge(Arrays.asList(Collections.emptyList(), Collections.emptyList()), 10, 2)
+                .isEmpty());
+    }
+}
@@ -0,0 +1,81 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
+import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
+import com.softserve.academy.spaced.repetition.service.scheduler.EaseFactorScheduler;
+import com.softserve.academy.spaced.repetition.util.DomainFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class EaseFactorSchedulerTest {
+
+    private static final double DELTA = 0.0001;
+    private final Date CARD_DATE = new Date();
+    private EaseFactorScheduler easeFactorScheduler;
+    private UserCardQueue userCardQueue;
+
+    @Before
+    public void setUp() {
+        easeFactorScheduler = new EaseFactorScheduler();
+        userCardQueue = DomainFactory.createUserCardQueue(1L, 1L, 1L, 1L, null, CARD_DATE, null, null);
+    }
+
+    @Test
+    public void testScheduleFirstGoodAnswer() {
+        easeFactorScheduler.schedule(userCardQueue, UserCardQueueStatus.GOOD, null);
+
+        assertEquals(Integer.valueOf(1), userCardQueue.getRepetitions());
+        assertEquals(Integer.valueOf(1), userCardQueue.getIntervalDays());
+        assertEquals(2.6, userCardQueue.getEaseFactor(), DELTA);
+        assertEquals(UserCardQueueStatus.GOOD, userCardQueue.getStatus());
+        assertDateToRepeat(1);
+    }
+
+    @Test
+    public void testScheduleGrowsIntervalByEaseFactor() {
+        easeFactorScheduler.schedule(userCardQueue, UserCardQueueStatus.GOOD, null);
+        easeFactorScheduler.schedule(userCardQueue, UserCardQueueStatus.NORMAL, null);
+        assertEquals(Integer.valueOf(6), userCardQueue.getIntervalDays());
+        assertEquals(2.6, userCardQueue.getEaseFactor(), DELTA);
+
+        easeFactorScheduler.schedule(userCardQueue, UserCardQueueStatus.GOOD, null);
+        assertEquals(Integer.valueOf(3), userCardQueue.getRepetitions());
+        assertEquals(Integer.valueOf(16), userCardQueue.getIntervalDays());
+        assertDateToRepeat(16);
+    }
+
+    @Test
+    public void testScheduleBadAnswerResetsInterval() {
+        userCardQueue.setEaseFactor(1.4);
+        userCardQueue.setRepetitions(5);
+        userCardQueue.setIntervalDays(40);
+
+        easeFactorScheduler.schedule(userCardQueue, UserCardQueueStatus.BAD, null);
+        assertEquals(Integer.valueOf(0), userCardQueue.getRepetitions());
+        assertEquals(Integer.valueOf(1), userCardQueue.getIntervalDays());
+        assertEquals(1.3, userCardQueue.getEaseFactor(), DELTA);
+        assertDateToRepeat(1);
+    }
+
+    @Test
+    public void testRescheduleInitializesEaseFactorFromExistingDateToRepeat() {
+        userCardQueue.setDateToRepeat(new Date(CARD_DATE.getTime() + TimeUnit.DAYS.toMillis(7)));
+
+        easeFactorScheduler.reschedule(Collections.singletonList(userCardQueue), null);
+        assertEquals(2.5, userCardQueue.getEaseFactor(), DELTA);
+        assertEquals(Integer.valueOf(7), userCardQueue.getIntervalDays());
+        assertEquals(Integer.valueOf(2), userCardQueue.getRepetitions());
+        assertDateToRepeat(7);
+    }
+
+    private void assertDateToRepeat(int intervalDays) {
+        assertEquals(CARD_DATE.getTime() + TimeUnit.DAYS.toMillis(intervalDays),
+                userCardQueue.getDateToRepeat().getTime());
+    }
+}
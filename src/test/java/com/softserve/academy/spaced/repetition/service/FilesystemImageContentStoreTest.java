@@ -0,0 +1,51 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.service.imageStore.FilesystemImageContentStore;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class FilesystemImageContentStoreTest {
+
+    private final byte[] CONTENT = {1, 2, 3};
+    private final String CONTENT_KEY = "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81";
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private FilesystemImageContentStore imageContentStore;
+
+    @Before
+    public void setUp() {
+        imageContentStore = new FilesystemImageContentStore(temporaryFolder.getRoot().getPath());
+    }
+
+    @Test
+    public void testSaveAndCopyContent() throws IOException {
+        assertEquals(CONTENT_KEY, imageContentStore.save(new ByteArrayResource(CONTENT)));
+        assertEquals(CONTENT_KEY, imageContentStore.save(new ByteArrayResource(CONTENT)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(imageContentStore.copy(CONTENT_KEY, out));
+        assertArrayEquals(CONTENT, out.toByteArray());
+    }
+
+    @Test
+    public void testDeleteContent() throws IOException {
+        imageContentStore.save(new ByteArrayResource(CONTENT));
+        assertEquals(CONTENT.length, imageContentStore.delete(CONTENT_KEY));
+        assertEquals(0L, imageContentStore.delete(CONTENT_KEY));
+
+        assertFalse(imageContentStore.copy(CONTENT_KEY, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void testCopyWithInvalidKey() throws IOException {
+        assertFalse(imageContentStore.copy("../" + CONTENT_KEY, new ByteArrayOutputStream()));
+    }
+}
@@ -38,6 +38,8 @@ public class FolderServiceTest {
     private DeckRepository deckRepository;
     @Mock
     private UserService userService;
+    @Mock
+    private ChangeLogService changeLogService;
     private Folder folder;
     private Deck deck;
 
@@ -61,6 +63,7 @@ public class FolderServiceTest {
         verify(deckRepository).getDeckById(DECK_ID);
         verify(userService).getAuthorizedUser();
         verify(folderRepository).save(folder);
+        verify(changeLogService).recordFolderDeckAdded(DECK_ID, 1L);
         assertEquals(deck, result);
     }
 
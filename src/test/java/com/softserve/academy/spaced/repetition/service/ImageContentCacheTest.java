@@ -0,0 +1,70 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentCache;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import static org.junit.Assert.*;
+
+public class ImageContentCacheTest {
+
+    private final long MAX_BYTES = 160L;
+    private ImageContentCache imageContentCache;
+
+    @Before
+    public void setUp() {
+        imageContentCache = new ImageContentCache(MAX_BYTES);
+    }
+
+    @Test
+    public void testGetCountsHitsAndMisses() {
+        imageContentCache.put("first", new byte[10]);
+
+        assertNotNull(imageContentCache.get("first"));
+        assertNull(imageContentCache.get("second"));
+        assertEquals(1L, getMetric("imageContentCache.hits"));
+        assertEquals(1L, getMetric("imageContentCache.misses"));
+        assertEquals(10L, getMetric("imageContentCache.bytes"));
+    }
+
+    @Test
+    public void testPutEvictsLeastRecentlyUsedContentOverBudget() {
+        for (int i = 0; i < 16; i++) {
+            imageContentCache.put("key" + i, new byte[10]);
+        }
+        imageContentCache.get("key0");
+        imageContentCache.put("key16", new byte[10]);
+
+        assertNotNull(imageContentCache.get("key0"));
+        assertNull(imageContentCache.get("key1"));
+        assertEquals(1L, getMetric("imageContentCache.evictions"));
+        assertEquals(MAX_BYTES, getMetric("imageContentCache.bytes"));
+    }
+
+    @Test
+    public void testPutSkipsContentTooLargeForCache() {
+        imageContentCache.put("large", new byte[11]);
+
+        assertFalse(imageContentCache.isCacheable(11L));
+        assertNull(imageContentCache.get("large"));
+    }
+
+    @Test
+    public void testEvict() {
+        imageContentCache.put("first", new byte[10]);
+        imageContentCache.evict("first");
+
+        assertNull(imageContentCache.get("first"));
+        assertEquals(0L, getMetric("imageContentCache.bytes"));
+    }
+
+    private long getMetric(String name) {
+        for (Metric<?> metric : imageContentCache.metrics()) {
+            if (metric.getName().equals(name)) {
+                return metric.getValue().longValue();
+            }
+        }
+        throw new AssertionError(name);
+    }
+}
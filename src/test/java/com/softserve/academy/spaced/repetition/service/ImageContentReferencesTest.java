@@ -0,0 +1,133 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentReferences;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentStore;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ImageContentReferencesTest {
+
+    private final String CONTENT_KEY = "contentKey";
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ImageContentStore imageContentStore;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @InjectMocks
+    private ImageContentReferences imageContentReferences;
+    private InputStreamSource content;
+
+    @Before
+    public void setUp() throws IOException {
+        content = new ByteArrayResource(new byte[]{1, 2, 3});
+        when(imageContentStore.save(content)).thenReturn(CONTENT_KEY);
+        when(imageContentStore.exists(CONTENT_KEY)).thenReturn(true);
+    }
+
+    @Test
+    public void testAcquireCountsReferenceAfterSavingContent() throws IOException {
+        assertEquals(CONTENT_KEY, imageContentReferences.acquire(content));
+
+        InOrder inOrder = inOrder(jdbcTemplate, imageContentStore);
+        inOrder.verify(imageContentStore).save(content);
+        inOrder.verify(jdbcTemplate).update(anyString(), eq(CONTENT_KEY));
+        inOrder.verify(imageContentStore).exists(CONTENT_KEY);
+        verifyNoMoreInteractions(imageContentStore);
+    }
+
+    @Test
+    public void testAcquireSavesContentDeletedBeforeReferenceWasCounted() throws IOException {
+        when(imageContentStore.exists(CONTENT_KEY)).thenReturn(false);
+
+        assertEquals(CONTENT_KEY, imageContentReferences.acquire(content));
+        verify(imageContentStore, times(2)).save(content);
+    }
+
+    @Test
+    public void testAcquireReleasesReferenceIfContentIsNotSaved() throws IOException {
+        when(imageContentStore.exists(CONTENT_KEY)).thenReturn(false);
+        when(imageContentStore.save(content)).thenReturn(CONTENT_KEY).thenThrow(new IOException());
+
+        try {
+            imageContentReferences.acquire(content);
+        } catch (IOException e) {
+            verify(jdbcTemplate, times(2)).update(anyString(), eq(CONTENT_KEY));
+            return;
+        }
+        throw new AssertionError();
+    }
+
+    @Test
+    public void testReleaseDeletesContentWithoutReferences() throws IOException {
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(CONTENT_KEY)))
+                .thenReturn(Collections.singletonList(0));
+
+        assertTrue(imageContentReferences.release(CONTENT_KEY));
+        verify(imageContentStore).delete(CONTENT_KEY);
+        verify(transactionManager).commit(any(TransactionStatus.class));
+    }
+
+    @Test
+    public void testReleaseDeletesContentAfterCommit() throws IOException {
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(CONTENT_KEY)))
+                .thenReturn(Collections.singletonList(0));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(imageContentReferences.release(CONTENT_KEY));
+            verify(imageContentStore, never()).delete(CONTENT_KEY);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(imageContentStore).delete(CONTENT_KEY);
+    }
+
+    @Test
+    public void testReleaseKeepsContentAcquiredBeforeCommit() throws IOException {
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(CONTENT_KEY)))
+                .thenReturn(Collections.singletonList(0), Collections.singletonList(1));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(imageContentReferences.release(CONTENT_KEY));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(imageContentStore, never()).delete(CONTENT_KEY);
+    }
+
+    @Test
+    public void testReleaseKeepsContentWithReferences() throws IOException {
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(CONTENT_KEY)))
+                .thenReturn(Collections.singletonList(1));
+
+        assertFalse(imageContentReferences.release(CONTENT_KEY));
+        verify(imageContentStore, never()).delete(CONTENT_KEY);
+    }
+}
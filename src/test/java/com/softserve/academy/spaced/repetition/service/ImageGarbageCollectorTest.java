@@ -0,0 +1,138 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentCache;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentReferences;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentStore;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageGarbageCollector;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.contains;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ImageGarbageCollectorTest {
+
+    private final Long IMAGE_ID = 1L;
+    private final Long USER_ID = 2L;
+    private final Long IMAGE_SIZE = 100L;
+    private final String IMAGE_CONTENT_KEY = "imageContentKey";
+    private final String ORPHAN_CONTENT_KEY = "orphanContentKey";
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ImageContentReferences imageContentReferences;
+    @Mock
+    private ImageContentStore imageContentStore;
+    @Spy
+    private ImageContentCache imageContentCache = new ImageContentCache(1024L);
+    @Mock
+    private ImageQuotaService imageQuotaService;
+    @InjectMocks
+    private ImageGarbageCollector imageGarbageCollector;
+
+    @Before
+    public void setUp() throws Exception {
+        ReflectionTestUtils.setField(imageGarbageCollector, "gracePeriodDays", 30);
+        ReflectionTestUtils.setField(imageGarbageCollector, "chunkSize", 100);
+        ReflectionTestUtils.setField(imageGarbageCollector, "chunkPauseMillis", 0L);
+
+        when(transactionTemplate.execute(any(TransactionCallback.class))).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArguments()[0]).doInTransaction(null));
+        when(namedParameterJdbcTemplate.queryForList(contains("i.image_id > :lastId"), any(SqlParameterSource.class),
+                eq(Long.class))).thenReturn(Collections.singletonList(IMAGE_ID));
+        when(namedParameterJdbcTemplate.queryForList(contains("r.content_key > :lastKey"),
+                any(SqlParameterSource.class), eq(String.class))).thenReturn(Collections.emptyList());
+        doAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("image_id")).thenReturn(IMAGE_ID);
+            when(rs.getLong("user_id")).thenReturn(USER_ID);
+            when(rs.getString("content_key")).thenReturn(IMAGE_CONTENT_KEY);
+            when(rs.getLong("size")).thenReturn(IMAGE_SIZE);
+            ((RowCallbackHandler) invocation.getArguments()[2]).processRow(rs);
+            return null;
+        }).when(namedParameterJdbcTemplate).query(contains("FROM image i WHERE i.image_id IN (:ids)"),
+                any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    public void testCollectGarbageRemovesUnusedImages() throws IOException {
+        when(imageContentReferences.release(IMAGE_CONTENT_KEY)).thenReturn(true);
+
+        imageGarbageCollector.collectGarbage();
+        verify(namedParameterJdbcTemplate).update(contains("DELETE FROM image WHERE"), any(SqlParameterSource.class));
+        verify(imageQuotaService).releaseBytes(USER_ID, IMAGE_SIZE);
+        verify(imageContentCache).evict(IMAGE_CONTENT_KEY);
+        assertEquals(IMAGE_SIZE, getMetric("imageGarbageCollector.reclaimedBytes"));
+        assertEquals(1L, getMetric("imageGarbageCollector.removedImages"));
+    }
+
+    @Test
+    public void testCollectGarbageKeepsContentSharedWithOtherImages() throws IOException {
+        when(imageContentReferences.release(IMAGE_CONTENT_KEY)).thenReturn(false);
+
+        imageGarbageCollector.collectGarbage();
+        verify(imageContentReferences).release(IMAGE_CONTENT_KEY);
+        verify(imageContentCache, never()).evict(IMAGE_CONTENT_KEY);
+        assertEquals(0L, getMetric("imageGarbageCollector.reclaimedBytes"));
+    }
+
+    @Test
+    public void testCollectGarbageSkipsImagesTakenIntoUseSinceScan() {
+        doNothing().when(namedParameterJdbcTemplate).query(contains("FROM image i WHERE i.image_id IN (:ids)"),
+                any(SqlParameterSource.class), any(RowCallbackHandler.class));
+
+        imageGarbageCollector.collectGarbage();
+        verify(namedParameterJdbcTemplate, never()).update(contains("DELETE FROM image WHERE"),
+                any(SqlParameterSource.class));
+        verifyZeroInteractions(imageQuotaService, imageContentReferences);
+    }
+
+    @Test
+    public void testCollectGarbageRemovesUnreferencedContent() throws IOException {
+        when(namedParameterJdbcTemplate.queryForList(contains("i.image_id > :lastId"), any(SqlParameterSource.class),
+                eq(Long.class))).thenReturn(Collections.emptyList());
+        when(namedParameterJdbcTemplate.queryForList(contains("r.content_key > :lastKey"),
+                any(SqlParameterSource.class), eq(String.class))).thenReturn(Collections.singletonList(ORPHAN_CONTENT_KEY));
+        when(namedParameterJdbcTemplate.queryForList(contains("r.content_key IN (:keys)"),
+                any(SqlParameterSource.class), eq(String.class))).thenReturn(Collections.singletonList(ORPHAN_CONTENT_KEY));
+        when(imageContentStore.delete(ORPHAN_CONTENT_KEY)).thenReturn(IMAGE_SIZE);
+
+        imageGarbageCollector.collectGarbage();
+        verify(imageContentStore).delete(ORPHAN_CONTENT_KEY);
+        verify(namedParameterJdbcTemplate).update(contains("DELETE FROM image_content_reference"),
+                any(SqlParameterSource.class));
+        assertEquals(IMAGE_SIZE, getMetric("imageGarbageCollector.reclaimedBytes"));
+        assertEquals(1L, getMetric("imageGarbageCollector.removedContents"));
+    }
+
+    private Object getMetric(String name) {
+        for (Metric<?> metric : imageGarbageCollector.metrics()) {
+            if (metric.getName().equals(name)) {
+                return metric.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,123 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.repository.ImageQuotaRepository;
+import com.softserve.academy.spaced.repetition.service.impl.ImageQuotaServiceImpl;
+import com.softserve.academy.spaced.repetition.utils.exceptions.ImageRepositorySizeQuotaExceededException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ImageQuotaServiceTest {
+
+    private final Long USER_ID = 1L;
+    private final long USER_QUOTE = 100L;
+    private final long BYTES = 10L;
+    private final int CHUNK_SIZE = 2;
+    private final int GRACE_MINUTES = 60;
+    @Mock
+    private ImageQuotaRepository imageQuotaRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @InjectMocks
+    private ImageQuotaServiceImpl imageQuotaService;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(imageQuotaService, "userQuote", USER_QUOTE);
+        ReflectionTestUtils.setField(imageQuotaService, "reconciliationChunkSize", CHUNK_SIZE);
+        ReflectionTestUtils.setField(imageQuotaService, "reconciliationGraceMinutes", GRACE_MINUTES);
+        when(transactionTemplate.execute(any(TransactionCallback.class))).thenAnswer(invocation ->
+                ((TransactionCallback) invocation.getArguments()[0]).doInTransaction(null));
+    }
+
+    @Test
+    public void testGetBytesLeft() {
+        when(imageQuotaRepository.getBytesUsed(USER_ID)).thenReturn(BYTES);
+
+        assertEquals(USER_QUOTE - BYTES, imageQuotaService.getBytesLeft(USER_ID));
+    }
+
+    @Test
+    public void testGetBytesLeftOfUserWithoutImages() {
+        assertEquals(USER_QUOTE, imageQuotaService.getBytesLeft(USER_ID));
+    }
+
+    @Test
+    public void testReserveBytes() throws ImageRepositorySizeQuotaExceededException {
+        when(imageQuotaRepository.reserveBytes(USER_ID, BYTES, USER_QUOTE)).thenReturn(1);
+
+        imageQuotaService.reserveBytes(USER_ID, BYTES);
+        verify(imageQuotaRepository, never()).createIfMissing(USER_ID);
+    }
+
+    @Test
+    public void testReserveBytesOfUserWithoutImages() throws ImageRepositorySizeQuotaExceededException {
+        when(imageQuotaRepository.reserveBytes(USER_ID, BYTES, USER_QUOTE)).thenReturn(0, 1);
+        when(imageQuotaRepository.createIfMissing(USER_ID)).thenReturn(1);
+
+        imageQuotaService.reserveBytes(USER_ID, BYTES);
+        verify(imageQuotaRepository, times(2)).reserveBytes(USER_ID, BYTES, USER_QUOTE);
+    }
+
+    @Test
+    public void testReserveBytesOfUserWhoseQuotaWasCreatedConcurrently()
+            throws ImageRepositorySizeQuotaExceededException {
+        when(imageQuotaRepository.reserveBytes(USER_ID, BYTES, USER_QUOTE)).thenReturn(0, 1);
+        when(imageQuotaRepository.createIfMissing(USER_ID)).thenReturn(0);
+
+        imageQuotaService.reserveBytes(USER_ID, BYTES);
+        verify(imageQuotaRepository, times(2)).reserveBytes(USER_ID, BYTES, USER_QUOTE);
+    }
+
+    @Test(expected = ImageRepositorySizeQuotaExceededException.class)
+    public void testReserveBytesIfQuotaIsExceeded() throws ImageRepositorySizeQuotaExceededException {
+        when(imageQuotaRepository.reserveBytes(USER_ID, BYTES, USER_QUOTE)).thenReturn(0);
+        when(imageQuotaRepository.createIfMissing(USER_ID)).thenReturn(0);
+
+        imageQuotaService.reserveBytes(USER_ID, BYTES);
+    }
+
+    @Test
+    public void testReleaseBytes() {
+        imageQuotaService.releaseBytes(USER_ID, BYTES);
+        verify(imageQuotaRepository).releaseBytes(USER_ID, BYTES);
+    }
+
+    @Test
+    public void testReconcileBytesUsedInChunksOfUsers() {
+        final Long OTHER_USER_ID = 2L;
+        final Long USER_WITHOUT_IMAGES_ID = 3L;
+        when(imageQuotaRepository.findUserIdsAfter(0L, new PageRequest(0, CHUNK_SIZE)))
+                .thenReturn(Arrays.asList(USER_ID, OTHER_USER_ID));
+        when(imageQuotaRepository.findUserIdsAfter(OTHER_USER_ID, new PageRequest(0, CHUNK_SIZE)))
+                .thenReturn(Collections.singletonList(USER_WITHOUT_IMAGES_ID));
+        when(imageQuotaRepository.findUserIdsAfter(USER_WITHOUT_IMAGES_ID, new PageRequest(0, CHUNK_SIZE)))
+                .thenReturn(Collections.emptyList());
+        when(imageQuotaRepository.sumImageSizesByUser(Arrays.asList(USER_ID, OTHER_USER_ID)))
+                .thenReturn(Arrays.asList(new Object[]{BigInteger.valueOf(USER_ID), BigDecimal.valueOf(BYTES)},
+                        new Object[]{BigInteger.valueOf(OTHER_USER_ID), BigDecimal.valueOf(2 * BYTES)}));
+
+        imageQuotaService.reconcileBytesUsed();
+        verify(transactionTemplate, times(2)).execute(any(TransactionCallback.class));
+        verify(imageQuotaRepository).reconcileBytesUsed(USER_ID, BYTES, GRACE_MINUTES);
+        verify(imageQuotaRepository).reconcileBytesUsed(OTHER_USER_ID, 2 * BYTES, GRACE_MINUTES);
+        verify(imageQuotaRepository).reconcileBytesUsed(USER_WITHOUT_IMAGES_ID, 0L, GRACE_MINUTES);
+    }
+}
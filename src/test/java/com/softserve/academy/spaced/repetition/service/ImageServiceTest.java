@@ -1,8 +1,14 @@
 package com.softserve.academy.spaced.repetition.service;
 
 import com.softserve.academy.spaced.repetition.domain.Image;
+import com.softserve.academy.spaced.repetition.domain.ImageVariant;
 import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.domain.enums.ImageVariantSize;
 import com.softserve.academy.spaced.repetition.repository.ImageRepository;
+import com.softserve.academy.spaced.repetition.repository.ImageVariantRepository;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentCache;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentReferences;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentStore;
 import com.softserve.academy.spaced.repetition.service.impl.ImageServiceImpl;
 import com.softserve.academy.spaced.repetition.util.DomainFactory;
 import com.softserve.academy.spaced.repetition.utils.exceptions.CanNotBeDeletedException;
@@ -14,19 +20,26 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.context.MessageSource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.OutputStream;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.NoSuchElementException;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -38,11 +51,25 @@ public class ImageServiceTest {
     private final Long MAX_FILE_SIZE = 1_048_576L;
     private final Long USER_QUOTE = 10_485_760L;
     private final Long EXCEEDED_USER_QUOTE = USER_QUOTE + 1L;
+    private final String IMAGE_CONTENT_KEY = "contentKey";
+    private final String PROFILE_IMAGE_BASE64 = "data:image/png;base64,AQID";
     @InjectMocks
     private ImageServiceImpl imageService;
     @Mock
     private ImageRepository imageRepository;
     @Mock
+    private ImageVariantRepository imageVariantRepository;
+    @Mock
+    private ImageVariantService imageVariantService;
+    @Mock
+    private ImageQuotaService imageQuotaService;
+    @Mock
+    private ImageContentStore imageContentStore;
+    @Mock
+    private ImageContentReferences imageContentReferences;
+    @Spy
+    private ImageContentCache imageContentCache = new ImageContentCache(1024L);
+    @Mock
     private UserService userService;
     @Mock
     private MultipartFile multipartFile;
@@ -55,20 +82,18 @@ public class ImageServiceTest {
     public void setUp() throws IOException, NotAuthorisedUserException {
         final Long NOT_OWNER_USER_ID = 42L;
         final Long IMAGE_SIZE = 1L;
-        final String IMAGE_BASE64 = "base64";
         final String IMAGE_CONTENT_TYPE = "image/";
         final String MESSAGE_SOURCE_MESSAGE = "message";
 
         final String FIELD_MAX_FILE_SIZE = "maxFileSize";
-        final String FIELD_USER_QUOTE = "userQuote";
         ReflectionTestUtils.setField(imageService, FIELD_MAX_FILE_SIZE, MAX_FILE_SIZE);
-        ReflectionTestUtils.setField(imageService, FIELD_USER_QUOTE, USER_QUOTE);
 
         notOwnerUser = DomainFactory.createUser(NOT_OWNER_USER_ID, null, null, null, null);
         final User user = DomainFactory.createUser(USER_ID, null, null, null, null);
-        image = DomainFactory.createImage(IMAGE_ID, IMAGE_BASE64, IMAGE_CONTENT_TYPE, user, IMAGE_SIZE, false);
+        image = DomainFactory.createImage(IMAGE_ID, IMAGE_CONTENT_KEY, IMAGE_CONTENT_TYPE, user, IMAGE_SIZE, false);
 
         when(multipartFile.getSize()).thenReturn(IMAGE_SIZE);
+        when(imageQuotaService.getBytesLeft(USER_ID)).thenReturn(USER_QUOTE);
         when(multipartFile.getBytes()).thenReturn(new byte[]{});
         when(multipartFile.getContentType()).thenReturn(IMAGE_CONTENT_TYPE);
         when(messageSource.getMessage(any(String.class), any(Object[].class), any(Locale.class)))
@@ -81,17 +106,65 @@ public class ImageServiceTest {
     }
 
     @Test
-    public void testAddImageToDB() throws NotAuthorisedUserException, ImageRepositorySizeQuotaExceededException {
+    public void testAddImageToDB() throws NotAuthorisedUserException, ImageRepositorySizeQuotaExceededException,
+            IOException {
         when(imageRepository.save(any(Image.class))).thenReturn(image);
         when(imageRepository.getImageWithoutContent(null)).thenReturn(image);
+        when(imageContentReferences.acquire(multipartFile)).thenReturn(IMAGE_CONTENT_KEY);
 
         Image result = imageService.addImageToDB(multipartFile);
         verify(userService, times(2)).getAuthorizedUser();
+        verify(imageContentReferences).acquire(multipartFile);
         verify(imageRepository).save(any(Image.class));
         verify(imageRepository).getImageWithoutContent(null);
+        verify(imageVariantService).generateImageVariants(any(Image.class));
+        verify(imageQuotaService).reserveBytes(USER_ID, multipartFile.getSize());
         assertEquals(image, result);
     }
 
+    @Test
+    public void testAddImageToDBReleasesReservedBytesIfContentIsNotSaved() throws NotAuthorisedUserException,
+            ImageRepositorySizeQuotaExceededException, IOException {
+        when(imageContentReferences.acquire(multipartFile)).thenThrow(new IOException());
+
+        try {
+            imageService.addImageToDB(multipartFile);
+            fail();
+        } catch (IllegalArgumentException e) {
+            verify(imageQuotaService).releaseBytes(USER_ID, multipartFile.getSize());
+            verify(imageRepository, never()).save(any(Image.class));
+        }
+    }
+
+    @Test
+    public void testAddImageToDBReleasesContentIfImageIsNotSaved() throws NotAuthorisedUserException,
+            ImageRepositorySizeQuotaExceededException, IOException {
+        when(imageContentReferences.acquire(multipartFile)).thenReturn(IMAGE_CONTENT_KEY);
+        when(imageRepository.save(any(Image.class))).thenThrow(new DataIntegrityViolationException("image"));
+
+        try {
+            imageService.addImageToDB(multipartFile);
+            fail();
+        } catch (DataIntegrityViolationException e) {
+            verify(imageQuotaService).releaseBytes(USER_ID, multipartFile.getSize());
+            verify(imageContentReferences).release(IMAGE_CONTENT_KEY);
+            verify(imageVariantService, never()).generateImageVariants(any(Image.class));
+        }
+    }
+
+    @Test(expected = ImageRepositorySizeQuotaExceededException.class)
+    public void testAddImageToDBIfConcurrentUploadExceededQuota() throws NotAuthorisedUserException,
+            ImageRepositorySizeQuotaExceededException, IOException {
+        doThrow(new ImageRepositorySizeQuotaExceededException()).when(imageQuotaService)
+                .reserveBytes(USER_ID, multipartFile.getSize());
+
+        try {
+            imageService.addImageToDB(multipartFile);
+        } finally {
+            verify(imageContentReferences, never()).acquire(multipartFile);
+        }
+    }
+
     @Test(expected = NotAuthorisedUserException.class)
     public void testAddImageToDBByNotAuthorisedUser()
             throws NotAuthorisedUserException, ImageRepositorySizeQuotaExceededException {
@@ -111,6 +184,32 @@ public class ImageServiceTest {
         verify(multipartFile).getSize();
     }
 
+    @Test
+    public void testAddProfileImage() throws ImageRepositorySizeQuotaExceededException, IOException {
+        when(imageContentReferences.acquire(any(InputStreamSource.class))).thenReturn(IMAGE_CONTENT_KEY);
+
+        Image result = imageService.addProfileImage(image.getCreatedBy(), PROFILE_IMAGE_BASE64);
+        verify(imageQuotaService).reserveBytes(USER_ID, 3L);
+        verify(imageRepository).save(result);
+        verify(imageVariantService).generateImageVariants(result);
+        assertEquals(IMAGE_CONTENT_KEY, result.getContentKey());
+        assertEquals("image/png", result.getType());
+        assertEquals(Long.valueOf(3L), result.getSize());
+        assertTrue(result.getIsImageUsed());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddProfileImageIfItIsNotImage() throws ImageRepositorySizeQuotaExceededException {
+        imageService.addProfileImage(image.getCreatedBy(), "data:text/plain;base64,AQID");
+    }
+
+    @Test(expected = MultipartException.class)
+    public void testAddProfileImageIfItIsTooLarge() throws ImageRepositorySizeQuotaExceededException {
+        ReflectionTestUtils.setField(imageService, "maxFileSize", 2L);
+
+        imageService.addProfileImage(image.getCreatedBy(), PROFILE_IMAGE_BASE64);
+    }
+
     @Test
     public void testCheckImageExtension() throws NotAuthorisedUserException, ImageRepositorySizeQuotaExceededException {
         imageService.checkImageExtension(multipartFile);
@@ -159,29 +258,92 @@ public class ImageServiceTest {
     }
 
     @Test
-    public void testGetDecodedImageContentByImageId() {
-        final List<Long> LIST_OF_IMAGES_ID = new ArrayList<>();
-        LIST_OF_IMAGES_ID.add(IMAGE_ID);
-
-        when(imageRepository.getIdList()).thenReturn(LIST_OF_IMAGES_ID);
+    public void testGetDecodedImageContentByImageId() throws IOException {
+        when(imageContentStore.copy(eq(IMAGE_CONTENT_KEY), any(OutputStream.class))).thenReturn(true);
 
         byte[] result = imageService.getDecodedImageContentByImageId(IMAGE_ID);
-        verify(imageRepository).getIdList();
         verify(imageRepository).findImageById(IMAGE_ID);
         assertNotNull(result);
     }
 
     @Test
     public void testGetDecodeImageContentByImageIdIfImageNotExist() {
-        final List<Long> LIST_OF_IMAGES_ID = new ArrayList<>();
-
-        when(imageRepository.getIdList()).thenReturn(LIST_OF_IMAGES_ID);
+        when(imageRepository.findImageById(IMAGE_ID)).thenReturn(null);
 
         byte[] result = imageService.getDecodedImageContentByImageId(IMAGE_ID);
-        verify(imageRepository).getIdList();
+        verify(imageRepository).findImageById(IMAGE_ID);
         assertNull(result);
     }
 
+    @Test
+    public void testGetImage() {
+        Image result = imageService.getImage(IMAGE_ID);
+        verify(imageRepository).findImageById(IMAGE_ID);
+        assertEquals(image, result);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testGetImageThatNotFound() {
+        when(imageRepository.findImageById(IMAGE_ID)).thenReturn(null);
+
+        imageService.getImage(IMAGE_ID);
+    }
+
+    @Test
+    public void testSaveImageContent() throws IOException {
+        when(imageContentReferences.acquire(multipartFile)).thenReturn(IMAGE_CONTENT_KEY);
+
+        assertEquals(IMAGE_CONTENT_KEY, imageService.saveImageContent(multipartFile));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSaveImageContentThatCanNotBeRead() throws IOException {
+        when(imageContentReferences.acquire(multipartFile)).thenThrow(new IOException());
+
+        imageService.saveImageContent(multipartFile);
+    }
+
+    @Test
+    public void testGetImageVariant() {
+        final String VARIANT_CONTENT_KEY = "variantContentKey";
+        final Long VARIANT_SIZE = 10L;
+        when(imageVariantService.getImageVariant(IMAGE_ID, ImageVariantSize.SMALL)).thenReturn(
+                new ImageVariant(IMAGE_ID, ImageVariantSize.SMALL, VARIANT_CONTENT_KEY, "image/jpeg", VARIANT_SIZE));
+
+        Image result = imageService.getImageVariant(IMAGE_ID, ImageVariantSize.SMALL);
+        assertEquals(VARIANT_CONTENT_KEY, result.getContentKey());
+        assertEquals(VARIANT_SIZE, result.getSize());
+        assertNull(imageService.getImageVariant(IMAGE_ID, ImageVariantSize.LARGE));
+    }
+
+    @Test
+    public void testCopyImageContent() throws IOException {
+        final OutputStream OUTPUT_STREAM = mock(OutputStream.class);
+        when(imageContentStore.copy(eq(IMAGE_CONTENT_KEY), any(OutputStream.class))).thenReturn(true);
+
+        imageService.copyImageContent(image, OUTPUT_STREAM);
+        imageService.copyImageContent(image, OUTPUT_STREAM);
+        verify(imageContentStore, times(1)).copy(eq(IMAGE_CONTENT_KEY), any(OutputStream.class));
+        verify(imageContentCache).put(eq(IMAGE_CONTENT_KEY), any(byte[].class));
+        verify(OUTPUT_STREAM, times(2)).write(any(byte[].class));
+    }
+
+    @Test
+    public void testCopyImageContentStreamsImageTooLargeForCache() throws IOException {
+        final OutputStream OUTPUT_STREAM = mock(OutputStream.class);
+        image.setSize(MAX_FILE_SIZE);
+        when(imageContentStore.copy(IMAGE_CONTENT_KEY, OUTPUT_STREAM)).thenReturn(true);
+
+        imageService.copyImageContent(image, OUTPUT_STREAM);
+        verify(imageContentStore).copy(IMAGE_CONTENT_KEY, OUTPUT_STREAM);
+        verify(imageContentCache, never()).put(eq(IMAGE_CONTENT_KEY), any(byte[].class));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testCopyImageContentThatNotFound() throws IOException {
+        imageService.copyImageContent(image, mock(OutputStream.class));
+    }
+
     @Test
     public void testEncodeToBase64() {
         String result = imageService.encodeToBase64(multipartFile);
@@ -198,19 +360,46 @@ public class ImageServiceTest {
 
     @Test
     public void testGetUsersLimitsInBytesForImagesLeft() {
-        when(imageRepository.getSumOfImagesSizesOfUserById(USER_ID)).thenReturn(null);
-
         Long result = imageService.getUsersLimitInBytesForImagesLeft(USER_ID);
-        verify(imageRepository).getSumOfImagesSizesOfUserById(USER_ID);
-        assertNotNull(result);
+        verify(imageQuotaService).getBytesLeft(USER_ID);
+        assertEquals(USER_QUOTE, result);
     }
 
     @Test
-    public void testDeleteImage() throws NotAuthorisedUserException, NotOwnerOperationException, CanNotBeDeletedException {
+    public void testDeleteImage() throws NotAuthorisedUserException, NotOwnerOperationException, CanNotBeDeletedException,
+            IOException {
+        when(imageContentReferences.release(IMAGE_CONTENT_KEY)).thenReturn(true);
+
         imageService.deleteImage(IMAGE_ID);
         verify(imageRepository).findImageById(IMAGE_ID);
         verify(userService).getAuthorizedUser();
         verify(imageRepository).delete(image);
+        verify(imageQuotaService).releaseBytes(USER_ID, image.getSize());
+        verify(imageContentReferences).release(IMAGE_CONTENT_KEY);
+        verify(imageContentCache).evict(IMAGE_CONTENT_KEY);
+    }
+
+    @Test
+    public void testDeleteImageWithVariants() throws NotAuthorisedUserException, NotOwnerOperationException,
+            CanNotBeDeletedException, IOException {
+        final String VARIANT_CONTENT_KEY = "variantContentKey";
+        List<ImageVariant> imageVariants = Collections.singletonList(
+                new ImageVariant(IMAGE_ID, ImageVariantSize.SMALL, VARIANT_CONTENT_KEY, "image/jpeg", 1L));
+        when(imageVariantRepository.findAllByImageId(IMAGE_ID)).thenReturn(imageVariants);
+
+        imageService.deleteImage(IMAGE_ID);
+        verify(imageVariantRepository).delete(imageVariants);
+        verify(imageContentReferences).release(VARIANT_CONTENT_KEY);
+    }
+
+    @Test
+    public void testDeleteImageKeepsContentUsedByAnotherImage() throws NotAuthorisedUserException,
+            NotOwnerOperationException, CanNotBeDeletedException, IOException {
+        when(imageContentReferences.release(IMAGE_CONTENT_KEY)).thenReturn(false);
+
+        imageService.deleteImage(IMAGE_ID);
+        verify(imageRepository).delete(image);
+        verify(imageContentCache, never()).evict(IMAGE_CONTENT_KEY);
     }
 
     @Test(expected = NotAuthorisedUserException.class)
@@ -245,6 +434,17 @@ public class ImageServiceTest {
         image.setIsImageUsed(false);
     }
 
+    @Test
+    public void testDeleteProfileImage() throws IOException {
+        image.setIsImageUsed(true);
+
+        imageService.deleteProfileImage(IMAGE_ID);
+        verify(imageRepository).delete(image);
+        verify(imageQuotaService).releaseBytes(USER_ID, image.getSize());
+        verify(imageContentReferences).release(IMAGE_CONTENT_KEY);
+        verifyZeroInteractions(userService);
+    }
+
     @Test
     public void testSetImageStatusInUse() {
         imageService.setImageStatusInUse(IMAGE_ID);
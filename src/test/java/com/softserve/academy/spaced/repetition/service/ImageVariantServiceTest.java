@@ -0,0 +1,125 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.domain.Image;
+import com.softserve.academy.spaced.repetition.domain.ImageVariant;
+import com.softserve.academy.spaced.repetition.domain.enums.ImageVariantSize;
+import com.softserve.academy.spaced.repetition.repository.ImageVariantRepository;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentReferences;
+import com.softserve.academy.spaced.repetition.service.imageStore.ImageContentStore;
+import com.softserve.academy.spaced.repetition.service.impl.ImageVariantServiceImpl;
+import com.softserve.academy.spaced.repetition.util.DomainFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ImageVariantServiceTest {
+
+    private final Long IMAGE_ID = 1L;
+    private final String IMAGE_CONTENT_KEY = "contentKey";
+    private final String VARIANT_CONTENT_KEY = "variantContentKey";
+    @Mock
+    private ImageVariantRepository imageVariantRepository;
+    @Mock
+    private ImageContentStore imageContentStore;
+    @Mock
+    private ImageContentReferences imageContentReferences;
+    @Spy
+    private AsyncTaskExecutor imageVariantExecutor = new TaskExecutorAdapter(Runnable::run);
+    @InjectMocks
+    private ImageVariantServiceImpl imageVariantService;
+    private Image image;
+
+    @Before
+    public void setUp() throws IOException {
+        final int IMAGE_WIDTH = 300;
+        final int IMAGE_HEIGHT = 150;
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(IMAGE_WIDTH, IMAGE_HEIGHT, BufferedImage.TYPE_INT_ARGB), "png", content);
+        image = DomainFactory.createImage(IMAGE_ID, IMAGE_CONTENT_KEY, "image/png", null, (long) content.size(), false);
+
+        when(imageContentStore.copy(eq(IMAGE_CONTENT_KEY), any(OutputStream.class))).thenAnswer(invocation -> {
+            content.writeTo((OutputStream) invocation.getArguments()[1]);
+            return true;
+        });
+        when(imageContentReferences.acquire(any(InputStreamSource.class))).thenReturn(VARIANT_CONTENT_KEY);
+    }
+
+    @Test
+    public void testGenerateImageVariantsSmallerThanOriginal() throws IOException {
+        ArgumentCaptor<InputStreamSource> contentCaptor = ArgumentCaptor.forClass(InputStreamSource.class);
+        ArgumentCaptor<ImageVariant> imageVariantCaptor = ArgumentCaptor.forClass(ImageVariant.class);
+
+        imageVariantService.generateImageVariants(image);
+        verify(imageContentReferences, times(2)).acquire(contentCaptor.capture());
+        verify(imageVariantRepository, times(2)).save(imageVariantCaptor.capture());
+
+        List<ImageVariant> imageVariants = imageVariantCaptor.getAllValues();
+        assertEquals(ImageVariantSize.SMALL, imageVariants.get(0).getVariant());
+        assertEquals(ImageVariantSize.MEDIUM, imageVariants.get(1).getVariant());
+        assertEquals("image/png", imageVariants.get(0).getType());
+        assertEquals(VARIANT_CONTENT_KEY, imageVariants.get(0).getContentKey());
+        try (InputStream in = contentCaptor.getAllValues().get(0).getInputStream()) {
+            BufferedImage smallVariant = ImageIO.read(in);
+            assertEquals(ImageVariantSize.SMALL.getMaxDimension(), smallVariant.getWidth());
+            assertEquals(ImageVariantSize.SMALL.getMaxDimension() / 2, smallVariant.getHeight());
+        }
+    }
+
+    @Test
+    public void testGenerateImageVariantsSkipsExistingVariant() throws IOException {
+        when(imageVariantRepository.findByImageIdAndVariant(IMAGE_ID, ImageVariantSize.SMALL))
+                .thenReturn(new ImageVariant());
+
+        imageVariantService.generateImageVariants(image);
+        verify(imageVariantRepository, times(1)).save(any(ImageVariant.class));
+    }
+
+    @Test
+    public void testGenerateImageVariantsOfContentThatIsNotImage() throws IOException {
+        when(imageContentStore.copy(eq(IMAGE_CONTENT_KEY), any(OutputStream.class))).thenAnswer(invocation -> {
+            ((OutputStream) invocation.getArguments()[1]).write(new byte[]{1, 2, 3});
+            return true;
+        });
+
+        imageVariantService.generateImageVariants(image);
+        verify(imageContentReferences, never()).acquire(any(InputStreamSource.class));
+    }
+
+    @Test
+    public void testGenerateImageVariantsAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            imageVariantService.generateImageVariants(image);
+            verify(imageVariantExecutor, never()).execute(any(Runnable.class));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(imageVariantExecutor).execute(any(Runnable.class));
+    }
+}
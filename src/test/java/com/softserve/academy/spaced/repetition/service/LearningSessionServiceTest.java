@@ -0,0 +1,158 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.domain.Account;
+import com.softserve.academy.spaced.repetition.domain.Card;
+import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
+import com.softserve.academy.spaced.repetition.repository.CardRepository;
+import com.softserve.academy.spaced.repetition.repository.FolderRepository;
+import com.softserve.academy.spaced.repetition.service.impl.LearningSessionServiceImpl;
+import com.softserve.academy.spaced.repetition.service.learningSession.LearningSession;
+import com.softserve.academy.spaced.repetition.service.scheduler.Scheduler;
+import com.softserve.academy.spaced.repetition.service.scheduler.SchedulerRegistry;
+import com.softserve.academy.spaced.repetition.util.DomainFactory;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.MessageSource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LearningSessionServiceTest {
+
+    private final Long USER_ID = 1L;
+    private final Long DECK_ID = 1L;
+    private final int CARDS_NUMBER = 2;
+    private final List<Long> CARD_IDS = Arrays.asList(3L, 1L, 2L);
+    @Mock
+    private UserService userService;
+    @Mock
+    private SchedulerRegistry schedulerRegistry;
+    @Mock
+    private Scheduler scheduler;
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private FolderRepository folderRepository;
+    @Mock
+    private MessageSource messageSource;
+    @Spy
+    private AsyncTaskExecutor learningSessionExecutor = new TaskExecutorAdapter(Runnable::run);
+    @InjectMocks
+    private LearningSessionServiceImpl learningSessionService;
+    private User user;
+
+    @Before
+    public void setUp() throws NotAuthorisedUserException {
+        Account account = DomainFactory.createAccount(1L, null, null, null, null, false, null, null,
+                LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION, CARDS_NUMBER, null);
+        user = DomainFactory.createUser(USER_ID, account, null, null, null);
+
+        when(userService.getAuthorizedUser()).thenReturn(user);
+        when(schedulerRegistry.getScheduler(LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION))
+                .thenReturn(scheduler);
+        when(scheduler.getLearningCardIds(eq(user), eq(DECK_ID), anyInt())).thenReturn(CARD_IDS);
+        when(cardRepository.findAllInOrder(any(List.class))).thenAnswer(invocation -> {
+            List<Card> cards = new ArrayList<>();
+            for (Object cardId : (List<?>) invocation.getArguments()[0]) {
+                cards.add(DomainFactory.createCard((Long) cardId, null, null, null, null));
+            }
+            return cards;
+        });
+    }
+
+    @Test
+    public void testOpenLearningSessionPrefetchesFirstPage() throws NotAuthorisedUserException {
+        LearningSession learningSession = learningSessionService.openLearningSession(DECK_ID);
+
+        assertEquals(CARD_IDS.size(), learningSession.getCardsNumber());
+        assertEquals(CARDS_NUMBER, learningSession.getPageSize());
+        verify(scheduler).getLearningCardIds(eq(user), eq(DECK_ID), anyInt());
+        verify(cardRepository).findAllInOrder(Arrays.asList(3L, 1L));
+    }
+
+    @Test
+    public void testGetNextCardsReturnsPagesInOrder() throws NotAuthorisedUserException {
+        String sessionId = learningSessionService.openLearningSession(DECK_ID).getId();
+
+        assertEquals(Arrays.asList(3L, 1L), getCardIds(learningSessionService.getNextCards(sessionId)));
+        assertEquals(Collections.singletonList(2L), getCardIds(learningSessionService.getNextCards(sessionId)));
+        assertTrue(learningSessionService.getNextCards(sessionId).isEmpty());
+        assertEquals(0, learningSessionService.getLearningSession(sessionId).getRemainingCardsNumber());
+        verify(scheduler, times(1)).getLearningCardIds(eq(user), eq(DECK_ID), anyInt());
+        verify(cardRepository, times(2)).findAllInOrder(any(List.class));
+    }
+
+    @Test
+    public void testOpenFolderLearningSessionUsesScheduler() throws NotAuthorisedUserException {
+        final Long FOLDER_ID = 1L;
+        List<Long> deckIds = Arrays.asList(DECK_ID, 2L);
+        user.setFolder(DomainFactory.createFolder(FOLDER_ID, null));
+        when(folderRepository.selectAllDeckIdWithFolder(FOLDER_ID)).thenReturn(deckIds);
+        when(scheduler.getLearningCardIds(user, deckIds, 1000)).thenReturn(CARD_IDS);
+
+        LearningSession learningSession = learningSessionService.openFolderLearningSession();
+        assertEquals(CARD_IDS.size(), learningSession.getCardsNumber());
+        assertEquals(null, learningSession.getDeckId());
+        assertEquals(Arrays.asList(3L, 1L), learningSession.peekNextPage());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testOpeningNewSessionClosesPreviousOne() throws NotAuthorisedUserException {
+        String sessionId = learningSessionService.openLearningSession(DECK_ID).getId();
+        learningSessionService.openLearningSession(DECK_ID);
+
+        learningSessionService.getNextCards(sessionId);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testGetLearningSessionOfAnotherUser() throws NotAuthorisedUserException {
+        String sessionId = learningSessionService.openLearningSession(DECK_ID).getId();
+        when(userService.getAuthorizedUser()).thenReturn(DomainFactory.createUser(USER_ID + 1, null, null, null,
+                null));
+
+        learningSessionService.getLearningSession(sessionId);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testCloseLearningSession() throws NotAuthorisedUserException {
+        String sessionId = learningSessionService.openLearningSession(DECK_ID).getId();
+        learningSessionService.closeLearningSession(sessionId);
+
+        learningSessionService.getLearningSession(sessionId);
+    }
+
+    @Test
+    public void testRemoveExpiredLearningSessions() throws NotAuthorisedUserException {
+        LearningSession expiredSession = learningSessionService.openLearningSession(DECK_ID);
+        ReflectionTestUtils.setField(expiredSession, "lastAccessTime", 0L);
+        String sessionId = learningSessionService.openLearningSession(DECK_ID + 1).getId();
+
+        learningSessionService.removeExpiredLearningSessions();
+        Map<?, ?> learningSessions = (Map<?, ?>) ReflectionTestUtils.getField(learningSessionService,
+                "learningSessions");
+        assertEquals(Collections.singleton(sessionId), learningSessions.keySet());
+    }
+
+    private List<Long> getCardIds(List<Card> cards) {
+        List<Long> cardIds = new ArrayList<>();
+        cards.forEach(card -> cardIds.add(card.getId()));
+        return cardIds;
+    }
+}
@@ -0,0 +1,71 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.domain.Account;
+import com.softserve.academy.spaced.repetition.domain.RememberingLevel;
+import com.softserve.academy.spaced.repetition.repository.RememberingLevelRepository;
+import com.softserve.academy.spaced.repetition.service.rememberingLevel.RememberingLevelLadder;
+import com.softserve.academy.spaced.repetition.service.rememberingLevel.RememberingLevelLadderCache;
+import com.softserve.academy.spaced.repetition.util.DomainFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RememberingLevelLadderCacheTest {
+
+    private final Long ACCOUNT_ID = 1L;
+    @Mock
+    private RememberingLevelRepository rememberingLevelRepository;
+    @InjectMocks
+    private RememberingLevelLadderCache rememberingLevelLadderCache;
+    private Account account;
+    private RememberingLevel firstLevel;
+    private RememberingLevel secondLevel;
+
+    @Before
+    public void setUp() {
+        account = DomainFactory.createAccount(ACCOUNT_ID, null, null, null, null, false, null, null, null, null, null);
+        firstLevel = DomainFactory.createRememberingLevel(1L, 1, null, 1, account);
+        secondLevel = DomainFactory.createRememberingLevel(2L, 2, null, 3, account);
+
+        when(rememberingLevelRepository.findAllByAccountOrderByOrderNumber(account))
+                .thenReturn(Arrays.asList(secondLevel, firstLevel));
+    }
+
+    @Test
+    public void testGetLadder() {
+        RememberingLevelLadder ladder = rememberingLevelLadderCache.getLadder(account);
+
+        assertEquals(2, ladder.size());
+        assertSame(firstLevel, ladder.getLevel(1));
+        assertSame(secondLevel, ladder.getLevel(2));
+        assertEquals(TimeUnit.DAYS.toMillis(3), ladder.getPostponingPeriod(2));
+    }
+
+    @Test
+    public void testGetLadderIsLoadedOnce() {
+        RememberingLevelLadder ladder = rememberingLevelLadderCache.getLadder(account);
+
+        assertSame(ladder, rememberingLevelLadderCache.getLadder(account));
+        verify(rememberingLevelRepository, times(1)).findAllByAccountOrderByOrderNumber(account);
+    }
+
+    @Test
+    public void testEvict() {
+        rememberingLevelLadderCache.getLadder(account);
+        rememberingLevelLadderCache.evict(ACCOUNT_ID);
+        rememberingLevelLadderCache.getLadder(account);
+
+        verify(rememberingLevelRepository, times(2)).findAllByAccountOrderByOrderNumber(account);
+    }
+}
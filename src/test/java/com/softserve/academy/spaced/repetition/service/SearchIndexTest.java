@@ -0,0 +1,236 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.domain.enums.SearchDocumentType;
+import com.softserve.academy.spaced.repetition.service.search.SearchHit;
+import com.softserve.academy.spaced.repetition.service.search.SearchIndex;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SearchIndexTest {
+
+    private final Long DECK_ID = 1L;
+    private final Long OTHER_DECK_ID = 2L;
+    private final Long USER_ID = 1L;
+    private final Long OTHER_USER_ID = 2L;
+    private final PageRequest FIRST_PAGE = new PageRequest(0, 20);
+    private final List<ResultSet> rows = new ArrayList<>();
+    private final List<Long> publicDeckIds = new ArrayList<>();
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @InjectMocks
+    private SearchIndex searchIndex;
+
+    @Before
+    public void setUp() {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = (RowCallbackHandler) invocation.getArguments()[2];
+            for (ResultSet row : rows) {
+                handler.processRow(row);
+            }
+            rows.clear();
+            return null;
+        }).when(namedParameterJdbcTemplate).query(anyString(), any(MapSqlParameterSource.class),
+                any(RowCallbackHandler.class));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class))).thenAnswer(invocation ->
+                new ArrayList<>(publicDeckIds));
+    }
+
+    @Test
+    public void testSearchRanksNamesAboveDescriptions() throws Exception {
+        indexDeck(1L, "Java basics", "Syntax and collections");
+        indexDeck(2L, "Collections", "Lists and maps of Java");
+        indexDeck(3L, "Python", "Basics of the language");
+
+        assertEquals(Arrays.asList(2L, 1L), search(SearchDocumentType.DECK, "COLLECTIONS"));
+        assertEquals(Arrays.asList(1L, 2L), search(SearchDocumentType.DECK, "java"));
+    }
+
+    @Test
+    public void testSearchMatchesAllWordsAndPrefixOfLastWord() throws Exception {
+        indexDeck(1L, "Spring Boot", null);
+        indexDeck(2L, "Spring Data", null);
+
+        assertEquals(Collections.singletonList(1L), search(SearchDocumentType.DECK, "spring boo"));
+        assertEquals(Collections.emptyList(), search(SearchDocumentType.DECK, "spring bo"));
+        assertEquals(Collections.emptyList(), search(SearchDocumentType.DECK, "boot data"));
+        assertEquals(Collections.emptyList(), search(SearchDocumentType.DECK, "?!"));
+    }
+
+    @Test
+    public void testReindexedDocumentReplacesPreviousVersion() throws Exception {
+        indexDeck(1L, "Java", null);
+        indexDeck(1L, "Kotlin", null);
+
+        assertEquals(Collections.emptyList(), search(SearchDocumentType.DECK, "java"));
+        assertEquals(Collections.singletonList(1L), search(SearchDocumentType.DECK, "kotlin"));
+    }
+
+    @Test
+    public void testRemovedDeckRemovesItsCards() throws Exception {
+        rows.add(cardRow(10L, DECK_ID, "What is a hash map?", "A map"));
+        rows.add(cardRow(11L, DECK_ID, "Hash of a string", null));
+        rows.add(cardRow(12L, OTHER_DECK_ID, "Hash collisions", "Chaining"));
+        searchIndex.indexCards(Arrays.asList(10L, 11L, 12L));
+        indexDeck(DECK_ID, "Maps", null);
+        indexDeck(OTHER_DECK_ID, "Strings", null);
+
+        searchIndex.removeDeck(DECK_ID);
+        Page<SearchHit> hits = searchIndex.search(SearchDocumentType.CARD, "hash", USER_ID, FIRST_PAGE);
+        assertEquals(1, hits.getTotalElements());
+        assertEquals(Long.valueOf(12L), hits.getContent().get(0).getId());
+        assertEquals(OTHER_DECK_ID, hits.getContent().get(0).getDeckId());
+        assertEquals(Collections.emptyList(), search(SearchDocumentType.DECK, "maps"));
+    }
+
+    @Test
+    public void testCardNotFoundOnReindexIsRemoved() throws Exception {
+        rows.add(cardRow(10L, DECK_ID, "Question", "Answer"));
+        searchIndex.indexCards(Collections.singletonList(10L));
+
+        searchIndex.indexCards(Collections.singletonList(10L));
+        assertEquals(Collections.emptyList(), search(SearchDocumentType.CARD, "question"));
+    }
+
+    @Test
+    public void testSearchReturnsRequestedPage() throws Exception {
+        for (long courseId = 1; courseId <= 25; courseId++) {
+            rows.add(courseRow(courseId, OTHER_USER_ID, true, "Course " + courseId));
+            searchIndex.indexCourse(courseId);
+        }
+
+        Page<SearchHit> hits = searchIndex.search(SearchDocumentType.COURSE, "course", null,
+                new PageRequest(1, 20));
+        assertEquals(25, hits.getTotalElements());
+        assertEquals(Arrays.asList(5L, 4L, 3L, 2L, 1L), hits.getContent().stream().map(SearchHit::getId)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSearchAfterRemovedCardsAreCompacted() throws Exception {
+        List<Long> cardIds = new ArrayList<>();
+        for (long cardId = 1; cardId <= 1100; cardId++) {
+            rows.add(cardRow(cardId, DECK_ID, "Question " + cardId, "Answer"));
+            cardIds.add(cardId);
+        }
+        searchIndex.indexCards(cardIds);
+        indexDeck(OTHER_DECK_ID, "Strings", null);
+        rows.add(cardRow(2000L, OTHER_DECK_ID, "Last question", "Answer"));
+        searchIndex.indexCards(Collections.singletonList(2000L));
+
+        searchIndex.removeDeck(DECK_ID);
+        assertEquals(Collections.singletonList(2000L), search(SearchDocumentType.CARD, "question answer"));
+        rows.add(cardRow(2001L, OTHER_DECK_ID, "Next question", "Answer"));
+        searchIndex.indexCards(Collections.singletonList(2001L));
+        assertEquals(Arrays.asList(2001L, 2000L), search(SearchDocumentType.CARD, "question"));
+    }
+
+    @Test
+    public void testSearchReturnsOnlyVisibleDocuments() throws Exception {
+        rows.add(courseRow(1L, OTHER_USER_ID, true, "Published course"));
+        rows.add(courseRow(2L, OTHER_USER_ID, false, "Private course"));
+        rows.add(courseRow(3L, USER_ID, false, "Own course"));
+        searchIndex.indexCourse(1L);
+        searchIndex.indexCourse(2L);
+        searchIndex.indexCourse(3L);
+        publicDeckIds.add(DECK_ID);
+        rows.add(deckRow(DECK_ID, OTHER_USER_ID, 0, "Public deck"));
+        searchIndex.indexDeck(DECK_ID);
+        rows.add(deckRow(OTHER_DECK_ID, OTHER_USER_ID, 0, "Private deck"));
+        searchIndex.indexDeck(OTHER_DECK_ID);
+        rows.add(cardRow(10L, DECK_ID, "Public question", null));
+        rows.add(cardRow(11L, OTHER_DECK_ID, "Private question", null));
+        searchIndex.indexCards(Arrays.asList(10L, 11L));
+
+        assertEquals(Collections.singletonList(1L), search(SearchDocumentType.COURSE, "course", null));
+        assertEquals(Arrays.asList(3L, 1L), search(SearchDocumentType.COURSE, "course", USER_ID));
+        assertEquals(Collections.singletonList(DECK_ID), search(SearchDocumentType.DECK, "deck", USER_ID));
+        assertEquals(Arrays.asList(OTHER_DECK_ID, DECK_ID), search(SearchDocumentType.DECK, "deck", OTHER_USER_ID));
+        Page<SearchHit> hits = searchIndex.search(SearchDocumentType.CARD, "question", null, FIRST_PAGE);
+        assertEquals(1, hits.getTotalElements());
+        assertEquals(Long.valueOf(10L), hits.getContent().get(0).getId());
+        assertEquals(Arrays.asList(11L, 10L), search(SearchDocumentType.CARD, "question", OTHER_USER_ID));
+    }
+
+    @Test
+    public void testStaleReloadDoesNotReplaceNewerVersion() throws Exception {
+        rows.add(deckRow(DECK_ID, USER_ID, 5, "Kotlin"));
+        searchIndex.indexDeck(DECK_ID);
+        rows.add(deckRow(DECK_ID, USER_ID, 4, "Java"));
+        searchIndex.indexDeck(DECK_ID);
+
+        assertEquals(Collections.emptyList(), search(SearchDocumentType.DECK, "java"));
+        assertEquals(Collections.singletonList(DECK_ID), search(SearchDocumentType.DECK, "kotlin"));
+    }
+
+    private List<Long> search(SearchDocumentType type, String query) {
+        return search(type, query, USER_ID);
+    }
+
+    private List<Long> search(SearchDocumentType type, String query, Long userId) {
+        return searchIndex.search(type, query, userId, FIRST_PAGE).getContent().stream().map(SearchHit::getId)
+                .collect(Collectors.toList());
+    }
+
+    private void indexDeck(Long deckId, String name, String description) throws Exception {
+        ResultSet rs = deckRow(deckId, USER_ID, 0, name);
+        when(rs.getString("description")).thenReturn(description);
+        rows.add(rs);
+        searchIndex.indexDeck(deckId);
+    }
+
+    private ResultSet deckRow(Long deckId, Long ownerId, long version, String name) throws Exception {
+        ResultSet rs = namedRow("deck_id", deckId, ownerId, name);
+        when(rs.getLong("version")).thenReturn(version);
+        return rs;
+    }
+
+    private ResultSet courseRow(Long courseId, Long ownerId, boolean published, String name) throws Exception {
+        ResultSet rs = namedRow("course_id", courseId, ownerId, name);
+        when(rs.getBoolean("published")).thenReturn(published);
+        return rs;
+    }
+
+    private ResultSet namedRow(String idColumn, Long id, Long ownerId, String name) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(id);
+        when(rs.getLong(idColumn)).thenReturn(id);
+        when(rs.getLong("user_id")).thenReturn(ownerId);
+        when(rs.getString("name")).thenReturn(name);
+        return rs;
+    }
+
+    private ResultSet cardRow(Long cardId, Long deckId, String question, String answer) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(cardId);
+        when(rs.getLong("card_id")).thenReturn(cardId);
+        when(rs.getLong("deck_id")).thenReturn(deckId);
+        when(rs.getString("question")).thenReturn(question);
+        when(rs.getString("answer")).thenReturn(answer);
+        return rs;
+    }
+}
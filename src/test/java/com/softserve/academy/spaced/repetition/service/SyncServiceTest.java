@@ -0,0 +1,190 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.*;
+import com.softserve.academy.spaced.repetition.domain.*;
+import com.softserve.academy.spaced.repetition.domain.enums.ChangeEntityType;
+import com.softserve.academy.spaced.repetition.domain.enums.ChangeOperation;
+import com.softserve.academy.spaced.repetition.domain.enums.SyncReviewResult;
+import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
+import com.softserve.academy.spaced.repetition.repository.*;
+import com.softserve.academy.spaced.repetition.service.impl.SyncServiceImpl;
+import com.softserve.academy.spaced.repetition.util.DomainFactory;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.MessageSource;
+import org.springframework.data.domain.Pageable;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SyncServiceTest {
+
+    private final Long USER_ID = 1L;
+    private final Long FOLDER_ID = 1L;
+    private final Long DECK_ID = 1L;
+    private final Long CARD_ID = 1L;
+    private final Long DELETED_CARD_ID = 2L;
+    private final List<Long> FOLDER_DECK_IDS = Collections.singletonList(DECK_ID);
+    private final List<ChangeEntityType> USER_ENTITY_TYPES = Arrays.asList(ChangeEntityType.USER_CARD_QUEUE,
+            ChangeEntityType.FOLDER_DECK);
+    @Mock
+    private ChangeLogEntryRepository changeLogEntryRepository;
+    @Mock
+    private SyncReviewRepository syncReviewRepository;
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private DeckRepository deckRepository;
+    @Mock
+    private UserCardQueueRepository userCardQueueRepository;
+    @Mock
+    private FolderRepository folderRepository;
+    @Mock
+    private UserCardQueueService userCardQueueService;
+    @Mock
+    private UserService userService;
+    @Mock
+    private MessageSource messageSource;
+    @InjectMocks
+    private SyncServiceImpl syncService;
+
+    @Before
+    public void setUp() throws NotAuthorisedUserException {
+        User user = DomainFactory.createUser(USER_ID, null, null, DomainFactory.createFolder(FOLDER_ID, null), null);
+        when(userService.getAuthorizedUser()).thenReturn(user);
+        when(folderRepository.selectAllDeckIdWithFolder(FOLDER_ID)).thenReturn(FOLDER_DECK_IDS);
+    }
+
+    @Test
+    public void testGetChangesReturnsChangedAndDeletedEntities() throws NotAuthorisedUserException {
+        final long SINCE_VERSION = 10L;
+        final long QUEUE_VERSION = 13L;
+        Deck deck = DomainFactory.createDeck(DECK_ID, "deck", null, null, null, 0D, null, null, null, null, null);
+        UserCardQueue userCardQueue = DomainFactory.createUserCardQueue(1L, USER_ID, CARD_ID, DECK_ID,
+                UserCardQueueStatus.GOOD, new Date(), new Date(), null);
+        when(changeLogEntryRepository.findChangesSince(eq(USER_ID), eq(FOLDER_DECK_IDS), eq(USER_ENTITY_TYPES),
+                eq(SINCE_VERSION), any(Pageable.class))).thenReturn(Arrays.asList(
+                createChange(11L, ChangeEntityType.DECK, DECK_ID, ChangeOperation.SAVE),
+                createChange(12L, ChangeEntityType.CARD, DELETED_CARD_ID, ChangeOperation.DELETE),
+                createChange(QUEUE_VERSION, ChangeEntityType.USER_CARD_QUEUE, null, ChangeOperation.SAVE)));
+        when(deckRepository.findAll(any(Iterable.class))).thenReturn(Collections.singletonList(deck));
+        when(cardRepository.findAll(any(Iterable.class))).thenReturn(new ArrayList<>());
+        when(userCardQueueRepository.findAllByUserIdAndVersionIn(USER_ID, Collections.singletonList(QUEUE_VERSION)))
+                .thenReturn(Collections.singletonList(userCardQueue));
+
+        SyncChangesDTO changes = syncService.getChanges(SINCE_VERSION);
+        assertEquals(Long.valueOf(QUEUE_VERSION), changes.getVersion());
+        assertFalse(changes.isHasMore());
+        assertEquals(DECK_ID, changes.getDecks().get(0).getDeckId());
+        assertEquals(Collections.emptyList(), changes.getDeletedDeckIds());
+        assertEquals(Collections.emptyList(), changes.getCards());
+        assertEquals(Collections.singletonList(DELETED_CARD_ID), changes.getDeletedCardIds());
+        assertEquals(CARD_ID, changes.getUserCardQueues().get(0).getCardId());
+        assertEquals(UserCardQueueStatus.GOOD.name(), changes.getUserCardQueues().get(0).getStatus());
+    }
+
+    @Test
+    public void testGetChangesWithoutChangesKeepsVersion() throws NotAuthorisedUserException {
+        final long SINCE_VERSION = 10L;
+        when(changeLogEntryRepository.findChangesSince(eq(USER_ID), eq(FOLDER_DECK_IDS), eq(USER_ENTITY_TYPES),
+                eq(SINCE_VERSION), any(Pageable.class))).thenReturn(new ArrayList<>());
+
+        SyncChangesDTO changes = syncService.getChanges(SINCE_VERSION);
+        assertEquals(Long.valueOf(SINCE_VERSION), changes.getVersion());
+        verify(userCardQueueRepository, never()).findAllByUserIdAndVersionIn(anyLong(), any(Collection.class));
+    }
+
+    @Test
+    public void testGetChangesSendsAllCardsOfDeckAddedToFolder() throws NotAuthorisedUserException {
+        final long SINCE_VERSION = 10L;
+        final Long OLD_CARD_ID = 3L;
+        Deck deck = DomainFactory.createDeck(DECK_ID, "deck", null, null, null, 0D, null, null, null, null, null);
+        Card oldCard = DomainFactory.createCard(OLD_CARD_ID, "title", "question", "answer", deck);
+        when(changeLogEntryRepository.findChangesSince(eq(USER_ID), eq(FOLDER_DECK_IDS), eq(USER_ENTITY_TYPES),
+                eq(SINCE_VERSION), any(Pageable.class))).thenReturn(Collections.singletonList(
+                createChange(11L, ChangeEntityType.FOLDER_DECK, DECK_ID, ChangeOperation.SAVE)));
+        when(cardRepository.findIdsByDeckId(DECK_ID)).thenReturn(Collections.singletonList(OLD_CARD_ID));
+        when(deckRepository.findAll(any(Iterable.class))).thenReturn(Collections.singletonList(deck));
+        when(cardRepository.findAll(any(Iterable.class))).thenReturn(Collections.singletonList(oldCard));
+
+        SyncChangesDTO changes = syncService.getChanges(SINCE_VERSION);
+        assertEquals(Long.valueOf(11L), changes.getVersion());
+        assertEquals(DECK_ID, changes.getDecks().get(0).getDeckId());
+        assertEquals(OLD_CARD_ID, changes.getCards().get(0).getCardId());
+        assertEquals(Collections.emptyList(), changes.getDeletedCardIds());
+    }
+
+    @Test
+    public void testUploadReviewsSkipsDuplicatesAndConflicts() throws NotAuthorisedUserException {
+        final Long CONFLICTING_CARD_ID = 3L;
+        final Date SERVER_CARD_DATE = new Date(2000L);
+        final Date DATE_TO_REPEAT = new Date(5000L);
+        when(syncReviewRepository.findAllByUserIdAndReviewIdIn(eq(USER_ID), any(Collection.class)))
+                .thenReturn(Collections.singletonList(new SyncReview(USER_ID, "known", SyncReviewResult.APPLIED)));
+        when(syncReviewRepository.insertIfAbsent(eq(USER_ID), anyString(), eq(SyncReviewResult.APPLIED.name())))
+                .thenReturn(1);
+        when(userCardQueueRepository.findAllByUserIdAndCardIdIn(eq(USER_ID), any(Collection.class)))
+                .thenReturn(Collections.singletonList(DomainFactory.createUserCardQueue(1L, USER_ID,
+                        CONFLICTING_CARD_ID, DECK_ID, UserCardQueueStatus.GOOD, SERVER_CARD_DATE, null, null)));
+        when(userCardQueueService.updateUserCardQueues(eq(DECK_ID), any(List.class))).thenReturn(
+                Collections.singletonList(new CardAnswerResultDTO(CARD_ID, true, DATE_TO_REPEAT, null)));
+
+        List<OfflineReviewResultDTO> results = syncService.uploadReviews(Arrays.asList(
+                new OfflineReviewDTO("known", DECK_ID, CARD_ID, "GOOD", new Date(3000L)),
+                new OfflineReviewDTO("conflict", DECK_ID, CONFLICTING_CARD_ID, "GOOD", new Date(1000L)),
+                new OfflineReviewDTO("new", DECK_ID, CARD_ID, "GOOD", new Date(3000L)),
+                new OfflineReviewDTO("new", DECK_ID, CARD_ID, "GOOD", new Date(3000L)),
+                new OfflineReviewDTO(null, DECK_ID, CARD_ID, "GOOD", new Date(3000L))));
+
+        assertEquals(SyncReviewResult.DUPLICATE.name(), results.get(0).getResult());
+        assertEquals(SyncReviewResult.CONFLICT.name(), results.get(1).getResult());
+        assertEquals(SyncReviewResult.APPLIED.name(), results.get(2).getResult());
+        assertEquals(DATE_TO_REPEAT, results.get(2).getDateToRepeat());
+        assertEquals(SyncReviewResult.DUPLICATE.name(), results.get(3).getResult());
+        assertEquals(SyncReviewResult.REJECTED.name(), results.get(4).getResult());
+
+        ArgumentCaptor<List> answers = ArgumentCaptor.forClass(List.class);
+        verify(userCardQueueService).updateUserCardQueues(eq(DECK_ID), answers.capture());
+        assertEquals(1, answers.getValue().size());
+        verify(syncReviewRepository, times(2)).insertIfAbsent(eq(USER_ID), anyString(),
+                eq(SyncReviewResult.APPLIED.name()));
+        verify(syncReviewRepository).updateResults(USER_ID, Collections.singletonList("conflict"),
+                SyncReviewResult.CONFLICT);
+    }
+
+    @Test
+    public void testUploadReviewsReportsConcurrentlyRecordedReviewAsDuplicate() throws NotAuthorisedUserException {
+        when(syncReviewRepository.insertIfAbsent(USER_ID, "concurrent", SyncReviewResult.APPLIED.name()))
+                .thenReturn(0);
+
+        List<OfflineReviewResultDTO> results = syncService.uploadReviews(Collections.singletonList(
+                new OfflineReviewDTO("concurrent", DECK_ID, CARD_ID, "GOOD", new Date(3000L))));
+
+        assertEquals(SyncReviewResult.DUPLICATE.name(), results.get(0).getResult());
+        verify(userCardQueueService, never()).updateUserCardQueues(anyLong(), any(List.class));
+        verify(syncReviewRepository, never()).updateResults(anyLong(), any(Collection.class),
+                any(SyncReviewResult.class));
+    }
+
+    private ChangeLogEntry createChange(Long id, ChangeEntityType entityType, Long entityId,
+                                        ChangeOperation operation) {
+        ChangeLogEntry change = new ChangeLogEntry(entityType, entityId, DECK_ID, null, operation);
+        change.setId(id);
+        change.setSyncVersion(id);
+        return change;
+    }
+}
@@ -1,13 +1,25 @@
 package com.softserve.academy.spaced.repetition.service;
 
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardAnswerDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.CardAnswerResultDTO;
+import com.softserve.academy.spaced.repetition.controller.dto.simpleDTO.DeckCardsCountDTO;
 import com.softserve.academy.spaced.repetition.domain.Account;
 import com.softserve.academy.spaced.repetition.domain.RememberingLevel;
 import com.softserve.academy.spaced.repetition.domain.User;
 import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
 import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
-import com.softserve.academy.spaced.repetition.repository.RememberingLevelRepository;
+import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
+import com.softserve.academy.spaced.repetition.repository.CardRepository;
+import com.softserve.academy.spaced.repetition.repository.FolderRepository;
 import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import com.softserve.academy.spaced.repetition.service.dueCardCounters.DueCardCounters;
+import com.softserve.academy.spaced.repetition.service.dueCardIndex.DueCardIndex;
 import com.softserve.academy.spaced.repetition.service.impl.UserCardQueueServiceImpl;
+import com.softserve.academy.spaced.repetition.service.rememberingLevel.RememberingLevelLadder;
+import com.softserve.academy.spaced.repetition.service.rememberingLevel.RememberingLevelLadderCache;
+import com.softserve.academy.spaced.repetition.service.scheduler.CardsPostponingScheduler;
+import com.softserve.academy.spaced.repetition.service.scheduler.SchedulerRegistry;
+import com.softserve.academy.spaced.repetition.service.scheduler.StatusDependingScheduler;
 import com.softserve.academy.spaced.repetition.util.DomainFactory;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import org.junit.Before;
@@ -16,11 +28,15 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.MessageSource;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Date;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
@@ -40,35 +56,56 @@ public class UserCardQueueServiceTest {
     private final LearningRegime LEARNING_REGIME_CARDS_POSTPONING = LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION;
     @InjectMocks
     private UserCardQueueServiceImpl userCardQueueService;
+    @InjectMocks
+    private CardsPostponingScheduler cardsPostponingScheduler;
+    @Mock
+    private SchedulerRegistry schedulerRegistry;
     @Mock
     private UserCardQueueRepository userCardQueueRepository;
     @Mock
-    private RememberingLevelRepository rememberingLevelRepository;
+    private RememberingLevelLadderCache rememberingLevelLadderCache;
     @Mock
     private UserService userService;
+    @Mock
+    private DueCardIndex dueCardIndex;
+    @Mock
+    private DueCardCounters dueCardCounters;
+    @Mock
+    private FolderRepository folderRepository;
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private ChangeLogService changeLogService;
+    @Mock
+    private MessageSource messageSource;
     private Account account;
     private UserCardQueue userCardQueue;
     private RememberingLevel rememberingLevel;
+    private List<RememberingLevel> rememberingLevels;
 
     @Before
     public void setUp() throws NotAuthorisedUserException {
         final Long ACCOUNT_ID = 1L;
-        final Long REMEMBERING_LEVEL_ID = 1L;
-        final Integer REMEMBERING_LEVEL_NUMBER_OF_POSTPONED_DAYS = 1;
+        final int[] NUMBERS_OF_POSTPONED_DAYS = {1, 3, 7, 14, 30, 60};
 
         account = DomainFactory.createAccount(ACCOUNT_ID, null, null, null, null, false, null, null,
                 LEARNING_REGIME_CARDS_POSTPONING, null, null);
         final User user = DomainFactory.createUser(USER_ID, account, null, null, null);
-        rememberingLevel = DomainFactory.createRememberingLevel(REMEMBERING_LEVEL_ID, REMEMBERING_LEVEL_ORDER_NUMBER,
-                null, REMEMBERING_LEVEL_NUMBER_OF_POSTPONED_DAYS, account);
+        rememberingLevels = new ArrayList<>();
+        for (int i = 0; i < NUMBERS_OF_POSTPONED_DAYS.length; i++) {
+            rememberingLevels.add(DomainFactory.createRememberingLevel((long) i + 1, i + 1, null,
+                    NUMBERS_OF_POSTPONED_DAYS[i], account));
+        }
+        rememberingLevel = rememberingLevels.get(REMEMBERING_LEVEL_ORDER_NUMBER - 1);
         userCardQueue = DomainFactory.createUserCardQueue(USER_CARD_QUEUE_ID, USER_ID, CARD_ID, DECK_ID, null,
                 USER_CARD_QUEUE_CARD_DATE, null, rememberingLevel);
 
         when(userService.getAuthorizedUser()).thenReturn(user);
         when(userCardQueueRepository.findUserCardQueueByUserIdAndCardId(USER_ID, CARD_ID)).thenReturn(userCardQueue);
         when(userCardQueueRepository.save(userCardQueue)).thenReturn(userCardQueue);
-        when(rememberingLevelRepository.findRememberingLevelByAccountEqualsAndOrderNumber(account, 1))
-                .thenReturn(rememberingLevel);
+        when(rememberingLevelLadderCache.getLadder(account)).thenReturn(new RememberingLevelLadder(rememberingLevels));
+        when(schedulerRegistry.getScheduler(LEARNING_REGIME_CARDS_POSTPONING)).thenReturn(cardsPostponingScheduler);
+        when(schedulerRegistry.getScheduler(LEARNING_REGIME_BAD_NORMAL_GOOD)).thenReturn(new StatusDependingScheduler());
     }
 
     @Test
@@ -79,6 +116,10 @@ public class UserCardQueueServiceTest {
         verify(userService).getAuthorizedUser();
         verify(userCardQueueRepository).findUserCardQueueByUserIdAndCardId(USER_ID, CARD_ID);
         verify(userCardQueueRepository).save(userCardQueue);
+        verify(dueCardIndex).update(userCardQueue);
+        verify(dueCardCounters).update(userCardQueue, null, false);
+        verify(rememberingLevelLadderCache, never()).getLadder(account);
+        assertEquals(UserCardQueueStatus.GOOD, userCardQueue.getStatus());
 
         account.setLearningRegime(LEARNING_REGIME_CARDS_POSTPONING);
     }
@@ -87,46 +128,34 @@ public class UserCardQueueServiceTest {
     public void testUpdateUserCardQueueIfLearningRegimeIsCardsPostponingAndUserStatusBad() throws NotAuthorisedUserException {
         final String USER_CARD_QUEUE_STATUS_BAD = "BAD";
 
-        when(rememberingLevelRepository.findRememberingLevelByAccountEqualsAndOrderNumber(account,
-                REMEMBERING_LEVEL_ORDER_NUMBER - 1)).thenReturn(rememberingLevel);
-
         userCardQueueService.updateUserCardQueue(DECK_ID, CARD_ID, USER_CARD_QUEUE_STATUS_BAD);
-        verify(userService, times(2)).getAuthorizedUser();
-        verify(userCardQueueRepository).findUserCardQueueByUserIdAndCardId(USER_ID, CARD_ID);
-        verify(rememberingLevelRepository).findRememberingLevelByAccountEqualsAndOrderNumber(account, 1);
-        verify(rememberingLevelRepository).findRememberingLevelByAccountEqualsAndOrderNumber(account,
-                REMEMBERING_LEVEL_ORDER_NUMBER - 1);
-        verify(userCardQueueRepository).save(userCardQueue);
+        verifyCardsPostponingUpdate(REMEMBERING_LEVEL_ORDER_NUMBER - 1);
     }
 
     @Test
     public void testUpdateUserCardQueueIfLearningRegimeIsCardsPostponingAndUserStatusGood() throws NotAuthorisedUserException {
-        when(rememberingLevelRepository.findRememberingLevelByAccountEqualsAndOrderNumber(account,
-                REMEMBERING_LEVEL_ORDER_NUMBER + 1)).thenReturn(rememberingLevel);
-
         userCardQueueService.updateUserCardQueue(DECK_ID, CARD_ID, USER_CARD_QUEUE_STATUS_GOOD);
-        verify(userService, times(2)).getAuthorizedUser();
-        verify(userCardQueueRepository).findUserCardQueueByUserIdAndCardId(USER_ID, CARD_ID);
-        verify(rememberingLevelRepository).findRememberingLevelByAccountEqualsAndOrderNumber(account, 1);
-        verify(rememberingLevelRepository).findRememberingLevelByAccountEqualsAndOrderNumber(account,
-                REMEMBERING_LEVEL_ORDER_NUMBER + 1);
-        verify(userCardQueueRepository).save(userCardQueue);
+        verifyCardsPostponingUpdate(REMEMBERING_LEVEL_ORDER_NUMBER + 1);
     }
 
     @Test
     public void testUpdateUserCardQueueIfLearningRegimeIsCardsPostponingAndUserStatusNormal() throws NotAuthorisedUserException {
         final String USER_CARD_QUEUE_STATUS_NORMAL = "NORMAL";
 
-        when(rememberingLevelRepository.findRememberingLevelByAccountEqualsAndOrderNumber(account,
-                REMEMBERING_LEVEL_ORDER_NUMBER)).thenReturn(rememberingLevel);
-
         userCardQueueService.updateUserCardQueue(DECK_ID, CARD_ID, USER_CARD_QUEUE_STATUS_NORMAL);
-        verify(userService, times(2)).getAuthorizedUser();
+        verifyCardsPostponingUpdate(REMEMBERING_LEVEL_ORDER_NUMBER);
+    }
+
+    private void verifyCardsPostponingUpdate(int expectedOrderNumber) throws NotAuthorisedUserException {
+        RememberingLevel expectedLevel = rememberingLevels.get(expectedOrderNumber - 1);
+        verify(userService).getAuthorizedUser();
         verify(userCardQueueRepository).findUserCardQueueByUserIdAndCardId(USER_ID, CARD_ID);
-        verify(rememberingLevelRepository).findRememberingLevelByAccountEqualsAndOrderNumber(account, 1);
-        verify(rememberingLevelRepository).findRememberingLevelByAccountEqualsAndOrderNumber(account,
-                REMEMBERING_LEVEL_ORDER_NUMBER);
+        verify(rememberingLevelLadderCache).getLadder(account);
         verify(userCardQueueRepository).save(userCardQueue);
+        assertEquals(expectedLevel, userCardQueue.getRememberingLevel());
+        assertEquals(userCardQueue.getCardDate().getTime()
+                        + TimeUnit.DAYS.toMillis(expectedLevel.getNumberOfPostponedDays()),
+                userCardQueue.getDateToRepeat().getTime());
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -144,6 +173,96 @@ public class UserCardQueueServiceTest {
         verify(userService).getAuthorizedUser();
     }
 
+    @Test
+    public void testUpdateUserCardQueuesIfLearningRegimeIsCardsPostponing() throws NotAuthorisedUserException {
+        final Long NEW_CARD_ID = 2L;
+        final Date ANSWERED_AT = new Date(USER_CARD_QUEUE_CARD_DATE.getTime() - 1000);
+        List<CardAnswerDTO> answers = Arrays.asList(new CardAnswerDTO(CARD_ID, USER_CARD_QUEUE_STATUS_GOOD, null),
+                new CardAnswerDTO(NEW_CARD_ID, USER_CARD_QUEUE_STATUS_GOOD, ANSWERED_AT));
+        when(userCardQueueRepository.findAllByUserIdAndCardIdIn(eq(USER_ID), any(Collection.class)))
+                .thenReturn(Collections.singletonList(userCardQueue));
+        when(cardRepository.findIdsByDeckIdAndIdIn(eq(DECK_ID), any(Collection.class)))
+                .thenReturn(Arrays.asList(CARD_ID, NEW_CARD_ID));
+
+        List<CardAnswerResultDTO> results = userCardQueueService.updateUserCardQueues(DECK_ID, answers);
+        verify(userService).getAuthorizedUser();
+        verify(rememberingLevelLadderCache).getLadder(account);
+        verify(userCardQueueRepository).saveAllInBatch(any(Collection.class));
+        verify(userCardQueueRepository, never()).save(any(UserCardQueue.class));
+        verify(dueCardIndex, times(2)).update(any(UserCardQueue.class));
+        verify(dueCardCounters).update(userCardQueue, null, false);
+        verify(dueCardCounters).update(any(UserCardQueue.class), eq((Date) null), eq(true));
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isUpdated());
+        assertEquals(rememberingLevels.get(REMEMBERING_LEVEL_ORDER_NUMBER), userCardQueue.getRememberingLevel());
+        assertEquals(new Date(ANSWERED_AT.getTime() + 3 * 24 * 60 * 60 * 1000L), results.get(1).getDateToRepeat());
+    }
+
+    @Test
+    public void testUpdateUserCardQueuesSkipsAnswersWithInvalidStatus() throws NotAuthorisedUserException {
+        final String INCORRECT_USER_CARD_QUEUE_STATUS = "INCORRECT";
+        account.setLearningRegime(LEARNING_REGIME_BAD_NORMAL_GOOD);
+        List<CardAnswerDTO> answers = Collections.singletonList(
+                new CardAnswerDTO(CARD_ID, INCORRECT_USER_CARD_QUEUE_STATUS, null));
+
+        List<CardAnswerResultDTO> results = userCardQueueService.updateUserCardQueues(DECK_ID, answers);
+        verify(userCardQueueRepository).saveAllInBatch(any(Collection.class));
+        verify(dueCardIndex, never()).update(any(UserCardQueue.class));
+        assertFalse(results.get(0).isUpdated());
+
+        account.setLearningRegime(LEARNING_REGIME_CARDS_POSTPONING);
+    }
+
+    @Test
+    public void testUpdateUserCardQueuesSkipsCardsOfOtherDecks() throws NotAuthorisedUserException {
+        final Long OTHER_DECK_CARD_ID = 3L;
+        List<CardAnswerDTO> answers = Arrays.asList(new CardAnswerDTO(CARD_ID, USER_CARD_QUEUE_STATUS_GOOD, null),
+                new CardAnswerDTO(OTHER_DECK_CARD_ID, USER_CARD_QUEUE_STATUS_GOOD, null));
+        when(cardRepository.findIdsByDeckIdAndIdIn(eq(DECK_ID), any(Collection.class)))
+                .thenReturn(Collections.singletonList(CARD_ID));
+
+        List<CardAnswerResultDTO> results = userCardQueueService.updateUserCardQueues(DECK_ID, answers);
+        verify(cardRepository).findIdsByDeckIdAndIdIn(DECK_ID,
+                new HashSet<>(Arrays.asList(CARD_ID, OTHER_DECK_CARD_ID)));
+        verify(dueCardIndex, times(1)).update(any(UserCardQueue.class));
+        verify(messageSource).getMessage(eq("message.exception.userCardQueueCardNotInDeck"),
+                eq(new Object[]{OTHER_DECK_CARD_ID, DECK_ID}), any(Locale.class));
+        assertTrue(results.get(0).isUpdated());
+        assertFalse(results.get(1).isUpdated());
+        assertEquals(OTHER_DECK_CARD_ID, results.get(1).getCardId());
+    }
+
+    @Test
+    public void testRescheduleUserCardQueue() throws NotAuthorisedUserException {
+        final int REDUCED_NUMBER_OF_POSTPONED_DAYS = 2;
+        rememberingLevel.setNumberOfPostponedDays(REDUCED_NUMBER_OF_POSTPONED_DAYS);
+        when(rememberingLevelLadderCache.getLadder(account)).thenReturn(new RememberingLevelLadder(rememberingLevels));
+        List<UserCardQueue> userCardQueues = Collections.singletonList(userCardQueue);
+        when(userCardQueueRepository.findAllByUserIdAndDeckId(USER_ID, DECK_ID)).thenReturn(userCardQueues);
+
+        userCardQueueService.rescheduleUserCardQueue(DECK_ID);
+        verify(userService).getAuthorizedUser();
+        verify(userCardQueueRepository).findAllByUserIdAndDeckId(USER_ID, DECK_ID);
+        verify(userCardQueueRepository).saveAllInBatch(userCardQueues);
+        verify(changeLogService).recordUserCardQueuesSaved(USER_ID, DECK_ID, Collections.singletonList(CARD_ID));
+        verify(dueCardIndex).evictUser(USER_ID);
+        verify(dueCardCounters).evictUser(USER_ID);
+        assertEquals(rememberingLevel, userCardQueue.getRememberingLevel());
+        assertEquals(USER_CARD_QUEUE_CARD_DATE.getTime() + TimeUnit.DAYS.toMillis(REDUCED_NUMBER_OF_POSTPONED_DAYS),
+                userCardQueue.getDateToRepeat().getTime());
+    }
+
+    @Test
+    public void testRescheduleAllUserCardQueuesWithoutAnsweredCards() throws NotAuthorisedUserException {
+        when(userCardQueueRepository.findAllByUserId(USER_ID)).thenReturn(new ArrayList<>());
+
+        userCardQueueService.rescheduleAllUserCardQueues();
+        verify(userCardQueueRepository).findAllByUserId(USER_ID);
+        verify(userCardQueueRepository, never()).saveAllInBatch(any(Collection.class));
+        verify(changeLogService, never()).recordAllUserCardQueuesSaved(USER_ID);
+        verify(dueCardIndex, never()).evictUser(USER_ID);
+    }
+
     @Test
     public void testGetUserCardQueueById() {
         when(userCardQueueRepository.findOne(USER_CARD_QUEUE_ID)).thenReturn(userCardQueue);
@@ -157,16 +276,32 @@ public class UserCardQueueServiceTest {
     public void testCountCardsThatNeedRepeating() throws NotAuthorisedUserException {
         final Long COUNT_OF_CARDS_THAT_NEED_REPEATING = 1L;
 
-        when(userCardQueueRepository.countAllByUserIdEqualsAndDeckIdEqualsAndDateToRepeatBefore(eq(USER_ID),
-                eq(DECK_ID), any(Date.class))).thenReturn(COUNT_OF_CARDS_THAT_NEED_REPEATING);
+        when(dueCardCounters.countCardsThatNeedRepeating(eq(USER_ID), eq(DECK_ID), any(Date.class)))
+                .thenReturn(COUNT_OF_CARDS_THAT_NEED_REPEATING);
 
         Long result = userCardQueueService.countCardsThatNeedRepeating(DECK_ID);
         verify(userService).getAuthorizedUser();
-        verify(userCardQueueRepository).countAllByUserIdEqualsAndDeckIdEqualsAndDateToRepeatBefore(eq(USER_ID),
-                eq(DECK_ID), any(Date.class));
+        verify(dueCardCounters).countCardsThatNeedRepeating(eq(USER_ID), eq(DECK_ID), any(Date.class));
+        verify(userCardQueueRepository, never()).countAllByUserIdEqualsAndDeckIdEqualsAndDateToRepeatBefore(
+                eq(USER_ID), eq(DECK_ID), any(Date.class));
         assertEquals(COUNT_OF_CARDS_THAT_NEED_REPEATING, result);
     }
 
+    @Test
+    public void testCountCardsInFolderDecks() throws NotAuthorisedUserException {
+        final Long FOLDER_ID = 1L;
+        List<Long> deckIds = Collections.singletonList(DECK_ID);
+        List<DeckCardsCountDTO> deckCardsCounts = Collections.singletonList(new DeckCardsCountDTO(DECK_ID, 1, 2, 3));
+        userService.getAuthorizedUser().setFolder(DomainFactory.createFolder(FOLDER_ID, null));
+        when(folderRepository.selectAllDeckIdWithFolder(FOLDER_ID)).thenReturn(deckIds);
+        when(dueCardCounters.getDeckCardsCounts(eq(USER_ID), eq(deckIds), any(Date.class))).thenReturn(deckCardsCounts);
+
+        List<DeckCardsCountDTO> result = userCardQueueService.countCardsInFolderDecks();
+        verify(folderRepository).selectAllDeckIdWithFolder(FOLDER_ID);
+        verify(dueCardCounters).getDeckCardsCounts(eq(USER_ID), eq(deckIds), any(Date.class));
+        assertEquals(deckCardsCounts, result);
+    }
+
     @Test(expected = NotAuthorisedUserException.class)
     public void testCountCardsThatNeedRepeatingByNotAuthorisedUser() throws NotAuthorisedUserException {
         when(userService.getAuthorizedUser()).thenThrow(new NotAuthorisedUserException());
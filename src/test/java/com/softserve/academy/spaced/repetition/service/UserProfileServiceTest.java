@@ -36,6 +36,7 @@ public class UserProfileServiceTest {
     private final String IMAGE_BASE64 = "imageBase64";
     private final String CURRENT_PASSWORD = "currentPassword";
     private final String NEW_PASSWORD = "newPassword";
+    private final Long AVATAR_ID = 1L;
     @InjectMocks
     private UserProfileServiceImpl userProfileService;
     @Mock
@@ -64,7 +65,7 @@ public class UserProfileServiceTest {
         final String ACCOUNT_EMAIL = "account@test.com";
         final String MESSAGE_SOURCE_MESSAGE = "message";
 
-        person = DomainFactory.createPerson(PERSON_ID, null, null, null, null, IMAGE_BASE64);
+        person = DomainFactory.createPerson(PERSON_ID, null, null, null, null, null);
         account = DomainFactory.createAccount(ACCOUNT_ID, null, ACCOUNT_EMAIL, null, null, false, null, new HashSet<>(),
                 null, null, null);
         user = DomainFactory.createUser(USER_ID, account, person, null, null);
@@ -150,14 +151,29 @@ public class UserProfileServiceTest {
 
     @Test
     public void testUploadProfileImage() throws ImageRepositorySizeQuotaExceededException, NotAuthorisedUserException {
-        final boolean IMAGE_CAN_BE_ADDED = true;
-
-        when(imageService.isImageCanBeAddedToProfile(user, IMAGE_BASE64)).thenReturn(IMAGE_CAN_BE_ADDED);
+        when(imageService.addProfileImage(user, IMAGE_BASE64)).thenReturn(DomainFactory.createImage(AVATAR_ID, null,
+                null, null, null, true));
 
         Person result = userProfileService.uploadProfileImage(imageDTO);
         verify(userService).getAuthorizedUser();
-        verify(imageService).isImageCanBeAddedToProfile(user, IMAGE_BASE64);
-        assertEquals(person.getImageBase64(), result.getImageBase64());
+        verify(imageService).addProfileImage(user, IMAGE_BASE64);
+        verify(imageService, never()).deleteProfileImage(any(Long.class));
+        assertEquals(AVATAR_ID, result.getAvatarId());
+        assertEquals(ImageType.LINK, result.getImageType());
+    }
+
+    @Test
+    public void testUploadProfileImageReplacesPreviousOne() throws ImageRepositorySizeQuotaExceededException,
+            NotAuthorisedUserException {
+        final Long PREVIOUS_AVATAR_ID = 2L;
+
+        person.setAvatarId(PREVIOUS_AVATAR_ID);
+        when(imageService.addProfileImage(user, IMAGE_BASE64)).thenReturn(DomainFactory.createImage(AVATAR_ID, null,
+                null, null, null, true));
+
+        Person result = userProfileService.uploadProfileImage(imageDTO);
+        verify(imageService).deleteProfileImage(PREVIOUS_AVATAR_ID);
+        assertEquals(AVATAR_ID, result.getAvatarId());
     }
 
     @Test(expected = NotAuthorisedUserException.class)
@@ -170,18 +186,21 @@ public class UserProfileServiceTest {
 
     @Test(expected = ImageRepositorySizeQuotaExceededException.class)
     public void testUploadProfileImageIfImageQuotaExceeded() throws ImageRepositorySizeQuotaExceededException, NotAuthorisedUserException {
-        when(imageService.isImageCanBeAddedToProfile(user, IMAGE_BASE64)).thenThrow(new ImageRepositorySizeQuotaExceededException());
+        when(imageService.addProfileImage(user, IMAGE_BASE64)).thenThrow(new ImageRepositorySizeQuotaExceededException());
 
         userProfileService.uploadProfileImage(imageDTO);
         verify(userService).getAuthorizedUser();
-        verify(imageService).isImageCanBeAddedToProfile(user, IMAGE_BASE64);
+        verify(imageService).addProfileImage(user, IMAGE_BASE64);
     }
 
     @Test
     public void testDeleteProfileImage() throws NotAuthorisedUserException {
+        person.setAvatarId(AVATAR_ID);
+
         userProfileService.deleteProfileImage();
         verify(userService).getAuthorizedUser();
-        assertNull(person.getImageBase64());
+        verify(imageService).deleteProfileImage(AVATAR_ID);
+        assertNull(person.getAvatarId());
         assertEquals(ImageType.NONE, person.getImageType());
     }
 
@@ -48,7 +48,7 @@ public class UserServiceTest {
     private final AccountStatus ACCOUNT_STATUS_ACTIVE = AccountStatus.ACTIVE;
     private final AccountStatus ACCOUNT_STATUS_BLOCKED = AccountStatus.BLOCKED;
     private final AuthorityName AUTHORITY_NAME_USER = AuthorityName.ROLE_USER;
-    private final String PERSON_IMAGE_BASE64 = "image_base64";
+    private final Long PERSON_AVATAR_ID = 1L;
     private final long DECK_ID = 1L;
     private final String AUTHENTICATION_NOT_AUTHORISED_USER = "anonymous_user";
     private final String PASSWORD_ENCODER_ENCODED_PASSWORD = "encoded_password";
@@ -88,7 +88,7 @@ public class UserServiceTest {
         final Long ACCOUNT_ID = 1L;
         final Long FOLDER_ID = 1L;
 
-        person = DomainFactory.createPerson(PERSON_ID, PERSON_FIRST_NAME, PERSON_LAST_NAME, null, null, PERSON_IMAGE_BASE64);
+        person = DomainFactory.createPerson(PERSON_ID, PERSON_FIRST_NAME, PERSON_LAST_NAME, null, null, PERSON_AVATAR_ID);
         account = DomainFactory.createAccount(ACCOUNT_ID, ACCOUNT_PASSWORD, ACCOUNT_EMAIL, null, ACCOUNT_STATUS_ACTIVE,
                 ACCOUNT_DEACTIVATED, null, new HashSet<>(), null, null, null);
         folder = DomainFactory.createFolder(FOLDER_ID, new HashSet<>());
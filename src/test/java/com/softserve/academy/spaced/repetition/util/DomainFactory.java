@@ -48,14 +48,14 @@ public class DomainFactory {
     }
 
     public static Person createPerson(Long personId, String firstName, String lastName, ImageType imageType,
-                                      String image, String imageBase64) {
+                                      String image, Long avatarId) {
         Person person = new Person();
         person.setId(personId);
         person.setFirstName(firstName);
         person.setLastName(lastName);
         person.setImageType(imageType);
         person.setImage(image);
-        person.setImageBase64(imageBase64);
+        person.setAvatarId(avatarId);
         return person;
     }
 
@@ -184,11 +184,11 @@ public class DomainFactory {
         return audit;
     }
 
-    public static Image createImage(Long imageId, String imageBase64, String type, User createdBy, Long size,
+    public static Image createImage(Long imageId, String contentKey, String type, User createdBy, Long size,
                                     boolean isImageUsed) {
         Image image = new Image();
         image.setId(imageId);
-        image.setImageBase64(imageBase64);
+        image.setContentKey(contentKey);
         image.setType(type);
         image.setCreatedBy(createdBy);
         image.setSize(size);
@@ -222,9 +222,11 @@ public class DomainFactory {
         return userCardQueue;
     }
 
-    public static CardImage createCardImage(Long cardImageId, String image, Card card) {
+    public static CardImage createCardImage(Long cardImageId, String contentKey, String type, Long size, Card card) {
         CardImage cardImage = new CardImage();
-        cardImage.setImage(image);
+        cardImage.setContentKey(contentKey);
+        cardImage.setType(type);
+        cardImage.setSize(size);
         cardImage.setCard(card);
         cardImage.setId(cardImageId);
         return cardImage;
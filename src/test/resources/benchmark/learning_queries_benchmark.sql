@@ -0,0 +1,173 @@
+-- Benchmark of the CardRepository learning queries on 1M user_card_queue rows.
+--
+-- Run against an empty schema migrated up to V1.6, i.e. without the V1.7 indexes:
+--   mvn flyway:migrate -Dflyway.target=1.6
+--   mysql -u root orlp < src/test/resources/benchmark/learning_queries_benchmark.sql > benchmark.txt
+--
+-- The script seeds 5 decks of 1000 cards answered by 200 users. Part 1 runs EXPLAIN and the old
+-- (NOT IN) and new (NOT EXISTS) statements without indexes on user_card_queue, part 2 creates
+-- indexes with the columns of V1.7 and runs the same statements again, so old and new statements
+-- are always compared under the same index state. Latency of every statement is listed by
+-- SHOW PROFILES after each part, the MySQL version is printed first.
+--
+-- The indexes have their own names and are dropped at the end together with the seeded rows,
+-- so the schema is left as it was and a later flyway migrate creates the V1.7 indexes as usual.
+--
+-- Results: none recorded. No MySQL server was available where the script was written, so there are
+-- no EXPLAIN plans or timings for these statements yet; add the output here once it is run.
+
+select version();
+
+create temporary table digit (d int not null primary key);
+insert into digit values (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+-- created_by is not null since V1.5, the seeded rows get user 1, its default there
+insert into deck (name, description, created_by)
+select concat('benchmark deck ', d), 'benchmark', 1 from digit where d < 5;
+
+insert into card (question, answer, title, deck_id, created_by)
+select concat('question ', n.n), concat('answer ', n.n), concat('card ', n.n), deck.deck_id, 1
+from (select d1.d + 10 * d2.d + 100 * d3.d as n from digit d1, digit d2, digit d3) n, deck
+where deck.description = 'benchmark';
+
+-- the measured user has answered only odd cards, so some cards of the deck are still new
+insert into user_card_queue (user_id, card_id, deck_id, card_date, date_to_repeat, status)
+select 1000000 + u.n, card.card_id, card.deck_id,
+       now() - interval ((card.card_id + u.n) % 60) day,
+       now() + interval ((card.card_id * 7 + u.n) % 60 - 30) day,
+       elt(1 + (card.card_id + u.n) % 3, 'BAD', 'NORMAL', 'GOOD')
+from (select d1.d + 10 * d2.d + 100 * d3.d as n from digit d1, digit d2, digit d3
+      where d1.d + 10 * d2.d + 100 * d3.d < 200) u
+  inner join card on card.deck_id in (select deck_id from deck where description = 'benchmark')
+where u.n > 0 or card.card_id % 2 = 1;
+
+analyze table card, user_card_queue;
+
+set @user_id = 1000000;
+set @deck_id = (select min(deck_id) from deck where description = 'benchmark');
+set @now = now();
+set profiling_history_size = 100;
+
+-- Part 1: old and new statements, no indexes on user_card_queue
+
+explain select c.card_id, c.title, c.question, c.answer, c.rating from card c
+where c.deck_id = @deck_id and (c.card_id, c.title, c.question, c.answer, c.rating) not in (
+  select c.card_id, c.title, c.question, c.answer, c.rating from card c left join user_card_queue u
+  on c.card_id = u.card_id where u.user_id = @user_id) limit 10;
+
+explain select * from card where deck_id = @deck_id and card_id not in
+  (select card_id from user_card_queue where deck_id = @deck_id and user_id = @user_id) limit 10;
+
+explain select c.* from card c inner join user_card_queue u on c.card_id = u.card_id
+where c.deck_id = @deck_id and u.user_id = @user_id and date_to_repeat <= @now limit 10;
+
+explain select c.* from card c where c.deck_id = @deck_id and not exists (
+  select 1 from user_card_queue u where u.user_id = @user_id and u.card_id = c.card_id)
+order by c.card_id limit 10;
+
+explain select c.* from user_card_queue u inner join card c on c.card_id = u.card_id
+where u.deck_id = @deck_id and u.user_id = @user_id and u.date_to_repeat <= @now
+order by u.date_to_repeat, u.card_id limit 10;
+
+explain select c.* from user_card_queue u inner join card c on c.card_id = u.card_id
+where u.deck_id = @deck_id and u.user_id = @user_id
+order by case u.status when 'BAD' then 1 when 'NORMAL' then 2 when 'GOOD' then 3 end, u.card_date, u.card_id
+limit 10;
+
+set profiling = 1;
+
+select c.card_id, c.title, c.question, c.answer, c.rating from card c
+where c.deck_id = @deck_id and (c.card_id, c.title, c.question, c.answer, c.rating) not in (
+  select c.card_id, c.title, c.question, c.answer, c.rating from card c left join user_card_queue u
+  on c.card_id = u.card_id where u.user_id = @user_id) limit 10;
+
+select * from card where deck_id = @deck_id and card_id not in
+  (select card_id from user_card_queue where deck_id = @deck_id and user_id = @user_id) limit 10;
+
+select c.* from card c inner join user_card_queue u on c.card_id = u.card_id
+where c.deck_id = @deck_id and u.user_id = @user_id and date_to_repeat <= @now limit 10;
+
+select c.* from card c where c.deck_id = @deck_id and not exists (
+  select 1 from user_card_queue u where u.user_id = @user_id and u.card_id = c.card_id)
+order by c.card_id limit 10;
+
+select c.* from user_card_queue u inner join card c on c.card_id = u.card_id
+where u.deck_id = @deck_id and u.user_id = @user_id and u.date_to_repeat <= @now
+order by u.date_to_repeat, u.card_id limit 10;
+
+select c.* from user_card_queue u inner join card c on c.card_id = u.card_id
+where u.deck_id = @deck_id and u.user_id = @user_id
+order by case u.status when 'BAD' then 1 when 'NORMAL' then 2 when 'GOOD' then 3 end, u.card_date, u.card_id
+limit 10;
+
+show profiles;
+set profiling = 0;
+
+-- Part 2: the same statements with indexes on the columns of V1.7
+
+create index benchmark_user_deck_date_index on user_card_queue (user_id, deck_id, date_to_repeat);
+create index benchmark_user_card_index on user_card_queue (user_id, card_id);
+analyze table user_card_queue;
+
+explain select c.card_id, c.title, c.question, c.answer, c.rating from card c
+where c.deck_id = @deck_id and (c.card_id, c.title, c.question, c.answer, c.rating) not in (
+  select c.card_id, c.title, c.question, c.answer, c.rating from card c left join user_card_queue u
+  on c.card_id = u.card_id where u.user_id = @user_id) limit 10;
+
+explain select * from card where deck_id = @deck_id and card_id not in
+  (select card_id from user_card_queue where deck_id = @deck_id and user_id = @user_id) limit 10;
+
+explain select c.* from card c inner join user_card_queue u on c.card_id = u.card_id
+where c.deck_id = @deck_id and u.user_id = @user_id and date_to_repeat <= @now limit 10;
+
+explain select c.* from card c where c.deck_id = @deck_id and not exists (
+  select 1 from user_card_queue u where u.user_id = @user_id and u.card_id = c.card_id)
+order by c.card_id limit 10;
+
+explain select c.* from user_card_queue u inner join card c on c.card_id = u.card_id
+where u.deck_id = @deck_id and u.user_id = @user_id and u.date_to_repeat <= @now
+order by u.date_to_repeat, u.card_id limit 10;
+
+explain select c.* from user_card_queue u inner join card c on c.card_id = u.card_id
+where u.deck_id = @deck_id and u.user_id = @user_id
+order by case u.status when 'BAD' then 1 when 'NORMAL' then 2 when 'GOOD' then 3 end, u.card_date, u.card_id
+limit 10;
+
+set profiling = 1;
+
+select c.card_id, c.title, c.question, c.answer, c.rating from card c
+where c.deck_id = @deck_id and (c.card_id, c.title, c.question, c.answer, c.rating) not in (
+  select c.card_id, c.title, c.question, c.answer, c.rating from card c left join user_card_queue u
+  on c.card_id = u.card_id where u.user_id = @user_id) limit 10;
+
+select * from card where deck_id = @deck_id and card_id not in
+  (select card_id from user_card_queue where deck_id = @deck_id and user_id = @user_id) limit 10;
+
+select c.* from card c inner join user_card_queue u on c.card_id = u.card_id
+where c.deck_id = @deck_id and u.user_id = @user_id and date_to_repeat <= @now limit 10;
+
+select c.* from card c where c.deck_id = @deck_id and not exists (
+  select 1 from user_card_queue u where u.user_id = @user_id and u.card_id = c.card_id)
+order by c.card_id limit 10;
+
+select c.* from user_card_queue u inner join card c on c.card_id = u.card_id
+where u.deck_id = @deck_id and u.user_id = @user_id and u.date_to_repeat <= @now
+order by u.date_to_repeat, u.card_id limit 10;
+
+select c.* from user_card_queue u inner join card c on c.card_id = u.card_id
+where u.deck_id = @deck_id and u.user_id = @user_id
+order by case u.status when 'BAD' then 1 when 'NORMAL' then 2 when 'GOOD' then 3 end, u.card_date, u.card_id
+limit 10;
+
+show profiles;
+set profiling = 0;
+
+-- Clean up: drop the benchmark indexes and the seeded rows
+
+drop index benchmark_user_deck_date_index on user_card_queue;
+drop index benchmark_user_card_index on user_card_queue;
+
+delete from user_card_queue where deck_id in (select deck_id from deck where description = 'benchmark');
+delete from card where deck_id in (select deck_id from deck where description = 'benchmark');
+delete from deck where description = 'benchmark';
+drop temporary table digit;